@@ -32,6 +32,8 @@ CREATE TABLE `department_history` (
   KEY `fk_employee_id` (`employee_id`),
   KEY `fk_old_department` (`old_department_id`),
   KEY `fk_new_department` (`new_department_id`),
+  KEY `idx_department_history_employee_change_date` (`employee_id`,`change_date`),
+  KEY `idx_department_history_new_department_employee` (`new_department_id`,`employee_id`,`change_date`),
   CONSTRAINT `fk_employee_id` FOREIGN KEY (`employee_id`) REFERENCES `employees` (`id`) ON DELETE CASCADE,
   CONSTRAINT `fk_new_department` FOREIGN KEY (`new_department_id`) REFERENCES `departments` (`id`) ON DELETE RESTRICT,
   CONSTRAINT `fk_old_department` FOREIGN KEY (`old_department_id`) REFERENCES `departments` (`id`) ON DELETE SET NULL
@@ -115,10 +117,17 @@ CREATE TABLE `employees` (
   `salary` int DEFAULT NULL,
   `created_at` timestamp NOT NULL,
   `updated_at` timestamp NOT NULL,
+  `version` bigint NOT NULL DEFAULT '0',
   PRIMARY KEY (`id`),
   UNIQUE KEY `username` (`username`),
   UNIQUE KEY `email` (`email`),
   KEY `FKmkeq49olabodcw5m680b3g466` (`department`),
+  KEY `idx_employees_department_fullname` (`department`,`fullname`,`id`),
+  KEY `idx_employees_department_salary` (`department`,`salary`,`id`),
+  KEY `idx_employees_department_created_at` (`department`,`created_at`,`id`),
+  KEY `idx_employees_fullname` (`fullname`,`id`),
+  KEY `idx_employees_salary` (`salary`,`id`),
+  KEY `idx_employees_created_at` (`created_at`,`id`),
   CONSTRAINT `FKmkeq49olabodcw5m680b3g466` FOREIGN KEY (`department`) REFERENCES `departments` (`id`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
 /*!40101 SET character_set_client = @saved_cs_client */;
@@ -129,10 +138,58 @@ CREATE TABLE `employees` (
 
 LOCK TABLES `employees` WRITE;
 /*!40000 ALTER TABLE `employees` DISABLE KEYS */;
-INSERT INTO `employees` VALUES ('emp-001','j.doe','john.doe@example.com','Nguyen Duy Phong','dept-005','Software Developer',26000000,'2023-01-15 09:00:00','2025-09-16 15:17:38'),('emp-002','a.smith','jane.smith@example.com','Jane Smith','dept-002','Marketing Specialist',65000,'2023-02-20 10:30:00','2023-02-20 10:30:00'),('emp-003','m.garcia','mike.garcia@example.com','Mike Garcia','dept-005','Software Engineer',95000,'2023-03-10 11:45:00','2023-03-10 11:45:00'),('emp-004','e.jones','emily.jones@example.com','Emily Jones','dept-004','Financial Analyst',70000,'2023-04-05 14:00:00','2023-04-05 14:00:00'),('emp-005','b.williams','bryan.williams@example.com','Bryan Williams','dept-003','HR Generalist',60000,'2023-05-01 09:30:00','2023-05-01 09:30:00'),('emp-006','s.brown','sara.brown@example.com','Sara Brown','dept-005','Data Scientist',110000,'2023-05-15 13:00:00','2023-05-15 13:00:00'),('emp-007','j.miller','jack.miller@example.com','Jack Miller','dept-006','Research Scientist',120000,'2023-06-25 15:00:00','2023-06-25 15:00:00'),('emp-008','l.wilson','linda.wilson@example.com','Linda Wilson','dept-007','Customer Support Agent',55000,'2023-07-01 08:45:00','2023-07-01 08:45:00'),('emp-009','c.moore','chris.moore@example.com','Chris Moore','dept-008','Network Administrator',85000,'2023-07-10 10:15:00','2023-07-10 10:15:00'),('emp-010','n.taylor','nancy.taylor@example.com','Nancy Taylor','dept-009','Legal Counsel',130000,'2023-08-01 11:00:00','2023-08-01 11:00:00'),('emp-011','d.anderson','david.anderson@example.com','David Anderson','dept-010','Product Manager',105000,'2023-08-20 14:30:00','2023-08-20 14:30:00'),('emp-012','p.thomas','patricia.thomas@example.com','Patricia Thomas','dept-011','Operations Manager',90000,'2023-09-01 09:00:00','2023-09-01 09:00:00'),('emp-013','r.jackson','robert.jackson@example.com','Robert Jackson','dept-012','PR Coordinator',68000,'2023-09-15 10:45:00','2023-09-15 10:45:00'),('emp-014','m.white','mary.white@example.com','Mary White','dept-013','Logistics Coordinator',58000,'2023-10-01 11:30:00','2023-10-01 11:30:00'),('emp-015','j.harris','james.harris@example.com','James Harris','dept-014','QA Engineer',75000,'2023-10-10 15:00:00','2023-10-10 15:00:00'),('emp-016','a.clark','anna.clark@example.com','Anna Clark','dept-015','Training Specialist',62000,'2023-10-25 09:00:00','2023-10-25 09:00:00'),('emp-017','l.lewis','lisa.lewis@example.com','Lisa Lewis','dept-016','Strategic Planner',115000,'2023-11-01 10:00:00','2023-11-01 10:00:00'),('emp-018','p.walker','paul.walker@example.com','Paul Walker','dept-017','Business Development Manager',100000,'2023-11-15 13:00:00','2023-11-15 13:00:00'),('emp-019','e.hall','elizabeth.hall@example.com','Elizabeth Hall','dept-018','UX/UI Designer',88000,'2023-12-01 14:30:00','2023-12-01 14:30:00'),('emp-020','j.allen','joseph.allen@example.com','Joseph Allen','dept-019','Data Analyst',72000,'2023-12-10 16:00:00','2023-12-10 16:00:00'),('emp-021','k.king','karen.king@example.com','Karen King','dept-020','Field Manager',92000,'2024-01-05 09:00:00','2024-01-05 09:00:00'),('emp-022','g.wright','george.wright@example.com','George Wright','dept-021','Maintenance Technician',50000,'2024-01-20 11:00:00','2024-01-20 11:00:00'),('emp-023','s.lopez','susan.lopez@example.com','Susan Lopez','dept-022','Compliance Officer',85000,'2024-02-01 10:30:00','2024-02-01 10:30:00'),('emp-024','d.scott','daniel.scott@example.com','Daniel Scott','dept-023','Recruitment Specialist',70000,'2024-02-15 13:00:00','2024-02-15 13:00:00'),('emp-025','j.green','jennifer.green@example.com','Jennifer Green','dept-024','Corporate Affairs Director',140000,'2024-03-01 14:00:00','2024-03-01 14:00:00'),('emp-026','m.adams','matthew.adams@example.com','Matthew Adams','dept-025','Communications Manager',95000,'2024-03-15 10:00:00','2024-03-15 10:00:00'),('emp-027','l.baker','laura.baker@example.com','Laura Baker','dept-026','Safety Officer',68000,'2024-04-01 09:30:00','2024-04-01 09:30:00'),('emp-028','t.carter','thomas.carter@example.com','Thomas Carter','dept-027','Community Relations Manager',82000,'2024-04-15 11:00:00','2024-04-15 11:00:00'),('emp-029','a.mitchell','amanda.mitchell@example.com','Amanda Mitchell','dept-028','Procurement Officer',75000,'2024-05-01 13:00:00','2024-05-01 13:00:00'),('emp-030','d.phillips','david.phillips@example.com','David Phillips','dept-029','Supply Chain Analyst',70000,'2024-05-15 14:30:00','2024-05-15 14:30:00'),('emp-031','m.evans','mary.evans@example.com','Mary Evans','dept-030','Risk Manager',110000,'2024-06-01 10:00:00','2024-06-01 10:00:00'),('emp-032','j.collins','john.collins@example.com','John Collins','dept-031','Investment Analyst',120000,'2024-06-15 11:30:00','2024-06-15 11:30:00'),('emp-033','s.stewart','susan.stewart@example.com','Susan Stewart','dept-032','M&A Specialist',135000,'2024-07-01 09:00:00','2024-07-01 09:00:00'),('emp-034','b.morris','bill.morris@example.com','Bill Morris','dept-033','Internal Auditor',90000,'2024-07-15 10:45:00','2024-07-15 10:45:00'),('emp-035','r.rogers','ryan.rogers@example.com','Ryan Rogers','dept-034','Data Scientist',115000,'2024-08-01 13:00:00','2024-08-01 13:00:00'),('emp-036','p.patterson','peter.patterson@example.com','Peter Patterson','dept-035','UX Researcher',85000,'2024-08-15 14:00:00','2024-08-15 14:00:00'),('emp-037','k.bell','kimberly.bell@example.com','Kimberly Bell','dept-036','Cybersecurity Analyst',105000,'2024-09-01 09:30:00','2024-09-01 09:30:00'),('emp-038','a.morgan','alex.morgan@example.com','Alex Morgan','dept-037','Cloud Engineer',100000,'2024-09-15 11:00:00','2024-09-15 11:00:00'),('emp-039','s.jones','sam.jones@example.com','Sam Jones','dept-038','Robotics Engineer',125000,'2024-10-01 10:00:00','2024-10-01 10:00:00'),('emp-040','c.bailey','carl.bailey@example.com','Carl Bailey','dept-039','Automation Specialist',98000,'2024-10-15 14:00:00','2024-10-15 14:00:00'),('emp-041','l.gonzales','linda.gonzales@example.com','Linda Gonzales','dept-040','Sustainability Officer',85000,'2024-11-01 11:00:00','2024-11-01 11:00:00'),('emp-042','m.watson','mark.watson@example.com','Mark Watson','dept-041','Investor Relations Manager',130000,'2024-11-15 12:00:00','2024-11-15 12:00:00'),('emp-043','d.rogers','diane.rogers@example.com','Diane Rogers','dept-042','Talent Manager',90000,'2024-12-01 09:00:00','2024-12-01 09:00:00'),('emp-044','e.cox','eric.cox@example.com','Eric Cox','dept-043','Employee Relations Specialist',78000,'2024-12-15 10:00:00','2024-12-15 10:00:00'),('emp-045','j.price','jessica.price@example.com','Jessica Price','dept-044','Compensation Analyst',85000,'2025-01-01 11:30:00','2025-01-01 11:30:00'),('emp-046','k.long','kevin.long@example.com','Kevin Long','dept-045','Performance Manager',100000,'2025-01-15 14:00:00','2025-01-15 14:00:00'),('emp-047','c.reed','cynthia.reed@example.com','Cynthia Reed','dept-046','Organizational Developer',110000,'2025-02-01 09:00:00','2025-02-01 09:00:00'),('emp-048','b.kelly','brian.kelly@example.com','Brian Kelly','dept-047','Payroll Specialist',65000,'2025-02-15 10:30:00','2025-02-15 10:30:00'),('emp-049','t.sanders','timothy.sanders@example.com','Timothy Sanders','dept-048','Accountant',75000,'2025-03-01 11:00:00','2025-03-01 11:00:00'),('emp-050','s.russell','sharon.russell@example.com','Sharon Russell','dept-049','Treasury Analyst',95000,'2025-03-15 12:00:00','2025-03-15 12:00:00'),('emp-051','c.henderson','christopher.henderson@example.com','Christopher Henderson','dept-050','Tax Advisor',120000,'2025-04-01 10:00:00','2025-04-01 10:00:00'),('emp-052','a.cole','amanda.cole@example.com','Amanda Cole','dept-051','Financial Planner',105000,'2025-04-15 13:00:00','2025-04-15 13:00:00'),('emp-053','j.hughes','jason.hughes@example.com','Jason Hughes','dept-052','Corporate Finance Manager',130000,'2025-05-01 09:00:00','2025-05-01 09:00:00'),('emp-054','l.peters','linda.peters@example.com','Linda Peters','dept-053','Credit Analyst',70000,'2025-05-15 10:30:00','2025-05-15 10:30:00'),('emp-055','p.richardson','patrick.richardson@example.com','Patrick Richardson','dept-054','Financial Reporter',88000,'2025-06-01 11:00:00','2025-06-01 11:00:00'),('emp-056','m.jones','maria.jones@example.com','Maria Jones','dept-055','Project Coordinator',90000,'2025-06-15 12:00:00','2025-06-15 12:00:00'),('emp-057','s.watson','steven.watson@example.com','Steven Watson','dept-056','Software Developer',98000,'2025-07-01 10:00:00','2025-07-01 10:00:00'),('emp-058','t.evans','tina.evans@example.com','Tina Evans','dept-057','Hardware Engineer',105000,'2025-07-15 11:30:00','2025-07-15 11:30:00'),('emp-059','k.garrett','kevin.garrett@example.com','Kevin Garrett','dept-058','Network Engineer',92000,'2025-08-01 09:00:00','2025-08-01 09:00:00'),('emp-060','j.harrison','jessica.harrison@example.com','Jessica Harrison','dept-059','Systems Administrator',80000,'2025-08-15 10:00:00','2025-08-15 10:00:00'),('emp-061','d.fisher','david.fisher@example.com','David Fisher','dept-060','Database Administrator',110000,'2025-09-01 11:00:00','2025-09-01 11:00:00'),('emp-062','m.gonzalez','maria.gonzalez@example.com','Maria Gonzalez','dept-061','Security Analyst',95000,'2025-09-15 12:00:00','2025-09-15 12:00:00'),('emp-063','s.murphy','susan.murphy@example.com','Susan Murphy','dept-062','Information Security Officer',125000,'2025-10-01 10:30:00','2025-10-01 10:30:00'),('emp-064','c.kim','charles.kim@example.com','Charles Kim','dept-063','Content Creator',70000,'2025-10-15 11:00:00','2025-10-15 11:00:00'),('emp-065','k.davis','katherine.davis@example.com','Katherine Davis','dept-064','Social Media Manager',82000,'2025-11-01 09:00:00','2025-11-01 09:00:00'),('emp-066','j.lopez','joseph.lopez@example.com','Joseph Lopez','dept-065','SEO Specialist',78000,'2025-11-15 10:00:00','2025-11-15 10:00:00'),('emp-067','p.gonzalez','patricia.gonzalez@example.com','Patricia Gonzalez','dept-066','PR Manager',105000,'2025-12-01 11:00:00','2025-12-01 11:00:00'),('emp-068','e.hernandez','edward.hernandez@example.com','Edward Hernandez','dept-067','Market Researcher',75000,'2025-12-15 12:00:00','2025-12-15 12:00:00'),('emp-069','r.miller','richard.miller@example.com','Richard Miller','dept-068','Customer Service Rep',58000,'2026-01-01 09:00:00','2026-01-01 09:00:00'),('emp-070','s.wilson','stephanie.wilson@example.com','Stephanie Wilson','dept-069','Technical Support Specialist',65000,'2026-01-15 10:00:00','2026-01-15 10:00:00'),('emp-071','d.taylor','daniel.taylor@example.com','Daniel Taylor','dept-070','Sales Operations Manager',90000,'2026-02-01 11:00:00','2026-02-01 11:00:00'),('emp-072','a.evans','amanda.evans@example.com','Amanda Evans','dept-071','Client Manager',88000,'2026-02-15 12:00:00','2026-02-15 12:00:00'),('emp-073','j.moore','jason.moore@example.com','Jason Moore','dept-072','Event Planner',70000,'2026-03-01 10:00:00','2026-03-01 10:00:00'),('emp-074','c.garcia','carlos.garcia@example.com','Carlos Garcia','dept-073','Warehouse Supervisor',60000,'2026-03-15 11:00:00','2026-03-15 11:00:00'),('emp-075','m.rodriguez','maria.rodriguez@example.com','Maria Rodriguez','dept-074','Logistics Specialist',72000,'2026-04-01 12:00:00','2026-04-01 12:00:00'),('emp-076','e.lopez','eric.lopez@example.com','Eric Lopez','dept-075','Import/Export Agent',80000,'2026-04-15 10:00:00','2026-04-15 10:00:00'),('emp-077','s.williams','sarah.williams@example.com','Sarah Williams','dept-076','Legal Counsel',130000,'2026-05-01 11:00:00','2026-05-01 11:00:00'),('emp-078','b.davis','brian.davis@example.com','Brian Davis','dept-077','Patent Attorney',150000,'2026-05-15 12:00:00','2026-05-15 12:00:00'),('emp-079','c.miller','christina.miller@example.com','Christina Miller','dept-078','M&A Lawyer',160000,'2026-06-01 10:00:00','2026-06-01 10:00:00'),('emp-080','j.wilson','john.wilson@example.com','John Wilson','dept-079','Trademark Specialist',125000,'2026-06-15 11:00:00','2026-06-15 11:00:00'),('emp-081','s.smith','susan.smith@example.com','Susan Smith','dept-080','Contract Manager',110000,'2026-07-01 12:00:00','2026-07-01 12:00:00'),('emp-082','d.jones','david.jones@example.com','David Jones','dept-081','Environmental Lawyer',140000,'2026-07-15 10:00:00','2026-07-15 10:00:00'),('emp-083','l.williams','lisa.williams@example.com','Lisa Williams','dept-082','Intellectual Property Lawyer',155000,'2026-08-01 11:00:00','2026-08-01 11:00:00'),('emp-084','p.brown','paul.brown@example.com','Paul Brown','dept-083','Internal Affairs Investigator',95000,'2026-08-15 12:00:00','2026-08-15 12:00:00'),('emp-085','j.garcia','joseph.garcia@example.com','Joseph Garcia','dept-084','Forensic Accountant',120000,'2026-09-01 10:00:00','2026-09-01 10:00:00'),('emp-086','m.miller','mary.miller@example.com','Mary Miller','dept-085','Fraud Investigator',115000,'2026-09-15 11:00:00','2026-09-15 11:00:00'),('emp-087','a.jones','alex.jones@example.com','Alex Jones','dept-086','Operational Auditor',100000,'2026-10-01 12:00:00','2026-10-01 12:00:00'),('emp-088','t.smith','thomas.smith@example.com','Thomas Smith','dept-087','Strategic Planner',135000,'2026-10-15 10:00:00','2026-10-15 10:00:00'),('emp-089','l.wilson2','lisa.wilson@example.com','Lisa Wilson','dept-088','Change Manager',120000,'2026-11-01 11:00:00','2026-11-01 11:00:00'),('emp-090','s.white','steven.white@example.com','Steven White','dept-089','Process Improvement Specialist',105000,'2026-11-15 12:00:00','2026-11-15 12:00:00'),('emp-091','d.moore','david.moore@example.com','David Moore','dept-090','CSR Manager',90000,'2026-12-01 10:00:00','2026-12-01 10:00:00'),('emp-092','a.clark2','amanda.clark@example.com','Amanda Clark','dept-091','Brand Manager',115000,'2026-12-15 11:00:00','2026-12-15 11:00:00'),('emp-093','j.hill','james.hill@example.com','James Hill','dept-092','Product Launch Specialist',100000,'2027-01-01 12:00:00','2027-01-01 12:00:00'),('emp-094','m.evans2','maria.evans@example.com','Maria Evans','dept-093','Market Analyst',75000,'2027-01-15 10:00:00','2027-01-15 10:00:00'),('emp-095','s.mitchell','steven.mitchell@example.com','Steven Mitchell','dept-094','Consumer Insights Analyst',85000,'2027-02-01 11:00:00','2027-02-01 11:00:00'),('emp-096','c.phillips','carla.phillips@example.com','Carla Phillips','dept-095','R&D Director',150000,'2027-02-15 12:00:00','2027-02-15 12:00:00'),('emp-097','r.campbell','robert.campbell@example.com','Robert Campbell','dept-096','Applied Scientist',130000,'2027-03-01 10:00:00','2027-03-01 10:00:00'),('emp-098','j.baker','jennifer.baker@example.com','Jennifer Baker','dept-097','New Tech Researcher',110000,'2027-03-15 11:00:00','2027-03-15 11:00:00'),('emp-099','a.carter','anthony.carter@example.com','Anthony Carter','dept-098','Prototyping Engineer',95000,'2027-04-01 12:00:00','2027-04-01 12:00:00'),('emp-100','l.gonzalez','laura.gonzalez@example.com','Laura Gonzalez','dept-099','Pilot Program Manager',110000,'2027-04-15 10:00:00','2027-04-15 10:00:00');
+INSERT INTO `employees` VALUES ('emp-001','j.doe','john.doe@example.com','Nguyen Duy Phong','dept-005','Software Developer',26000000,'2023-01-15 09:00:00','2025-09-16 15:17:38',0),('emp-002','a.smith','jane.smith@example.com','Jane Smith','dept-002','Marketing Specialist',65000,'2023-02-20 10:30:00','2023-02-20 10:30:00',0),('emp-003','m.garcia','mike.garcia@example.com','Mike Garcia','dept-005','Software Engineer',95000,'2023-03-10 11:45:00','2023-03-10 11:45:00',0),('emp-004','e.jones','emily.jones@example.com','Emily Jones','dept-004','Financial Analyst',70000,'2023-04-05 14:00:00','2023-04-05 14:00:00',0),('emp-005','b.williams','bryan.williams@example.com','Bryan Williams','dept-003','HR Generalist',60000,'2023-05-01 09:30:00','2023-05-01 09:30:00',0),('emp-006','s.brown','sara.brown@example.com','Sara Brown','dept-005','Data Scientist',110000,'2023-05-15 13:00:00','2023-05-15 13:00:00',0),('emp-007','j.miller','jack.miller@example.com','Jack Miller','dept-006','Research Scientist',120000,'2023-06-25 15:00:00','2023-06-25 15:00:00',0),('emp-008','l.wilson','linda.wilson@example.com','Linda Wilson','dept-007','Customer Support Agent',55000,'2023-07-01 08:45:00','2023-07-01 08:45:00',0),('emp-009','c.moore','chris.moore@example.com','Chris Moore','dept-008','Network Administrator',85000,'2023-07-10 10:15:00','2023-07-10 10:15:00',0),('emp-010','n.taylor','nancy.taylor@example.com','Nancy Taylor','dept-009','Legal Counsel',130000,'2023-08-01 11:00:00','2023-08-01 11:00:00',0),('emp-011','d.anderson','david.anderson@example.com','David Anderson','dept-010','Product Manager',105000,'2023-08-20 14:30:00','2023-08-20 14:30:00',0),('emp-012','p.thomas','patricia.thomas@example.com','Patricia Thomas','dept-011','Operations Manager',90000,'2023-09-01 09:00:00','2023-09-01 09:00:00',0),('emp-013','r.jackson','robert.jackson@example.com','Robert Jackson','dept-012','PR Coordinator',68000,'2023-09-15 10:45:00','2023-09-15 10:45:00',0),('emp-014','m.white','mary.white@example.com','Mary White','dept-013','Logistics Coordinator',58000,'2023-10-01 11:30:00','2023-10-01 11:30:00',0),('emp-015','j.harris','james.harris@example.com','James Harris','dept-014','QA Engineer',75000,'2023-10-10 15:00:00','2023-10-10 15:00:00',0),('emp-016','a.clark','anna.clark@example.com','Anna Clark','dept-015','Training Specialist',62000,'2023-10-25 09:00:00','2023-10-25 09:00:00',0),('emp-017','l.lewis','lisa.lewis@example.com','Lisa Lewis','dept-016','Strategic Planner',115000,'2023-11-01 10:00:00','2023-11-01 10:00:00',0),('emp-018','p.walker','paul.walker@example.com','Paul Walker','dept-017','Business Development Manager',100000,'2023-11-15 13:00:00','2023-11-15 13:00:00',0),('emp-019','e.hall','elizabeth.hall@example.com','Elizabeth Hall','dept-018','UX/UI Designer',88000,'2023-12-01 14:30:00','2023-12-01 14:30:00',0),('emp-020','j.allen','joseph.allen@example.com','Joseph Allen','dept-019','Data Analyst',72000,'2023-12-10 16:00:00','2023-12-10 16:00:00',0),('emp-021','k.king','karen.king@example.com','Karen King','dept-020','Field Manager',92000,'2024-01-05 09:00:00','2024-01-05 09:00:00',0),('emp-022','g.wright','george.wright@example.com','George Wright','dept-021','Maintenance Technician',50000,'2024-01-20 11:00:00','2024-01-20 11:00:00',0),('emp-023','s.lopez','susan.lopez@example.com','Susan Lopez','dept-022','Compliance Officer',85000,'2024-02-01 10:30:00','2024-02-01 10:30:00',0),('emp-024','d.scott','daniel.scott@example.com','Daniel Scott','dept-023','Recruitment Specialist',70000,'2024-02-15 13:00:00','2024-02-15 13:00:00',0),('emp-025','j.green','jennifer.green@example.com','Jennifer Green','dept-024','Corporate Affairs Director',140000,'2024-03-01 14:00:00','2024-03-01 14:00:00',0),('emp-026','m.adams','matthew.adams@example.com','Matthew Adams','dept-025','Communications Manager',95000,'2024-03-15 10:00:00','2024-03-15 10:00:00',0),('emp-027','l.baker','laura.baker@example.com','Laura Baker','dept-026','Safety Officer',68000,'2024-04-01 09:30:00','2024-04-01 09:30:00',0),('emp-028','t.carter','thomas.carter@example.com','Thomas Carter','dept-027','Community Relations Manager',82000,'2024-04-15 11:00:00','2024-04-15 11:00:00',0),('emp-029','a.mitchell','amanda.mitchell@example.com','Amanda Mitchell','dept-028','Procurement Officer',75000,'2024-05-01 13:00:00','2024-05-01 13:00:00',0),('emp-030','d.phillips','david.phillips@example.com','David Phillips','dept-029','Supply Chain Analyst',70000,'2024-05-15 14:30:00','2024-05-15 14:30:00',0),('emp-031','m.evans','mary.evans@example.com','Mary Evans','dept-030','Risk Manager',110000,'2024-06-01 10:00:00','2024-06-01 10:00:00',0),('emp-032','j.collins','john.collins@example.com','John Collins','dept-031','Investment Analyst',120000,'2024-06-15 11:30:00','2024-06-15 11:30:00',0),('emp-033','s.stewart','susan.stewart@example.com','Susan Stewart','dept-032','M&A Specialist',135000,'2024-07-01 09:00:00','2024-07-01 09:00:00',0),('emp-034','b.morris','bill.morris@example.com','Bill Morris','dept-033','Internal Auditor',90000,'2024-07-15 10:45:00','2024-07-15 10:45:00',0),('emp-035','r.rogers','ryan.rogers@example.com','Ryan Rogers','dept-034','Data Scientist',115000,'2024-08-01 13:00:00','2024-08-01 13:00:00',0),('emp-036','p.patterson','peter.patterson@example.com','Peter Patterson','dept-035','UX Researcher',85000,'2024-08-15 14:00:00','2024-08-15 14:00:00',0),('emp-037','k.bell','kimberly.bell@example.com','Kimberly Bell','dept-036','Cybersecurity Analyst',105000,'2024-09-01 09:30:00','2024-09-01 09:30:00',0),('emp-038','a.morgan','alex.morgan@example.com','Alex Morgan','dept-037','Cloud Engineer',100000,'2024-09-15 11:00:00','2024-09-15 11:00:00',0),('emp-039','s.jones','sam.jones@example.com','Sam Jones','dept-038','Robotics Engineer',125000,'2024-10-01 10:00:00','2024-10-01 10:00:00',0),('emp-040','c.bailey','carl.bailey@example.com','Carl Bailey','dept-039','Automation Specialist',98000,'2024-10-15 14:00:00','2024-10-15 14:00:00',0),('emp-041','l.gonzales','linda.gonzales@example.com','Linda Gonzales','dept-040','Sustainability Officer',85000,'2024-11-01 11:00:00','2024-11-01 11:00:00',0),('emp-042','m.watson','mark.watson@example.com','Mark Watson','dept-041','Investor Relations Manager',130000,'2024-11-15 12:00:00','2024-11-15 12:00:00',0),('emp-043','d.rogers','diane.rogers@example.com','Diane Rogers','dept-042','Talent Manager',90000,'2024-12-01 09:00:00','2024-12-01 09:00:00',0),('emp-044','e.cox','eric.cox@example.com','Eric Cox','dept-043','Employee Relations Specialist',78000,'2024-12-15 10:00:00','2024-12-15 10:00:00',0),('emp-045','j.price','jessica.price@example.com','Jessica Price','dept-044','Compensation Analyst',85000,'2025-01-01 11:30:00','2025-01-01 11:30:00',0),('emp-046','k.long','kevin.long@example.com','Kevin Long','dept-045','Performance Manager',100000,'2025-01-15 14:00:00','2025-01-15 14:00:00',0),('emp-047','c.reed','cynthia.reed@example.com','Cynthia Reed','dept-046','Organizational Developer',110000,'2025-02-01 09:00:00','2025-02-01 09:00:00',0),('emp-048','b.kelly','brian.kelly@example.com','Brian Kelly','dept-047','Payroll Specialist',65000,'2025-02-15 10:30:00','2025-02-15 10:30:00',0),('emp-049','t.sanders','timothy.sanders@example.com','Timothy Sanders','dept-048','Accountant',75000,'2025-03-01 11:00:00','2025-03-01 11:00:00',0),('emp-050','s.russell','sharon.russell@example.com','Sharon Russell','dept-049','Treasury Analyst',95000,'2025-03-15 12:00:00','2025-03-15 12:00:00',0),('emp-051','c.henderson','christopher.henderson@example.com','Christopher Henderson','dept-050','Tax Advisor',120000,'2025-04-01 10:00:00','2025-04-01 10:00:00',0),('emp-052','a.cole','amanda.cole@example.com','Amanda Cole','dept-051','Financial Planner',105000,'2025-04-15 13:00:00','2025-04-15 13:00:00',0),('emp-053','j.hughes','jason.hughes@example.com','Jason Hughes','dept-052','Corporate Finance Manager',130000,'2025-05-01 09:00:00','2025-05-01 09:00:00',0),('emp-054','l.peters','linda.peters@example.com','Linda Peters','dept-053','Credit Analyst',70000,'2025-05-15 10:30:00','2025-05-15 10:30:00',0),('emp-055','p.richardson','patrick.richardson@example.com','Patrick Richardson','dept-054','Financial Reporter',88000,'2025-06-01 11:00:00','2025-06-01 11:00:00',0),('emp-056','m.jones','maria.jones@example.com','Maria Jones','dept-055','Project Coordinator',90000,'2025-06-15 12:00:00','2025-06-15 12:00:00',0),('emp-057','s.watson','steven.watson@example.com','Steven Watson','dept-056','Software Developer',98000,'2025-07-01 10:00:00','2025-07-01 10:00:00',0),('emp-058','t.evans','tina.evans@example.com','Tina Evans','dept-057','Hardware Engineer',105000,'2025-07-15 11:30:00','2025-07-15 11:30:00',0),('emp-059','k.garrett','kevin.garrett@example.com','Kevin Garrett','dept-058','Network Engineer',92000,'2025-08-01 09:00:00','2025-08-01 09:00:00',0),('emp-060','j.harrison','jessica.harrison@example.com','Jessica Harrison','dept-059','Systems Administrator',80000,'2025-08-15 10:00:00','2025-08-15 10:00:00',0),('emp-061','d.fisher','david.fisher@example.com','David Fisher','dept-060','Database Administrator',110000,'2025-09-01 11:00:00','2025-09-01 11:00:00',0),('emp-062','m.gonzalez','maria.gonzalez@example.com','Maria Gonzalez','dept-061','Security Analyst',95000,'2025-09-15 12:00:00','2025-09-15 12:00:00',0),('emp-063','s.murphy','susan.murphy@example.com','Susan Murphy','dept-062','Information Security Officer',125000,'2025-10-01 10:30:00','2025-10-01 10:30:00',0),('emp-064','c.kim','charles.kim@example.com','Charles Kim','dept-063','Content Creator',70000,'2025-10-15 11:00:00','2025-10-15 11:00:00',0),('emp-065','k.davis','katherine.davis@example.com','Katherine Davis','dept-064','Social Media Manager',82000,'2025-11-01 09:00:00','2025-11-01 09:00:00',0),('emp-066','j.lopez','joseph.lopez@example.com','Joseph Lopez','dept-065','SEO Specialist',78000,'2025-11-15 10:00:00','2025-11-15 10:00:00',0),('emp-067','p.gonzalez','patricia.gonzalez@example.com','Patricia Gonzalez','dept-066','PR Manager',105000,'2025-12-01 11:00:00','2025-12-01 11:00:00',0),('emp-068','e.hernandez','edward.hernandez@example.com','Edward Hernandez','dept-067','Market Researcher',75000,'2025-12-15 12:00:00','2025-12-15 12:00:00',0),('emp-069','r.miller','richard.miller@example.com','Richard Miller','dept-068','Customer Service Rep',58000,'2026-01-01 09:00:00','2026-01-01 09:00:00',0),('emp-070','s.wilson','stephanie.wilson@example.com','Stephanie Wilson','dept-069','Technical Support Specialist',65000,'2026-01-15 10:00:00','2026-01-15 10:00:00',0),('emp-071','d.taylor','daniel.taylor@example.com','Daniel Taylor','dept-070','Sales Operations Manager',90000,'2026-02-01 11:00:00','2026-02-01 11:00:00',0),('emp-072','a.evans','amanda.evans@example.com','Amanda Evans','dept-071','Client Manager',88000,'2026-02-15 12:00:00','2026-02-15 12:00:00',0),('emp-073','j.moore','jason.moore@example.com','Jason Moore','dept-072','Event Planner',70000,'2026-03-01 10:00:00','2026-03-01 10:00:00',0),('emp-074','c.garcia','carlos.garcia@example.com','Carlos Garcia','dept-073','Warehouse Supervisor',60000,'2026-03-15 11:00:00','2026-03-15 11:00:00',0),('emp-075','m.rodriguez','maria.rodriguez@example.com','Maria Rodriguez','dept-074','Logistics Specialist',72000,'2026-04-01 12:00:00','2026-04-01 12:00:00',0),('emp-076','e.lopez','eric.lopez@example.com','Eric Lopez','dept-075','Import/Export Agent',80000,'2026-04-15 10:00:00','2026-04-15 10:00:00',0),('emp-077','s.williams','sarah.williams@example.com','Sarah Williams','dept-076','Legal Counsel',130000,'2026-05-01 11:00:00','2026-05-01 11:00:00',0),('emp-078','b.davis','brian.davis@example.com','Brian Davis','dept-077','Patent Attorney',150000,'2026-05-15 12:00:00','2026-05-15 12:00:00',0),('emp-079','c.miller','christina.miller@example.com','Christina Miller','dept-078','M&A Lawyer',160000,'2026-06-01 10:00:00','2026-06-01 10:00:00',0),('emp-080','j.wilson','john.wilson@example.com','John Wilson','dept-079','Trademark Specialist',125000,'2026-06-15 11:00:00','2026-06-15 11:00:00',0),('emp-081','s.smith','susan.smith@example.com','Susan Smith','dept-080','Contract Manager',110000,'2026-07-01 12:00:00','2026-07-01 12:00:00',0),('emp-082','d.jones','david.jones@example.com','David Jones','dept-081','Environmental Lawyer',140000,'2026-07-15 10:00:00','2026-07-15 10:00:00',0),('emp-083','l.williams','lisa.williams@example.com','Lisa Williams','dept-082','Intellectual Property Lawyer',155000,'2026-08-01 11:00:00','2026-08-01 11:00:00',0),('emp-084','p.brown','paul.brown@example.com','Paul Brown','dept-083','Internal Affairs Investigator',95000,'2026-08-15 12:00:00','2026-08-15 12:00:00',0),('emp-085','j.garcia','joseph.garcia@example.com','Joseph Garcia','dept-084','Forensic Accountant',120000,'2026-09-01 10:00:00','2026-09-01 10:00:00',0),('emp-086','m.miller','mary.miller@example.com','Mary Miller','dept-085','Fraud Investigator',115000,'2026-09-15 11:00:00','2026-09-15 11:00:00',0),('emp-087','a.jones','alex.jones@example.com','Alex Jones','dept-086','Operational Auditor',100000,'2026-10-01 12:00:00','2026-10-01 12:00:00',0),('emp-088','t.smith','thomas.smith@example.com','Thomas Smith','dept-087','Strategic Planner',135000,'2026-10-15 10:00:00','2026-10-15 10:00:00',0),('emp-089','l.wilson2','lisa.wilson@example.com','Lisa Wilson','dept-088','Change Manager',120000,'2026-11-01 11:00:00','2026-11-01 11:00:00',0),('emp-090','s.white','steven.white@example.com','Steven White','dept-089','Process Improvement Specialist',105000,'2026-11-15 12:00:00','2026-11-15 12:00:00',0),('emp-091','d.moore','david.moore@example.com','David Moore','dept-090','CSR Manager',90000,'2026-12-01 10:00:00','2026-12-01 10:00:00',0),('emp-092','a.clark2','amanda.clark@example.com','Amanda Clark','dept-091','Brand Manager',115000,'2026-12-15 11:00:00','2026-12-15 11:00:00',0),('emp-093','j.hill','james.hill@example.com','James Hill','dept-092','Product Launch Specialist',100000,'2027-01-01 12:00:00','2027-01-01 12:00:00',0),('emp-094','m.evans2','maria.evans@example.com','Maria Evans','dept-093','Market Analyst',75000,'2027-01-15 10:00:00','2027-01-15 10:00:00',0),('emp-095','s.mitchell','steven.mitchell@example.com','Steven Mitchell','dept-094','Consumer Insights Analyst',85000,'2027-02-01 11:00:00','2027-02-01 11:00:00',0),('emp-096','c.phillips','carla.phillips@example.com','Carla Phillips','dept-095','R&D Director',150000,'2027-02-15 12:00:00','2027-02-15 12:00:00',0),('emp-097','r.campbell','robert.campbell@example.com','Robert Campbell','dept-096','Applied Scientist',130000,'2027-03-01 10:00:00','2027-03-01 10:00:00',0),('emp-098','j.baker','jennifer.baker@example.com','Jennifer Baker','dept-097','New Tech Researcher',110000,'2027-03-15 11:00:00','2027-03-15 11:00:00',0),('emp-099','a.carter','anthony.carter@example.com','Anthony Carter','dept-098','Prototyping Engineer',95000,'2027-04-01 12:00:00','2027-04-01 12:00:00',0),('emp-100','l.gonzalez','laura.gonzalez@example.com','Laura Gonzalez','dept-099','Pilot Program Manager',110000,'2027-04-15 10:00:00','2027-04-15 10:00:00',0);
 /*!40000 ALTER TABLE `employees` ENABLE KEYS */;
 UNLOCK TABLES;
 
+--
+-- Table structure for table `idempotency_keys`
+--
+
+DROP TABLE IF EXISTS `idempotency_keys`;
+/*!40101 SET @saved_cs_client     = @@character_set_client */;
+/*!50503 SET character_set_client = utf8mb4 */;
+CREATE TABLE `idempotency_keys` (
+  `idempotency_key` varchar(255) NOT NULL,
+  `request_hash` varchar(64) NOT NULL,
+  `response_body` text NOT NULL,
+  `created_at` timestamp NOT NULL,
+  PRIMARY KEY (`idempotency_key`),
+  KEY `idx_idempotency_keys_created_at` (`created_at`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+/*!40101 SET character_set_client = @saved_cs_client */;
+
+--
+-- Table structure for table `lunch_log_import_jobs`
+--
+
+DROP TABLE IF EXISTS `lunch_log_import_jobs`;
+/*!40101 SET @saved_cs_client     = @@character_set_client */;
+/*!50503 SET character_set_client = utf8mb4 */;
+CREATE TABLE `lunch_log_import_jobs` (
+  `id` varchar(255) NOT NULL,
+  `format` varchar(20) NOT NULL,
+  `status` varchar(20) NOT NULL,
+  `run_id` varchar(36) DEFAULT NULL,
+  `file_path` varchar(1024) NOT NULL,
+  `estimated_rows` bigint NOT NULL,
+  `rows_processed` bigint NOT NULL,
+  `rows_imported` bigint NOT NULL,
+  `rows_skipped` bigint NOT NULL DEFAULT '0',
+  `rows_failed` bigint NOT NULL,
+  `errors` text,
+  `errors_truncated` bit(1) NOT NULL,
+  `resumed_from_row` bigint NOT NULL,
+  `failure_reason` varchar(1000) DEFAULT NULL,
+  `created_at` timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  `started_at` timestamp NULL DEFAULT NULL,
+  `updated_at` timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  `finished_at` timestamp NULL DEFAULT NULL,
+  PRIMARY KEY (`id`),
+  KEY `idx_lunch_log_import_jobs_status` (`status`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+/*!40101 SET character_set_client = @saved_cs_client */;
+
 --
 -- Table structure for table `lunch_logs`
 --
@@ -144,11 +201,12 @@ CREATE TABLE `lunch_logs` (
   `id` int NOT NULL AUTO_INCREMENT,
   `employee_id` varchar(255) NOT NULL,
   `lunch_date` date NOT NULL,
-  `meal_type` varchar(50) NOT NULL COMMENT 'e.g., Lunch, Dinner',
+  `meal_type` varchar(50) NOT NULL COMMENT 'LUNCH or DINNER',
   `restaurant` varchar(255) DEFAULT NULL,
   `notes` text,
   PRIMARY KEY (`id`),
-  KEY `fk_lunch_employee` (`employee_id`),
+  KEY `idx_lunch_logs_date_employee` (`lunch_date`,`employee_id`),
+  UNIQUE KEY `uk_lunch_logs_employee_date_meal` (`employee_id`,`lunch_date`,`meal_type`),
   CONSTRAINT `fk_lunch_employee` FOREIGN KEY (`employee_id`) REFERENCES `employees` (`id`) ON DELETE CASCADE
 ) ENGINE=InnoDB AUTO_INCREMENT=101 DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
 /*!40101 SET character_set_client = @saved_cs_client */;
@@ -159,7 +217,7 @@ CREATE TABLE `lunch_logs` (
 
 LOCK TABLES `lunch_logs` WRITE;
 /*!40000 ALTER TABLE `lunch_logs` DISABLE KEYS */;
-INSERT INTO `lunch_logs` VALUES (1,'emp-001','2023-01-16','Lunch','The Burger Joint','Team lunch with sales department.'),(2,'emp-002','2023-02-21','Lunch','Pasta Paradise','Lunch with new marketing hires.'),(3,'emp-003','2023-03-11','Lunch','Taco Fiesta','Lunch with the dev team.'),(4,'emp-004','2023-04-06','Lunch','Healthy Bowl','Grabbed a quick salad.'),(5,'emp-005','2023-05-02','Lunch','BBQ Pit','Celebratory lunch for new project start.'),(6,'emp-006','2023-05-16','Lunch','Sushi Express','Quick sushi lunch.'),(7,'emp-007','2023-06-26','Lunch','Pizza Palace','Lunch with the research team.'),(8,'emp-008','2023-07-02','Lunch','Subway','Grab and go lunch.'),(9,'emp-009','2023-07-11','Lunch','Noodle House','Lunch with IT team.'),(10,'emp-010','2023-08-02','Lunch','Steakhouse','Lunch with legal team.'),(11,'emp-011','2023-08-21','Lunch','Coffee Shop','Quick sandwich lunch.'),(12,'emp-012','2023-09-02','Lunch','Deli','Lunch at the office.'),(13,'emp-013','2023-09-16','Lunch','Chinese Buffet','Lunch with PR team.'),(14,'emp-014','2023-10-02','Lunch','Mexican Grill','Lunch with logistics team.'),(15,'emp-015','2023-10-11','Lunch','Sushi Bar','Lunch with QA team.'),(16,'emp-016','2023-10-26','Lunch','Indian Cuisine','Lunch with training team.'),(17,'emp-017','2023-11-02','Lunch','Thai Restaurant','Lunch with strategy team.'),(18,'emp-018','2023-11-16','Lunch','Italian Cafe','Lunch with new business development team.'),(19,'emp-019','2023-12-02','Lunch','Sandwich Shop','Grabbed a quick sandwich.'),(20,'emp-020','2023-12-11','Lunch','Korean BBQ','Lunch with data analytics team.'),(21,'emp-021','2024-01-06','Lunch','Salad Bar','Healthy lunch.'),(22,'emp-022','2024-01-21','Lunch','Burgers and Fries','Lunch with maintenance crew.'),(23,'emp-023','2024-02-02','Lunch','Thai Express','Lunch with compliance officer.'),(24,'emp-024','2024-02-16','Lunch','Steakhouse','Lunch with recruitment specialist.'),(25,'emp-025','2024-03-02','Lunch','Italian Restaurant','Lunch with corporate affairs team.'),(26,'emp-026','2024-03-16','Lunch','Sandwich Shop','Quick lunch.'),(27,'emp-027','2024-04-02','Lunch','Indian Takeout','Lunch with safety officer.'),(28,'emp-028','2024-04-16','Lunch','Pizza Hut','Lunch with community relations manager.'),(29,'emp-029','2024-05-02','Lunch','Mexican Cafe','Lunch with procurement officer.'),(30,'emp-030','2024-05-16','Lunch','Salad Bar','Healthy lunch.'),(31,'emp-031','2024-06-02','Lunch','Burger King','Quick lunch.'),(32,'emp-032','2024-06-16','Lunch','Chinese Restaurant','Lunch with investment team.'),(33,'emp-033','2024-07-02','Lunch','Sushi Place','Lunch with M&A team.'),(34,'emp-034','2024-07-16','Lunch','Deli','Lunch with internal auditor.'),(35,'emp-035','2024-08-02','Lunch','Thai Express','Lunch with data scientist.'),(36,'emp-036','2024-08-16','Lunch','Pizza Place','Lunch with UX researcher.'),(37,'emp-037','2024-09-02','Lunch','Burger Joint','Lunch with cybersecurity analyst.'),(38,'emp-038','2024-09-16','Lunch','Noodle Shop','Lunch with cloud engineer.'),(39,'emp-039','2024-10-02','Lunch','Sushi Bar','Lunch with robotics engineer.'),(40,'emp-040','2024-10-16','Lunch','Cafe','Quick sandwich lunch.'),(41,'emp-041','2024-11-02','Lunch','Healthy Bowl','Healthy lunch.'),(42,'emp-042','2024-11-16','Lunch','Deli','Lunch with investor relations manager.'),(43,'emp-043','2024-12-02','Lunch','Pizza Palace','Lunch with talent manager.'),(44,'emp-044','2024-12-16','Lunch','Indian Cuisine','Lunch with employee relations specialist.'),(45,'emp-045','2025-01-02','Lunch','Thai Restaurant','Lunch with compensation analyst.'),(46,'emp-046','2025-01-16','Lunch','Italian Cafe','Lunch with performance manager.'),(47,'emp-047','2025-02-02','Lunch','Sandwich Shop','Quick lunch.'),(48,'emp-048','2025-02-16','Lunch','Korean BBQ','Lunch with payroll specialist.'),(49,'emp-049','2025-03-02','Lunch','Salad Bar','Healthy lunch.'),(50,'emp-050','2025-03-16','Lunch','Burgers and Fries','Lunch with treasury analyst.'),(51,'emp-051','2025-04-02','Lunch','Thai Express','Lunch with tax advisor.'),(52,'emp-052','2025-04-16','Lunch','Steakhouse','Lunch with financial planner.'),(53,'emp-053','2025-05-02','Lunch','Italian Restaurant','Lunch with corporate finance manager.'),(54,'emp-054','2025-05-16','Lunch','Sandwich Shop','Quick lunch.'),(55,'emp-055','2025-06-02','Lunch','Indian Takeout','Lunch with financial reporter.'),(56,'emp-056','2025-06-16','Lunch','Pizza Hut','Lunch with project coordinator.'),(57,'emp-057','2025-07-02','Lunch','Mexican Cafe','Lunch with software developer.'),(58,'emp-058','2025-07-16','Lunch','Salad Bar','Healthy lunch.'),(59,'emp-059','2025-08-02','Lunch','Burger King','Quick lunch.'),(60,'emp-060','2025-08-16','Lunch','Chinese Restaurant','Lunch with systems administrator.'),(61,'emp-061','2025-09-02','Lunch','Sushi Place','Lunch with database administrator.'),(62,'emp-062','2025-09-16','Lunch','Deli','Lunch with security analyst.'),(63,'emp-063','2025-10-02','Lunch','Thai Express','Lunch with information security officer.'),(64,'emp-064','2025-10-16','Lunch','Pizza Place','Lunch with content creator.'),(65,'emp-065','2025-11-02','Lunch','Burger Joint','Lunch with social media manager.'),(66,'emp-066','2025-11-16','Lunch','Noodle Shop','Lunch with SEO specialist.'),(67,'emp-067','2025-12-02','Lunch','Sushi Bar','Lunch with PR manager.'),(68,'emp-068','2025-12-16','Lunch','Cafe','Quick sandwich lunch.'),(69,'emp-069','2026-01-02','Lunch','Healthy Bowl','Healthy lunch.'),(70,'emp-070','2026-01-16','Lunch','Deli','Lunch with technical support specialist.'),(71,'emp-071','2026-02-02','Lunch','Pizza Palace','Lunch with sales operations manager.'),(72,'emp-072','2026-02-16','Lunch','Indian Cuisine','Lunch with client manager.'),(73,'emp-073','2026-03-02','Lunch','Thai Restaurant','Lunch with event planner.'),(74,'emp-074','2026-03-16','Lunch','Italian Cafe','Lunch with warehouse supervisor.'),(75,'emp-075','2026-04-02','Lunch','Sandwich Shop','Quick lunch.'),(76,'emp-076','2026-04-16','Lunch','Korean BBQ','Lunch with import/export agent.'),(77,'emp-077','2026-05-02','Lunch','Salad Bar','Healthy lunch.'),(78,'emp-078','2026-05-16','Lunch','Burgers and Fries','Lunch with patent attorney.'),(79,'emp-079','2026-06-02','Lunch','Thai Express','Lunch with M&A lawyer.'),(80,'emp-080','2026-06-16','Lunch','Steakhouse','Lunch with trademark specialist.'),(81,'emp-081','2026-07-02','Lunch','Italian Restaurant','Lunch with contract manager.'),(82,'emp-082','2026-07-16','Lunch','Sandwich Shop','Quick lunch.'),(83,'emp-083','2026-08-02','Lunch','Indian Takeout','Lunch with intellectual property lawyer.'),(84,'emp-084','2026-08-16','Lunch','Pizza Hut','Lunch with internal affairs investigator.'),(85,'emp-085','2026-09-02','Lunch','Mexican Cafe','Lunch with forensic accountant.'),(86,'emp-086','2026-09-16','Lunch','Salad Bar','Healthy lunch.'),(87,'emp-087','2026-10-02','Lunch','Burger King','Quick lunch.'),(88,'emp-088','2026-10-16','Lunch','Chinese Restaurant','Lunch with strategic planner.'),(89,'emp-089','2026-11-02','Lunch','Sushi Place','Lunch with change manager.'),(90,'emp-090','2026-11-16','Lunch','Deli','Lunch with process improvement specialist.'),(91,'emp-091','2026-12-02','Lunch','Thai Express','Lunch with CSR manager.'),(92,'emp-092','2026-12-16','Lunch','Pizza Place','Lunch with brand manager.'),(93,'emp-093','2027-01-02','Lunch','Burger Joint','Lunch with product launch specialist.'),(94,'emp-094','2027-01-16','Lunch','Noodle Shop','Lunch with market analyst.'),(95,'emp-095','2027-02-02','Lunch','Sushi Bar','Lunch with consumer insights analyst.'),(96,'emp-096','2027-02-16','Lunch','Cafe','Quick sandwich lunch.'),(97,'emp-097','2027-03-02','Lunch','Healthy Bowl','Healthy lunch.'),(98,'emp-098','2027-03-16','Lunch','Deli','Lunch with new tech researcher.'),(99,'emp-099','2027-04-02','Lunch','Pizza Palace','Lunch with prototyping engineer.'),(100,'emp-100','2027-04-16','Lunch','Indian Cuisine','Lunch with pilot program manager.');
+INSERT INTO `lunch_logs` VALUES (1,'emp-001','2023-01-16','LUNCH','The Burger Joint','Team lunch with sales department.'),(2,'emp-002','2023-02-21','LUNCH','Pasta Paradise','Lunch with new marketing hires.'),(3,'emp-003','2023-03-11','LUNCH','Taco Fiesta','Lunch with the dev team.'),(4,'emp-004','2023-04-06','LUNCH','Healthy Bowl','Grabbed a quick salad.'),(5,'emp-005','2023-05-02','LUNCH','BBQ Pit','Celebratory lunch for new project start.'),(6,'emp-006','2023-05-16','LUNCH','Sushi Express','Quick sushi lunch.'),(7,'emp-007','2023-06-26','LUNCH','Pizza Palace','Lunch with the research team.'),(8,'emp-008','2023-07-02','LUNCH','Subway','Grab and go lunch.'),(9,'emp-009','2023-07-11','LUNCH','Noodle House','Lunch with IT team.'),(10,'emp-010','2023-08-02','LUNCH','Steakhouse','Lunch with legal team.'),(11,'emp-011','2023-08-21','LUNCH','Coffee Shop','Quick sandwich lunch.'),(12,'emp-012','2023-09-02','LUNCH','Deli','Lunch at the office.'),(13,'emp-013','2023-09-16','LUNCH','Chinese Buffet','Lunch with PR team.'),(14,'emp-014','2023-10-02','LUNCH','Mexican Grill','Lunch with logistics team.'),(15,'emp-015','2023-10-11','LUNCH','Sushi Bar','Lunch with QA team.'),(16,'emp-016','2023-10-26','LUNCH','Indian Cuisine','Lunch with training team.'),(17,'emp-017','2023-11-02','LUNCH','Thai Restaurant','Lunch with strategy team.'),(18,'emp-018','2023-11-16','LUNCH','Italian Cafe','Lunch with new business development team.'),(19,'emp-019','2023-12-02','LUNCH','Sandwich Shop','Grabbed a quick sandwich.'),(20,'emp-020','2023-12-11','LUNCH','Korean BBQ','Lunch with data analytics team.'),(21,'emp-021','2024-01-06','LUNCH','Salad Bar','Healthy lunch.'),(22,'emp-022','2024-01-21','LUNCH','Burgers and Fries','Lunch with maintenance crew.'),(23,'emp-023','2024-02-02','LUNCH','Thai Express','Lunch with compliance officer.'),(24,'emp-024','2024-02-16','LUNCH','Steakhouse','Lunch with recruitment specialist.'),(25,'emp-025','2024-03-02','LUNCH','Italian Restaurant','Lunch with corporate affairs team.'),(26,'emp-026','2024-03-16','LUNCH','Sandwich Shop','Quick lunch.'),(27,'emp-027','2024-04-02','LUNCH','Indian Takeout','Lunch with safety officer.'),(28,'emp-028','2024-04-16','LUNCH','Pizza Hut','Lunch with community relations manager.'),(29,'emp-029','2024-05-02','LUNCH','Mexican Cafe','Lunch with procurement officer.'),(30,'emp-030','2024-05-16','LUNCH','Salad Bar','Healthy lunch.'),(31,'emp-031','2024-06-02','LUNCH','Burger King','Quick lunch.'),(32,'emp-032','2024-06-16','LUNCH','Chinese Restaurant','Lunch with investment team.'),(33,'emp-033','2024-07-02','LUNCH','Sushi Place','Lunch with M&A team.'),(34,'emp-034','2024-07-16','LUNCH','Deli','Lunch with internal auditor.'),(35,'emp-035','2024-08-02','LUNCH','Thai Express','Lunch with data scientist.'),(36,'emp-036','2024-08-16','LUNCH','Pizza Place','Lunch with UX researcher.'),(37,'emp-037','2024-09-02','LUNCH','Burger Joint','Lunch with cybersecurity analyst.'),(38,'emp-038','2024-09-16','LUNCH','Noodle Shop','Lunch with cloud engineer.'),(39,'emp-039','2024-10-02','LUNCH','Sushi Bar','Lunch with robotics engineer.'),(40,'emp-040','2024-10-16','LUNCH','Cafe','Quick sandwich lunch.'),(41,'emp-041','2024-11-02','LUNCH','Healthy Bowl','Healthy lunch.'),(42,'emp-042','2024-11-16','LUNCH','Deli','Lunch with investor relations manager.'),(43,'emp-043','2024-12-02','LUNCH','Pizza Palace','Lunch with talent manager.'),(44,'emp-044','2024-12-16','LUNCH','Indian Cuisine','Lunch with employee relations specialist.'),(45,'emp-045','2025-01-02','LUNCH','Thai Restaurant','Lunch with compensation analyst.'),(46,'emp-046','2025-01-16','LUNCH','Italian Cafe','Lunch with performance manager.'),(47,'emp-047','2025-02-02','LUNCH','Sandwich Shop','Quick lunch.'),(48,'emp-048','2025-02-16','LUNCH','Korean BBQ','Lunch with payroll specialist.'),(49,'emp-049','2025-03-02','LUNCH','Salad Bar','Healthy lunch.'),(50,'emp-050','2025-03-16','LUNCH','Burgers and Fries','Lunch with treasury analyst.'),(51,'emp-051','2025-04-02','LUNCH','Thai Express','Lunch with tax advisor.'),(52,'emp-052','2025-04-16','LUNCH','Steakhouse','Lunch with financial planner.'),(53,'emp-053','2025-05-02','LUNCH','Italian Restaurant','Lunch with corporate finance manager.'),(54,'emp-054','2025-05-16','LUNCH','Sandwich Shop','Quick lunch.'),(55,'emp-055','2025-06-02','LUNCH','Indian Takeout','Lunch with financial reporter.'),(56,'emp-056','2025-06-16','LUNCH','Pizza Hut','Lunch with project coordinator.'),(57,'emp-057','2025-07-02','LUNCH','Mexican Cafe','Lunch with software developer.'),(58,'emp-058','2025-07-16','LUNCH','Salad Bar','Healthy lunch.'),(59,'emp-059','2025-08-02','LUNCH','Burger King','Quick lunch.'),(60,'emp-060','2025-08-16','LUNCH','Chinese Restaurant','Lunch with systems administrator.'),(61,'emp-061','2025-09-02','LUNCH','Sushi Place','Lunch with database administrator.'),(62,'emp-062','2025-09-16','LUNCH','Deli','Lunch with security analyst.'),(63,'emp-063','2025-10-02','LUNCH','Thai Express','Lunch with information security officer.'),(64,'emp-064','2025-10-16','LUNCH','Pizza Place','Lunch with content creator.'),(65,'emp-065','2025-11-02','LUNCH','Burger Joint','Lunch with social media manager.'),(66,'emp-066','2025-11-16','LUNCH','Noodle Shop','Lunch with SEO specialist.'),(67,'emp-067','2025-12-02','LUNCH','Sushi Bar','Lunch with PR manager.'),(68,'emp-068','2025-12-16','LUNCH','Cafe','Quick sandwich lunch.'),(69,'emp-069','2026-01-02','LUNCH','Healthy Bowl','Healthy lunch.'),(70,'emp-070','2026-01-16','LUNCH','Deli','Lunch with technical support specialist.'),(71,'emp-071','2026-02-02','LUNCH','Pizza Palace','Lunch with sales operations manager.'),(72,'emp-072','2026-02-16','LUNCH','Indian Cuisine','Lunch with client manager.'),(73,'emp-073','2026-03-02','LUNCH','Thai Restaurant','Lunch with event planner.'),(74,'emp-074','2026-03-16','LUNCH','Italian Cafe','Lunch with warehouse supervisor.'),(75,'emp-075','2026-04-02','LUNCH','Sandwich Shop','Quick lunch.'),(76,'emp-076','2026-04-16','LUNCH','Korean BBQ','Lunch with import/export agent.'),(77,'emp-077','2026-05-02','LUNCH','Salad Bar','Healthy lunch.'),(78,'emp-078','2026-05-16','LUNCH','Burgers and Fries','Lunch with patent attorney.'),(79,'emp-079','2026-06-02','LUNCH','Thai Express','Lunch with M&A lawyer.'),(80,'emp-080','2026-06-16','LUNCH','Steakhouse','Lunch with trademark specialist.'),(81,'emp-081','2026-07-02','LUNCH','Italian Restaurant','Lunch with contract manager.'),(82,'emp-082','2026-07-16','LUNCH','Sandwich Shop','Quick lunch.'),(83,'emp-083','2026-08-02','LUNCH','Indian Takeout','Lunch with intellectual property lawyer.'),(84,'emp-084','2026-08-16','LUNCH','Pizza Hut','Lunch with internal affairs investigator.'),(85,'emp-085','2026-09-02','LUNCH','Mexican Cafe','Lunch with forensic accountant.'),(86,'emp-086','2026-09-16','LUNCH','Salad Bar','Healthy lunch.'),(87,'emp-087','2026-10-02','LUNCH','Burger King','Quick lunch.'),(88,'emp-088','2026-10-16','LUNCH','Chinese Restaurant','Lunch with strategic planner.'),(89,'emp-089','2026-11-02','LUNCH','Sushi Place','Lunch with change manager.'),(90,'emp-090','2026-11-16','LUNCH','Deli','Lunch with process improvement specialist.'),(91,'emp-091','2026-12-02','LUNCH','Thai Express','Lunch with CSR manager.'),(92,'emp-092','2026-12-16','LUNCH','Pizza Place','Lunch with brand manager.'),(93,'emp-093','2027-01-02','LUNCH','Burger Joint','Lunch with product launch specialist.'),(94,'emp-094','2027-01-16','LUNCH','Noodle Shop','Lunch with market analyst.'),(95,'emp-095','2027-02-02','LUNCH','Sushi Bar','Lunch with consumer insights analyst.'),(96,'emp-096','2027-02-16','LUNCH','Cafe','Quick sandwich lunch.'),(97,'emp-097','2027-03-02','LUNCH','Healthy Bowl','Healthy lunch.'),(98,'emp-098','2027-03-16','LUNCH','Deli','Lunch with new tech researcher.'),(99,'emp-099','2027-04-02','LUNCH','Pizza Palace','Lunch with prototyping engineer.'),(100,'emp-100','2027-04-16','LUNCH','Indian Cuisine','Lunch with pilot program manager.');
 /*!40000 ALTER TABLE `lunch_logs` ENABLE KEYS */;
 UNLOCK TABLES;
 
@@ -180,7 +238,10 @@ CREATE TABLE `tasks` (
   `created_at` timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP,
   `updated_at` timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
   PRIMARY KEY (`id`),
-  KEY `fk_tasks_employee` (`employee_id`),
+  KEY `idx_tasks_employee_status` (`employee_id`,`status`),
+  KEY `idx_tasks_status_due_date` (`status`,`due_date`),
+  KEY `idx_tasks_status_id` (`status`,`id`),
+  KEY `idx_tasks_due_date` (`due_date`),
   CONSTRAINT `fk_tasks_employee` FOREIGN KEY (`employee_id`) REFERENCES `employees` (`id`) ON DELETE CASCADE
 ) ENGINE=InnoDB AUTO_INCREMENT=102 DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
 /*!40101 SET character_set_client = @saved_cs_client */;
@@ -0,0 +1,157 @@
+package com.duyphong.duyphong_app.benchmark;
+
+import com.duyphong.duyphong_app.dto.projection.TaskRow;
+import com.duyphong.duyphong_app.dto.request.CreateLunchLogRequest;
+import com.duyphong.duyphong_app.dto.response.DepartmentStatisticsResponse;
+import com.duyphong.duyphong_app.entity.DepartmentEntity;
+import com.duyphong.duyphong_app.entity.EmployeeEntity;
+import com.duyphong.duyphong_app.entity.LunchLogEntity;
+import com.duyphong.duyphong_app.entity.TaskEntity;
+import com.duyphong.duyphong_app.enumeration.MealType;
+import com.duyphong.duyphong_app.enumeration.TaskStatus;
+import com.duyphong.duyphong_app.mapper.EmployeeMapperImpl;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Deterministic sample data shaped like the dev data set, shared by the benchmarks
+ */
+final class BenchmarkData {
+
+    /**
+     * Number of distinct employees the generated rows are spread over
+     */
+    static final int EMPLOYEES = 20;
+
+    private static final Instant CREATED_AT = Instant.parse("2025-01-15T09:00:00Z");
+    private static final LocalDate START_DATE = LocalDate.of(2025, 1, 1);
+
+    private BenchmarkData() {
+    }
+
+    static String employeeId(int i) {
+        return String.format("emp-%03d", i % EMPLOYEES + 1);
+    }
+
+    static List<TaskRow> taskRows(int size) {
+        List<TaskRow> rows = new ArrayList<>(size);
+        TaskStatus[] statuses = TaskStatus.values();
+        for (int i = 0; i < size; i++) {
+            int employee = i % EMPLOYEES + 1;
+            rows.add(new TaskRow(i + 1, "Task " + i, "Description of task " + i, START_DATE.plusDays(i % 90),
+                    statuses[i % statuses.length], CREATED_AT, CREATED_AT,
+                    employeeId(i), "user" + employee, "Employee " + employee, "user" + employee + "@example.com",
+                    "Software Developer", String.format("dept-%03d", employee % 5 + 1), "Department " + (employee % 5 + 1)));
+        }
+        return rows;
+    }
+
+    /**
+     * Task entities with their employee and department graph, holding the same values as taskRows
+     */
+    static List<TaskEntity> taskEntities(int size) {
+        Map<String, EmployeeEntity> employees = new HashMap<>();
+        List<TaskEntity> tasks = new ArrayList<>(size);
+        TaskStatus[] statuses = TaskStatus.values();
+        for (int i = 0; i < size; i++) {
+            int employee = i % EMPLOYEES + 1;
+            EmployeeEntity employeeEntity = employees.computeIfAbsent(employeeId(i), id -> EmployeeEntity.builder()
+                    .id(id)
+                    .username("user" + employee)
+                    .email("user" + employee + "@example.com")
+                    .fullname("Employee " + employee)
+                    .department(DepartmentEntity.builder()
+                            .id(String.format("dept-%03d", employee % 5 + 1))
+                            .name("Department " + (employee % 5 + 1))
+                            .build())
+                    .position("Software Developer")
+                    .salary(20_000_000 + employee * 1000)
+                    .createdAt(CREATED_AT)
+                    .updatedAt(CREATED_AT)
+                    .version(0L)
+                    .build());
+            tasks.add(TaskEntity.builder()
+                    .id(i + 1)
+                    .employeeId(employeeEntity.getId())
+                    .taskName("Task " + i)
+                    .description("Description of task " + i)
+                    .dueDate(START_DATE.plusDays(i % 90))
+                    .status(statuses[i % statuses.length])
+                    .createdAt(CREATED_AT)
+                    .updatedAt(CREATED_AT)
+                    .employee(employeeEntity)
+                    .build());
+        }
+        return tasks;
+    }
+
+    static List<CreateLunchLogRequest> lunchLogRequests(int size) {
+        List<CreateLunchLogRequest> requests = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            requests.add(CreateLunchLogRequest.builder()
+                    .employeeId(employeeId(i))
+                    .lunchDate(START_DATE.plusDays(i / (EMPLOYEES * 2)))
+                    .mealType(i / EMPLOYEES % 2 == 0 ? MealType.LUNCH : MealType.DINNER)
+                    .restaurant("Restaurant " + i % 7)
+                    .notes("Lunch log " + i)
+                    .build());
+        }
+        return requests;
+    }
+
+    static List<LunchLogEntity> lunchLogEntities(int size, int firstDay) {
+        List<LunchLogEntity> lunchLogs = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            lunchLogs.add(LunchLogEntity.builder()
+                    .id(i + 1)
+                    .employeeId(employeeId(i))
+                    .lunchDate(START_DATE.plusDays(firstDay + i / (EMPLOYEES * 2)))
+                    .mealType(i / EMPLOYEES % 2 == 0 ? MealType.LUNCH : MealType.DINNER)
+                    .restaurant("Restaurant " + i % 7)
+                    .notes("Lunch log " + i)
+                    .build());
+        }
+        return lunchLogs;
+    }
+
+    static List<EmployeeEntity> employees(int size) {
+        List<EmployeeEntity> employees = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            employees.add(EmployeeEntity.builder()
+                    .id(String.format("emp-%05d", i + 1))
+                    .username("user" + i)
+                    .email("user" + i + "@example.com")
+                    .fullname("Employee " + i)
+                    .department(DepartmentEntity.builder()
+                            .id(String.format("dept-%03d", i % 5 + 1))
+                            .name("Department " + (i % 5 + 1))
+                            .build())
+                    .position("Software Developer")
+                    .salary(20_000_000 + i * 1000)
+                    .createdAt(CREATED_AT)
+                    .updatedAt(CREATED_AT)
+                    .build());
+        }
+        return employees;
+    }
+
+    static DepartmentStatisticsResponse departmentStatistics(int newEmployees) {
+        Map<String, Integer> taskCounts = new HashMap<>();
+        for (TaskStatus status : TaskStatus.values()) {
+            taskCounts.put(status.name(), status.ordinal() * 3);
+        }
+        return DepartmentStatisticsResponse.builder()
+                .departmentId("dept-001")
+                .departmentName("Engineering")
+                .totalEmployees(42)
+                .averageSalary(25_500_000.0)
+                .taskCountsByStatus(taskCounts)
+                .newEmployees(new EmployeeMapperImpl().toDtoList(employees(newEmployees)))
+                .build();
+    }
+}
@@ -0,0 +1,200 @@
+package com.duyphong.duyphong_app.benchmark;
+
+import com.duyphong.duyphong_app.repository.DepartmentHistoryRepositoryCustomImpl;
+import com.duyphong.duyphong_app.seed.ZipfDistribution;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Department roster at a past instant, reconstructed from 10M department history rows in an H2 file database
+ * Every employee changes department 10 times over five years, departments are drawn with Zipf skew so rank 1
+ * is the largest department. Scores are milliseconds for the first roster page of 100 members.
+ * The first run loads the database into target/ (about 20 minutes, the history indexes are built after the rows), later runs reuse it;
+ * run with -p historyRows=1000000 for a quicker check.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class DepartmentRosterBenchmark {
+
+    private static final int CHANGES_PER_EMPLOYEE = 10;
+    private static final int DEPARTMENTS = 100;
+    private static final double SKEW = 1.1;
+    private static final int PAGE_SIZE = 100;
+    private static final int BATCH_SIZE = 100_000;
+
+    private static final Instant HISTORY_START = Instant.parse("2020-01-01T00:00:00Z");
+    private static final Duration CHANGE_INTERVAL = Duration.ofDays(182);
+
+    /**
+     * Indexes the roster query reads, created after the rows are loaded instead of maintained row by row
+     */
+    private static final String[] ROSTER_INDEXES = {
+            "idx_department_history_employee_change_date", "idx_department_history_new_department_employee"};
+
+    @Param({"10000000"})
+    private int historyRows;
+
+    /**
+     * Rank of the department by size, 1 is the largest
+     */
+    @Param({"1", "10", "100"})
+    private int departmentRank;
+
+    /**
+     * After the first change, halfway through the history and after the last change
+     */
+    @Param({"2020-06-01T00:00:00Z", "2022-07-01T00:00:00Z", "2025-01-01T00:00:00Z"})
+    private String asOf;
+
+    private SingleConnectionDataSource dataSource;
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    private MapSqlParameterSource parameters;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        Path database = Path.of("target", "department-roster-benchmark", "roster-" + historyRows);
+        dataSource = new SingleConnectionDataSource(
+                "jdbc:h2:file:" + database.toAbsolutePath() + ";CACHE_SIZE=524288", "sa", "", true);
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        if (!isLoaded(template)) {
+            template.execute("DROP ALL OBJECTS");
+            ResourceDatabasePopulator schema = new ResourceDatabasePopulator(new ClassPathResource("schema.sql"));
+            schema.execute(dataSource);
+            for (String index : ROSTER_INDEXES) {
+                template.execute("DROP INDEX " + index);
+            }
+            load(dataSource.getConnection(), template);
+            // Every statement of the schema is idempotent, running it again only creates the dropped indexes
+            schema.execute(dataSource);
+        }
+        jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        
+        parameters = new MapSqlParameterSource()
+                .addValue("departmentId", departmentId(departmentRank - 1))
+                .addValue("afterEmployeeId", "")
+                .addValue("asOf", Timestamp.from(Instant.parse(asOf)))
+                .addValue("limit", PAGE_SIZE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        new JdbcTemplate(dataSource).execute("SHUTDOWN");
+        dataSource.destroy();
+    }
+
+    @Benchmark
+    public int roster() {
+        return jdbcTemplate.queryForList(DepartmentHistoryRepositoryCustomImpl.ROSTER_AS_OF_SQL, parameters).size();
+    }
+
+    private boolean isLoaded(JdbcTemplate template) {
+        Integer indexes = template.queryForObject(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES WHERE INDEX_NAME = ?", Integer.class,
+                ROSTER_INDEXES[1].toUpperCase());
+        return indexes != null && indexes > 0
+                && Integer.valueOf(historyRows).equals(template.queryForObject("SELECT COUNT(*) FROM department_history", Integer.class));
+    }
+
+    /**
+     * Insert departments, employees and their history in change order, so history IDs grow with the change date
+     * like they do in production. Foreign keys are not checked while loading, the generated rows satisfy them.
+     */
+    private void load(Connection connection, JdbcTemplate template) throws SQLException {
+        int employees = historyRows / CHANGES_PER_EMPLOYEE;
+        Random random = new Random(42);
+        ZipfDistribution departmentDistribution = new ZipfDistribution(DEPARTMENTS, SKEW);
+        
+        // Department of every employee after every change, the first change places the employee, later ones transfer them
+        byte[][] departments = new byte[CHANGES_PER_EMPLOYEE][employees];
+        for (int i = 0; i < employees; i++) {
+            departments[0][i] = (byte) departmentDistribution.sample(random);
+            for (int change = 1; change < CHANGES_PER_EMPLOYEE; change++) {
+                int department = departments[change - 1][i];
+                while (department == departments[change - 1][i]) {
+                    department = departmentDistribution.sample(random);
+                }
+                departments[change][i] = (byte) department;
+            }
+        }
+        
+        template.execute("SET REFERENTIAL_INTEGRITY FALSE");
+        connection.setAutoCommit(false);
+        insert(connection, "INSERT INTO departments (id, name) VALUES (?, ?)", DEPARTMENTS, (statement, i) -> {
+            statement.setString(1, departmentId(i));
+            statement.setString(2, "Department " + (i + 1));
+        });
+        
+        Timestamp created = Timestamp.from(HISTORY_START);
+        insert(connection, "INSERT INTO employees (id, username, email, fullname, department, position, salary, created_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", employees, (statement, i) -> {
+            statement.setString(1, employeeId(i));
+            statement.setString(2, "user" + i);
+            statement.setString(3, "user" + i + "@example.com");
+            statement.setString(4, "Employee " + i);
+            statement.setString(5, departmentId(departments[CHANGES_PER_EMPLOYEE - 1][i]));
+            statement.setString(6, "Software Engineer");
+            statement.setInt(7, 25_000_000);
+            statement.setTimestamp(8, created);
+            statement.setTimestamp(9, created);
+        });
+        
+        long intervalSeconds = CHANGE_INTERVAL.toSeconds();
+        insert(connection, "INSERT INTO department_history (employee_id, old_department_id, new_department_id, change_date) " +
+                "VALUES (?, ?, ?, ?)", historyRows, (statement, row) -> {
+            int change = row / employees;
+            int i = row % employees;
+            Instant intervalStart = HISTORY_START.plus(CHANGE_INTERVAL.multipliedBy(change));
+            statement.setString(1, employeeId(i));
+            statement.setString(2, change > 0 ? departmentId(departments[change - 1][i]) : null);
+            statement.setString(3, departmentId(departments[change][i]));
+            statement.setTimestamp(4, Timestamp.from(intervalStart.plusSeconds((long) (random.nextDouble() * intervalSeconds))));
+        });
+        connection.setAutoCommit(true);
+        template.execute("SET REFERENTIAL_INTEGRITY TRUE");
+    }
+
+    private static void insert(Connection connection, String sql, int rows, RowWriter writer) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int row = 0; row < rows; row++) {
+                writer.write(statement, row);
+                statement.addBatch();
+                if ((row + 1) % BATCH_SIZE == 0 || row == rows - 1) {
+                    statement.executeBatch();
+                    connection.commit();
+                }
+            }
+        }
+    }
+
+    private interface RowWriter {
+        
+        void write(PreparedStatement statement, int row) throws SQLException;
+    }
+
+    private static String departmentId(int department) {
+        return String.format("dept-%03d", department + 1);
+    }
+
+    private static String employeeId(int employee) {
+        return String.format("emp-%07d", employee + 1);
+    }
+}
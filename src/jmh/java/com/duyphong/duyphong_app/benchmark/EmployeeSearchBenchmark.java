@@ -0,0 +1,65 @@
+package com.duyphong.duyphong_app.benchmark;
+
+import com.duyphong.duyphong_app.dto.projection.EmployeeSearchRow;
+import com.duyphong.duyphong_app.service.EmployeeSearchSegment;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Type-ahead queries against the employee search index at 1M employees
+ * Employees are shaped like the seed profile data: few distinct names and positions, unique usernames and emails.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class EmployeeSearchBenchmark {
+
+    private static final int EMPLOYEES = 1_000_000;
+    private static final int LIMIT = 10;
+
+    private static final String[] FIRST_NAMES = {
+            "Anh", "Binh", "Chi", "Duc", "Giang", "Hoa", "Hung", "Lan", "Linh", "Minh",
+            "Nam", "Phong", "Quynh", "Son", "Thao", "Trang", "Tuan", "Viet", "Xuan", "Yen"};
+    private static final String[] LAST_NAMES = {
+            "Nguyen", "Tran", "Le", "Pham", "Hoang", "Phan", "Vu", "Dang", "Bui", "Do"};
+    private static final String[] POSITIONS = {
+            "Software Engineer", "Senior Software Engineer", "QA Engineer", "Business Analyst", "Sales Executive",
+            "Marketing Specialist", "Financial Analyst", "HR Specialist", "Support Engineer", "Team Lead", "Manager"};
+
+    /**
+     * One letter, a common name, a typo, a unique username, two words and a full email
+     */
+    @Param({"n", "nguyen", "ngyuen", "user0123456", "manager tran", "seed.user0123456@example.com"})
+    private String query;
+
+    private EmployeeSearchSegment segment;
+    private String[] queryTerms;
+    private long[] hidden;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        List<EmployeeSearchRow> rows = new ArrayList<>(EMPLOYEES);
+        for (int i = 1; i <= EMPLOYEES; i++) {
+            String username = String.format("seed.user%07d", i);
+            rows.add(new EmployeeSearchRow(String.format("seed-emp-%07d", i), username, username + "@example.com",
+                    LAST_NAMES[random.nextInt(LAST_NAMES.length)] + " " + FIRST_NAMES[random.nextInt(FIRST_NAMES.length)],
+                    POSITIONS[random.nextInt(POSITIONS.length)]));
+        }
+        segment = EmployeeSearchSegment.build(rows.iterator());
+        queryTerms = EmployeeSearchSegment.terms(query).toArray(new String[0]);
+        hidden = new long[(segment.size() + 63) >>> 6];
+    }
+
+    @Benchmark
+    public List<EmployeeSearchSegment.Hit> search() {
+        return segment.search(queryTerms, true, hidden, LIMIT);
+    }
+}
@@ -0,0 +1,134 @@
+package com.duyphong.duyphong_app.benchmark;
+
+import com.duyphong.duyphong_app.DuyphongAppApplication;
+import com.duyphong.duyphong_app.dto.request.UpdateEmployeeRequest;
+import com.duyphong.duyphong_app.entity.EmployeeEntity;
+import com.duyphong.duyphong_app.exception.EmployeeVersionMismatchException;
+import com.duyphong.duyphong_app.service.EmployeeService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.LockModeType;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Concurrent salary updates of a few hot employees through EmployeeService on the dev H2 database
+ * Compares updates without If-Match retried on the server, If-Match updates whose client reads the employee
+ * again after a 412, and a pessimistic SELECT ... FOR UPDATE baseline.
+ * Scores are committed updates per second over all writer threads, the auxiliary counters are conflicts per second:
+ * retries exhausted on the server (409 responses) and version mismatches seen by If-Match clients (412 responses).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+@Threads(16)
+@State(Scope.Benchmark)
+public class EmployeeUpdateContentionBenchmark {
+
+    /**
+     * Number of employees the writers spread over, 1 puts every writer on the same row
+     */
+    @Param({"1", "4", "20"})
+    private int hotEmployees;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService employeeService;
+    private TransactionTemplate transactionTemplate;
+    private EntityManagerFactory entityManagerFactory;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Conflicts {
+        
+        /**
+         * Updates that exhausted their server-side retries
+         */
+        public long exhausted;
+        
+        /**
+         * If-Match updates rejected because another writer got there first
+         */
+        public long mismatches;
+        
+        @Setup(Level.Iteration)
+        public void reset() {
+            exhausted = 0;
+            mismatches = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        context = new SpringApplicationBuilder(DuyphongAppApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("dev")
+                // Arguments rather than default properties, so they override the dev profile
+                .run("--spring.jpa.show-sql=false", "--spring.h2.console.enabled=false", "--logging.level.root=WARN",
+                        "--logging.level.com.duyphong.duyphong_app=ERROR", "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+        employeeService = context.getBean(EmployeeService.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object serverRetry(Conflicts conflicts) {
+        try {
+            return employeeService.updateEmployee(hotEmployeeId(), salaryUpdate(), null);
+        } catch (OptimisticLockingFailureException e) {
+            conflicts.exhausted++;
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object ifMatch(Conflicts conflicts) {
+        String id = hotEmployeeId();
+        while (true) {
+            Long version = employeeService.findEmployeeById(id).orElseThrow().getVersion();
+            try {
+                return employeeService.updateEmployee(id, salaryUpdate(), version);
+            } catch (EmployeeVersionMismatchException e) {
+                conflicts.mismatches++;
+            }
+        }
+    }
+
+    @Benchmark
+    public Object pessimistic() {
+        String id = hotEmployeeId();
+        int salary = salaryUpdate().getSalary();
+        return transactionTemplate.execute(status -> {
+            EntityManager entityManager = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+            EmployeeEntity employee = entityManager.find(EmployeeEntity.class, id, LockModeType.PESSIMISTIC_WRITE);
+            employee.setSalary(salary);
+            return employee;
+        });
+    }
+
+    private String hotEmployeeId() {
+        return BenchmarkData.employeeId(ThreadLocalRandom.current().nextInt(hotEmployees));
+    }
+
+    private static UpdateEmployeeRequest salaryUpdate() {
+        return UpdateEmployeeRequest.builder()
+                .salary(50_000 + ThreadLocalRandom.current().nextInt(100_000))
+                .build();
+    }
+}
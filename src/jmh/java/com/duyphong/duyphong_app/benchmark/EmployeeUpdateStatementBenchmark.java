@@ -0,0 +1,124 @@
+package com.duyphong.duyphong_app.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Salary updates of single employees with the UPDATE statements Hibernate generates for EmployeeEntity,
+ * every column (the default) against only the changed columns (@DynamicUpdate), in the dev H2 schema
+ * Scores are committed updates per second, the username and email columns carry unique indexes.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmployeeUpdateStatementBenchmark {
+
+    private static final String ALL_COLUMNS_SQL =
+            "UPDATE employees SET department = ?, email = ?, fullname = ?, position = ?, salary = ?, updated_at = ?, " +
+            "username = ?, version = ? WHERE id = ? AND version = ?";
+
+    private static final String CHANGED_COLUMNS_SQL =
+            "UPDATE employees SET salary = ?, updated_at = ?, version = ? WHERE id = ? AND version = ?";
+
+    @Param({"100000"})
+    private int employees;
+
+    private SingleConnectionDataSource dataSource;
+    private PreparedStatement allColumns;
+    private PreparedStatement changedColumns;
+    private long[] versions;
+
+    @Setup
+    public void setUp() throws SQLException {
+        dataSource = new SingleConnectionDataSource("jdbc:h2:mem:update-benchmark;DB_CLOSE_DELAY=-1", "sa", "", true);
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+        Connection connection = dataSource.getConnection();
+        
+        Timestamp created = Timestamp.from(Instant.parse("2025-01-15T09:00:00Z"));
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO employees (id, username, email, fullname, position, salary, created_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < employees; i++) {
+                statement.setString(1, employeeId(i));
+                statement.setString(2, "user" + i);
+                statement.setString(3, "user" + i + "@example.com");
+                statement.setString(4, "Employee " + i);
+                statement.setString(5, "Software Engineer");
+                statement.setInt(6, 25_000_000);
+                statement.setTimestamp(7, created);
+                statement.setTimestamp(8, created);
+                statement.addBatch();
+                if ((i + 1) % 1000 == 0) {
+                    statement.executeBatch();
+                }
+            }
+            statement.executeBatch();
+        }
+        versions = new long[employees];
+        allColumns = connection.prepareStatement(ALL_COLUMNS_SQL);
+        changedColumns = connection.prepareStatement(CHANGED_COLUMNS_SQL);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        allColumns.close();
+        changedColumns.close();
+        new JdbcTemplate(dataSource).execute("DROP ALL OBJECTS");
+        dataSource.destroy();
+    }
+
+    @Benchmark
+    public int allColumns() throws SQLException {
+        int i = ThreadLocalRandom.current().nextInt(employees);
+        allColumns.setString(1, null);
+        allColumns.setString(2, "user" + i + "@example.com");
+        allColumns.setString(3, "Employee " + i);
+        allColumns.setString(4, "Software Engineer");
+        allColumns.setInt(5, salary());
+        allColumns.setTimestamp(6, Timestamp.from(Instant.now()));
+        allColumns.setString(7, "user" + i);
+        return executeVersioned(allColumns, 8, i);
+    }
+
+    @Benchmark
+    public int changedColumns() throws SQLException {
+        int i = ThreadLocalRandom.current().nextInt(employees);
+        changedColumns.setInt(1, salary());
+        changedColumns.setTimestamp(2, Timestamp.from(Instant.now()));
+        return executeVersioned(changedColumns, 3, i);
+    }
+
+    /**
+     * Bind the new and the expected version from the given parameter index on and run the update
+     */
+    private int executeVersioned(PreparedStatement statement, int versionIndex, int i) throws SQLException {
+        statement.setLong(versionIndex, versions[i] + 1);
+        statement.setString(versionIndex + 1, employeeId(i));
+        statement.setLong(versionIndex + 2, versions[i]);
+        int updated = statement.executeUpdate();
+        versions[i]++;
+        return updated;
+    }
+
+    private static int salary() {
+        return 20_000_000 + ThreadLocalRandom.current().nextInt(10_000_000);
+    }
+
+    private static String employeeId(int employee) {
+        return String.format("emp-%07d", employee + 1);
+    }
+}
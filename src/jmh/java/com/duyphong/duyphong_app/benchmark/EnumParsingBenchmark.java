@@ -0,0 +1,81 @@
+package com.duyphong.duyphong_app.benchmark;
+
+import com.duyphong.duyphong_app.enumeration.EnumCodec;
+import com.duyphong.duyphong_app.enumeration.MealType;
+import com.duyphong.duyphong_app.enumeration.TaskStatus;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * EnumCodec compared with the previous per-call enum matching
+ * The legacy methods reproduce the former MealTypeDeserializer loop over values() and the
+ * former ValidEnumValidator stream over the constant names.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EnumParsingBenchmark {
+
+    @Param({"DINNER", "dinner", " Dinner "})
+    private String mealType;
+
+    private final EnumCodec<MealType> mealTypeCodec = EnumCodec.of(MealType.class);
+    private final EnumCodec<TaskStatus> taskStatusCodec = EnumCodec.of(TaskStatus.class);
+    private final Set<String> legacyValidValues = Arrays.stream(MealType.values()).map(Enum::name).collect(Collectors.toSet());
+    private char[] mealTypeChars;
+
+    @Setup
+    public void setUp() {
+        mealTypeChars = ("\"" + mealType + "\"").toCharArray();
+    }
+
+    @Benchmark
+    public MealType legacyDeserialize() {
+        for (MealType candidate : MealType.values()) {
+            if (candidate.name().equalsIgnoreCase(mealType.trim())) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    @Benchmark
+    public MealType codecParseString() {
+        return mealTypeCodec.parse(mealType);
+    }
+
+    /**
+     * Parse in place from a character buffer, as the deserializer does with the JSON parser's buffer
+     */
+    @Benchmark
+    public MealType codecParseChars() {
+        return mealTypeCodec.parse(mealTypeChars, 1, mealTypeChars.length - 2);
+    }
+
+    @Benchmark
+    public boolean legacyValidate() {
+        return legacyValidValues.stream().anyMatch(validValue -> validValue.equalsIgnoreCase(mealType));
+    }
+
+    @Benchmark
+    public boolean codecValidate() {
+        return mealTypeCodec.parse(mealType) != null;
+    }
+
+    @Benchmark
+    public TaskStatus legacyTaskStatusParameter() {
+        return TaskStatus.valueOf("IN_PROGRESS".trim());
+    }
+
+    @Benchmark
+    public TaskStatus codecTaskStatusParameter() {
+        return taskStatusCodec.parse("in_progress");
+    }
+}
@@ -0,0 +1,69 @@
+package com.duyphong.duyphong_app.benchmark;
+
+import com.duyphong.duyphong_app.dto.request.CreateLunchLogRequest;
+import com.duyphong.duyphong_app.dto.response.DepartmentStatisticsResponse;
+import com.duyphong.duyphong_app.dto.response.TaskResponse;
+import com.duyphong.duyphong_app.enumeration.MealType;
+import com.duyphong.duyphong_app.mapper.TaskMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson deserialization of lunch log rows (MealTypeDeserializer) and serialization of response bodies,
+ * using an ObjectMapper configured like the application's
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonBenchmark {
+
+    @Param({"100", "1000"})
+    private int size;
+
+    private ObjectReader mealTypeReader;
+    private ObjectReader lunchLogReader;
+    private ObjectWriter writer;
+    private List<TaskResponse> tasks;
+    private DepartmentStatisticsResponse departmentStatistics;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        mealTypeReader = objectMapper.readerFor(MealType.class);
+        lunchLogReader = objectMapper.readerFor(CreateLunchLogRequest.class);
+        writer = objectMapper.writer();
+        tasks = new TaskMapper().toResponseList(BenchmarkData.taskRows(size));
+        departmentStatistics = BenchmarkData.departmentStatistics(size / 10);
+    }
+
+    @Benchmark
+    public MealType deserializeMealType() throws IOException {
+        return mealTypeReader.readValue("\" dinner \"");
+    }
+
+    @Benchmark
+    public CreateLunchLogRequest deserializeLunchLogRow() throws IOException {
+        return lunchLogReader.readValue("{\"employeeId\":\"emp-001\",\"lunchDate\":\"2025-09-17\","
+                + "\"mealType\":\"lunch\",\"restaurant\":\"Pizza Palace\",\"notes\":\"Team lunch\"}");
+    }
+
+    @Benchmark
+    public byte[] serializeTaskResponses() throws IOException {
+        return writer.writeValueAsBytes(tasks);
+    }
+
+    @Benchmark
+    public byte[] serializeDepartmentStatistics() throws IOException {
+        return writer.writeValueAsBytes(departmentStatistics);
+    }
+}
@@ -0,0 +1,73 @@
+package com.duyphong.duyphong_app.benchmark;
+
+import com.duyphong.duyphong_app.entity.LunchLogEntity;
+import com.duyphong.duyphong_app.repository.LunchLogJdbcRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lunch log JDBC batch inserts into the dev H2 schema per JDBC batch size
+ * Scores are rows per second, each invocation inserts ROWS new rows and the table is emptied per iteration
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LunchLogBatchInsertBenchmark {
+
+    private static final int ROWS = 2000;
+
+    @Param({"1", "10", "100", "500", "1000"})
+    private int batchSize;
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private LunchLogJdbcRepository lunchLogJdbcRepository;
+    private int nextDay;
+    private List<LunchLogEntity> lunchLogs;
+
+    @Setup
+    public void setUp() {
+        dataSource = new SingleConnectionDataSource("jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1", "sa", "", true);
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql"), new ClassPathResource("data.sql"))
+                .execute(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        lunchLogJdbcRepository = new LunchLogJdbcRepository(jdbcTemplate);
+    }
+
+    /**
+     * Build the rows outside the measurement, every invocation uses new dates
+     * so rows never hit the unique (employee, date, meal type) key
+     */
+    @Setup(Level.Invocation)
+    public void prepareLunchLogs() {
+        lunchLogs = BenchmarkData.lunchLogEntities(ROWS, nextDay);
+        nextDay += ROWS / (BenchmarkData.EMPLOYEES * 2);
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearLunchLogs() {
+        jdbcTemplate.update("DELETE FROM lunch_logs");
+        nextDay = 0;
+    }
+
+    @TearDown
+    public void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+        dataSource.destroy();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int batchInsert() {
+        return lunchLogJdbcRepository.batchInsert(lunchLogs, batchSize);
+    }
+}
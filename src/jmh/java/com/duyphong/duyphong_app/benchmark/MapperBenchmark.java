@@ -0,0 +1,69 @@
+package com.duyphong.duyphong_app.benchmark;
+
+import com.duyphong.duyphong_app.dto.projection.TaskRow;
+import com.duyphong.duyphong_app.dto.request.CreateLunchLogRequest;
+import com.duyphong.duyphong_app.dto.response.EmployeeResponse;
+import com.duyphong.duyphong_app.dto.response.LunchLogResponse;
+import com.duyphong.duyphong_app.dto.response.TaskResponse;
+import com.duyphong.duyphong_app.entity.EmployeeEntity;
+import com.duyphong.duyphong_app.entity.LunchLogEntity;
+import com.duyphong.duyphong_app.mapper.EmployeeMapper;
+import com.duyphong.duyphong_app.mapper.EmployeeMapperImpl;
+import com.duyphong.duyphong_app.mapper.LunchLogMapper;
+import com.duyphong.duyphong_app.mapper.TaskMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity/projection to DTO conversion of the list endpoints
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    @Param({"100", "1000"})
+    private int size;
+
+    private final TaskMapper taskMapper = new TaskMapper();
+    private final LunchLogMapper lunchLogMapper = new LunchLogMapper();
+    private final EmployeeMapper employeeMapper = new EmployeeMapperImpl();
+
+    private List<TaskRow> taskRows;
+    private List<CreateLunchLogRequest> lunchLogRequests;
+    private List<LunchLogEntity> lunchLogEntities;
+    private List<EmployeeEntity> employees;
+
+    @Setup
+    public void setUp() {
+        taskRows = BenchmarkData.taskRows(size);
+        lunchLogRequests = BenchmarkData.lunchLogRequests(size);
+        lunchLogEntities = BenchmarkData.lunchLogEntities(size, 0);
+        employees = BenchmarkData.employees(size);
+    }
+
+    @Benchmark
+    public List<TaskResponse> taskToResponseList() {
+        return taskMapper.toResponseList(taskRows);
+    }
+
+    @Benchmark
+    public List<LunchLogEntity> lunchLogToEntityList() {
+        return lunchLogMapper.toEntityList(lunchLogRequests);
+    }
+
+    @Benchmark
+    public List<LunchLogResponse> lunchLogToResponseList() {
+        return lunchLogMapper.toResponseList(lunchLogEntities);
+    }
+
+    @Benchmark
+    public List<EmployeeResponse> employeeToDtoList() {
+        return employeeMapper.toDtoList(employees);
+    }
+}
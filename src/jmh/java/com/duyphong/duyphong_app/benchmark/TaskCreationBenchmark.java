@@ -0,0 +1,67 @@
+package com.duyphong.duyphong_app.benchmark;
+
+import com.duyphong.duyphong_app.DuyphongAppApplication;
+import com.duyphong.duyphong_app.dto.request.CreateTaskRequest;
+import com.duyphong.duyphong_app.dto.response.TaskResponse;
+import com.duyphong.duyphong_app.service.TaskService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Concurrent task creations through TaskService on the dev H2 database
+ * Compares one INSERT and commit per task with the write-behind buffer, which inserts the tasks queued by all
+ * writers as one JDBC batch per commit. Scores are acknowledged (committed) creations per second over all writer threads.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+@Threads(32)
+@State(Scope.Benchmark)
+public class TaskCreationBenchmark {
+
+    private static final int EMPLOYEES = 20;
+
+    @Param({"false", "true"})
+    private boolean writeBehind;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        context = new SpringApplicationBuilder(DuyphongAppApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("dev")
+                // Arguments rather than default properties, so they override the dev profile
+                .run("--app.task-write-behind.enabled=" + writeBehind,
+                        "--spring.jpa.show-sql=false", "--spring.h2.console.enabled=false", "--logging.level.root=WARN",
+                        "--logging.level.com.duyphong.duyphong_app=ERROR", "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+        taskService = context.getBean(TaskService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TaskResponse createTask() {
+        int employee = ThreadLocalRandom.current().nextInt(EMPLOYEES);
+        return taskService.createTask(CreateTaskRequest.builder()
+                .employeeId(BenchmarkData.employeeId(employee))
+                .taskName("Benchmark task")
+                .description("Created by TaskCreationBenchmark")
+                .dueDate(LocalDate.of(2030, 1, 1))
+                .build());
+    }
+}
@@ -0,0 +1,123 @@
+package com.duyphong.duyphong_app.benchmark;
+
+import com.duyphong.duyphong_app.dto.projection.TaskRow;
+import com.duyphong.duyphong_app.dto.response.TaskResponse;
+import com.duyphong.duyphong_app.entity.EmployeeEntity;
+import com.duyphong.duyphong_app.entity.TaskEntity;
+import com.duyphong.duyphong_app.enumeration.TaskStatus;
+import com.duyphong.duyphong_app.mapper.TaskMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.Getter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping and serialization of one GET /api/tasks page per response shape
+ * ENTITY is the original path, which put the EmployeeEntity with its DepartmentEntity into every task.
+ * EMBEDDED puts an EmployeeInfo summary into every task, as GET /api/tasks and the NDJSON stream do.
+ * REFERENCED is the TaskListResponse of GET /api/tasks?compact=true, whose tasks carry an employee ID and which
+ * sends each summary once.
+ * Hibernate's hydration of the entity graph is not included. The bytesPerRow secondary result is the
+ * serialized size divided by the number of tasks. Run with -prof gc for the allocated bytes per page
+ * (gc.alloc.rate.norm).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskListPayloadBenchmark {
+
+    @Param({"100", "1000"})
+    private int size;
+
+    @Param({"ENTITY", "EMBEDDED", "REFERENCED"})
+    private String shape;
+
+    private final TaskMapper taskMapper = new TaskMapper();
+
+    private ObjectWriter writer;
+    private List<TaskEntity> taskEntities;
+    private List<TaskRow> taskRows;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Payload {
+        
+        /**
+         * Serialized bytes per task of the last page written
+         */
+        public long bytesPerRow;
+    }
+
+    @Setup
+    public void setUp() {
+        writer = Jackson2ObjectMapperBuilder.json().build().writer();
+        taskEntities = BenchmarkData.taskEntities(size);
+        taskRows = BenchmarkData.taskRows(size);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerialize(Payload payload) throws IOException {
+        byte[] json = writer.writeValueAsBytes(map());
+        payload.bytesPerRow = json.length / size;
+        return json;
+    }
+
+    private Object map() {
+        switch (shape) {
+            case "ENTITY":
+                List<EntityTaskResponse> responses = new ArrayList<>(taskEntities.size());
+                for (TaskEntity task : taskEntities) {
+                    responses.add(new EntityTaskResponse(task));
+                }
+                return responses;
+            case "EMBEDDED":
+                Map<String, TaskResponse.EmployeeInfo> employeeCache = new HashMap<>();
+                List<TaskResponse> tasks = new ArrayList<>(taskRows.size());
+                for (TaskRow row : taskRows) {
+                    tasks.add(taskMapper.toResponse(row, employeeCache));
+                }
+                return tasks;
+            default:
+                return taskMapper.toListResponse(taskRows);
+        }
+    }
+
+    /**
+     * TaskResponse as it was before the projection, exposing the employee entity itself
+     */
+    @Getter
+    public static class EntityTaskResponse {
+        
+        private final Integer id;
+        private final String taskName;
+        private final String description;
+        private final LocalDate dueDate;
+        private final TaskStatus status;
+        private final Instant createdAt;
+        private final Instant updatedAt;
+        private final EmployeeEntity employee;
+        
+        private EntityTaskResponse(TaskEntity task) {
+            id = task.getId();
+            taskName = task.getTaskName();
+            description = task.getDescription();
+            dueDate = task.getDueDate();
+            status = task.getStatus();
+            createdAt = task.getCreatedAt();
+            updatedAt = task.getUpdatedAt();
+            employee = task.getEmployee();
+        }
+    }
+}
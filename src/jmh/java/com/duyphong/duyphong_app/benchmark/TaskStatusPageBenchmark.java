@@ -0,0 +1,169 @@
+package com.duyphong.duyphong_app.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keyset pages of GET /api/tasks?status= from 1M tasks in an H2 file database, with and without idx_tasks_status_id
+ * Without it the status filter can only use idx_tasks_status_due_date, whose entries of one status are ordered by
+ * due date, so every page sorts all matching tasks after the cursor. The query plan of each variant is printed
+ * when the trial starts. Scores are milliseconds per page of 100 tasks at the start, middle and end of the status.
+ * The first run loads the database into target/ (several minutes), later runs reuse it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class TaskStatusPageBenchmark {
+
+    private static final int EMPLOYEES = 1000;
+    private static final int DEPARTMENTS = 10;
+    private static final int PAGE_SIZE = 100;
+    private static final int BATCH_SIZE = 100_000;
+    private static final String STATUS_ID_INDEX = "idx_tasks_status_id";
+    private static final LocalDate START_DATE = LocalDate.of(2025, 1, 1);
+
+    /**
+     * The page query TaskRepositoryCustomImpl builds for a status filter and a cursor
+     */
+    private static final String PAGE_SQL =
+            "SELECT t.id, t.task_name, t.description, t.due_date, t.status, t.created_at, t.updated_at, " +
+            "e.id, e.username, e.fullname, e.email, e.position, d.id, d.name " +
+            "FROM tasks t LEFT JOIN employees e ON e.id = t.employee_id LEFT JOIN departments d ON d.id = e.department " +
+            "WHERE t.status = ? AND t.id > ? ORDER BY t.status, t.id FETCH FIRST ? ROWS ONLY";
+
+    @Param({"1000000"})
+    private int taskRows;
+
+    @Param({"status_due_date", "status_id"})
+    private String index;
+
+    /**
+     * Position of the cursor among all tasks, 0 is the first page
+     */
+    @Param({"0", "0.5", "0.99"})
+    private double position;
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private int afterId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        Path database = Path.of("target", "task-page-benchmark", "tasks-" + taskRows);
+        // Without OPTIMIZE_REUSE_RESULTS=FALSE H2 would answer a repeated query from the result of the last run
+        dataSource = new SingleConnectionDataSource("jdbc:h2:file:" + database.toAbsolutePath()
+                + ";CACHE_SIZE=524288;OPTIMIZE_REUSE_RESULTS=FALSE", "sa", "", true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        ResourceDatabasePopulator schema = new ResourceDatabasePopulator(new ClassPathResource("schema.sql"));
+        if (!isLoaded()) {
+            jdbcTemplate.execute("DROP ALL OBJECTS");
+            schema.execute(dataSource);
+            load(dataSource.getConnection());
+        }
+        // Every statement of the schema is idempotent, running it again only creates a dropped index
+        schema.execute(dataSource);
+        if (index.equals("status_due_date")) {
+            jdbcTemplate.execute("DROP INDEX " + STATUS_ID_INDEX);
+        }
+        jdbcTemplate.execute("ANALYZE");
+        
+        afterId = (int) (taskRows * position);
+        System.out.println("Plan with " + index + ": " + jdbcTemplate.queryForObject("EXPLAIN " + PAGE_SQL, String.class,
+                "IN_PROGRESS", afterId, PAGE_SIZE).replaceAll("\\s+", " "));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        jdbcTemplate.execute("SHUTDOWN");
+        dataSource.destroy();
+    }
+
+    @Benchmark
+    public int page() {
+        return jdbcTemplate.queryForList(PAGE_SQL, "IN_PROGRESS", afterId, PAGE_SIZE).size();
+    }
+
+    private boolean isLoaded() {
+        Integer tables = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_NAME = 'TASKS'", Integer.class);
+        return tables != null && tables > 0
+                && Integer.valueOf(taskRows).equals(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tasks", Integer.class));
+    }
+
+    /**
+     * Insert departments, employees and tasks. A task is TO_DO, IN_PROGRESS or COMPLETED with 20/10/70% probability,
+     * so the benchmarked IN_PROGRESS status holds about 100k of 1M tasks spread over all IDs.
+     */
+    private void load(Connection connection) throws SQLException {
+        Random random = new Random(42);
+        Timestamp created = Timestamp.from(Instant.parse("2025-01-01T00:00:00Z"));
+        connection.setAutoCommit(false);
+        insert(connection, "INSERT INTO departments (id, name) VALUES (?, ?)", DEPARTMENTS, (statement, i) -> {
+            statement.setString(1, String.format("dept-%03d", i + 1));
+            statement.setString(2, "Department " + (i + 1));
+        });
+        insert(connection, "INSERT INTO employees (id, username, email, fullname, department, position, salary, created_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", EMPLOYEES, (statement, i) -> {
+            statement.setString(1, employeeId(i));
+            statement.setString(2, "user" + i);
+            statement.setString(3, "user" + i + "@example.com");
+            statement.setString(4, "Employee " + i);
+            statement.setString(5, String.format("dept-%03d", i % DEPARTMENTS + 1));
+            statement.setString(6, "Software Engineer");
+            statement.setInt(7, 25_000_000);
+            statement.setTimestamp(8, created);
+            statement.setTimestamp(9, created);
+        });
+        insert(connection, "INSERT INTO tasks (employee_id, task_name, description, due_date, status, created_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)", taskRows, (statement, i) -> {
+            double status = random.nextDouble();
+            statement.setString(1, employeeId(random.nextInt(EMPLOYEES)));
+            statement.setString(2, "Task " + i);
+            statement.setString(3, "Description of task " + i);
+            statement.setDate(4, Date.valueOf(START_DATE.plusDays(random.nextInt(365))));
+            statement.setString(5, status < 0.2 ? "TO_DO" : status < 0.3 ? "IN_PROGRESS" : "COMPLETED");
+            statement.setTimestamp(6, created);
+            statement.setTimestamp(7, created);
+        });
+        connection.setAutoCommit(true);
+    }
+
+    private static void insert(Connection connection, String sql, int rows, RowWriter writer) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int row = 0; row < rows; row++) {
+                writer.write(statement, row);
+                statement.addBatch();
+                if ((row + 1) % BATCH_SIZE == 0 || row == rows - 1) {
+                    statement.executeBatch();
+                    connection.commit();
+                }
+            }
+        }
+    }
+
+    private interface RowWriter {
+        
+        void write(PreparedStatement statement, int row) throws SQLException;
+    }
+
+    private static String employeeId(int employee) {
+        return String.format("emp-%05d", employee + 1);
+    }
+}
@@ -0,0 +1,62 @@
+package com.duyphong.duyphong_app.benchmark;
+
+import com.duyphong.duyphong_app.dto.request.CreateLunchLogRequest;
+import com.duyphong.duyphong_app.validation.ValidEnum;
+import com.duyphong.duyphong_app.validation.ValidEnumValidator;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Enum validation of request fields, on its own and as part of validating a whole lunch log row
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidationBenchmark {
+
+    private ValidEnumValidator validEnumValidator;
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private CreateLunchLogRequest lunchLogRequest;
+
+    @Setup
+    public void setUp() throws NoSuchFieldException {
+        validEnumValidator = new ValidEnumValidator();
+        validEnumValidator.initialize(CreateLunchLogRequest.class.getDeclaredField("mealType").getAnnotation(ValidEnum.class));
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        lunchLogRequest = BenchmarkData.lunchLogRequests(1).get(0);
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    /**
+     * Case-insensitive match of a string value, the context is only used for invalid values
+     */
+    @Benchmark
+    public boolean validEnumString() {
+        return validEnumValidator.isValid("dinner", null);
+    }
+
+    @Benchmark
+    public boolean validEnumConstant() {
+        return validEnumValidator.isValid(lunchLogRequest.getMealType(), null);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CreateLunchLogRequest>> validateLunchLogRequest() {
+        return validator.validate(lunchLogRequest);
+    }
+}
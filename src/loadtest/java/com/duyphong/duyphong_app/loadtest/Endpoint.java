@@ -0,0 +1,19 @@
+package com.duyphong.duyphong_app.loadtest;
+
+import lombok.Value;
+
+import java.net.http.HttpRequest;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * One API operation driven by the load test
+ */
+@Value
+public class Endpoint {
+    String name;
+    String method;
+    String path;
+    // Builds a new request per call, path variables and bodies are drawn from the discovered fixtures
+    Function<Random, HttpRequest> requestFactory;
+}
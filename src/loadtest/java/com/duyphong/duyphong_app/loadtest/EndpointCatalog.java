@@ -0,0 +1,278 @@
+package com.duyphong.duyphong_app.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * All /api/* operations of the application with request factories
+ * Department and employee IDs are discovered from the running application before the test: employees are taken
+ * from the first page of open tasks, so employees with many tasks (the skewed head of the seeded data) are picked more often.
+ */
+@Slf4j
+public class EndpointCatalog {
+
+    private static final String JSON = "application/json";
+    private static final String NDJSON = "application/x-ndjson";
+
+    /**
+     * Rows per lunch log bulk or import request
+     */
+    private static final int LUNCH_LOG_ROWS = 10;
+
+    /**
+     * Employee IDs per batch lookup request
+     */
+    private static final int EMPLOYEE_BATCH_SIZE = 50;
+
+    /**
+     * Transfers per bulk department transfer request
+     */
+    private static final int DEPARTMENT_TRANSFER_BATCH_SIZE = 50;
+
+    /**
+     * Type-ahead queries: prefixes, a typo and two words, matching both the dev and the seeded names
+     */
+    private static final String[] TEXT_SEARCH_QUERIES = {"ng", "nguyen", "ngyuen", "tran a", "engineer", "user00"};
+
+    /**
+     * Lunch logs written by the test use consecutive dates from here, so reruns do not collide with seeded rows
+     */
+    private static final LocalDate WRITE_START_DATE = LocalDate.of(1980, 1, 1);
+
+    private final LoadTestConfig config;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final AtomicLong writeSequence = new AtomicLong();
+
+    private List<String> departmentIds;
+    private List<String> employeeIds;
+    private String importJobId;
+
+    public EndpointCatalog(LoadTestConfig config, HttpClient httpClient, ObjectMapper objectMapper) {
+        this.config = config;
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Discover department and employee IDs and create one import job to poll
+     * @throws IOException if the application cannot be reached or has no departments or tasks
+     * @throws InterruptedException if interrupted while waiting for a response
+     */
+    public void discoverFixtures() throws IOException, InterruptedException {
+        departmentIds = new ArrayList<>();
+        for (JsonNode department : getJson("/api/departments")) {
+            departmentIds.add(department.path("id").asText());
+        }
+        
+        Set<String> employees = new LinkedHashSet<>();
+        for (JsonNode task : getJson("/api/tasks?status=TO_DO&limit=1000")) {
+            employees.add(task.path("employeeId").asText());
+        }
+        employeeIds = new ArrayList<>(employees);
+        
+        if (departmentIds.isEmpty() || employeeIds.isEmpty()) {
+            throw new IOException("The application needs departments and tasks to run the load test");
+        }
+        
+        HttpResponse<String> job = httpClient.send(post("/api/lunch-logs/import-jobs", NDJSON,
+                lunchLogRows(new Random(config.getRandomSeed()), 1)), HttpResponse.BodyHandlers.ofString());
+        importJobId = objectMapper.readTree(job.body()).path("jobId").asText();
+        log.info("Discovered {} departments and {} employees, polling import job {}",
+                departmentIds.size(), employeeIds.size(), importJobId);
+    }
+
+    /**
+     * Read-only operations first (including the POST batch lookups), then the write operations, the asynchronous import job submission runs last
+     * so its background work does not overlap the other endpoints
+     * @return the endpoints in run order
+     */
+    public List<Endpoint> endpoints() {
+        LocalDate today = LocalDate.now();
+        String lastMonth = "&from=" + today.minusDays(30) + "&to=" + today;
+        List<Endpoint> endpoints = new ArrayList<>();
+        
+        endpoints.add(get("departments.list", "/api/departments",
+                random -> "/api/departments"));
+        endpoints.add(get("departments.average-salaries", "/api/departments/average-salaries",
+                random -> "/api/departments/average-salaries"));
+        endpoints.add(get("departments.statistics", "/api/departments/statistics/{id}",
+                random -> "/api/departments/statistics/" + department(random)));
+        endpoints.add(get("departments.roster", "/api/departments/{id}/roster?as_of",
+                random -> "/api/departments/" + department(random) + "/roster?as_of="
+                        + today.minusDays(random.nextInt(3 * 365)).atStartOfDay(ZoneOffset.UTC).toInstant()));
+        endpoints.add(get("employees.get", "/api/employees/{id}",
+                random -> "/api/employees/" + employee(random)));
+        endpoints.add(get("employees.detail", "/api/employees/detail/{id}",
+                random -> "/api/employees/detail/" + employee(random)));
+        endpoints.add(get("employees.department-history", "/api/employees/{id}/department-history",
+                random -> "/api/employees/" + employee(random) + "/department-history"));
+        endpoints.add(get("employees.search", "/api/employees?department_id&sort=SALARY&direction=DESC",
+                random -> "/api/employees?department_id=" + department(random) + "&sort=SALARY&direction=DESC"));
+        endpoints.add(get("employees.text-search", "/api/employees/search?q",
+                random -> "/api/employees/search?q=" + URLEncoder.encode(
+                        TEXT_SEARCH_QUERIES[random.nextInt(TEXT_SEARCH_QUERIES.length)], StandardCharsets.UTF_8)));
+        endpoints.add(new Endpoint("employees.batch", "POST", "/api/employees/batch",
+                random -> post("/api/employees/batch", JSON, employeeBatch(random))));
+        endpoints.add(new Endpoint("employees.detail-batch", "POST", "/api/employees/detail/batch",
+                random -> post("/api/employees/detail/batch", JSON, employeeBatch(random))));
+        endpoints.add(get("tasks.search", "/api/tasks?employee_id&status",
+                random -> "/api/tasks?employee_id=" + employee(random) + "&status=TO_DO"));
+        endpoints.add(get("tasks.page", "/api/tasks?status&limit=100",
+                random -> "/api/tasks?status=IN_PROGRESS&limit=100"));
+        endpoints.add(get("tasks.stream", "/api/tasks/stream?employee_id",
+                random -> "/api/tasks/stream?employee_id=" + employee(random)));
+        endpoints.add(get("lunch-logs.search", "/api/lunch-logs?employee_id&from&to",
+                random -> "/api/lunch-logs?employee_id=" + employee(random) + lastMonth));
+        endpoints.add(get("lunch-logs.summary-month", "/api/lunch-logs/summary?group_by=DEPARTMENT,MEAL_TYPE&from&to",
+                random -> "/api/lunch-logs/summary?group_by=DEPARTMENT,MEAL_TYPE" + lastMonth));
+        endpoints.add(get("lunch-logs.summary-all", "/api/lunch-logs/summary?group_by=DEPARTMENT",
+                random -> "/api/lunch-logs/summary?group_by=DEPARTMENT"));
+        endpoints.add(get("lunch-logs.import-job", "/api/lunch-logs/import-jobs/{jobId}",
+                random -> "/api/lunch-logs/import-jobs/" + importJobId));
+        
+        endpoints.add(new Endpoint("departments.create", "POST", "/api/departments",
+                random -> post("/api/departments", JSON, json(objectMapper.createObjectNode()
+                        .put("name", "Load Test " + UUID.randomUUID())))));
+        endpoints.add(new Endpoint("employees.update", "PUT", "/api/employees/{id}",
+                random -> put("/api/employees/" + employee(random), json(objectMapper.createObjectNode()
+                        .put("salary", 15_000_000 + random.nextInt(40_000) * 1000)))));
+        endpoints.add(new Endpoint("employees.change-department", "PUT", "/api/employees/department/{employeeId}",
+                random -> put("/api/employees/department/" + employee(random), json(objectMapper.createObjectNode()
+                        .put("newDepartmentId", department(random))))));
+        endpoints.add(new Endpoint("employees.change-department-batch", "PUT", "/api/employees/department/batch",
+                random -> put("/api/employees/department/batch", departmentTransfers(random))));
+        endpoints.add(new Endpoint("tasks.create", "POST", "/api/tasks",
+                random -> post("/api/tasks", JSON, json(objectMapper.createObjectNode()
+                        .put("employeeId", employee(random))
+                        .put("taskName", "Load test task")
+                        .put("description", "Created by the load test")
+                        .put("dueDate", today.plusDays(1 + random.nextInt(90)).toString())))));
+        endpoints.add(new Endpoint("lunch-logs.bulk", "POST", "/api/lunch-logs/bulk",
+                random -> {
+                    ObjectNode body = objectMapper.createObjectNode();
+                    ArrayNode lunchLogs = body.putArray("lunchLogs");
+                    for (int i = 0; i < LUNCH_LOG_ROWS; i++) {
+                        lunchLogs.add(lunchLog(random));
+                    }
+                    return HttpRequest.newBuilder(uri("/api/lunch-logs/bulk"))
+                            .timeout(config.getTimeout())
+                            .header("Content-Type", JSON)
+                            .header("Idempotency-Key", UUID.randomUUID().toString())
+                            .POST(HttpRequest.BodyPublishers.ofString(json(body)))
+                            .build();
+                }));
+        endpoints.add(new Endpoint("lunch-logs.import", "POST", "/api/lunch-logs/import",
+                random -> post("/api/lunch-logs/import", NDJSON, lunchLogRows(random, LUNCH_LOG_ROWS))));
+        endpoints.add(new Endpoint("lunch-logs.import-job-create", "POST", "/api/lunch-logs/import-jobs",
+                random -> post("/api/lunch-logs/import-jobs", NDJSON, lunchLogRows(random, LUNCH_LOG_ROWS))));
+        
+        return endpoints;
+    }
+
+    private Endpoint get(String name, String path, Function<Random, String> pathFactory) {
+        return new Endpoint(name, "GET", path, random -> HttpRequest.newBuilder(uri(pathFactory.apply(random)))
+                .timeout(config.getTimeout())
+                .GET()
+                .build());
+    }
+
+    private HttpRequest post(String path, String contentType, String body) {
+        return HttpRequest.newBuilder(uri(path))
+                .timeout(config.getTimeout())
+                .header("Content-Type", contentType)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest put(String path, String body) {
+        return HttpRequest.newBuilder(uri(path))
+                .timeout(config.getTimeout())
+                .header("Content-Type", JSON)
+                .PUT(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private JsonNode getJson(String path) throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(uri(path)).timeout(config.getTimeout()).build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IOException("GET " + path + " returned " + response.statusCode());
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    private ObjectNode lunchLog(Random random) {
+        return objectMapper.createObjectNode()
+                .put("employeeId", employee(random))
+                .put("lunchDate", WRITE_START_DATE.plusDays(writeSequence.getAndIncrement()).toString())
+                .put("mealType", random.nextBoolean() ? "LUNCH" : "DINNER")
+                .put("restaurant", "Load Test Restaurant " + random.nextInt(10))
+                .put("notes", "Created by the load test");
+    }
+
+    private String employeeBatch(Random random) {
+        ObjectNode body = objectMapper.createObjectNode();
+        ArrayNode ids = body.putArray("ids");
+        for (int i = 0; i < EMPLOYEE_BATCH_SIZE; i++) {
+            ids.add(employee(random));
+        }
+        return json(body);
+    }
+
+    private String departmentTransfers(Random random) {
+        ObjectNode body = objectMapper.createObjectNode();
+        ArrayNode transfers = body.putArray("transfers");
+        for (int i = 0; i < DEPARTMENT_TRANSFER_BATCH_SIZE; i++) {
+            transfers.addObject()
+                    .put("employeeId", employee(random))
+                    .put("newDepartmentId", department(random));
+        }
+        return json(body);
+    }
+
+    private String lunchLogRows(Random random, int rows) {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < rows; i++) {
+            body.append(json(lunchLog(random))).append('\n');
+        }
+        return body.toString();
+    }
+
+    private String json(JsonNode node) {
+        return node.toString();
+    }
+
+    private String department(Random random) {
+        return departmentIds.get(random.nextInt(departmentIds.size()));
+    }
+
+    private String employee(Random random) {
+        return employeeIds.get(random.nextInt(employeeIds.size()));
+    }
+
+    private URI uri(String path) {
+        return URI.create(config.getBaseUrl() + path);
+    }
+}
@@ -0,0 +1,174 @@
+package com.duyphong.duyphong_app.loadtest;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives one endpoint at a constant request rate (open loop) or with a fixed number of concurrent clients (closed loop)
+ * In the open loop requests are sent on a fixed schedule whether or not earlier responses have arrived, and latencies
+ * are measured from the scheduled send time, so a stalled server shows up in the percentiles instead of lowering the load.
+ * In the closed loop, selected with loadtest.concurrency, each client sends its next request as soon as the previous
+ * response arrives, so throughput shows how many requests the server completes with that many requests outstanding.
+ * A warmup phase runs first and is not recorded, both phases wait for their outstanding requests before returning.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class EndpointRunner {
+
+    private final LoadTestConfig config;
+    private final HttpClient httpClient;
+    private final MetricsScraper metricsScraper;
+
+    /**
+     * Run the warmup and measurement phases of an endpoint
+     * @param endpoint the endpoint to drive
+     * @return the measured result
+     * @throws InterruptedException if interrupted while waiting for the schedule or outstanding requests
+     */
+    public LoadTestReport.EndpointReport run(Endpoint endpoint) throws InterruptedException {
+        int concurrency = config.getConcurrency();
+        double rps = concurrency > 0 ? 0 : config.rpsFor(endpoint.getName());
+        Random random = new Random(config.getRandomSeed() ^ endpoint.getName().hashCode());
+        if (concurrency > 0) {
+            log.info("Running {} {} with {} concurrent clients", endpoint.getMethod(), endpoint.getPath(), concurrency);
+        } else {
+            log.info("Running {} {} at {} requests/s", endpoint.getMethod(), endpoint.getPath(), rps);
+        }
+        
+        runPhase(endpoint, rps, random, config.getWarmup(), new LatencyRecorder());
+        
+        LatencyRecorder recorder = new LatencyRecorder();
+        Double statementsBefore = metricsScraper.preparedStatements();
+        runPhase(endpoint, rps, random, config.getDuration(), recorder);
+        Double statementsAfter = metricsScraper.preparedStatements();
+        
+        long requests = recorder.getRequests();
+        Double statementsPerRequest = statementsBefore != null && statementsAfter != null && requests > 0
+                ? (statementsAfter - statementsBefore) / requests
+                : null;
+        double seconds = config.getDuration().toMillis() / 1000.0;
+        
+        return LoadTestReport.EndpointReport.builder()
+                .name(endpoint.getName())
+                .method(endpoint.getMethod())
+                .path(endpoint.getPath())
+                .targetRps(rps)
+                .requests(requests)
+                .successes(recorder.getSuccesses())
+                .errors(requests - recorder.getSuccesses())
+                .dropped(recorder.getDropped())
+                .statusCounts(recorder.getStatusCounts())
+                .throughput(recorder.getSuccesses() / seconds)
+                .latencyMs(recorder.summarize())
+                .statementsPerRequest(statementsPerRequest)
+                .build();
+    }
+
+    private void runPhase(Endpoint endpoint, double rps, Random random, Duration length, LatencyRecorder recorder)
+            throws InterruptedException {
+        if (config.getConcurrency() > 0) {
+            runClosedLoop(endpoint, random, length, recorder);
+        } else {
+            runOpenLoop(endpoint, rps, random, length, recorder);
+        }
+    }
+
+    private void runOpenLoop(Endpoint endpoint, double rps, Random random, Duration length, LatencyRecorder recorder)
+            throws InterruptedException {
+        int maxInFlight = config.getMaxInFlight();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        long start = System.nanoTime();
+        long end = start + length.toNanos();
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / rps;
+        
+        for (long i = 0; ; i++) {
+            long scheduled = start + (long) (i * intervalNanos);
+            if (scheduled >= end) {
+                break;
+            }
+            waitUntil(scheduled);
+            if (!inFlight.tryAcquire()) {
+                recorder.drop();
+                continue;
+            }
+            
+            HttpRequest request = endpoint.getRequestFactory().apply(random);
+            httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        record(recorder, response, error, System.nanoTime() - scheduled);
+                        inFlight.release();
+                    });
+        }
+        
+        // Wait for the outstanding requests, they time out after loadtest.timeout at the latest
+        long drainSeconds = config.getTimeout().toSeconds() + 5;
+        if (inFlight.tryAcquire(maxInFlight, drainSeconds, TimeUnit.SECONDS)) {
+            inFlight.release(maxInFlight);
+        } else {
+            log.warn("{} requests of {} still outstanding after {} s", maxInFlight - inFlight.availablePermits(),
+                    endpoint.getName(), drainSeconds);
+        }
+    }
+
+    private void runClosedLoop(Endpoint endpoint, Random random, Duration length, LatencyRecorder recorder)
+            throws InterruptedException {
+        int concurrency = config.getConcurrency();
+        CountDownLatch finished = new CountDownLatch(concurrency);
+        long end = System.nanoTime() + length.toNanos();
+        for (int i = 0; i < concurrency; i++) {
+            sendNext(endpoint, random, end, recorder, finished);
+        }
+        
+        // Clients stop sending at the end of the phase, their last requests time out after loadtest.timeout at the latest
+        long drainSeconds = length.toSeconds() + config.getTimeout().toSeconds() + 5;
+        if (!finished.await(drainSeconds, TimeUnit.SECONDS)) {
+            log.warn("{} clients of {} still waiting for a response after {} s", finished.getCount(),
+                    endpoint.getName(), drainSeconds);
+        }
+    }
+
+    private void sendNext(Endpoint endpoint, Random random, long end, LatencyRecorder recorder, CountDownLatch finished) {
+        long sent = System.nanoTime();
+        if (sent >= end) {
+            finished.countDown();
+            return;
+        }
+        
+        HttpRequest request = endpoint.getRequestFactory().apply(random);
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenCompleteAsync((response, error) -> {
+                    record(recorder, response, error, System.nanoTime() - sent);
+                    sendNext(endpoint, random, end, recorder, finished);
+                });
+    }
+
+    private static void record(LatencyRecorder recorder, HttpResponse<?> response, Throwable error, long latency) {
+        if (error != null) {
+            Throwable cause = error.getCause() != null ? error.getCause() : error;
+            recorder.record(cause.getClass().getSimpleName(), false, latency);
+        } else {
+            int status = response.statusCode();
+            recorder.record(String.valueOf(status), status >= 200 && status < 300, latency);
+        }
+    }
+
+    private static void waitUntil(long nanoTime) throws InterruptedException {
+        long remaining;
+        while ((remaining = nanoTime - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+}
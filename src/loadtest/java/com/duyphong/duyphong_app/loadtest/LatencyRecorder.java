@@ -0,0 +1,81 @@
+package com.duyphong.duyphong_app.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Collects the outcome and latency of every request of one endpoint, safe to call from HTTP client threads
+ */
+public class LatencyRecorder {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final Map<String, Long> statusCounts = new TreeMap<>();
+    private long[] latencies = new long[1024];
+    private int count;
+    private long successes;
+    private long dropped;
+
+    /**
+     * @param outcome the HTTP status code, or the exception name if no response was received
+     * @param success whether the response had a 2xx status
+     * @param latencyNanos the time from the scheduled send time to the complete response
+     */
+    public synchronized void record(String outcome, boolean success, long latencyNanos) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = latencyNanos;
+        statusCounts.merge(outcome, 1L, Long::sum);
+        if (success) {
+            successes++;
+        }
+    }
+
+    public synchronized void drop() {
+        dropped++;
+    }
+
+    public synchronized long getRequests() {
+        return count;
+    }
+
+    public synchronized long getSuccesses() {
+        return successes;
+    }
+
+    public synchronized long getDropped() {
+        return dropped;
+    }
+
+    public synchronized Map<String, Long> getStatusCounts() {
+        return new TreeMap<>(statusCounts);
+    }
+
+    /**
+     * @return mean, percentiles (nearest rank) and maximum in milliseconds, all 0 if nothing was recorded
+     */
+    public synchronized LoadTestReport.LatencySummary summarize() {
+        if (count == 0) {
+            return new LoadTestReport.LatencySummary();
+        }
+        
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        return LoadTestReport.LatencySummary.builder()
+                .mean(Arrays.stream(sorted).average().orElse(0) / NANOS_PER_MILLI)
+                .p50(percentile(sorted, 50))
+                .p90(percentile(sorted, 90))
+                .p95(percentile(sorted, 95))
+                .p99(percentile(sorted, 99))
+                .p999(percentile(sorted, 99.9))
+                .max(sorted[sorted.length - 1] / NANOS_PER_MILLI)
+                .build();
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+        return sorted[Math.max(rank - 1, 0)] / NANOS_PER_MILLI;
+    }
+}
@@ -0,0 +1,58 @@
+package com.duyphong.duyphong_app.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * HTTP load test of the /api/* endpoints against a running application
+ * Each endpoint is driven on its own at the configured rate, so latencies, throughput and
+ * statements per request can be attributed to it. Run with: mvn -P loadtest -DskipTests verify
+ * Settings are loadtest.* system properties, see LoadTestConfig.
+ */
+@Slf4j
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = new LoadTestConfig();
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        
+        EndpointCatalog catalog = new EndpointCatalog(config, httpClient, objectMapper);
+        catalog.discoverFixtures();
+        EndpointRunner runner = new EndpointRunner(config, httpClient, new MetricsScraper(config, httpClient));
+        
+        Instant startedAt = Instant.now();
+        List<LoadTestReport.EndpointReport> results = new ArrayList<>();
+        for (Endpoint endpoint : catalog.endpoints()) {
+            if (config.includes(endpoint.getName())) {
+                results.add(runner.run(endpoint));
+            }
+        }
+        
+        LoadTestReport report = LoadTestReport.builder()
+                .label(config.getLabel())
+                .startedAt(startedAt)
+                .baseUrl(config.getBaseUrl())
+                .warmupSeconds(config.getWarmup().toSeconds())
+                .durationSeconds(config.getDuration().toSeconds())
+                .concurrency(config.getConcurrency())
+                .endpoints(results)
+                .build();
+        
+        ReportWriter reportWriter = new ReportWriter(objectMapper);
+        LoadTestReport baseline = config.getBaseline().isEmpty() ? null : reportWriter.read(Path.of(config.getBaseline()));
+        String summary = reportWriter.write(report, config.getReportDir(), baseline);
+        log.info("Load test report written to {}\n{}", config.getReportDir().toAbsolutePath(), summary);
+    }
+}
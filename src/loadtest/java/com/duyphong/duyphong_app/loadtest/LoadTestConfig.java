@@ -0,0 +1,69 @@
+package com.duyphong.duyphong_app.loadtest;
+
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Load test settings, read from loadtest.* system properties
+ */
+@Getter
+public class LoadTestConfig {
+
+    private final String baseUrl = property("base-url", "http://localhost:8080");
+    private final double rps = Double.parseDouble(property("rps", "20"));
+    private final Duration warmup = Duration.parse(property("warmup", "PT5S"));
+    private final Duration duration = Duration.parse(property("duration", "PT20S"));
+    private final Duration timeout = Duration.parse(property("timeout", "PT30S"));
+    private final int maxInFlight = Integer.parseInt(property("max-in-flight", "200"));
+    // Concurrent clients of the closed loop, 0 drives every endpoint at its target rate instead
+    private final int concurrency = Integer.parseInt(property("concurrency", "0"));
+    private final Pattern endpoints = Pattern.compile(property("endpoints", ".*"));
+    private final Map<String, Double> rpsOverrides = parseRpsOverrides(property("rps-overrides", ""));
+    private final long randomSeed = Long.parseLong(property("random-seed", "42"));
+    private final String label = property("label", "");
+    private final Path reportDir = Path.of(property("report-dir", "target/loadtest"));
+    private final String baseline = property("baseline", "");
+
+    /**
+     * @param endpoint the endpoint name
+     * @return the target rate of the endpoint, loadtest.rps unless overridden in loadtest.rps-overrides
+     */
+    public double rpsFor(String endpoint) {
+        return rpsOverrides.getOrDefault(endpoint, rps);
+    }
+
+    /**
+     * @param endpoint the endpoint name
+     * @return whether the endpoint matches the loadtest.endpoints regular expression
+     */
+    public boolean includes(String endpoint) {
+        return endpoints.matcher(endpoint).matches();
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty("loadtest." + name, defaultValue).trim();
+    }
+
+    /**
+     * @param value comma separated endpoint=rps pairs, e.g. "lunch-logs.summary-all=2,lunch-logs.import-job-create=1"
+     */
+    private static Map<String, Double> parseRpsOverrides(String value) {
+        Map<String, Double> overrides = new HashMap<>();
+        for (String pair : value.split(",")) {
+            if (pair.isBlank()) {
+                continue;
+            }
+            String[] parts = pair.split("=", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid loadtest.rps-overrides entry: " + pair);
+            }
+            overrides.put(parts[0].trim(), Double.parseDouble(parts[1].trim()));
+        }
+        return overrides;
+    }
+}
@@ -0,0 +1,59 @@
+package com.duyphong.duyphong_app.loadtest;
+
+import lombok.*;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of one load test run, written as JSON so runs can be compared with loadtest.baseline
+ */
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor @Builder
+public class LoadTestReport {
+    private String label;
+    private Instant startedAt;
+    private String baseUrl;
+    private long warmupSeconds;
+    private long durationSeconds;
+    // Concurrent clients of a closed-loop run, 0 for a run at the target rates
+    private int concurrency;
+    private List<EndpointReport> endpoints;
+
+    /**
+     * Result of one endpoint, latencies are measured from the scheduled send time
+     * so a slow server also delays the requests queued behind it, or from the actual send time in a closed-loop run
+     */
+    @Getter @Setter
+    @NoArgsConstructor @AllArgsConstructor @Builder
+    public static class EndpointReport {
+        private String name;
+        private String method;
+        private String path;
+        private double targetRps;
+        private long requests;
+        private long successes;
+        private long errors;
+        // Requests not sent because loadtest.max-in-flight requests were outstanding
+        private long dropped;
+        private Map<String, Long> statusCounts;
+        // Successful responses per second over the measurement window
+        private double throughput;
+        private LatencySummary latencyMs;
+        // Hibernate prepared statements per request, null if the Prometheus endpoint is not exposed
+        private Double statementsPerRequest;
+    }
+
+    @Getter @Setter
+    @NoArgsConstructor @AllArgsConstructor @Builder
+    public static class LatencySummary {
+        private double mean;
+        private double p50;
+        private double p90;
+        private double p95;
+        private double p99;
+        private double p999;
+        private double max;
+    }
+}
@@ -0,0 +1,53 @@
+package com.duyphong.duyphong_app.loadtest;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+/**
+ * Reads server-side counters from the application's Prometheus endpoint
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class MetricsScraper {
+
+    private static final String PROMETHEUS_PATH = "/actuator/prometheus";
+    private static final String PREPARED_STATEMENTS_SERIES = "hibernate_statements_total{";
+    private static final String PREPARED_STATEMENTS_LABEL = "status=\"prepared\"";
+
+    private final LoadTestConfig config;
+    private final HttpClient httpClient;
+
+    /**
+     * @return the number of JDBC statements Hibernate has prepared so far,
+     *         null if the endpoint is not exposed or statistics are disabled
+     * @throws InterruptedException if interrupted while waiting for the response
+     */
+    public Double preparedStatements() throws InterruptedException {
+        try {
+            HttpResponse<String> response = httpClient.send(
+                    HttpRequest.newBuilder(URI.create(config.getBaseUrl() + PROMETHEUS_PATH)).timeout(config.getTimeout()).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                return null;
+            }
+            
+            Double total = null;
+            for (String line : response.body().split("\n")) {
+                if (line.startsWith(PREPARED_STATEMENTS_SERIES) && line.contains(PREPARED_STATEMENTS_LABEL)) {
+                    double value = Double.parseDouble(line.substring(line.lastIndexOf(' ') + 1));
+                    total = total == null ? value : total + value;
+                }
+            }
+            return total;
+        } catch (IOException e) {
+            log.debug("Could not read {}: {}", PROMETHEUS_PATH, e.getMessage());
+            return null;
+        }
+    }
+}
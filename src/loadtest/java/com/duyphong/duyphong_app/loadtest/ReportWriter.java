@@ -0,0 +1,103 @@
+package com.duyphong.duyphong_app.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Writes a load test report as JSON and as a Markdown table, optionally compared with a baseline report
+ */
+@RequiredArgsConstructor
+public class ReportWriter {
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Write loadtest-<timestamp>.json and loadtest-<timestamp>.md into the report directory
+     * @param report the report to write
+     * @param reportDir the report directory, created if missing
+     * @param baseline the report to compare with (nullable)
+     * @return the Markdown summary
+     * @throws IOException if a file cannot be written
+     */
+    public String write(LoadTestReport report, Path reportDir, LoadTestReport baseline) throws IOException {
+        Files.createDirectories(reportDir);
+        String name = "loadtest-" + FILE_TIMESTAMP.format(report.getStartedAt());
+        
+        objectMapper.writer(SerializationFeature.INDENT_OUTPUT).writeValue(reportDir.resolve(name + ".json").toFile(), report);
+        String markdown = markdown(report, baseline);
+        Files.writeString(reportDir.resolve(name + ".md"), markdown);
+        return markdown;
+    }
+
+    /**
+     * @param path a report written by a previous run
+     * @return the report
+     * @throws IOException if the file cannot be read
+     */
+    public LoadTestReport read(Path path) throws IOException {
+        return objectMapper.readValue(path.toFile(), LoadTestReport.class);
+    }
+
+    private String markdown(LoadTestReport report, LoadTestReport baseline) {
+        StringBuilder markdown = new StringBuilder();
+        markdown.append("# Load test ").append(report.getLabel().isEmpty() ? "" : report.getLabel() + " ")
+                .append(report.getStartedAt()).append("\n\n")
+                .append(String.format(Locale.ROOT, "%s, %d s warmup and %d s measurement per endpoint%s, latencies in ms%n%n",
+                        report.getBaseUrl(), report.getWarmupSeconds(), report.getDurationSeconds(),
+                        report.getConcurrency() > 0 ? " with " + report.getConcurrency() + " concurrent clients" : ""))
+                .append("| Endpoint | Target RPS | Throughput | Requests | Errors | Dropped | p50 | p90 | p95 | p99 | p99.9 | Max | Statements/request |\n")
+                .append("|---|---:|---:|---:|---:|---:|---:|---:|---:|---:|---:|---:|---:|\n");
+        for (LoadTestReport.EndpointReport endpoint : report.getEndpoints()) {
+            LoadTestReport.LatencySummary latency = endpoint.getLatencyMs();
+            markdown.append(String.format(Locale.ROOT,
+                    "| %s | %.1f | %.1f | %d | %d | %d | %.1f | %.1f | %.1f | %.1f | %.1f | %.1f | %s |%n",
+                    endpoint.getName(), endpoint.getTargetRps(), endpoint.getThroughput(), endpoint.getRequests(),
+                    endpoint.getErrors(), endpoint.getDropped(), latency.getP50(), latency.getP90(), latency.getP95(),
+                    latency.getP99(), latency.getP999(), latency.getMax(),
+                    endpoint.getStatementsPerRequest() != null ? String.format(Locale.ROOT, "%.1f", endpoint.getStatementsPerRequest()) : "-"));
+        }
+        
+        if (baseline != null) {
+            Map<String, LoadTestReport.EndpointReport> baselineEndpoints = baseline.getEndpoints().stream()
+                    .collect(Collectors.toMap(LoadTestReport.EndpointReport::getName, Function.identity()));
+            markdown.append("\n## Compared with ").append(baseline.getLabel().isEmpty() ? "" : baseline.getLabel() + " ")
+                    .append(baseline.getStartedAt()).append("\n\n")
+                    .append("| Endpoint | p50 | p95 | p99 | Throughput | Statements/request |\n")
+                    .append("|---|---:|---:|---:|---:|---:|\n");
+            for (LoadTestReport.EndpointReport endpoint : report.getEndpoints()) {
+                LoadTestReport.EndpointReport before = baselineEndpoints.get(endpoint.getName());
+                if (before == null) {
+                    continue;
+                }
+                markdown.append("| ").append(endpoint.getName())
+                        .append(" | ").append(change(before.getLatencyMs().getP50(), endpoint.getLatencyMs().getP50()))
+                        .append(" | ").append(change(before.getLatencyMs().getP95(), endpoint.getLatencyMs().getP95()))
+                        .append(" | ").append(change(before.getLatencyMs().getP99(), endpoint.getLatencyMs().getP99()))
+                        .append(" | ").append(change(before.getThroughput(), endpoint.getThroughput()))
+                        .append(" | ").append(before.getStatementsPerRequest() != null && endpoint.getStatementsPerRequest() != null
+                                ? change(before.getStatementsPerRequest(), endpoint.getStatementsPerRequest())
+                                : "-")
+                        .append(" |\n");
+            }
+        }
+        return markdown.toString();
+    }
+
+    private static String change(double before, double after) {
+        String percentage = before != 0 ? String.format(Locale.ROOT, " (%+.0f%%)", (after - before) / before * 100) : "";
+        return String.format(Locale.ROOT, "%.1f → %.1f%s", before, after, percentage);
+    }
+}
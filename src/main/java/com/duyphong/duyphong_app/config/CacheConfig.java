@@ -0,0 +1,71 @@
+package com.duyphong.duyphong_app.config;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.jcache.JCacheCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Cache Configuration
+ * One Caffeine JCache manager (configured in application.conf) backs both the Spring caches of the service layer
+ * and the Hibernate second-level cache regions, so all of them are exposed through the same cache metrics.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /**
+     * Spring cache of all departments as returned by DepartmentService.getAllDepartments
+     */
+    public static final String DEPARTMENTS_CACHE = "departments";
+
+    /**
+     * Spring cache of employees by ID as returned by EmployeeService.findEmployeeById
+     */
+    public static final String EMPLOYEES_CACHE = "employees";
+
+    /**
+     * Hibernate second-level cache region of DepartmentEntity
+     */
+    public static final String DEPARTMENT_ENTITY_REGION = "department-entities";
+
+    /**
+     * Hibernate second-level cache region of EmployeeEntity
+     */
+    public static final String EMPLOYEE_ENTITY_REGION = "employee-entities";
+
+    private static final List<String> CACHE_NAMES =
+            List.of(DEPARTMENTS_CACHE, EMPLOYEES_CACHE, DEPARTMENT_ENTITY_REGION, EMPLOYEE_ENTITY_REGION);
+
+    /**
+     * Create every configured cache at startup
+     * Caffeine creates caches lazily on first use, caches created later would not be bound to the cache metrics
+     */
+    @Bean
+    public JCacheManagerCustomizer createConfiguredCaches() {
+        return cacheManager -> CACHE_NAMES.forEach(cacheManager::getCache);
+    }
+
+    /**
+     * Defer cache puts and evictions until the surrounding transaction commits
+     * so a concurrent read cannot cache a value that is about to be rolled back or replaced
+     */
+    @Bean
+    public CacheManagerCustomizer<JCacheCacheManager> transactionAwareCacheManager() {
+        return cacheManager -> cacheManager.setTransactionAware(true);
+    }
+
+    /**
+     * Let Hibernate use the same JCache manager for its second-level cache regions
+     */
+    @Bean
+    public HibernatePropertiesCustomizer hibernateSecondLevelCacheCustomizer(JCacheCacheManager cacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, cacheManager.getCacheManager());
+    }
+}
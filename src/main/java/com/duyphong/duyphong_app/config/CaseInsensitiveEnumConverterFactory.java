@@ -0,0 +1,32 @@
+package com.duyphong.duyphong_app.config;
+
+import com.duyphong.duyphong_app.enumeration.EnumCodec;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.core.convert.converter.ConverterFactory;
+
+/**
+ * Converts request parameters and path variables to enums ignoring case and surrounding whitespace
+ * Replaces Spring's case-sensitive default, empty values convert to null like before
+ */
+public class CaseInsensitiveEnumConverterFactory implements ConverterFactory<String, Enum> {
+
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public <T extends Enum> Converter<String, T> getConverter(Class<T> targetType) {
+        Class<?> enumType = targetType;
+        while (enumType != null && !enumType.isEnum()) {
+            // Constants with a body are subclasses of the enum
+            enumType = enumType.getSuperclass();
+        }
+        EnumCodec codec = EnumCodec.of((Class) enumType);
+        
+        return source -> {
+            Enum value = codec.parse(source);
+            if (value == null && !source.isBlank()) {
+                throw new IllegalArgumentException(String.format("Invalid value '%s' for %s. Must be one of: [%s]",
+                        source, codec.getEnumClass().getSimpleName(), codec.getAllowedValues()));
+            }
+            return (T) value;
+        };
+    }
+}
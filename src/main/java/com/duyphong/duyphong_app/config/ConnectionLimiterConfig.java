@@ -0,0 +1,163 @@
+package com.duyphong.duyphong_app.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Connection Limiter Configuration
+ * With virtual threads every request reaches the connection pool at once. Hikari lets a thread that arrives while
+ * a connection is returned take it ahead of the threads already waiting, so under load the longest waiters run
+ * into the pool's connection timeout and are answered with 503. With virtual threads enabled, connections are
+ * handed out through a fair semaphore with one permit per pooled connection instead: every transaction, whether
+ * started by a @Transactional service method, a TransactionTemplate or a forked query, waits for its connection
+ * in arrival order for up to app.connection-limiter.timeout.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class ConnectionLimiterConfig {
+
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(30);
+
+    /**
+     * Wraps the Hikari data source in a ConnectionLimitingDataSource sized to its maximum pool size
+     */
+    @Bean
+    public static BeanPostProcessor connectionLimiterPostProcessor(Environment environment) {
+        Duration timeout = Binder.get(environment).bind("app.connection-limiter.timeout", Duration.class)
+                .orElse(DEFAULT_TIMEOUT);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikariDataSource) {
+                    return new ConnectionLimitingDataSource(hikariDataSource, hikariDataSource.getMaximumPoolSize(), timeout);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Number of threads waiting for a connection permit
+     */
+    @Bean
+    public MeterBinder connectionLimiterMetrics(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof ConnectionLimitingDataSource limitingDataSource) {
+                Gauge.builder("app.connection-limiter.waiting", limitingDataSource, ConnectionLimitingDataSource::getWaitingThreads)
+                        .description("Threads waiting for a database connection permit")
+                        .register(registry);
+            }
+        };
+    }
+
+    /**
+     * Data source that hands out at most a fixed number of connections at once, to waiting threads in arrival order
+     * A permit is taken before a connection is borrowed from the target and given back when the connection is closed.
+     */
+    public static class ConnectionLimitingDataSource extends DelegatingDataSource {
+        
+        private final Semaphore permits;
+        private final Duration timeout;
+        
+        public ConnectionLimitingDataSource(DataSource targetDataSource, int maxConnections, Duration timeout) {
+            super(targetDataSource);
+            this.permits = new Semaphore(maxConnections, true);
+            this.timeout = timeout;
+        }
+        
+        @Override
+        public Connection getConnection() throws SQLException {
+            acquire();
+            try {
+                return releaseOnClose(super.getConnection());
+            } catch (SQLException | RuntimeException | Error e) {
+                permits.release();
+                throw e;
+            }
+        }
+        
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            acquire();
+            try {
+                return releaseOnClose(super.getConnection(username, password));
+            } catch (SQLException | RuntimeException | Error e) {
+                permits.release();
+                throw e;
+            }
+        }
+        
+        public int getWaitingThreads() {
+            return permits.getQueueLength();
+        }
+        
+        /**
+         * Wait for a permit
+         * @throws SQLTransientConnectionException if no permit became free within the timeout, reported like an exhausted pool
+         */
+        private void acquire() throws SQLException {
+            try {
+                if (!permits.tryAcquire(timeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                    throw new SQLTransientConnectionException(
+                            "Connection is not available, request timed out after " + timeout.toMillis() + "ms waiting for a permit");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLTransientConnectionException("Interrupted while waiting for a connection permit", e);
+            }
+        }
+        
+        /**
+         * Wrap a connection so that closing it gives back its permit, once
+         * @param connection the borrowed connection
+         * @return the wrapped connection
+         */
+        private Connection releaseOnClose(Connection connection) {
+            AtomicBoolean closed = new AtomicBoolean();
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class},
+                    (proxy, method, args) -> {
+                        if (method.getName().equals("equals") && method.getParameterCount() == 1) {
+                            return proxy == args[0];
+                        }
+                        if (method.getName().equals("hashCode") && method.getParameterCount() == 0) {
+                            return System.identityHashCode(proxy);
+                        }
+                        if (method.getName().equals("close") && method.getParameterCount() == 0) {
+                            try {
+                                connection.close();
+                            } finally {
+                                if (closed.compareAndSet(false, true)) {
+                                    permits.release();
+                                }
+                            }
+                            return null;
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getTargetException();
+                        }
+                    });
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.duyphong.duyphong_app.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Executor Configuration
+ * Configures bounded executors for background work
+ */
+@Configuration
+public class ExecutorConfig {
+
+    @Value("${app.lunch-log-import.threads:2}")
+    private int lunchLogImportThreads;
+
+    @Value("${app.lunch-log-import.queue-capacity:100}")
+    private int lunchLogImportQueueCapacity;
+
+    @Value("${app.fan-out.threads:8}")
+    private int fanOutThreads;
+
+    @Value("${app.fan-out.queue-capacity:200}")
+    private int fanOutQueueCapacity;
+
+    /**
+     * Executor for asynchronous lunch log import jobs
+     * Jobs beyond the queue capacity are rejected, queued jobs left at shutdown are resumed at the next startup
+     * With virtual threads enabled the pool and queue limits stay, the workers are virtual threads
+     */
+    @Bean
+    public ThreadPoolTaskExecutor lunchLogImportExecutor(ThreadPoolTaskExecutorBuilder builder, Environment environment) {
+        ThreadPoolTaskExecutor executor = builder
+                .corePoolSize(lunchLogImportThreads)
+                .maxPoolSize(lunchLogImportThreads)
+                .queueCapacity(lunchLogImportQueueCapacity)
+                .threadNamePrefix("lunch-log-import-")
+                .build();
+        useVirtualThreads(executor, environment, "lunch-log-import-");
+        return executor;
+    }
+
+    /**
+     * Executor for the parallel read-only queries of ReadOnlyFanOut
+     * Fewer threads than database connections, so forked queries cannot take every connection of the pool.
+     * Queries beyond the queue capacity are rejected, with virtual threads enabled the workers are virtual threads
+     */
+    @Bean
+    public ThreadPoolTaskExecutor readOnlyFanOutExecutor(ThreadPoolTaskExecutorBuilder builder, Environment environment) {
+        ThreadPoolTaskExecutor executor = builder
+                .corePoolSize(fanOutThreads)
+                .maxPoolSize(fanOutThreads)
+                .queueCapacity(fanOutQueueCapacity)
+                .threadNamePrefix("read-fan-out-")
+                .build();
+        useVirtualThreads(executor, environment, "read-fan-out-");
+        return executor;
+    }
+
+    private static void useVirtualThreads(ThreadPoolTaskExecutor executor, Environment environment, String threadNamePrefix) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            executor.setThreadFactory(new VirtualThreadTaskExecutor(threadNamePrefix).getVirtualThreadFactory());
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.duyphong.duyphong_app.config;
 
+import com.duyphong.duyphong_app.enumeration.EnumCodec;
 import com.duyphong.duyphong_app.enumeration.MealType;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.DeserializationContext;
@@ -9,28 +10,32 @@ import java.io.IOException;
 
 /**
  * Custom deserializer for MealType enum that supports case-insensitive matching
+ * Matches the parser's character buffer in place, the value is only copied into a String when it is invalid
  */
 public class MealTypeDeserializer extends JsonDeserializer<MealType> {
 
+    private static final EnumCodec<MealType> CODEC = EnumCodec.of(MealType.class);
+
     @Override
     public MealType deserialize(JsonParser jsonParser, DeserializationContext deserializationContext) 
             throws IOException {
+        char[] text = jsonParser.getTextCharacters();
+        if (text != null) {
+            MealType mealType = CODEC.parse(text, jsonParser.getTextOffset(), jsonParser.getTextLength());
+            if (mealType != null) {
+                return mealType;
+            }
+        }
+        
         String value = jsonParser.getText();
         
         if (value == null || value.trim().isEmpty()) {
             return null;
         }
         
-        // Try to match case-insensitively
-        for (MealType mealType : MealType.values()) {
-            if (mealType.name().equalsIgnoreCase(value.trim())) {
-                return mealType;
-            }
-        }
-        
         // If no match found, throw exception with helpful message
         throw new IllegalArgumentException(
-            String.format("Invalid value '%s' for MealType. Must be one of: [LUNCH, DINNER] (case-insensitive)", value)
+            String.format("Invalid value '%s' for MealType. Must be one of: [%s] (case-insensitive)", value, CODEC.getAllowedValues())
         );
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,34 @@
+package com.duyphong.duyphong_app.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Metrics Configuration
+ * HTTP endpoints, Spring Data repositories, Hibernate statistics, caches and the connection pool are timed
+ * by Spring Boot, service classes and JDBC repositories annotated with @Timed are timed by the TimedAspect.
+ * Histograms of all timers are configured in application.properties.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Timer of every public method of the *Service classes, tagged with class and method
+     */
+    public static final String SERVICE_TIMER = "app.service";
+
+    /**
+     * Timer of every public method of the JDBC repositories, tagged with class and method
+     */
+    public static final String JDBC_REPOSITORY_TIMER = "app.jdbc.repository";
+
+    /**
+     * Aspect recording methods of classes annotated with @Timed
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
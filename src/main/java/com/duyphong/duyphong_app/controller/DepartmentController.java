@@ -3,16 +3,22 @@ package com.duyphong.duyphong_app.controller;
 import com.duyphong.duyphong_app.dto.request.CreateDepartmentRequest;
 import com.duyphong.duyphong_app.dto.response.DepartmentAverageSalaryResponse;
 import com.duyphong.duyphong_app.dto.response.DepartmentResponse;
+import com.duyphong.duyphong_app.dto.response.DepartmentRosterEntryResponse;
 import com.duyphong.duyphong_app.dto.response.DepartmentStatisticsResponse;
 import com.duyphong.duyphong_app.service.DepartmentService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Slice;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Instant;
 import java.util.List;
 
 /**
@@ -60,7 +66,7 @@ public class DepartmentController {
             return ResponseEntity.badRequest().build();
         }
     }
-    
+
     /**
      * Get department average salaries
      * @return ResponseEntity containing list of DepartmentAverageSalaryResponse
@@ -74,7 +80,7 @@ public class DepartmentController {
         log.info("Successfully retrieved average salaries for {} departments", departmentAverageSalaries.size());
         return ResponseEntity.ok(departmentAverageSalaries);
     }
-    
+
     /**
      * Get comprehensive department statistics
      * @param id the department ID
@@ -93,4 +99,40 @@ public class DepartmentController {
             return ResponseEntity.notFound().build();
         }
     }
+
+    /**
+     * Get the members of a department at a point in time, reconstructed from the department history
+     * Results are ordered by employee ID and paginated with a keyset cursor: when more members are available
+     * the X-Next-Cursor response header holds the value to pass as after for the next page
+     * @param id the department ID
+     * @param asOf the point in time as an ISO-8601 instant, e.g. 2024-01-01T00:00:00Z (optional, defaults to now)
+     * @param after the employee ID to continue after, taken from X-Next-Cursor (optional)
+     * @param limit the page size, between 1 and 1000 (optional, defaults to 100)
+     * @return ResponseEntity containing list of DepartmentRosterEntryResponse, 404 if the department does not exist
+     */
+    @GetMapping("/{id}/roster")
+    public ResponseEntity<List<DepartmentRosterEntryResponse>> getDepartmentRoster(
+            @PathVariable String id,
+            @RequestParam(value = "as_of", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant asOf,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", defaultValue = "" + DepartmentService.DEFAULT_ROSTER_PAGE_SIZE)
+            @Min(value = 1, message = "Limit must be at least 1")
+            @Max(value = DepartmentService.MAX_ROSTER_PAGE_SIZE, message = "Limit cannot exceed " + DepartmentService.MAX_ROSTER_PAGE_SIZE) int limit) {
+        log.info("Received request to get roster of department: {} as of {}", id, asOf);
+        
+        try {
+            Slice<DepartmentRosterEntryResponse> members = departmentService.getDepartmentRoster(id, asOf, after, limit);
+            
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (members.hasNext()) {
+                List<DepartmentRosterEntryResponse> content = members.getContent();
+                response.header(TaskController.NEXT_CURSOR_HEADER, content.get(content.size() - 1).getEmployeeId());
+            }
+            return response.body(members.getContent());
+        } catch (IllegalArgumentException e) {
+            log.error("Failed to get department roster: {}", e.getMessage());
+            return ResponseEntity.notFound().build();
+        }
+    }
 }
@@ -1,21 +1,40 @@
 package com.duyphong.duyphong_app.controller;
 
+import com.duyphong.duyphong_app.dto.request.BulkUpdateEmployeeDepartmentRequest;
+import com.duyphong.duyphong_app.dto.request.EmployeeBatchRequest;
+import com.duyphong.duyphong_app.dto.request.EmployeeFilter;
 import com.duyphong.duyphong_app.dto.request.UpdateEmployeeRequest;
 import com.duyphong.duyphong_app.dto.request.UpdateEmployeeDepartmentRequest;
+import com.duyphong.duyphong_app.dto.response.BulkUpdateEmployeeDepartmentResponse;
+import com.duyphong.duyphong_app.dto.response.DepartmentHistoryResponse;
+import com.duyphong.duyphong_app.dto.response.EmployeeBatchResponse;
+import com.duyphong.duyphong_app.dto.response.EmployeeDetailBatchResponse;
 import com.duyphong.duyphong_app.dto.response.EmployeeDetailResponse;
 import com.duyphong.duyphong_app.dto.response.EmployeeResponse;
 import com.duyphong.duyphong_app.dto.response.UpdateEmployeeDepartmentResponse;
+import com.duyphong.duyphong_app.enumeration.EmployeeSortField;
+import com.duyphong.duyphong_app.exception.EmployeeVersionMismatchException;
 import com.duyphong.duyphong_app.service.EmployeeService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * REST Controller for Employee operations
@@ -30,8 +49,103 @@ public class EmployeeController {
 
     private final EmployeeService employeeService;
 
+    /**
+     * Search employees with optional filtering by department, position and salary range
+     * Results are sorted by name, salary or creation time and paginated with a keyset cursor: when more employees
+     * are available the X-Next-Cursor response header holds the value to pass as after for the next page
+     * @param departmentId the department ID to filter by (optional)
+     * @param position the position to filter by (optional)
+     * @param minSalary the minimum salary, inclusive (optional)
+     * @param maxSalary the maximum salary, inclusive (optional)
+     * @param sort the column to sort by: NAME, SALARY or CREATED_AT (optional, defaults to NAME)
+     * @param direction the sort direction: ASC or DESC (optional, defaults to ASC)
+     * @param after the cursor to continue after, taken from X-Next-Cursor, only valid with the same sort and direction (optional)
+     * @param limit the page size, between 1 and 1000 (optional, defaults to 100)
+     * @return ResponseEntity containing list of EmployeeResponse with 200 status, 400 if the salary range or cursor is invalid
+     */
+    @GetMapping
+    public ResponseEntity<?> searchEmployees(
+            @RequestParam(value = "department_id", required = false) String departmentId,
+            @RequestParam(value = "position", required = false) String position,
+            @RequestParam(value = "min_salary", required = false) Integer minSalary,
+            @RequestParam(value = "max_salary", required = false) Integer maxSalary,
+            @RequestParam(value = "sort", defaultValue = "NAME") EmployeeSortField sort,
+            @RequestParam(value = "direction", defaultValue = "ASC") Sort.Direction direction,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", defaultValue = "" + EmployeeService.DEFAULT_PAGE_SIZE)
+            @Min(value = 1, message = "Limit must be at least 1")
+            @Max(value = EmployeeService.MAX_PAGE_SIZE, message = "Limit cannot exceed " + EmployeeService.MAX_PAGE_SIZE) int limit) {
+        
+        log.info("Received request to search employees - department_id: {}, position: {}, min_salary: {}, max_salary: {}, sort: {} {}, limit: {}",
+                departmentId, position, minSalary, maxSalary, sort, direction, limit);
+        
+        EmployeeFilter filter = EmployeeFilter.builder()
+                .departmentId(departmentId)
+                .position(position)
+                .minSalary(minSalary)
+                .maxSalary(maxSalary)
+                .build();
+        try {
+            Slice<EmployeeResponse> employees = employeeService.searchEmployees(filter, sort, direction, after, limit);
+            
+            log.info("Successfully retrieved {} employees", employees.getNumberOfElements());
+            
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (employees.hasNext()) {
+                List<EmployeeResponse> content = employees.getContent();
+                response.header(TaskController.NEXT_CURSOR_HEADER,
+                        employeeService.cursorOf(content.get(content.size() - 1), sort, direction));
+            }
+            return response.body(employees.getContent());
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid request: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of(
+                "timestamp", java.time.LocalDateTime.now(),
+                "status", 400,
+                "error", "Bad Request",
+                "message", e.getMessage()
+            ));
+        }
+    }
+
+    /**
+     * Type-ahead search of employees by name, username, email and position
+     * Every word of the query must start one of the words of the employee, ignoring case and diacritics, or with fuzzy
+     * matching differ from one by a single typo. Exact word matches rank first, then prefix and fuzzy matches.
+     * @param query the text typed so far
+     * @param limit the maximum number of employees, between 1 and 50 (optional, defaults to 10)
+     * @param fuzzy whether words of at least 5 characters also match with one typo (optional, defaults to true)
+     * @return ResponseEntity containing list of EmployeeResponse best first with 200 status, 503 while the search index is being built
+     */
+    @GetMapping("/search")
+    public ResponseEntity<?> searchEmployeesByText(
+            @RequestParam("q") @NotBlank(message = "Query cannot be empty")
+            @Size(max = 200, message = "Query cannot exceed 200 characters") String query,
+            @RequestParam(value = "limit", defaultValue = "" + EmployeeService.DEFAULT_TEXT_SEARCH_LIMIT)
+            @Min(value = 1, message = "Limit must be at least 1")
+            @Max(value = EmployeeService.MAX_TEXT_SEARCH_LIMIT, message = "Limit cannot exceed " + EmployeeService.MAX_TEXT_SEARCH_LIMIT) int limit,
+            @RequestParam(value = "fuzzy", defaultValue = "true") boolean fuzzy) {
+        
+        log.info("Received request to search employees by text - q: {}, limit: {}, fuzzy: {}", query, limit, fuzzy);
+        
+        Optional<List<EmployeeResponse>> employees = employeeService.searchEmployeesByText(query, limit, fuzzy);
+        
+        if (employees.isPresent()) {
+            log.info("Successfully retrieved {} employees", employees.get().size());
+            return ResponseEntity.ok(employees.get());
+        } else {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of(
+                "timestamp", java.time.LocalDateTime.now(),
+                "status", 503,
+                "error", "Service Unavailable",
+                "message", "Employee search index is being built, please retry later"
+            ));
+        }
+    }
+
     /**
      * Get employee by ID
+     * The ETag response header holds the employee version, send it back in If-Match to update this version only
      * @param id the employee ID as path variable
      * @return ResponseEntity containing EmployeeResponse if found, 404 if not found
      */
@@ -43,7 +157,7 @@ public class EmployeeController {
         
         if (employee.isPresent()) {
             log.info("Successfully retrieved employee with ID: {}", id);
-            return ResponseEntity.ok(employee.get());
+            return ResponseEntity.ok().eTag(eTagOf(employee.get().getVersion())).body(employee.get());
         } else {
             log.warn("Employee not found with ID: {}", id);
             return ResponseEntity.notFound().build();
@@ -70,49 +184,132 @@ public class EmployeeController {
         }
     }
 
+    /**
+     * Get the department changes of an employee, newest first
+     * @param id the employee ID as path variable
+     * @return ResponseEntity containing list of DepartmentHistoryResponse if the employee exists, 404 if not found
+     */
+    @GetMapping("/{id}/department-history")
+    public ResponseEntity<List<DepartmentHistoryResponse>> getDepartmentHistory(@PathVariable @NotEmpty(message = "Employee ID cannot be empty") String id) {
+        log.info("Received request to get department history of employee with ID: {}", id);
+        
+        Optional<List<DepartmentHistoryResponse>> history = employeeService.findDepartmentHistory(id.trim());
+        
+        if (history.isPresent()) {
+            log.info("Successfully retrieved {} department changes of employee with ID: {}", history.get().size(), id);
+            return ResponseEntity.ok(history.get());
+        } else {
+            log.warn("Employee not found with ID: {}", id);
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Get several employees at once
+     * @param request the request body containing up to 100 employee IDs (validated automatically)
+     * @return ResponseEntity containing EmployeeBatchResponse with the found employees and the IDs that were not found
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<EmployeeBatchResponse> getEmployeesByIds(@Valid @RequestBody EmployeeBatchRequest request) {
+        log.info("Received request to get {} employees", request.getIds().size());
+        
+        EmployeeBatchResponse response = employeeService.findEmployeesByIds(trimIds(request.getIds()));
+        
+        log.info("Successfully retrieved {} employees, {} not found", response.getEmployees().size(), response.getMissingIds().size());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Get detailed information of several employees at once, including departments and ongoing tasks
+     * @param request the request body containing up to 100 employee IDs (validated automatically)
+     * @return ResponseEntity containing EmployeeDetailBatchResponse with the found employees and the IDs that were not found
+     */
+    @PostMapping("/detail/batch")
+    public ResponseEntity<EmployeeDetailBatchResponse> getEmployeeDetailsByIds(@Valid @RequestBody EmployeeBatchRequest request) {
+        log.info("Received request to get {} employee details", request.getIds().size());
+        
+        EmployeeDetailBatchResponse response = employeeService.findEmployeeDetailsByIds(trimIds(request.getIds()));
+        
+        log.info("Successfully retrieved {} employee details, {} not found", response.getEmployees().size(), response.getMissingIds().size());
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Update employee information (fullname, position, salary)
+     * With If-Match the update is only applied if the employee is still at that ETag, without it an update
+     * that conflicts with a concurrent one is retried on the server. The response ETag holds the new version.
      * @param id the employee ID as path variable
+     * @param ifMatch the ETag the client read (optional)
      * @param updateRequest the request body containing employee update data (validated automatically)
-     * @return ResponseEntity containing updated EmployeeResponse if successful, 404 if not found, 400 if validation fails
+     * @return ResponseEntity containing updated EmployeeResponse if successful, 404 if not found, 400 if validation fails,
+     * 412 if the employee was modified since the If-Match ETag was read, 409 if concurrent updates kept conflicting
      */
     @PutMapping("/{id}")
-    public ResponseEntity<EmployeeResponse> updateEmployee(@PathVariable @NotEmpty(message = "Employee ID cannot be empty") String id, @Valid @RequestBody UpdateEmployeeRequest updateRequest) {
-        log.info("Received request to update employee with ID: {}", id);
+    public ResponseEntity<EmployeeResponse> updateEmployee(@PathVariable @NotEmpty(message = "Employee ID cannot be empty") String id,
+                                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                           @Valid @RequestBody UpdateEmployeeRequest updateRequest) {
+        log.info("Received request to update employee with ID: {}, If-Match: {}", id, ifMatch);
         
         log.debug("Update request data - Name: {}, Position: {}, Salary: {}", 
                  updateRequest.getFullname(), updateRequest.getPosition(), updateRequest.getSalary());
         
-        Optional<EmployeeResponse> updatedEmployee = employeeService.updateEmployee(id.trim(), updateRequest);
+        Optional<EmployeeResponse> updatedEmployee = employeeService.updateEmployee(id.trim(), updateRequest,
+                expectedVersion(id.trim(), ifMatch));
         
         if (updatedEmployee.isPresent()) {
             log.info("Successfully updated employee with ID: {}", id);
-            return ResponseEntity.ok(updatedEmployee.get());
+            return ResponseEntity.ok().eTag(eTagOf(updatedEmployee.get().getVersion())).body(updatedEmployee.get());
         } else {
             log.warn("Employee not found with ID: {}", id);
             return ResponseEntity.notFound().build();
         }
     }
 
+    /**
+     * Move many employees to new departments at once, for example in a reorganization
+     * Transfers that cannot be applied are reported per employee and do not stop the others
+     * @param request the request body containing up to 10000 transfers (validated automatically)
+     * @return ResponseEntity containing BulkUpdateEmployeeDepartmentResponse with one result per transfer, 400 if validation fails
+     */
+    @PutMapping("/department/batch")
+    public ResponseEntity<BulkUpdateEmployeeDepartmentResponse> updateEmployeeDepartments(@Valid @RequestBody BulkUpdateEmployeeDepartmentRequest request) {
+        log.info("Received request to transfer {} employees", request.getTransfers().size());
+        
+        request.getTransfers().forEach(transfer -> {
+            transfer.setEmployeeId(transfer.getEmployeeId().trim());
+            transfer.setNewDepartmentId(transfer.getNewDepartmentId().trim());
+        });
+        BulkUpdateEmployeeDepartmentResponse response = employeeService.updateEmployeeDepartments(request);
+        
+        log.info("Successfully moved {} employees, {} transfers rejected", response.getTotalMoved(), response.getTotalRejected());
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Update employee's department
+     * If-Match and the response ETag work like in updateEmployee
      * @param employeeId the employee ID as path variable
+     * @param ifMatch the ETag the client read (optional)
      * @param request the request body containing new department ID (validated automatically)
-     * @return ResponseEntity containing UpdateEmployeeDepartmentResponse if successful, 404 if not found, 400 if validation fails or same department
+     * @return ResponseEntity containing UpdateEmployeeDepartmentResponse if successful, 404 if not found, 400 if validation fails or same department,
+     * 412 if the employee was modified since the If-Match ETag was read, 409 if concurrent updates kept conflicting
      */
     @PutMapping("/department/{employeeId}")
     public ResponseEntity<?> updateEmployeeDepartment(
             @PathVariable @NotEmpty(message = "Employee ID cannot be empty") String employeeId, 
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody UpdateEmployeeDepartmentRequest request) {
         
-        log.info("Received request to update department for employee ID: {} to department ID: {}", employeeId, request.getNewDepartmentId());
+        log.info("Received request to update department for employee ID: {} to department ID: {}, If-Match: {}",
+                employeeId, request.getNewDepartmentId(), ifMatch);
         
         try {
-            Optional<UpdateEmployeeDepartmentResponse> result = employeeService.updateEmployeeDepartment(employeeId.trim(), request);
+            Optional<UpdateEmployeeDepartmentResponse> result = employeeService.updateEmployeeDepartment(employeeId.trim(), request,
+                    expectedVersion(employeeId.trim(), ifMatch));
             
             if (result.isPresent()) {
                 log.info("Successfully updated department for employee with ID: {}", employeeId);
-                return ResponseEntity.ok(result.get());
+                return ResponseEntity.ok().eTag(eTagOf(result.get().getEmployeeVersion())).body(result.get());
             } else {
                 log.warn("Employee or department not found - Employee ID: {}, Department ID: {}", employeeId, request.getNewDepartmentId());
                 return ResponseEntity.notFound().build();
@@ -127,4 +324,31 @@ public class EmployeeController {
             ));
         }
     }
+
+    private static String eTagOf(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Read the employee version from an If-Match header
+     * If-Match uses strong comparison, a weak or unknown ETag never matches the current version
+     * @param employeeId the employee ID
+     * @param ifMatch the If-Match header (nullable)
+     * @return the expected version, null without If-Match or with If-Match: *
+     * @throws EmployeeVersionMismatchException if the header is not a version ETag
+     */
+    private static Long expectedVersion(String employeeId, String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String eTag = ifMatch.trim();
+        if (!eTag.matches("\"\\d{1,18}\"")) {
+            throw new EmployeeVersionMismatchException(employeeId);
+        }
+        return Long.valueOf(eTag.substring(1, eTag.length() - 1));
+    }
+
+    private static List<String> trimIds(List<String> ids) {
+        return ids.stream().map(String::trim).collect(Collectors.toList());
+    }
 }
\ No newline at end of file
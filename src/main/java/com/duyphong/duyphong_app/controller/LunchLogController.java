@@ -1,46 +1,239 @@
 package com.duyphong.duyphong_app.controller;
 
 import com.duyphong.duyphong_app.dto.request.BulkCreateLunchLogRequest;
+import com.duyphong.duyphong_app.dto.request.LunchLogFilter;
 import com.duyphong.duyphong_app.dto.response.BulkCreateLunchLogResponse;
+import com.duyphong.duyphong_app.dto.response.LunchLogImportJobResponse;
+import com.duyphong.duyphong_app.dto.response.LunchLogImportResponse;
+import com.duyphong.duyphong_app.dto.response.LunchLogResponse;
+import com.duyphong.duyphong_app.dto.response.LunchLogSummaryResponse;
+import com.duyphong.duyphong_app.enumeration.ImportFormat;
+import com.duyphong.duyphong_app.enumeration.LunchLogGrouping;
+import com.duyphong.duyphong_app.enumeration.MealType;
+import com.duyphong.duyphong_app.service.IdempotencyService;
+import com.duyphong.duyphong_app.service.LunchLogImportJobService;
 import com.duyphong.duyphong_app.service.LunchLogService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Slice;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
 /**
  * REST Controller for Lunch Log operations
- * Handles HTTP requests for bulk lunch log creation
+ * Handles HTTP requests for bulk lunch log creation, streaming imports, queries and summaries
  */
 @RestController
 @RequestMapping("/api/lunch-logs")
 @RequiredArgsConstructor
 @Slf4j
-@Tag(name = "Lunch Log Management", description = "APIs for bulk lunch log creation")
+@Validated
+@Tag(name = "Lunch Log Management", description = "APIs for lunch log creation, import, queries and summaries")
 public class LunchLogController {
 
     private final LunchLogService lunchLogService;
+    private final LunchLogImportJobService lunchLogImportJobService;
+
+    /**
+     * Get lunch logs with optional filtering
+     * Results are ordered by lunch log ID and paginated with a keyset cursor: when more lunch logs are available
+     * the X-Next-Cursor response header holds the value to pass as after_id for the next page
+     * GET /api/lunch-logs
+     */
+    @GetMapping
+    @Operation(summary = "Get lunch logs",
+               description = "Returns lunch logs filtered by employee, department, meal type, restaurant and date range")
+    public ResponseEntity<List<LunchLogResponse>> getLunchLogs(
+            @RequestParam(value = "employee_id", required = false) String employeeId,
+            @RequestParam(value = "department_id", required = false) String departmentId,
+            @RequestParam(value = "meal_type", required = false) MealType mealType,
+            @RequestParam(value = "restaurant", required = false) String restaurant,
+            @RequestParam(value = "from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(value = "to", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(value = "after_id", required = false) Integer afterId,
+            @RequestParam(value = "limit", defaultValue = "" + LunchLogService.DEFAULT_PAGE_SIZE)
+            @Min(value = 1, message = "Limit must be at least 1")
+            @Max(value = LunchLogService.MAX_PAGE_SIZE, message = "Limit cannot exceed " + LunchLogService.MAX_PAGE_SIZE) int limit) {
+        
+        LunchLogFilter filter = LunchLogFilter.builder()
+                .employeeId(employeeId)
+                .departmentId(departmentId)
+                .mealType(mealType)
+                .restaurant(restaurant)
+                .fromDate(fromDate)
+                .toDate(toDate)
+                .build();
+        Slice<LunchLogResponse> lunchLogs = lunchLogService.getLunchLogs(filter, afterId, limit);
+        
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (lunchLogs.hasNext()) {
+            List<LunchLogResponse> content = lunchLogs.getContent();
+            response.header(TaskController.NEXT_CURSOR_HEADER, String.valueOf(content.get(content.size() - 1).getId()));
+        }
+        return response.body(lunchLogs.getContent());
+    }
+
+    /**
+     * Count lunch logs per employee, department, day, meal type and/or restaurant
+     * GET /api/lunch-logs/summary
+     */
+    @GetMapping("/summary")
+    @Operation(summary = "Summarize lunch logs",
+               description = "Counts lunch logs grouped by one or more of EMPLOYEE, DEPARTMENT, DAY, MEAL_TYPE and RESTAURANT")
+    public ResponseEntity<LunchLogSummaryResponse> getLunchLogSummary(
+            @RequestParam(value = "group_by") List<LunchLogGrouping> groupBy,
+            @RequestParam(value = "employee_id", required = false) String employeeId,
+            @RequestParam(value = "department_id", required = false) String departmentId,
+            @RequestParam(value = "meal_type", required = false) MealType mealType,
+            @RequestParam(value = "restaurant", required = false) String restaurant,
+            @RequestParam(value = "from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(value = "to", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(value = "limit", defaultValue = "" + LunchLogService.DEFAULT_SUMMARY_LIMIT)
+            @Min(value = 1, message = "Limit must be at least 1")
+            @Max(value = LunchLogService.MAX_SUMMARY_LIMIT, message = "Limit cannot exceed " + LunchLogService.MAX_SUMMARY_LIMIT) int limit) {
+        
+        LunchLogFilter filter = LunchLogFilter.builder()
+                .employeeId(employeeId)
+                .departmentId(departmentId)
+                .mealType(mealType)
+                .restaurant(restaurant)
+                .fromDate(fromDate)
+                .toDate(toDate)
+                .build();
+        
+        return ResponseEntity.ok(lunchLogService.getLunchLogSummary(groupBy, filter, limit));
+    }
 
     /**
      * Create multiple lunch logs at once
      * POST /api/lunch-logs/bulk
+     * Retries sent with the same Idempotency-Key header return the original response
      */
     @PostMapping("/bulk")
     @Operation(summary = "Create multiple lunch logs", 
-               description = "Creates multiple lunch log records in a single request")
+               description = "Creates multiple lunch log records in a single request, duplicates of an employee, " +
+                             "date and meal type are skipped. Retries with the same Idempotency-Key header " +
+                             "return the original response without creating anything")
     public ResponseEntity<BulkCreateLunchLogResponse> createBulkLunchLogs(
+            @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false)
+            @Size(max = 255, message = "Idempotency key must not exceed 255 characters") String idempotencyKey,
             @Valid @RequestBody BulkCreateLunchLogRequest request) {
         
         log.info("Received request to create {} lunch logs", request.getLunchLogs().size());
         
-        BulkCreateLunchLogResponse response = lunchLogService.createBulkLunchLogs(request);
+        BulkCreateLunchLogResponse response = lunchLogService.createBulkLunchLogs(request, idempotencyKey);
         
         log.info("Successfully processed bulk lunch log creation");
         
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
+
+    /**
+     * Import lunch logs from a newline-delimited JSON body, one CreateLunchLogRequest per line
+     * POST /api/lunch-logs/import
+     */
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Import lunch logs from NDJSON",
+               description = "Streams newline-delimited JSON lunch logs into the database in chunks and returns row counts and row errors")
+    public ResponseEntity<LunchLogImportResponse> importLunchLogsFromNdjson(InputStream body) throws IOException {
+        return importLunchLogs(body, ImportFormat.NDJSON);
+    }
+
+    /**
+     * Import lunch logs from a CSV body with a header line
+     * (employeeId,lunchDate,mealType,restaurant,notes)
+     * POST /api/lunch-logs/import
+     */
+    @PostMapping(value = "/import", consumes = "text/csv")
+    @Operation(summary = "Import lunch logs from CSV",
+               description = "Streams CSV lunch logs into the database in chunks and returns row counts and row errors")
+    public ResponseEntity<LunchLogImportResponse> importLunchLogsFromCsv(InputStream body) throws IOException {
+        return importLunchLogs(body, ImportFormat.CSV);
+    }
+
+    private ResponseEntity<LunchLogImportResponse> importLunchLogs(InputStream body, ImportFormat format) throws IOException {
+        log.info("Received request to import lunch logs from {}", format);
+        
+        LunchLogImportResponse response = lunchLogService.importLunchLogs(body, format);
+        
+        log.info("Successfully processed lunch log import: {} imported, {} failed",
+                response.getTotalImported(), response.getTotalFailed());
+        
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Start an asynchronous import of a newline-delimited JSON body
+     * POST /api/lunch-logs/import-jobs
+     */
+    @PostMapping(value = "/import-jobs", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Start an NDJSON lunch log import job",
+               description = "Stores the upload and imports it in the background, poll the returned job for progress")
+    public ResponseEntity<LunchLogImportJobResponse> submitNdjsonImportJob(InputStream body) throws IOException {
+        return submitImportJob(body, ImportFormat.NDJSON);
+    }
+
+    /**
+     * Start an asynchronous import of a CSV body with a header line
+     * POST /api/lunch-logs/import-jobs
+     */
+    @PostMapping(value = "/import-jobs", consumes = "text/csv")
+    @Operation(summary = "Start a CSV lunch log import job",
+               description = "Stores the upload and imports it in the background, poll the returned job for progress")
+    public ResponseEntity<LunchLogImportJobResponse> submitCsvImportJob(InputStream body) throws IOException {
+        return submitImportJob(body, ImportFormat.CSV);
+    }
+
+    /**
+     * Get the progress of an import job
+     * GET /api/lunch-logs/import-jobs/{jobId}
+     * @param jobId the job ID
+     * @return ResponseEntity containing LunchLogImportJobResponse if found, 404 if not found
+     */
+    @GetMapping("/import-jobs/{jobId}")
+    @Operation(summary = "Get lunch log import job status",
+               description = "Returns rows processed and failed, throughput and estimated time remaining of an import job")
+    public ResponseEntity<LunchLogImportJobResponse> getImportJob(@PathVariable String jobId) {
+        Optional<LunchLogImportJobResponse> job = lunchLogImportJobService.findJob(jobId);
+        
+        if (job.isPresent()) {
+            return ResponseEntity.ok(job.get());
+        } else {
+            log.warn("Lunch log import job not found with ID: {}", jobId);
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    private ResponseEntity<LunchLogImportJobResponse> submitImportJob(InputStream body, ImportFormat format) throws IOException {
+        log.info("Received request to start a lunch log import job from {}", format);
+        
+        LunchLogImportJobResponse job = lunchLogImportJobService.submitImport(body, format);
+        
+        log.info("Queued lunch log import job {}", job.getJobId());
+        
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/lunch-logs/import-jobs/" + job.getJobId()))
+                .body(job);
+    }
 }
\ No newline at end of file
@@ -1,18 +1,25 @@
 package com.duyphong.duyphong_app.controller;
 
 import com.duyphong.duyphong_app.dto.request.CreateTaskRequest;
+import com.duyphong.duyphong_app.dto.response.TaskListResponse;
 import com.duyphong.duyphong_app.dto.response.TaskResponse;
 import com.duyphong.duyphong_app.enumeration.TaskStatus;
 import com.duyphong.duyphong_app.service.TaskService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -27,6 +34,11 @@ import java.util.List;
 @Validated
 public class TaskController {
 
+    /**
+     * Response header carrying the keyset cursor of the next page
+     */
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final TaskService taskService;
 
     /**
@@ -41,35 +53,112 @@ public class TaskController {
         
         TaskResponse createdTask = taskService.createTask(request);
         
-        String createdEmployeeId = createdTask.getEmployee() != null ? createdTask.getEmployee().getId() : null;
         log.info("Successfully created task with name: {} for employee: {}", 
-                 createdTask.getTaskName(), createdEmployeeId);
+                 createdTask.getTaskName(), createdTask.getEmployeeId());
         
         return ResponseEntity.status(HttpStatus.CREATED).body(createdTask);
     }
 
     /**
      * Get tasks with optional filtering by employee_id, status, and due_date
+     * Results are ordered by task ID and paginated with a keyset cursor: when more tasks are available
+     * the X-Next-Cursor response header holds the value to pass as after_id for the next page
      * @param employeeId the employee ID to filter by (optional)
      * @param status the task status to filter by (optional)
      * @param dueDate the due date to filter by in format yyyy-MM-dd (optional)
-     * @return ResponseEntity containing list of TaskResponse with 200 status
+     * @param afterId the task ID to continue after, taken from X-Next-Cursor (optional)
+     * @param limit the page size, between 1 and 1000 (optional, defaults to 100)
+     * @return ResponseEntity containing list of TaskResponse, each with its employee summary, with 200 status
      */
     @GetMapping
     public ResponseEntity<List<TaskResponse>> getTasks(
             @RequestParam(value = "employee_id", required = false) String employeeId,
             @RequestParam(value = "status", required = false) TaskStatus status,
             @RequestParam(value = "due_date", required = false) 
-            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueDate) {
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueDate,
+            @RequestParam(value = "after_id", required = false) Integer afterId,
+            @RequestParam(value = "limit", defaultValue = "" + TaskService.DEFAULT_PAGE_SIZE)
+            @Min(value = 1, message = "Limit must be at least 1")
+            @Max(value = TaskService.MAX_PAGE_SIZE, message = "Limit cannot exceed " + TaskService.MAX_PAGE_SIZE) int limit) {
         
-        log.info("Received request to get tasks with filters - employee_id: {}, status: {}, due_date: {}", 
-                 employeeId, status, dueDate);
+        log.info("Received request to get tasks with filters - employee_id: {}, status: {}, due_date: {}, after_id: {}, limit: {}", 
+                 employeeId, status, dueDate, afterId, limit);
+        
+        TaskListResponse tasks = taskService.getTasksWithFilters(employeeId, status, dueDate, afterId, limit, false);
+        
+        log.info("Successfully retrieved {} tasks", tasks.getTasks().size());
+        
+        return withNextCursor(tasks).body(tasks.getTasks());
+    }
+
+    /**
+     * Get tasks like GET /api/tasks with each employee summary sent once, selected with compact=true
+     * Tasks carry only their employeeId, the summaries are keyed by employee ID in employees
+     * @param employeeId the employee ID to filter by (optional)
+     * @param status the task status to filter by (optional)
+     * @param dueDate the due date to filter by in format yyyy-MM-dd (optional)
+     * @param afterId the task ID to continue after, taken from X-Next-Cursor (optional)
+     * @param limit the page size, between 1 and 1000 (optional, defaults to 100)
+     * @return ResponseEntity containing the TaskListResponse with 200 status
+     */
+    @GetMapping(params = "compact=true")
+    public ResponseEntity<TaskListResponse> getTasksCompact(
+            @RequestParam(value = "employee_id", required = false) String employeeId,
+            @RequestParam(value = "status", required = false) TaskStatus status,
+            @RequestParam(value = "due_date", required = false) 
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueDate,
+            @RequestParam(value = "after_id", required = false) Integer afterId,
+            @RequestParam(value = "limit", defaultValue = "" + TaskService.DEFAULT_PAGE_SIZE)
+            @Min(value = 1, message = "Limit must be at least 1")
+            @Max(value = TaskService.MAX_PAGE_SIZE, message = "Limit cannot exceed " + TaskService.MAX_PAGE_SIZE) int limit) {
+        
+        log.info("Received request to get compact tasks with filters - employee_id: {}, status: {}, due_date: {}, after_id: {}, limit: {}", 
+                 employeeId, status, dueDate, afterId, limit);
         
-        List<TaskResponse> tasks = taskService.getTasksWithFilters(employeeId, status, dueDate);
+        TaskListResponse tasks = taskService.getTasksWithFilters(employeeId, status, dueDate, afterId, limit, true);
         
-        log.info("Successfully retrieved {} tasks", tasks.size());
+        log.info("Successfully retrieved {} tasks of {} employees", tasks.getTasks().size(), tasks.getEmployees().size());
         
-        return ResponseEntity.ok(tasks);
+        return withNextCursor(tasks).body(tasks);
     }
 
+    /**
+     * Stream all tasks matching the filters as newline-delimited JSON (one TaskResponse per line)
+     * Rows are written as they are read from the database, so the result size is not limited by memory
+     * @param employeeId the employee ID to filter by (optional)
+     * @param status the task status to filter by (optional)
+     * @param dueDate the due date to filter by in format yyyy-MM-dd (optional)
+     * @param response the HTTP response the NDJSON body is written to
+     * @throws IOException if writing the response fails
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamTasks(
+            @RequestParam(value = "employee_id", required = false) String employeeId,
+            @RequestParam(value = "status", required = false) TaskStatus status,
+            @RequestParam(value = "due_date", required = false) 
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueDate,
+            HttpServletResponse response) throws IOException {
+        
+        log.info("Received request to stream tasks with filters - employee_id: {}, status: {}, due_date: {}", 
+                 employeeId, status, dueDate);
+        
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        long count = taskService.streamTasksWithFilters(employeeId, status, dueDate, response.getOutputStream());
+        
+        log.info("Successfully streamed {} tasks", count);
+    }
+
+    /**
+     * Start a 200 response with the X-Next-Cursor header when another page exists
+     * @param tasks the page of tasks
+     * @return the response builder
+     */
+    private ResponseEntity.BodyBuilder withNextCursor(TaskListResponse tasks) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (tasks.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(tasks.getNextCursor()));
+        }
+        return response;
+    }
 }
@@ -0,0 +1,14 @@
+package com.duyphong.duyphong_app.dto.projection;
+
+import lombok.*;
+
+/**
+ * Current department and salary of an employee, read when employees are moved between departments
+ */
+@Getter @AllArgsConstructor
+public class EmployeeDepartmentRow {
+
+    private final String id;
+    private final String departmentId;
+    private final Integer salary;
+}
@@ -0,0 +1,17 @@
+package com.duyphong.duyphong_app.dto.projection;
+
+import lombok.*;
+
+/**
+ * Searchable text columns of an employee, read when the employee search index is built
+ * Populated by JPQL constructor expressions so no entity is hydrated or tracked
+ */
+@Getter @AllArgsConstructor
+public class EmployeeSearchRow {
+
+    private final String id;
+    private final String username;
+    private final String email;
+    private final String fullname;
+    private final String position;
+}
@@ -0,0 +1,32 @@
+package com.duyphong.duyphong_app.dto.projection;
+
+import com.duyphong.duyphong_app.enumeration.TaskStatus;
+import lombok.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Flat projection of a task with the summary columns of its employee and department
+ * Populated by JPQL constructor expressions so no entity is hydrated or tracked
+ */
+@Getter @AllArgsConstructor
+public class TaskRow {
+
+    private final Integer id;
+    private final String taskName;
+    private final String description;
+    private final LocalDate dueDate;
+    private final TaskStatus status;
+    private final Instant createdAt;
+    private final Instant updatedAt;
+
+    private final String employeeId;
+    private final String employeeUsername;
+    private final String employeeFullname;
+    private final String employeeEmail;
+    private final String employeePosition;
+
+    private final String departmentId;
+    private final String departmentName;
+}
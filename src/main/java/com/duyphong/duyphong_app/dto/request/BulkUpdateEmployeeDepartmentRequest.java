@@ -0,0 +1,39 @@
+package com.duyphong.duyphong_app.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Request DTO for moving many employees to new departments at once
+ * Each employee may be listed once, later entries for the same employee are rejected
+ */
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor @Builder
+public class BulkUpdateEmployeeDepartmentRequest {
+
+    @NotEmpty(message = "Transfers list cannot be empty")
+    @Size(max = 10000, message = "Cannot transfer more than 10000 employees at once")
+    @Valid
+    private List<Transfer> transfers;
+
+    /**
+     * Move of one employee to a new department
+     */
+    @Getter @Setter
+    @NoArgsConstructor @AllArgsConstructor @Builder
+    public static class Transfer {
+
+        @NotBlank(message = "Employee ID cannot be blank")
+        @Size(max = 255, message = "Employee ID cannot exceed 255 characters")
+        private String employeeId;
+
+        @NotBlank(message = "New department ID cannot be blank")
+        @Size(max = 255, message = "New department ID cannot exceed 255 characters")
+        private String newDepartmentId;
+    }
+}
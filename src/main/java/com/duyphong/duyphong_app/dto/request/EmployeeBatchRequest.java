@@ -0,0 +1,21 @@
+package com.duyphong.duyphong_app.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Request DTO for looking up several employees at once
+ * Duplicate IDs are resolved once
+ */
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor @Builder
+public class EmployeeBatchRequest {
+
+    @NotEmpty(message = "Employee IDs list cannot be empty")
+    @Size(max = 100, message = "Cannot look up more than 100 employees at once")
+    private List<@NotBlank(message = "Employee ID cannot be empty") String> ids;
+}
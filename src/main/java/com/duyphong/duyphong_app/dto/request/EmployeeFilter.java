@@ -0,0 +1,19 @@
+package com.duyphong.duyphong_app.dto.request;
+
+import lombok.*;
+
+/**
+ * Optional filters of employee searches
+ * Only the filters that are set restrict the result
+ */
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor @Builder
+public class EmployeeFilter {
+
+    private String departmentId;
+    private String position;
+
+    // Inclusive salary range, employees without a salary are excluded when either bound is set
+    private Integer minSalary;
+    private Integer maxSalary;
+}
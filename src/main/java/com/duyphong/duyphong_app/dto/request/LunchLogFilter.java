@@ -0,0 +1,27 @@
+package com.duyphong.duyphong_app.dto.request;
+
+import com.duyphong.duyphong_app.enumeration.MealType;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * Optional filters of lunch log queries and summaries
+ * Only the filters that are set restrict the result
+ */
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor @Builder
+public class LunchLogFilter {
+
+    private String employeeId;
+    
+    // Department the employee currently belongs to
+    private String departmentId;
+    
+    private MealType mealType;
+    private String restaurant;
+    
+    // Inclusive lunch date range
+    private LocalDate fromDate;
+    private LocalDate toDate;
+}
@@ -6,13 +6,14 @@ import java.util.List;
 
 /**
  * Response DTO for bulk lunch log registration
- * Returns the list of created lunch log entries
+ * Returns the list of created lunch log entries and the number of skipped duplicates
  */
 @Getter @Setter
 @NoArgsConstructor @AllArgsConstructor @Builder
 public class BulkCreateLunchLogResponse {
 
     private int totalCreated;
+    private int totalSkipped;
     private List<LunchLogResponse> lunchLogs;
     private String message;
 }
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.duyphong.duyphong_app.dto.response;
+
+import com.duyphong.duyphong_app.enumeration.DepartmentTransferStatus;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Response DTO for a bulk department transfer
+ * Contains one result per requested transfer, in request order
+ */
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor @Builder
+public class BulkUpdateEmployeeDepartmentResponse {
+
+    private int totalMoved;
+    private int totalRejected;
+    private List<Result> results;
+    private String message;
+
+    /**
+     * Outcome of the transfer of one employee
+     */
+    @Getter @Setter
+    @NoArgsConstructor @AllArgsConstructor @Builder
+    public static class Result {
+        private String employeeId;
+        private String oldDepartmentId;
+        private String newDepartmentId;
+        private DepartmentTransferStatus status;
+        private Instant changeDate;
+        private String message;
+    }
+}
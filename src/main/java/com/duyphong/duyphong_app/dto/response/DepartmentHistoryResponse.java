@@ -0,0 +1,20 @@
+package com.duyphong.duyphong_app.dto.response;
+
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * DTO for one department change of an employee
+ * The old department is null for the change that placed a new employee in their first department
+ */
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor @Builder
+public class DepartmentHistoryResponse {
+
+    private Integer id;
+    private String employeeId;
+    private String oldDepartmentId;
+    private String newDepartmentId;
+    private Instant changeDate;
+}
@@ -0,0 +1,22 @@
+package com.duyphong.duyphong_app.dto.response;
+
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * DTO for one member of a department at a point in time, reconstructed from the department history
+ * Name, email and position are the employee's current values, only the membership is historical
+ */
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor @Builder
+public class DepartmentRosterEntryResponse {
+
+    private String employeeId;
+    private String fullname;
+    private String email;
+    private String position;
+
+    private String previousDepartmentId;
+    private Instant memberSince;
+}
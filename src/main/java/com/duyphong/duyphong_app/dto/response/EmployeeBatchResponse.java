@@ -0,0 +1,17 @@
+package com.duyphong.duyphong_app.dto.response;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Response DTO for a batch employee lookup
+ * Employees are returned in the order of the requested IDs, IDs without an employee are listed in missingIds
+ */
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor @Builder
+public class EmployeeBatchResponse {
+
+    private List<EmployeeResponse> employees;
+    private List<String> missingIds;
+}
@@ -23,4 +23,6 @@ public class EmployeeResponse {
     private Instant createdAt;
 
     private Instant updatedAt;
+
+    private Long version;
 }
@@ -0,0 +1,39 @@
+package com.duyphong.duyphong_app.dto.response;
+
+import com.duyphong.duyphong_app.enumeration.ImportFormat;
+import com.duyphong.duyphong_app.enumeration.ImportJobStatus;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Response DTO for asynchronous lunch log import jobs
+ * Reports the progress of the job as of its last committed chunk
+ */
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor @Builder
+public class LunchLogImportJobResponse {
+
+    private String jobId;
+    private ImportJobStatus status;
+    private ImportFormat format;
+    private long estimatedRows;
+    private long rowsProcessed;
+    private long rowsImported;
+    private long rowsSkipped;
+    private long rowsFailed;
+    
+    // Rows processed per second by the current run, null until the job has started
+    private Double rowsPerSecond;
+    
+    // Estimated time to completion of a running job, null if unknown
+    private Long estimatedSecondsRemaining;
+    
+    private List<LunchLogImportResponse.RowError> errors;
+    private boolean errorsTruncated;
+    private String failureReason;
+    private Instant createdAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+}
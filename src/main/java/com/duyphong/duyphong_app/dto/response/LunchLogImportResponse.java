@@ -0,0 +1,32 @@
+package com.duyphong.duyphong_app.dto.response;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Response DTO for streaming lunch log imports
+ * Returns counts and references to the rows that could not be imported, not the created entries
+ */
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor @Builder
+public class LunchLogImportResponse {
+
+    private long totalRows;
+    private long totalImported;
+    private long totalSkipped;
+    private long totalFailed;
+    private List<RowError> errors;
+    private boolean errorsTruncated;
+    private String message;
+
+    /**
+     * Reason a single input row was rejected
+     */
+    @Getter @Setter
+    @NoArgsConstructor @AllArgsConstructor @Builder
+    public static class RowError {
+        private long row;
+        private String message;
+    }
+}
@@ -0,0 +1,42 @@
+package com.duyphong.duyphong_app.dto.response;
+
+import com.duyphong.duyphong_app.enumeration.LunchLogGrouping;
+import com.duyphong.duyphong_app.enumeration.MealType;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Response DTO for lunch log summaries
+ * Contains the number of lunch logs per combination of the requested dimensions
+ */
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor @Builder
+public class LunchLogSummaryResponse {
+
+    private List<LunchLogGrouping> groupBy;
+    private LocalDate fromDate;
+    private LocalDate toDate;
+    private List<Group> groups;
+    
+    // Whether more groups exist than the requested limit
+    private boolean truncated;
+
+    /**
+     * Lunch log count of one group, only the grouped dimensions are set
+     */
+    @Getter @Setter
+    @NoArgsConstructor @AllArgsConstructor @Builder
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Group {
+        private String employeeId;
+        private String departmentId;
+        private String departmentName;
+        private LocalDate lunchDate;
+        private MealType mealType;
+        private String restaurant;
+        private long count;
+    }
+}
@@ -0,0 +1,26 @@
+package com.duyphong.duyphong_app.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Response DTO for one page of tasks, the body of GET /api/tasks?compact=true
+ * Tasks reference their employee by employeeId, each employee summary is sent once in employees.
+ * For the default GET /api/tasks only the tasks are sent, each with its employee summary
+ */
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor @Builder
+public class TaskListResponse {
+
+    private List<TaskResponse> tasks;
+    
+    // Summaries of the employees of the tasks, keyed by employee ID in order of first appearance, null unless compact
+    private Map<String, TaskResponse.EmployeeInfo> employees;
+    
+    // ID of the last task when another page exists, sent as the X-Next-Cursor header
+    @JsonIgnore
+    private Integer nextCursor;
+}
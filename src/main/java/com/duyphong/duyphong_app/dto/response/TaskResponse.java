@@ -1,7 +1,7 @@
 package com.duyphong.duyphong_app.dto.response;
 
-import com.duyphong.duyphong_app.entity.EmployeeEntity;
 import com.duyphong.duyphong_app.enumeration.TaskStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.*;
 
 import java.time.Instant;
@@ -22,7 +22,27 @@ public class TaskResponse {
     private TaskStatus status;
     private Instant createdAt;
     private Instant updatedAt;
+    private String employeeId;
     
-    // Employee information using EmployeeEntity directly
-    private EmployeeEntity employee;
-}
\ No newline at end of file
+    // Summary of the assigned employee, omitted in compact task lists which carry each employee once in TaskListResponse
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private EmployeeInfo employee;
+
+    @Getter @Setter
+    @NoArgsConstructor @AllArgsConstructor @Builder
+    public static class EmployeeInfo {
+        private String id;
+        private String username;
+        private String fullname;
+        private String email;
+        private String position;
+        private DepartmentInfo department;
+    }
+
+    @Getter @Setter
+    @NoArgsConstructor @AllArgsConstructor @Builder
+    public static class DepartmentInfo {
+        private String id;
+        private String name;
+    }
+}
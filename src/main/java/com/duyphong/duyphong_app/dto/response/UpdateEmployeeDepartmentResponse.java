@@ -11,19 +11,20 @@ import java.time.Instant;
 @Getter @Setter
 @NoArgsConstructor @AllArgsConstructor @Builder
 public class UpdateEmployeeDepartmentResponse {
-    
+
     private String employeeId;
     private String employeeFullname;
     private String employeeEmail;
     private String employeePosition;
     private Integer employeeSalary;
-    
+    private Long employeeVersion;
+
     private String oldDepartmentId;
     private String oldDepartmentName;
-    
+
     private String newDepartmentId;
     private String newDepartmentName;
-    
+
     private Instant changeDate;
     private String message;
 }
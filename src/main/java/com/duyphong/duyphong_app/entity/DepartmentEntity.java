@@ -1,10 +1,14 @@
 package com.duyphong.duyphong_app.entity;
 
+import com.duyphong.duyphong_app.config.CacheConfig;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "departments")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfig.DEPARTMENT_ENTITY_REGION)
 @Getter @Setter
 @NoArgsConstructor @AllArgsConstructor @Builder
 public class DepartmentEntity {
@@ -6,7 +6,10 @@ import lombok.*;
 import java.time.Instant;
 
 @Entity
-@Table(name = "department_history")
+@Table(name = "department_history", indexes = {
+        @Index(name = "idx_department_history_employee_change_date", columnList = "employee_id, change_date"),
+        @Index(name = "idx_department_history_new_department_employee", columnList = "new_department_id, employee_id, change_date")
+})
 @Getter @Setter
 @NoArgsConstructor @AllArgsConstructor @Builder
 public class DepartmentHistoryEntity {
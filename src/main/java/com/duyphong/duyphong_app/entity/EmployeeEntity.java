@@ -1,13 +1,26 @@
 package com.duyphong.duyphong_app.entity;
+import com.duyphong.duyphong_app.config.CacheConfig;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.Instant;
 
 @Entity
-@Table(name = "employees")
+@Table(name = "employees", indexes = {
+        @Index(name = "idx_employees_department_fullname", columnList = "department, fullname, id"),
+        @Index(name = "idx_employees_department_salary", columnList = "department, salary, id"),
+        @Index(name = "idx_employees_department_created_at", columnList = "department, created_at, id"),
+        @Index(name = "idx_employees_fullname", columnList = "fullname, id"),
+        @Index(name = "idx_employees_salary", columnList = "salary, id"),
+        @Index(name = "idx_employees_created_at", columnList = "created_at, id")
+})
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfig.EMPLOYEE_ENTITY_REGION)
+@DynamicUpdate
 @Getter @Setter
 @NoArgsConstructor @AllArgsConstructor @Builder
 public class EmployeeEntity {
@@ -42,4 +55,11 @@ public class EmployeeEntity {
     @UpdateTimestamp
     @Column(name = "updated_at")
     private Instant updatedAt;
+
+    /**
+     * Optimistic lock version, incremented by every update and exposed to clients as the ETag
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
 }
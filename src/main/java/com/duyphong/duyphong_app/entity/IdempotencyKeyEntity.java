@@ -0,0 +1,30 @@
+package com.duyphong.duyphong_app.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "idempotency_keys", indexes = {
+        @Index(name = "idx_idempotency_keys_created_at", columnList = "created_at")
+})
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor @Builder
+public class IdempotencyKeyEntity {
+
+    @Id
+    @Column(name = "idempotency_key", length = 255)
+    private String idempotencyKey;
+
+    // SHA-256 of the operation and the request body, a key may only be replayed for the same request
+    @Column(name = "request_hash", length = 64, nullable = false)
+    private String requestHash;
+
+    // JSON of the response returned by the first request
+    @Column(name = "response_body", columnDefinition = "TEXT", nullable = false)
+    private String responseBody;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
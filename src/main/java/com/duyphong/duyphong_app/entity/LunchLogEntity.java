@@ -7,7 +7,12 @@ import lombok.*;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "lunch_logs")
+@Table(name = "lunch_logs", indexes = {
+        @Index(name = "idx_lunch_logs_date_employee", columnList = "lunch_date, employee_id")
+}, uniqueConstraints = {
+        // One lunch log per employee, date and meal type, also serves lookups by employee and date range
+        @UniqueConstraint(name = "uk_lunch_logs_employee_date_meal", columnNames = {"employee_id", "lunch_date", "meal_type"})
+})
 @Getter @Setter
 @NoArgsConstructor @AllArgsConstructor @Builder
 public class LunchLogEntity {
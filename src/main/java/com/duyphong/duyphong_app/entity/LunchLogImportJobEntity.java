@@ -0,0 +1,85 @@
+package com.duyphong.duyphong_app.entity;
+
+import com.duyphong.duyphong_app.enumeration.ImportFormat;
+import com.duyphong.duyphong_app.enumeration.ImportJobStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "lunch_log_import_jobs", indexes = {
+        @Index(name = "idx_lunch_log_import_jobs_status", columnList = "status")
+})
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor @Builder
+public class LunchLogImportJobEntity {
+
+    @Id
+    @Column(name = "id", length = 255)
+    private String id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "format", length = 20, nullable = false)
+    private ImportFormat format;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 20, nullable = false)
+    private ImportJobStatus status;
+
+    // Token of the run that claimed the job, progress and results of any other run are discarded
+    @Column(name = "run_id", length = 36)
+    private String runId;
+
+    // Spooled upload, deleted once the job has finished
+    @Column(name = "file_path", length = 1024, nullable = false)
+    private String filePath;
+
+    // Number of records in the upload, counted from its line breaks while spooling
+    @Column(name = "estimated_rows", nullable = false)
+    private long estimatedRows;
+
+    // Input rows covered by the last committed chunk, the job resumes after this row
+    @Column(name = "rows_processed", nullable = false)
+    private long rowsProcessed;
+
+    @Column(name = "rows_imported", nullable = false)
+    private long rowsImported;
+
+    // Duplicate lunch logs that already existed
+    @Column(name = "rows_skipped", nullable = false)
+    private long rowsSkipped;
+
+    @Column(name = "rows_failed", nullable = false)
+    private long rowsFailed;
+
+    // JSON array of the first row errors
+    @Column(name = "errors", columnDefinition = "TEXT")
+    private String errors;
+
+    @Column(name = "errors_truncated", nullable = false)
+    private boolean errorsTruncated;
+
+    // Value of rows_processed when the current run started, used for the throughput of resumed jobs
+    @Column(name = "resumed_from_row", nullable = false)
+    private long resumedFromRow;
+
+    @Column(name = "failure_reason", length = 1000)
+    private String failureReason;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private Instant createdAt;
+
+    @Column(name = "started_at")
+    private Instant startedAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
+    @Column(name = "finished_at")
+    private Instant finishedAt;
+}
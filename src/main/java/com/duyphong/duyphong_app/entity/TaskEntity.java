@@ -10,7 +10,12 @@ import java.time.Instant;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_employee_status", columnList = "employee_id, status"),
+        @Index(name = "idx_tasks_status_due_date", columnList = "status, due_date"),
+        @Index(name = "idx_tasks_status_id", columnList = "status, id"),
+        @Index(name = "idx_tasks_due_date", columnList = "due_date")
+})
 @Getter @Setter
 @NoArgsConstructor @AllArgsConstructor @Builder
 public class TaskEntity {
@@ -0,0 +1,10 @@
+package com.duyphong.duyphong_app.enumeration;
+
+public enum DepartmentTransferStatus {
+    MOVED,
+    EMPLOYEE_NOT_FOUND,
+    DEPARTMENT_NOT_FOUND,
+    ALREADY_IN_DEPARTMENT,
+    DUPLICATE_EMPLOYEE,
+    FAILED
+}
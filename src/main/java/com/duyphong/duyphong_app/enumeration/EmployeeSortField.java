@@ -0,0 +1,7 @@
+package com.duyphong.duyphong_app.enumeration;
+
+public enum EmployeeSortField {
+    NAME,
+    SALARY,
+    CREATED_AT
+}
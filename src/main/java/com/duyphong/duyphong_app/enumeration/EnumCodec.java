@@ -0,0 +1,179 @@
+package com.duyphong.duyphong_app.enumeration;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Case-insensitive parsing of enum constants with lookup tables precomputed once per enum type
+ * Shared by the Jackson deserializers, the request parameter converter and the @ValidEnum validator.
+ * Leading and trailing whitespace is ignored like String.trim(). Parsing allocates nothing: the value is compared
+ * in place against the constants with the same name length, which is a single candidate for most enums.
+ * @param <E> the enum type
+ */
+public final class EnumCodec<E extends Enum<E>> {
+
+    private static final ClassValue<EnumCodec<?>> CODECS = new ClassValue<>() {
+        @Override
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        protected EnumCodec<?> computeValue(Class<?> type) {
+            return new EnumCodec(type);
+        }
+    };
+
+    private final Class<E> enumClass;
+    private final Map<String, E> constantsByName;
+    // Constants indexed by the length of their name
+    private final E[][] constantsByLength;
+    private final String allowedValues;
+
+    @SuppressWarnings("unchecked")
+    private EnumCodec(Class<E> enumClass) {
+        if (!enumClass.isEnum()) {
+            throw new IllegalArgumentException(enumClass.getName() + " is not an enum");
+        }
+        
+        this.enumClass = enumClass;
+        E[] constants = enumClass.getEnumConstants();
+        this.constantsByName = new HashMap<>();
+        int maxLength = 0;
+        for (E constant : constants) {
+            constantsByName.put(constant.name(), constant);
+            maxLength = Math.max(maxLength, constant.name().length());
+        }
+        
+        this.constantsByLength = (E[][]) Array.newInstance(enumClass, maxLength + 1, 0);
+        for (E constant : constants) {
+            int length = constant.name().length();
+            E[] sameLength = Arrays.copyOf(constantsByLength[length], constantsByLength[length].length + 1);
+            sameLength[sameLength.length - 1] = constant;
+            constantsByLength[length] = sameLength;
+        }
+        this.allowedValues = Arrays.stream(constants).map(Enum::name).collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Get the codec of an enum type, created on first use
+     * @param enumClass the enum type
+     * @return the shared codec
+     */
+    @SuppressWarnings("unchecked")
+    public static <E extends Enum<E>> EnumCodec<E> of(Class<E> enumClass) {
+        return (EnumCodec<E>) CODECS.get(enumClass);
+    }
+
+    /**
+     * @return the enum type
+     */
+    public Class<E> getEnumClass() {
+        return enumClass;
+    }
+
+    /**
+     * @return the constant names in declaration order, e.g. "LUNCH, DINNER"
+     */
+    public String getAllowedValues() {
+        return allowedValues;
+    }
+
+    /**
+     * Find the constant whose name matches exactly
+     * @param value the value to look up (nullable)
+     * @return the constant, or null if none matches
+     */
+    public E parseExact(String value) {
+        return value != null ? constantsByName.get(value) : null;
+    }
+
+    /**
+     * Find the constant whose name matches ignoring case and surrounding whitespace
+     * @param value the value to parse (nullable)
+     * @return the constant, or null if the value is null, blank or matches no constant
+     */
+    public E parse(String value) {
+        if (value == null) {
+            return null;
+        }
+        
+        int start = 0;
+        int end = value.length();
+        while (start < end && value.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && value.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        
+        int length = end - start;
+        if (length == 0 || length >= constantsByLength.length) {
+            return null;
+        }
+        for (E candidate : constantsByLength[length]) {
+            if (matchesIgnoreCase(candidate.name(), value, start)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Find the constant whose name matches ignoring case and surrounding whitespace, reading the characters in place
+     * @param chars the buffer holding the value, e.g. JsonParser.getTextCharacters()
+     * @param offset the index of the first character
+     * @param length the number of characters
+     * @return the constant, or null if the value is blank or matches no constant
+     */
+    public E parse(char[] chars, int offset, int length) {
+        int start = offset;
+        int end = offset + length;
+        while (start < end && chars[start] <= ' ') {
+            start++;
+        }
+        while (end > start && chars[end - 1] <= ' ') {
+            end--;
+        }
+        
+        int trimmedLength = end - start;
+        if (trimmedLength == 0 || trimmedLength >= constantsByLength.length) {
+            return null;
+        }
+        for (E candidate : constantsByLength[trimmedLength]) {
+            if (matchesIgnoreCase(candidate.name(), chars, start)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private static boolean matchesIgnoreCase(String name, String value, int start) {
+        for (int i = 0; i < name.length(); i++) {
+            if (!equalsIgnoreCase(name.charAt(i), value.charAt(start + i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean matchesIgnoreCase(String name, char[] chars, int start) {
+        for (int i = 0; i < name.length(); i++) {
+            if (!equalsIgnoreCase(name.charAt(i), chars[start + i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean equalsIgnoreCase(char expected, char actual) {
+        if (expected == actual) {
+            return true;
+        }
+        // ASCII letters differ in one bit, other characters fall back to the same rules as String.equalsIgnoreCase
+        if (actual < 128 && expected < 128) {
+            return (expected | 0x20) == (actual | 0x20) && (actual | 0x20) >= 'a' && (actual | 0x20) <= 'z';
+        }
+        return Character.toUpperCase(expected) == Character.toUpperCase(actual)
+                || Character.toLowerCase(expected) == Character.toLowerCase(actual);
+    }
+}
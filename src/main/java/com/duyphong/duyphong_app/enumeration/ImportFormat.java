@@ -0,0 +1,6 @@
+package com.duyphong.duyphong_app.enumeration;
+
+public enum ImportFormat {
+    NDJSON,
+    CSV
+}
@@ -0,0 +1,8 @@
+package com.duyphong.duyphong_app.enumeration;
+
+public enum ImportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
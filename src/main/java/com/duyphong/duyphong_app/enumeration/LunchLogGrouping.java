@@ -0,0 +1,9 @@
+package com.duyphong.duyphong_app.enumeration;
+
+public enum LunchLogGrouping {
+    EMPLOYEE,
+    DEPARTMENT,
+    DAY,
+    MEAL_TYPE,
+    RESTAURANT
+}
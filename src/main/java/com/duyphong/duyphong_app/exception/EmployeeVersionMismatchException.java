@@ -0,0 +1,11 @@
+package com.duyphong.duyphong_app.exception;
+
+/**
+ * Thrown when an employee update carries an If-Match version that is no longer the current version of the employee
+ */
+public class EmployeeVersionMismatchException extends RuntimeException {
+
+    public EmployeeVersionMismatchException(String employeeId) {
+        super("Employee '" + employeeId + "' was modified since it was read, fetch it again and retry with its current ETag");
+    }
+}
@@ -3,6 +3,12 @@ package com.duyphong.duyphong_app.exception;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.core.NestedRuntimeException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
@@ -14,6 +20,7 @@ import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.exc.InvalidFormatException;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
+import java.sql.SQLTransientConnectionException;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
@@ -195,6 +202,116 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(errorResponse);
     }
 
+    /**
+     * Handle idempotency keys reused with a different request
+     * @param ex the IdempotencyKeyMismatchException
+     * @return ResponseEntity with error details
+     */
+    @ExceptionHandler(IdempotencyKeyMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyMismatch(IdempotencyKeyMismatchException ex) {
+        log.warn("Idempotency key mismatch: {}", ex.getMessage());
+        
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.UNPROCESSABLE_ENTITY.value())
+                .error("Unprocessable Entity")
+                .message(ex.getMessage())
+                .build();
+        
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(errorResponse);
+    }
+
+    /**
+     * Handle updates whose If-Match version is not the current version of the resource
+     * @param ex the EmployeeVersionMismatchException
+     * @return ResponseEntity with error details
+     */
+    @ExceptionHandler(EmployeeVersionMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleVersionMismatch(EmployeeVersionMismatchException ex) {
+        log.warn("Version mismatch: {}", ex.getMessage());
+        
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.PRECONDITION_FAILED.value())
+                .error("Precondition Failed")
+                .message(ex.getMessage())
+                .build();
+        
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(errorResponse);
+    }
+
+    /**
+     * Handle updates that kept conflicting with concurrent updates of the same row after all retries
+     * @param ex the OptimisticLockingFailureException
+     * @return ResponseEntity with error details
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        log.warn("Optimistic locking failure: {}", ex.getMessage());
+        
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.CONFLICT.value())
+                .error("Conflict")
+                .message("The resource is being modified by other requests, please retry later")
+                .build();
+        
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
+    /**
+     * Handle work rejected by a full background executor
+     * @param ex the TaskRejectedException
+     * @return ResponseEntity with error details
+     */
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleTaskRejected(TaskRejectedException ex) {
+        log.warn("Background task rejected: {}", ex.getMessage());
+        
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .error("Service Unavailable")
+                .message("Too many requests in progress, please retry later")
+                .build();
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errorResponse);
+    }
+
+    /**
+     * Handle requests that could not get a database connection
+     * Depending on where the connection was requested, this arrives as a CannotCreateTransactionException or as a
+     * DataAccessResourceFailureException, so the cause tells the two failures apart. A Hikari timeout without a cause
+     * means every connection of the pool was in use within the pool's connection timeout. Hikari attaches the last
+     * failure to open a connection as its cause, so any other root cause means the database could not be reached.
+     * @param ex the CannotCreateTransactionException or DataAccessResourceFailureException
+     * @return ResponseEntity with error details
+     */
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    public ResponseEntity<ErrorResponse> handleConnectionFailure(NestedRuntimeException ex) {
+        Throwable cause = ex.getMostSpecificCause();
+        if (cause instanceof SQLTransientConnectionException) {
+            log.warn("Database connection pool exhausted: {}", cause.getMessage());
+            
+            return serviceUnavailable("Too many requests in progress, please retry later");
+        }
+        log.error("Database unavailable: {}", cause.getMessage());
+        
+        return serviceUnavailable("The database is unavailable, please retry later");
+    }
+
+    /**
+     * Handle queries that did not finish within their timeout
+     * @param ex the QueryTimeoutException
+     * @return ResponseEntity with error details
+     */
+    @ExceptionHandler(QueryTimeoutException.class)
+    public ResponseEntity<ErrorResponse> handleQueryTimeout(QueryTimeoutException ex) {
+        log.warn("Database query timed out: {}", ex.getMessage());
+        
+        return serviceUnavailable("The request took too long to process, please retry later");
+    }
+
     /**
      * Handle generic exceptions
      * @param ex the Exception
@@ -213,4 +330,15 @@ public class GlobalExceptionHandler {
         
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
     }
+
+    private ResponseEntity<ErrorResponse> serviceUnavailable(String message) {
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .error("Service Unavailable")
+                .message(message)
+                .build();
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errorResponse);
+    }
 }
\ No newline at end of file
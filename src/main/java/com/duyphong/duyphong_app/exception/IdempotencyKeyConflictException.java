@@ -0,0 +1,12 @@
+package com.duyphong.duyphong_app.exception;
+
+/**
+ * Thrown when a request with the same Idempotency-Key was committed concurrently
+ * The surrounding transaction is rolled back, retrying the request replays the committed response
+ */
+public class IdempotencyKeyConflictException extends RuntimeException {
+
+    public IdempotencyKeyConflictException(String idempotencyKey, Throwable cause) {
+        super("Idempotency key '" + idempotencyKey + "' was stored concurrently", cause);
+    }
+}
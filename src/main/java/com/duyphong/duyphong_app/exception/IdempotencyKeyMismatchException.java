@@ -0,0 +1,11 @@
+package com.duyphong.duyphong_app.exception;
+
+/**
+ * Thrown when an Idempotency-Key is reused with a different request
+ */
+public class IdempotencyKeyMismatchException extends RuntimeException {
+
+    public IdempotencyKeyMismatchException(String idempotencyKey) {
+        super("Idempotency key '" + idempotencyKey + "' was already used with a different request");
+    }
+}
@@ -46,19 +46,20 @@ public interface EmployeeMapper {
 
     /**
      * Update an existing EmployeeEntity with data from EmployeeResponse
-     * Note: This method does not update id, createdAt, and updatedAt fields
+     * Note: This method does not update id, createdAt, updatedAt and version fields
      * @param dto the DTO containing the new data
      * @param entity the entity to update
      */
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "department", source = "department", qualifiedByName = "stringToDepartment")
     void updateEntityFromDto(EmployeeResponse dto, @MappingTarget EmployeeEntity entity);
 
     /**
      * Update an existing EmployeeEntity with data from UpdateEmployeeRequest
-     * Note: This method does not update id, createdAt, and updatedAt fields
+     * Note: This method does not update id, createdAt, updatedAt and version fields
      * Only updates fullname, position, and salary
      * @param updateRequest the UpdateRequest containing the new data
      * @param entity the entity to update
@@ -69,6 +70,7 @@ public interface EmployeeMapper {
     @Mapping(target = "department", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
     void updateEntityFromUpdateRequest(UpdateEmployeeRequest updateRequest, @MappingTarget EmployeeEntity entity);
 
     /**
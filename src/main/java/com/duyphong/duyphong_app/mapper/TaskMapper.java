@@ -1,13 +1,20 @@
 package com.duyphong.duyphong_app.mapper;
 
+import com.duyphong.duyphong_app.dto.projection.TaskRow;
 import com.duyphong.duyphong_app.dto.request.CreateTaskRequest;
+import com.duyphong.duyphong_app.dto.response.TaskListResponse;
 import com.duyphong.duyphong_app.dto.response.TaskResponse;
+import com.duyphong.duyphong_app.entity.DepartmentEntity;
+import com.duyphong.duyphong_app.entity.EmployeeEntity;
 import com.duyphong.duyphong_app.entity.TaskEntity;
 import com.duyphong.duyphong_app.enumeration.TaskStatus;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 @Component
 public class TaskMapper {
@@ -21,7 +28,7 @@ public class TaskMapper {
         if (entity == null) {
             return null;
         }
-
+        
         return TaskResponse.builder()
                 .id(entity.getId())
                 .taskName(entity.getTaskName())
@@ -30,10 +37,32 @@ public class TaskMapper {
                 .status(entity.getStatus())
                 .createdAt(entity.getCreatedAt())
                 .updatedAt(entity.getUpdatedAt())
-                .employee(entity.getEmployee()) // Direct assignment of EmployeeEntity
+                .employeeId(entity.getEmployeeId())
+                .employee(toEmployeeInfo(entity.getEmployee()))
                 .build();
     }
 
+    /**
+     * Convert a TaskRow projection to a self-contained TaskResponse with its employee summary
+     * Employee summaries are looked up in and added to the given cache, so tasks of the same
+     * employee share one EmployeeInfo instance. This saves allocations only, every task still
+     * carries the summary when serialized
+     * @param row the task projection to convert
+     * @param employeeCache employee summaries already built for the current response, keyed by employee ID
+     * @return the converted task response DTO
+     */
+    public TaskResponse toResponse(TaskRow row, Map<String, TaskResponse.EmployeeInfo> employeeCache) {
+        if (row == null) {
+            return null;
+        }
+        
+        TaskResponse response = toTaskResponse(row);
+        if (row.getEmployeeId() != null) {
+            response.setEmployee(employeeCache.computeIfAbsent(row.getEmployeeId(), employeeId -> toEmployeeInfo(row)));
+        }
+        return response;
+    }
+
     /**
      * Convert CreateTaskRequest to TaskEntity (for creation)
      * @param request the task creation request to convert
@@ -43,7 +72,7 @@ public class TaskMapper {
         if (request == null) {
             return null;
         }
-
+        
         return TaskEntity.builder()
                 .employeeId(request.getEmployeeId())
                 .taskName(request.getTaskName())
@@ -54,16 +83,104 @@ public class TaskMapper {
     }
 
     /**
-     * Convert a list of TaskEntity to a list of TaskResponse
-     * @param entities the list of task entities to convert
+     * Convert a list of TaskRow projections to a list of self-contained TaskResponse
+     * Each employee summary is built once per list and shared by all of the employee's tasks
+     * @param rows the list of task projections to convert
      * @return the list of converted task response DTOs
      */
-    public List<TaskResponse> toResponseList(List<TaskEntity> entities) {
-        if (entities == null) {
+    public List<TaskResponse> toResponseList(List<TaskRow> rows) {
+        if (rows == null) {
             return null;
         }
-        return entities.stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+        Map<String, TaskResponse.EmployeeInfo> employeeCache = new HashMap<>();
+        List<TaskResponse> responses = new ArrayList<>(rows.size());
+        for (TaskRow row : rows) {
+            responses.add(toResponse(row, employeeCache));
+        }
+        return responses;
+    }
+
+    /**
+     * Convert a list of TaskRow projections to a TaskListResponse
+     * Tasks only carry their employee ID, each employee summary is built and sent once per list
+     * @param rows the list of task projections to convert
+     * @return the task list response, without a next cursor
+     */
+    public TaskListResponse toListResponse(List<TaskRow> rows) {
+        if (rows == null) {
+            return null;
+        }
+        Map<String, TaskResponse.EmployeeInfo> employees = new LinkedHashMap<>();
+        List<TaskResponse> tasks = new ArrayList<>(rows.size());
+        for (TaskRow row : rows) {
+            if (row.getEmployeeId() != null) {
+                employees.computeIfAbsent(row.getEmployeeId(), employeeId -> toEmployeeInfo(row));
+            }
+            tasks.add(toTaskResponse(row));
+        }
+        return TaskListResponse.builder()
+                .tasks(tasks)
+                .employees(employees)
+                .build();
+    }
+
+    /**
+     * Build the task fields of a task projection, without the employee summary
+     * @param row the task projection
+     * @return the task response DTO
+     */
+    private TaskResponse toTaskResponse(TaskRow row) {
+        return TaskResponse.builder()
+                .id(row.getId())
+                .taskName(row.getTaskName())
+                .description(row.getDescription())
+                .dueDate(row.getDueDate())
+                .status(row.getStatus())
+                .createdAt(row.getCreatedAt())
+                .updatedAt(row.getUpdatedAt())
+                .employeeId(row.getEmployeeId())
+                .build();
+    }
+
+    /**
+     * Build the employee summary of a task entity
+     * @param employee the employee entity (may be null or not loaded)
+     * @return the employee summary or null if there is no employee
+     */
+    private TaskResponse.EmployeeInfo toEmployeeInfo(EmployeeEntity employee) {
+        if (employee == null) {
+            return null;
+        }
+        DepartmentEntity department = employee.getDepartment();
+        return TaskResponse.EmployeeInfo.builder()
+                .id(employee.getId())
+                .username(employee.getUsername())
+                .fullname(employee.getFullname())
+                .email(employee.getEmail())
+                .position(employee.getPosition())
+                .department(department != null ? TaskResponse.DepartmentInfo.builder()
+                        .id(department.getId())
+                        .name(department.getName())
+                        .build() : null)
+                .build();
+    }
+
+    /**
+     * Build the employee summary of a task projection
+     * @param row the task projection
+     * @return the employee summary
+     */
+    private TaskResponse.EmployeeInfo toEmployeeInfo(TaskRow row) {
+        return TaskResponse.EmployeeInfo.builder()
+                .id(row.getEmployeeId())
+                .username(row.getEmployeeUsername())
+                .fullname(row.getEmployeeFullname())
+                .email(row.getEmployeeEmail())
+                .position(row.getEmployeePosition())
+                .department(row.getDepartmentId() != null ? TaskResponse.DepartmentInfo.builder()
+                        .id(row.getDepartmentId())
+                        .name(row.getDepartmentName())
+                        .build() : null)
+                .build();
     }
 }
@@ -1,5 +1,6 @@
 package com.duyphong.duyphong_app.repository;
 
+import com.duyphong.duyphong_app.dto.response.DepartmentHistoryResponse;
 import com.duyphong.duyphong_app.entity.DepartmentHistoryEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -13,8 +14,8 @@ import java.util.List;
  * Provides CRUD operations and custom query methods for DepartmentHistory data
  */
 @Repository
-public interface DepartmentHistoryRepository extends JpaRepository<DepartmentHistoryEntity, Integer> {
-    
+public interface DepartmentHistoryRepository extends JpaRepository<DepartmentHistoryEntity, Integer>, DepartmentHistoryRepositoryCustom {
+
     /**
      * Find all department history records for a specific employee
      * @param employeeId the employee ID
@@ -22,7 +23,7 @@ public interface DepartmentHistoryRepository extends JpaRepository<DepartmentHis
      */
     @Query("SELECT dh FROM DepartmentHistoryEntity dh WHERE dh.employeeId = :employeeId ORDER BY dh.changeDate DESC")
     List<DepartmentHistoryEntity> findByEmployeeIdOrderByChangeDateDesc(@Param("employeeId") String employeeId);
-    
+
     /**
      * Find the latest department change for a specific employee
      * @param employeeId the employee ID
@@ -30,4 +31,14 @@ public interface DepartmentHistoryRepository extends JpaRepository<DepartmentHis
      */
     @Query("SELECT dh FROM DepartmentHistoryEntity dh WHERE dh.employeeId = :employeeId ORDER BY dh.changeDate DESC LIMIT 1")
     DepartmentHistoryEntity findLatestByEmployeeId(@Param("employeeId") String employeeId);
+
+    /**
+     * Find the department changes of an employee as DTOs, read from the (employee_id, change_date) index
+     * @param employeeId the employee ID
+     * @return the department changes, newest first
+     */
+    @Query("SELECT new com.duyphong.duyphong_app.dto.response.DepartmentHistoryResponse(" +
+           "dh.id, dh.employeeId, dh.oldDepartmentId, dh.newDepartmentId, dh.changeDate) " +
+           "FROM DepartmentHistoryEntity dh WHERE dh.employeeId = :employeeId ORDER BY dh.changeDate DESC, dh.id DESC")
+    List<DepartmentHistoryResponse> findHistoryByEmployeeId(@Param("employeeId") String employeeId);
 }
@@ -0,0 +1,26 @@
+package com.duyphong.duyphong_app.repository;
+
+import com.duyphong.duyphong_app.dto.response.DepartmentRosterEntryResponse;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Custom query methods for DepartmentHistory data that need native SQL
+ */
+public interface DepartmentHistoryRepositoryCustom {
+
+    /**
+     * Find one page of the members of a department at a point in time
+     * An employee was a member at asOf if their latest department change at or before asOf moved them to the department.
+     * Computed in a single query: a change into the department at or before asOf counts when the employee has no
+     * later change at or before asOf, ties on the change date are broken by the history ID.
+     * Uses keyset pagination on the employee ID, results are ordered by employee ID ascending.
+     * @param departmentId the department ID
+     * @param asOf the point in time
+     * @param afterEmployeeId only employees with an ID greater than this one are returned (optional, null for the first page)
+     * @param limit the maximum number of members to return
+     * @return the members with the change that placed them in the department
+     */
+    List<DepartmentRosterEntryResponse> findRosterAsOf(String departmentId, Instant asOf, String afterEmployeeId, int limit);
+}
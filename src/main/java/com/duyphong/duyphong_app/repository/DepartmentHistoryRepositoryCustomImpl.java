@@ -0,0 +1,60 @@
+package com.duyphong.duyphong_app.repository;
+
+import com.duyphong.duyphong_app.dto.response.DepartmentRosterEntryResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Native SQL implementation of DepartmentHistoryRepositoryCustom
+ * The changes into the department are read from the (new_department_id, employee_id, change_date) index in employee
+ * order and each one is checked against the employee's later changes in the (employee_id, change_date) index,
+ * so the scan stops as soon as a page of members is found. Ordering by both index columns lets H2 and MySQL skip the sort.
+ */
+public class DepartmentHistoryRepositoryCustomImpl implements DepartmentHistoryRepositoryCustom {
+
+    /**
+     * Roster query with the named parameters departmentId, afterEmployeeId, asOf and limit, also run by DepartmentRosterBenchmark
+     */
+    public static final String ROSTER_AS_OF_SQL =
+            "SELECT e.id AS employee_id, e.fullname, e.email, e.position, h.old_department_id, h.change_date " +
+            "FROM department_history h " +
+            "JOIN employees e ON e.id = h.employee_id " +
+            "WHERE h.new_department_id = :departmentId AND h.employee_id > :afterEmployeeId AND h.change_date <= :asOf " +
+            "AND NOT EXISTS (" +
+            "SELECT 1 FROM department_history later " +
+            "WHERE later.employee_id = h.employee_id AND later.change_date <= :asOf " +
+            "AND (later.change_date > h.change_date OR (later.change_date = h.change_date AND later.id > h.id))" +
+            ") " +
+            "ORDER BY h.new_department_id, h.employee_id " +
+            "LIMIT :limit";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<DepartmentRosterEntryResponse> findRosterAsOf(String departmentId, Instant asOf, String afterEmployeeId, int limit) {
+        return entityManager.createNativeQuery(ROSTER_AS_OF_SQL)
+                .unwrap(NativeQuery.class)
+                .addScalar("employee_id", StandardBasicTypes.STRING)
+                .addScalar("fullname", StandardBasicTypes.STRING)
+                .addScalar("email", StandardBasicTypes.STRING)
+                .addScalar("position", StandardBasicTypes.STRING)
+                .addScalar("old_department_id", StandardBasicTypes.STRING)
+                .addScalar("change_date", StandardBasicTypes.INSTANT)
+                .setTupleTransformer((tuple, aliases) -> new DepartmentRosterEntryResponse(
+                        (String) tuple[0], (String) tuple[1], (String) tuple[2], (String) tuple[3],
+                        (String) tuple[4], (Instant) tuple[5]))
+                .setParameter("departmentId", departmentId)
+                // Every employee ID is greater than the empty string, so the first page needs no separate query
+                .setParameter("afterEmployeeId", afterEmployeeId != null ? afterEmployeeId : "")
+                .setParameter("asOf", asOf)
+                .setParameter("limit", limit)
+                .getResultList();
+    }
+}
@@ -3,8 +3,10 @@ package com.duyphong.duyphong_app.repository;
 import com.duyphong.duyphong_app.entity.DepartmentEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -13,14 +15,14 @@ import java.util.List;
  */
 @Repository
 public interface DepartmentRepository extends JpaRepository<DepartmentEntity, String> {
-    
+
     /**
      * Check if department name already exists
      * @param name the department name
      * @return true if exists, false otherwise
      */
     boolean existsByName(String name);
-    
+
     /**
      * Get department names with their average employee salary
      * @return List of Object arrays containing department name and average salary
@@ -29,4 +31,42 @@ public interface DepartmentRepository extends JpaRepository<DepartmentEntity, St
            "LEFT JOIN EmployeeEntity e ON e.department.id = d.id " +
            "GROUP BY d.id, d.name")
     List<Object[]> findDepartmentAverageSalaries();
+
+    /**
+     * Get a department with its headcount, average employee salary and task counts per status in a single aggregate query
+     * Headcount and average salary are correlated subqueries, so joining the tasks does not change them.
+     * Employees without a salary are counted but ignored by the average
+     * @param departmentId the department ID
+     * @return List of Object arrays (department id, department name, employee count, average salary, task status,
+     *         task count), one per task status of the department or a single row with a null status if it has no tasks,
+     *         empty if the department does not exist
+     */
+    @Query("SELECT d.id, d.name, " +
+           "(SELECT COUNT(e2) FROM EmployeeEntity e2 WHERE e2.department.id = d.id), " +
+           "(SELECT AVG(e3.salary) FROM EmployeeEntity e3 WHERE e3.department.id = d.id), " +
+           "t.status, COUNT(t) FROM DepartmentEntity d " +
+           "LEFT JOIN EmployeeEntity e ON e.department.id = d.id " +
+           "LEFT JOIN TaskEntity t ON t.employeeId = e.id " +
+           "WHERE d.id = :departmentId " +
+           "GROUP BY d.id, d.name, t.status")
+    List<Object[]> findDepartmentStatistics(@Param("departmentId") String departmentId);
+
+    /**
+     * Get every department with its headcount, salary sum and number of employees having a salary
+     * Used to build the materialized department statistics
+     * @return List of Object arrays containing department id, department name, employee count,
+     *         salary sum and salary count
+     */
+    @Query("SELECT d.id, d.name, COUNT(e), SUM(e.salary), COUNT(e.salary) FROM DepartmentEntity d " +
+           "LEFT JOIN EmployeeEntity e ON e.department.id = d.id " +
+           "GROUP BY d.id, d.name")
+    List<Object[]> findDepartmentSalaryTotals();
+
+    /**
+     * Find which of the given department IDs exist
+     * @param ids the department IDs to check
+     * @return the subset of IDs that belong to an existing department
+     */
+    @Query("SELECT d.id FROM DepartmentEntity d WHERE d.id IN :ids")
+    List<String> findExistingIds(@Param("ids") Collection<String> ids);
 }
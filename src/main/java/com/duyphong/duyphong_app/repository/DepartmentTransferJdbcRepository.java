@@ -0,0 +1,102 @@
+package com.duyphong.duyphong_app.repository;
+
+import com.duyphong.duyphong_app.config.MetricsConfig;
+import com.duyphong.duyphong_app.dto.projection.EmployeeDepartmentRow;
+import com.duyphong.duyphong_app.entity.DepartmentHistoryEntity;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * JDBC repository for bulk department transfers
+ * History rows are sent as JDBC batches of a single prepared INSERT (Hibernate cannot batch IDENTITY inserts)
+ * and employees are moved with one set-based UPDATE per target department instead of one entity update each.
+ * Both bypass the persistence context, callers evict the moved employees from the caches.
+ */
+@Repository
+@Timed(MetricsConfig.JDBC_REPOSITORY_TIMER)
+@RequiredArgsConstructor
+public class DepartmentTransferJdbcRepository {
+
+    /**
+     * Number of history rows sent per JDBC batch
+     */
+    public static final int BATCH_SIZE = 500;
+
+    private static final String LOCK_EMPLOYEES_SQL =
+            "SELECT id, department, salary FROM employees WHERE id IN (:ids) ORDER BY id FOR UPDATE";
+
+    private static final String MOVE_EMPLOYEES_SQL =
+            "UPDATE employees SET department = :departmentId, updated_at = :updatedAt, version = version + 1 WHERE id IN (:ids)";
+
+    private static final String INSERT_HISTORY_SQL =
+            "INSERT INTO department_history (employee_id, old_department_id, new_department_id, change_date) VALUES (?, ?, ?, ?)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Read the current department and salary of employees and lock their rows until the transaction ends
+     * Rows are locked in ID order so concurrent transfers of overlapping employees cannot deadlock
+     * @param ids the employee IDs
+     * @return the employees found, ordered by ID
+     */
+    public List<EmployeeDepartmentRow> lockEmployees(Collection<String> ids) {
+        return jdbcTemplate.query(LOCK_EMPLOYEES_SQL, new MapSqlParameterSource("ids", ids),
+                (resultSet, rowNum) -> new EmployeeDepartmentRow(resultSet.getString("id"),
+                        resultSet.getString("department"), resultSet.getObject("salary", Integer.class)));
+    }
+
+    /**
+     * Move employees to a department with a single UPDATE
+     * The version of every moved employee is incremented like a Hibernate update would, so ETags read before the move no longer match
+     * @param departmentId the new department ID
+     * @param employeeIds the employee IDs
+     * @param updatedAt the new update time of the employees
+     * @return the number of updated employees
+     */
+    public int moveEmployees(String departmentId, Collection<String> employeeIds, Instant updatedAt) {
+        return jdbcTemplate.update(MOVE_EMPLOYEES_SQL, new MapSqlParameterSource()
+                .addValue("departmentId", departmentId)
+                .addValue("updatedAt", Timestamp.from(updatedAt))
+                .addValue("ids", employeeIds));
+    }
+
+    /**
+     * Insert department history rows in JDBC batches of BATCH_SIZE rows
+     * @param history the history rows to insert, their IDs are not read back
+     * @return the number of inserted rows
+     */
+    public int batchInsertHistory(List<DepartmentHistoryEntity> history) {
+        int inserted = 0;
+        for (int from = 0; from < history.size(); from += BATCH_SIZE) {
+            List<DepartmentHistoryEntity> batch = history.subList(from, Math.min(from + BATCH_SIZE, history.size()));
+            jdbcTemplate.getJdbcOperations().batchUpdate(INSERT_HISTORY_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    DepartmentHistoryEntity change = batch.get(i);
+                    ps.setString(1, change.getEmployeeId());
+                    ps.setString(2, change.getOldDepartmentId());
+                    ps.setString(3, change.getNewDepartmentId());
+                    ps.setTimestamp(4, Timestamp.from(change.getChangeDate()));
+                }
+                
+                @Override
+                public int getBatchSize() {
+                    return batch.size();
+                }
+            });
+            inserted += batch.size();
+        }
+        return inserted;
+    }
+}
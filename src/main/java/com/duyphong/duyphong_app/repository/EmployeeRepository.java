@@ -7,6 +7,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,15 +16,15 @@ import java.util.Optional;
  * Provides CRUD operations and custom query methods for Employee data
  */
 @Repository
-public interface EmployeeRepository extends JpaRepository<EmployeeEntity, String> {
-    
+public interface EmployeeRepository extends JpaRepository<EmployeeEntity, String>, EmployeeRepositoryCustom {
+
     /**
      * Find employee by ID
      * @param id the employee ID
      * @return Optional containing the employee if found, empty otherwise
      */
     Optional<EmployeeEntity> findById(String id);
-    
+
     /**
      * Find employee by ID with department eagerly loaded
      * @param id the employee ID
@@ -31,7 +32,15 @@ public interface EmployeeRepository extends JpaRepository<EmployeeEntity, String
      */
     @Query("SELECT e FROM EmployeeEntity e LEFT JOIN FETCH e.department WHERE e.id = :id")
     Optional<EmployeeEntity> findByIdWithDepartment(@Param("id") String id);
-    
+
+    /**
+     * Find employees by IDs with their departments in a single query
+     * @param ids the employee IDs
+     * @return the employees found, in no particular order
+     */
+    @Query("SELECT e FROM EmployeeEntity e LEFT JOIN FETCH e.department WHERE e.id IN :ids")
+    List<EmployeeEntity> findAllByIdWithDepartment(@Param("ids") Collection<String> ids);
+
     /**
      * Count employees by department ID
      * @param departmentId the department ID
@@ -39,7 +48,7 @@ public interface EmployeeRepository extends JpaRepository<EmployeeEntity, String
      */
     @Query("SELECT COUNT(e) FROM EmployeeEntity e WHERE e.department.id = :departmentId")
     Long countByDepartmentId(@Param("departmentId") String departmentId);
-    
+
     /**
      * Get average salary by department ID
      * @param departmentId the department ID
@@ -47,13 +56,22 @@ public interface EmployeeRepository extends JpaRepository<EmployeeEntity, String
      */
     @Query("SELECT AVG(e.salary) FROM EmployeeEntity e WHERE e.department.id = :departmentId AND e.salary IS NOT NULL")
     Double getAverageSalaryByDepartmentId(@Param("departmentId") String departmentId);
-    
+
     /**
      * Find employees by department ID who joined within the specified time period
+     * Department is fetched in the same query so mapping the result does not trigger extra selects
      * @param departmentId the department ID
      * @param sinceDate the date since when to find new employees
      * @return list of employees who joined after the specified date
      */
-    @Query("SELECT e FROM EmployeeEntity e WHERE e.department.id = :departmentId AND e.createdAt >= :sinceDate")
+    @Query("SELECT e FROM EmployeeEntity e JOIN FETCH e.department d WHERE d.id = :departmentId AND e.createdAt >= :sinceDate")
     List<EmployeeEntity> findNewEmployeesByDepartmentIdSince(@Param("departmentId") String departmentId, @Param("sinceDate") Instant sinceDate);
+
+    /**
+     * Find which of the given employee IDs exist
+     * @param ids the employee IDs to check
+     * @return the subset of IDs that belong to an existing employee
+     */
+    @Query("SELECT e.id FROM EmployeeEntity e WHERE e.id IN :ids")
+    List<String> findExistingIds(@Param("ids") Collection<String> ids);
 }
\ No newline at end of file
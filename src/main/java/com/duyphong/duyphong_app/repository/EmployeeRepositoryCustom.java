@@ -0,0 +1,53 @@
+package com.duyphong.duyphong_app.repository;
+
+import com.duyphong.duyphong_app.dto.projection.EmployeeSearchRow;
+import com.duyphong.duyphong_app.dto.request.EmployeeFilter;
+import com.duyphong.duyphong_app.dto.response.EmployeeResponse;
+import com.duyphong.duyphong_app.enumeration.EmployeeSortField;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Custom query methods for Employee data built dynamically from the supplied filters and sort order
+ * Only the filters that are set become predicates, so the database can use the matching index
+ */
+public interface EmployeeRepositoryCustom {
+
+    /**
+     * Number of rows fetched per round trip when streaming employees
+     */
+    int STREAM_FETCH_SIZE = 1000;
+
+    /**
+     * Find one page of employees matching the filters
+     * Uses keyset pagination on the sort column and the employee ID, the ID breaks ties in the same direction.
+     * Employees without a salary sort before all others in ascending order and after them in descending order,
+     * the default NULL ordering of MySQL and H2.
+     * Only the columns needed for the response are selected, no entity is hydrated
+     * @param filter the employee filters
+     * @param sort the column to sort by
+     * @param direction the sort direction
+     * @param afterValue the sort column value of the last employee of the previous page (nullable)
+     * @param afterId the ID of the last employee of the previous page (optional, null for the first page)
+     * @param limit the maximum number of employees to return
+     * @return List of employee responses in sort order
+     */
+    List<EmployeeResponse> findEmployees(EmployeeFilter filter, EmployeeSortField sort, Sort.Direction direction,
+                                         Object afterValue, String afterId, int limit);
+
+    /**
+     * Find the employee responses of the given IDs
+     * @param ids the employee IDs
+     * @return the employee responses in the order of the IDs, IDs without an employee are skipped
+     */
+    List<EmployeeResponse> findEmployeeResponsesByIds(List<String> ids);
+
+    /**
+     * Stream the searchable text columns of all employees, read in fetch-size chunks,
+     * the stream must be consumed and closed inside a transaction
+     * @return Stream of employee search rows in no particular order
+     */
+    Stream<EmployeeSearchRow> streamSearchRows();
+}
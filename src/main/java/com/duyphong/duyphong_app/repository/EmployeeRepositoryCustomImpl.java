@@ -0,0 +1,171 @@
+package com.duyphong.duyphong_app.repository;
+
+import com.duyphong.duyphong_app.dto.projection.EmployeeSearchRow;
+import com.duyphong.duyphong_app.dto.request.EmployeeFilter;
+import com.duyphong.duyphong_app.dto.response.EmployeeResponse;
+import com.duyphong.duyphong_app.entity.DepartmentEntity;
+import com.duyphong.duyphong_app.entity.EmployeeEntity;
+import com.duyphong.duyphong_app.enumeration.EmployeeSortField;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Criteria API implementation of EmployeeRepositoryCustom
+ * A page is found in two steps (deferred join): the IDs are selected with the filters and the keyset condition,
+ * which the (department, sort column, id) indexes cover, so they are read in index order and the scan stops
+ * after the page size. Only then the response columns of those IDs are selected by primary key.
+ */
+public class EmployeeRepositoryCustomImpl implements EmployeeRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public List<EmployeeResponse> findEmployees(EmployeeFilter filter, EmployeeSortField sort, Sort.Direction direction,
+                                                Object afterValue, String afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<String> query = cb.createQuery(String.class);
+        Root<EmployeeEntity> employee = query.from(EmployeeEntity.class);
+        query.select(employee.get("id"));
+        
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.getDepartmentId() != null) {
+            predicates.add(cb.equal(employee.get("department").get("id"), filter.getDepartmentId()));
+        }
+        if (filter.getPosition() != null) {
+            predicates.add(cb.equal(employee.get("position"), filter.getPosition()));
+        }
+        if (filter.getMinSalary() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(employee.get("salary"), filter.getMinSalary()));
+        }
+        if (filter.getMaxSalary() != null) {
+            predicates.add(cb.lessThanOrEqualTo(employee.get("salary"), filter.getMaxSalary()));
+        }
+        
+        Path sortPath = employee.get(switch (sort) {
+            case NAME -> "fullname";
+            case SALARY -> "salary";
+            case CREATED_AT -> "createdAt";
+        });
+        Path<String> id = employee.get("id");
+        boolean nullable = sort == EmployeeSortField.SALARY;
+        if (afterId != null) {
+            predicates.add(direction.isAscending()
+                    ? after(cb, sortPath, id, (Comparable) afterValue, afterId)
+                    : before(cb, sortPath, id, (Comparable) afterValue, afterId, nullable));
+        }
+        
+        // The department is constant when filtered, ordering by it as well lets databases that only match
+        // the ORDER BY against the leading index columns (H2) read the (department, sort column, id) index in order
+        List<Path<?>> orderPaths = new ArrayList<>();
+        if (filter.getDepartmentId() != null) {
+            orderPaths.add(employee.get("department").get("id"));
+        }
+        orderPaths.add(sortPath);
+        orderPaths.add(id);
+        List<Order> orders = new ArrayList<>();
+        for (Path<?> path : orderPaths) {
+            orders.add(direction.isAscending() ? cb.asc(path) : cb.desc(path));
+        }
+        
+        query.where(predicates.toArray(new Predicate[0]))
+                .orderBy(orders);
+        List<String> ids = entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+        return findEmployeeResponsesByIds(ids);
+    }
+
+    @Override
+    public List<EmployeeResponse> findEmployeeResponsesByIds(List<String> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        
+        Map<String, EmployeeResponse> employeesById = findEmployeeResponses(ids).stream()
+                .collect(Collectors.toMap(EmployeeResponse::getId, Function.identity()));
+        return ids.stream()
+                .map(employeesById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Stream<EmployeeSearchRow> streamSearchRows() {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EmployeeSearchRow> query = cb.createQuery(EmployeeSearchRow.class);
+        Root<EmployeeEntity> employee = query.from(EmployeeEntity.class);
+        
+        query.select(cb.construct(EmployeeSearchRow.class,
+                employee.get("id"), employee.get("username"), employee.get("email"), employee.get("fullname"),
+                employee.get("position")));
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .getResultStream();
+    }
+
+    /**
+     * Select the response columns of the employees of one page
+     * @param ids the employee IDs
+     * @return the employee responses in no particular order
+     */
+    private List<EmployeeResponse> findEmployeeResponses(List<String> ids) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EmployeeResponse> query = cb.createQuery(EmployeeResponse.class);
+        Root<EmployeeEntity> employee = query.from(EmployeeEntity.class);
+        Join<EmployeeEntity, DepartmentEntity> department = employee.join("department", JoinType.LEFT);
+        
+        query.select(cb.construct(EmployeeResponse.class,
+                employee.get("id"), employee.get("username"), employee.get("email"), employee.get("fullname"),
+                department.get("name"), employee.get("position"), employee.get("salary"),
+                employee.get("createdAt"), employee.get("updatedAt"), employee.get("version")))
+                .where(employee.get("id").in(ids));
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    /**
+     * Rows after (value, id) in ascending order, NULL values come first
+     * Written as "col >= value AND (col > value OR id > afterId)" so the leading condition is an index range
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Predicate after(CriteriaBuilder cb, Path sortPath, Path<String> id, Comparable value, String afterId) {
+        if (value == null) {
+            return cb.or(cb.and(cb.isNull(sortPath), cb.greaterThan(id, afterId)), cb.isNotNull(sortPath));
+        }
+        return cb.and(cb.greaterThanOrEqualTo(sortPath, value),
+                cb.or(cb.greaterThan(sortPath, value), cb.greaterThan(id, afterId)));
+    }
+
+    /**
+     * Rows after (value, id) in descending order, NULL values of a nullable column come last
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Predicate before(CriteriaBuilder cb, Path sortPath, Path<String> id, Comparable value, String afterId,
+                             boolean nullable) {
+        if (value == null) {
+            return cb.and(cb.isNull(sortPath), cb.lessThan(id, afterId));
+        }
+        Predicate before = cb.and(cb.lessThanOrEqualTo(sortPath, value),
+                cb.or(cb.lessThan(sortPath, value), cb.lessThan(id, afterId)));
+        return nullable ? cb.or(before, cb.isNull(sortPath)) : before;
+    }
+}
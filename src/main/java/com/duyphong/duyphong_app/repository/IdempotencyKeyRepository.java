@@ -0,0 +1,49 @@
+package com.duyphong.duyphong_app.repository;
+
+import com.duyphong.duyphong_app.entity.IdempotencyKeyEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+
+/**
+ * Repository interface for IdempotencyKey entity
+ * Stores the responses of requests sent with an Idempotency-Key so retries can be replayed
+ */
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKeyEntity, String> {
+    
+    /**
+     * Insert an idempotency key, failing if the key already exists
+     * A plain INSERT is used instead of save(), which would merge into a row committed concurrently.
+     * The query space limits second-level cache invalidation to this table.
+     * @param idempotencyKey the idempotency key
+     * @param requestHash the hash of the operation and request body
+     * @param responseBody the JSON response
+     * @param createdAt the creation time
+     * @return the number of inserted rows
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "idempotency_keys"))
+    @Query(value = "INSERT INTO idempotency_keys (idempotency_key, request_hash, response_body, created_at) " +
+                   "VALUES (:idempotencyKey, :requestHash, :responseBody, :createdAt)", nativeQuery = true)
+    int insert(@Param("idempotencyKey") String idempotencyKey,
+               @Param("requestHash") String requestHash,
+               @Param("responseBody") String responseBody,
+               @Param("createdAt") Instant createdAt);
+    
+    /**
+     * Delete idempotency keys created before the given time
+     * @param createdBefore the cutoff time
+     * @return the number of deleted keys
+     */
+    @Modifying
+    @Query("DELETE FROM IdempotencyKeyEntity k WHERE k.createdAt < :createdBefore")
+    int deleteByCreatedAtBefore(@Param("createdBefore") Instant createdBefore);
+}
@@ -0,0 +1,99 @@
+package com.duyphong.duyphong_app.repository;
+
+import com.duyphong.duyphong_app.entity.LunchLogImportJobEntity;
+import com.duyphong.duyphong_app.enumeration.ImportJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repository interface for LunchLogImportJob entity
+ * Stores the state of asynchronous lunch log imports so they can be polled and resumed
+ */
+@Repository
+public interface LunchLogImportJobRepository extends JpaRepository<LunchLogImportJobEntity, String> {
+    
+    /**
+     * Find import jobs in the given status, oldest first
+     * @param status the job status
+     * @return list of matching import jobs
+     */
+    List<LunchLogImportJobEntity> findByStatusOrderByCreatedAtAsc(ImportJobStatus status);
+    
+    /**
+     * Claim a queued import job for a run, of several runs of the same job only one succeeds
+     * @param id the job ID
+     * @param runId the token of the run, required by every later update of the run
+     * @param startedAt the start time of the run
+     * @return 1 if the job was claimed, 0 if it is not queued
+     */
+    @Modifying
+    @Query("UPDATE LunchLogImportJobEntity j SET j.status = com.duyphong.duyphong_app.enumeration.ImportJobStatus.RUNNING, " +
+           "j.runId = :runId, j.startedAt = :startedAt, j.resumedFromRow = j.rowsProcessed, j.updatedAt = :startedAt " +
+           "WHERE j.id = :id AND j.status = com.duyphong.duyphong_app.enumeration.ImportJobStatus.QUEUED")
+    int claim(@Param("id") String id,
+              @Param("runId") String runId,
+              @Param("startedAt") Instant startedAt);
+    
+    /**
+     * Put running import jobs back into the queue and revoke their runs, used at startup for the runs of the previous process
+     * @param updatedAt the time of the update
+     * @return the number of requeued jobs
+     */
+    @Modifying
+    @Query("UPDATE LunchLogImportJobEntity j SET j.status = com.duyphong.duyphong_app.enumeration.ImportJobStatus.QUEUED, " +
+           "j.runId = NULL, j.updatedAt = :updatedAt " +
+           "WHERE j.status = com.duyphong.duyphong_app.enumeration.ImportJobStatus.RUNNING")
+    int requeueRunning(@Param("updatedAt") Instant updatedAt);
+    
+    /**
+     * Record the progress of a run, called inside the transaction of each committed chunk
+     * @param id the job ID
+     * @param runId the token of the run
+     * @param rowsProcessed the input rows covered by committed chunks
+     * @param rowsImported the number of imported rows
+     * @param rowsSkipped the number of skipped duplicate rows
+     * @param rowsFailed the number of rejected rows
+     * @param errors the JSON array of the first row errors
+     * @param errorsTruncated whether further row errors were only counted
+     * @param updatedAt the time of the update
+     * @return 1 if the progress was recorded, 0 if the job no longer belongs to the run
+     */
+    @Modifying
+    @Query("UPDATE LunchLogImportJobEntity j SET j.rowsProcessed = :rowsProcessed, j.rowsImported = :rowsImported, " +
+           "j.rowsSkipped = :rowsSkipped, j.rowsFailed = :rowsFailed, j.errors = :errors, j.errorsTruncated = :errorsTruncated, j.updatedAt = :updatedAt " +
+           "WHERE j.id = :id AND j.runId = :runId")
+    int updateProgress(@Param("id") String id,
+                       @Param("runId") String runId,
+                       @Param("rowsProcessed") long rowsProcessed,
+                       @Param("rowsImported") long rowsImported,
+                       @Param("rowsSkipped") long rowsSkipped,
+                       @Param("rowsFailed") long rowsFailed,
+                       @Param("errors") String errors,
+                       @Param("errorsTruncated") boolean errorsTruncated,
+                       @Param("updatedAt") Instant updatedAt);
+    
+    /**
+     * Finish the run of an import job
+     * @param id the job ID
+     * @param runId the token of the run
+     * @param status the final status
+     * @param failureReason the reason the job failed (nullable)
+     * @param finishedAt the time the run finished
+     * @return 1 if the job was finished, 0 if it no longer belongs to the run
+     */
+    @Modifying
+    @Query("UPDATE LunchLogImportJobEntity j SET j.status = :status, j.failureReason = :failureReason, " +
+           "j.finishedAt = :finishedAt, j.updatedAt = :finishedAt " +
+           "WHERE j.id = :id AND j.runId = :runId AND j.status = com.duyphong.duyphong_app.enumeration.ImportJobStatus.RUNNING")
+    int finish(@Param("id") String id,
+               @Param("runId") String runId,
+               @Param("status") ImportJobStatus status,
+               @Param("failureReason") String failureReason,
+               @Param("finishedAt") Instant finishedAt);
+}
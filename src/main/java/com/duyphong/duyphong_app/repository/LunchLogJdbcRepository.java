@@ -0,0 +1,101 @@
+package com.duyphong.duyphong_app.repository;
+
+import com.duyphong.duyphong_app.config.MetricsConfig;
+import com.duyphong.duyphong_app.entity.LunchLogEntity;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC repository for high-volume lunch log inserts
+ * Hibernate cannot batch inserts of IDENTITY entities because it needs each generated ID immediately,
+ * so bulk ingestion bypasses the persistence context and sends JDBC batches of a single prepared INSERT.
+ * With rewriteBatchedStatements=true on the MySQL URL the driver turns each batch into multi-row INSERTs.
+ */
+@Repository
+@Timed(MetricsConfig.JDBC_REPOSITORY_TIMER)
+@RequiredArgsConstructor
+public class LunchLogJdbcRepository {
+
+    /**
+     * Default number of rows sent per JDBC batch
+     */
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO lunch_logs (employee_id, lunch_date, meal_type, restaurant, notes) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Insert lunch logs in JDBC batches of DEFAULT_BATCH_SIZE rows
+     * @param lunchLogs the lunch logs to insert, their IDs are set from the generated keys
+     * @return the number of inserted rows
+     */
+    public int batchInsert(List<LunchLogEntity> lunchLogs) {
+        return batchInsert(lunchLogs, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Insert lunch logs in JDBC batches
+     * @param lunchLogs the lunch logs to insert, their IDs are set from the generated keys
+     * @param batchSize the number of rows sent per JDBC batch
+     * @return the number of inserted rows
+     */
+    public int batchInsert(List<LunchLogEntity> lunchLogs, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+        
+        int inserted = 0;
+        for (int from = 0; from < lunchLogs.size(); from += batchSize) {
+            List<LunchLogEntity> batch = lunchLogs.subList(from, Math.min(from + batchSize, lunchLogs.size()));
+            inserted += insertBatch(batch);
+        }
+        return inserted;
+    }
+
+    /**
+     * Send one JDBC batch and assign the generated IDs in insertion order
+     * @param batch the lunch logs of this batch
+     * @return the number of inserted rows
+     */
+    private int insertBatch(List<LunchLogEntity> batch) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        LunchLogEntity lunchLog = batch.get(i);
+                        ps.setString(1, lunchLog.getEmployeeId());
+                        ps.setDate(2, Date.valueOf(lunchLog.getLunchDate()));
+                        ps.setString(3, lunchLog.getMealType().name());
+                        ps.setString(4, lunchLog.getRestaurant());
+                        ps.setString(5, lunchLog.getNotes());
+                    }
+                    
+                    @Override
+                    public int getBatchSize() {
+                        return batch.size();
+                    }
+                },
+                keyHolder);
+        
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < batch.size() && i < keys.size(); i++) {
+            Object id = keys.get(i).values().iterator().next();
+            batch.get(i).setId(((Number) id).intValue());
+        }
+        return batch.size();
+    }
+}
@@ -2,13 +2,31 @@ package com.duyphong.duyphong_app.repository;
 
 import com.duyphong.duyphong_app.entity.LunchLogEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
 /**
  * Repository interface for LunchLog entity
- * Provides bulk save operations for Lunch Log data
+ * Provides lunch log queries and grouped counts, bulk inserts go through LunchLogJdbcRepository
  */
 @Repository
-public interface LunchLogRepository extends JpaRepository<LunchLogEntity, Integer> {
-    // JpaRepository already provides saveAll() method for bulk operations
+public interface LunchLogRepository extends JpaRepository<LunchLogEntity, Integer>, LunchLogRepositoryCustom {
+    
+    /**
+     * Find the unique keys of the lunch logs of the given employees within a date range
+     * @param employeeIds the employee IDs
+     * @param fromDate the first lunch date (inclusive)
+     * @param toDate the last lunch date (inclusive)
+     * @return List of Object arrays containing [employeeId, lunchDate, mealType]
+     */
+    @Query("SELECT l.employeeId, l.lunchDate, l.mealType FROM LunchLogEntity l " +
+           "WHERE l.employeeId IN :employeeIds AND l.lunchDate BETWEEN :fromDate AND :toDate")
+    List<Object[]> findKeysByEmployeeIdsAndDateRange(@Param("employeeIds") Collection<String> employeeIds,
+                                                     @Param("fromDate") LocalDate fromDate,
+                                                     @Param("toDate") LocalDate toDate);
 }
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.duyphong.duyphong_app.repository;
+
+import com.duyphong.duyphong_app.dto.request.LunchLogFilter;
+import com.duyphong.duyphong_app.dto.response.LunchLogResponse;
+import com.duyphong.duyphong_app.enumeration.LunchLogGrouping;
+
+import java.util.List;
+
+/**
+ * Custom query methods for Lunch Log data built dynamically from the supplied filters and groupings
+ * Only the filters that are set become predicates, so the database can use the matching index
+ */
+public interface LunchLogRepositoryCustom {
+
+    /**
+     * Find one page of lunch logs matching the filters
+     * Uses keyset pagination on the lunch log ID, results are ordered by ID ascending
+     * @param filter the lunch log filters
+     * @param afterId only lunch logs with an ID greater than this one are returned (optional, null for the first page)
+     * @param limit the maximum number of lunch logs to return
+     * @return List of lunch logs matching the filters
+     */
+    List<LunchLogResponse> findLunchLogs(LunchLogFilter filter, Integer afterId, int limit);
+
+    /**
+     * Count lunch logs matching the filters grouped by the given dimensions
+     * Each row holds one value per grouping in the given order (department ID and name for DEPARTMENT)
+     * followed by the count, rows are ordered by the grouped values
+     * @param groupings the dimensions to group by, in order
+     * @param filter the lunch log filters
+     * @param limit the maximum number of groups to return
+     * @return List of grouped values and counts
+     */
+    List<Object[]> countLunchLogsGroupedBy(List<LunchLogGrouping> groupings, LunchLogFilter filter, int limit);
+}
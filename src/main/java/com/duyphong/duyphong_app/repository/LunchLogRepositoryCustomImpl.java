@@ -0,0 +1,125 @@
+package com.duyphong.duyphong_app.repository;
+
+import com.duyphong.duyphong_app.dto.request.LunchLogFilter;
+import com.duyphong.duyphong_app.dto.response.LunchLogResponse;
+import com.duyphong.duyphong_app.entity.DepartmentEntity;
+import com.duyphong.duyphong_app.entity.EmployeeEntity;
+import com.duyphong.duyphong_app.entity.LunchLogEntity;
+import com.duyphong.duyphong_app.enumeration.LunchLogGrouping;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Criteria API implementation of LunchLogRepositoryCustom
+ * Summaries are computed with GROUP BY in the database and return only the grouped values and counts,
+ * employees and departments are joined only when a department filter or grouping needs them
+ */
+public class LunchLogRepositoryCustomImpl implements LunchLogRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<LunchLogResponse> findLunchLogs(LunchLogFilter filter, Integer afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<LunchLogResponse> query = cb.createQuery(LunchLogResponse.class);
+        Root<LunchLogEntity> lunchLog = query.from(LunchLogEntity.class);
+        
+        query.select(cb.construct(LunchLogResponse.class,
+                lunchLog.get("id"), lunchLog.get("employeeId"), lunchLog.get("lunchDate"),
+                lunchLog.get("mealType"), lunchLog.get("restaurant"), lunchLog.get("notes")));
+        
+        List<Predicate> predicates = buildPredicates(cb, lunchLog, filter);
+        if (afterId != null) {
+            predicates.add(cb.greaterThan(lunchLog.get("id"), afterId));
+        }
+        
+        query.where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.asc(lunchLog.get("id")));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<Object[]> countLunchLogsGroupedBy(List<LunchLogGrouping> groupings, LunchLogFilter filter, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<LunchLogEntity> lunchLog = query.from(LunchLogEntity.class);
+        
+        List<Expression<?>> groupExpressions = new ArrayList<>();
+        for (LunchLogGrouping grouping : groupings) {
+            switch (grouping) {
+                case EMPLOYEE -> groupExpressions.add(lunchLog.get("employeeId"));
+                case DAY -> groupExpressions.add(lunchLog.get("lunchDate"));
+                case MEAL_TYPE -> groupExpressions.add(lunchLog.get("mealType"));
+                case RESTAURANT -> groupExpressions.add(lunchLog.get("restaurant"));
+                case DEPARTMENT -> {
+                    Join<LunchLogEntity, EmployeeEntity> employee = lunchLog.join("employee");
+                    Join<EmployeeEntity, DepartmentEntity> department = employee.join("department", JoinType.LEFT);
+                    groupExpressions.add(department.get("id"));
+                    groupExpressions.add(department.get("name"));
+                }
+            }
+        }
+        
+        List<Selection<?>> selections = new ArrayList<>(groupExpressions);
+        selections.add(cb.count(lunchLog));
+        List<Order> orders = new ArrayList<>();
+        for (Expression<?> expression : groupExpressions) {
+            orders.add(cb.asc(expression));
+        }
+        
+        query.multiselect(selections)
+                .where(buildPredicates(cb, lunchLog, filter).toArray(new Predicate[0]))
+                .groupBy(groupExpressions)
+                .orderBy(orders);
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * Build one predicate per filter that is set
+     * @param cb the criteria builder
+     * @param lunchLog the lunch log root
+     * @param filter the lunch log filters
+     * @return the mutable list of predicates
+     */
+    private List<Predicate> buildPredicates(CriteriaBuilder cb, Root<LunchLogEntity> lunchLog, LunchLogFilter filter) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.getEmployeeId() != null) {
+            predicates.add(cb.equal(lunchLog.get("employeeId"), filter.getEmployeeId()));
+        }
+        if (filter.getDepartmentId() != null) {
+            // Compares the employee's foreign key, the departments table is not joined
+            predicates.add(cb.equal(lunchLog.get("employee").get("department").get("id"), filter.getDepartmentId()));
+        }
+        if (filter.getMealType() != null) {
+            predicates.add(cb.equal(lunchLog.get("mealType"), filter.getMealType()));
+        }
+        if (filter.getRestaurant() != null) {
+            predicates.add(cb.equal(lunchLog.get("restaurant"), filter.getRestaurant()));
+        }
+        if (filter.getFromDate() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(lunchLog.<LocalDate>get("lunchDate"), filter.getFromDate()));
+        }
+        if (filter.getToDate() != null) {
+            predicates.add(cb.lessThanOrEqualTo(lunchLog.<LocalDate>get("lunchDate"), filter.getToDate()));
+        }
+        return predicates;
+    }
+}
@@ -0,0 +1,76 @@
+package com.duyphong.duyphong_app.repository;
+
+import com.duyphong.duyphong_app.config.MetricsConfig;
+import com.duyphong.duyphong_app.entity.TaskEntity;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC repository for write-behind task inserts
+ * Hibernate cannot batch inserts of IDENTITY entities, so queued tasks are sent as one JDBC batch
+ * of a single prepared INSERT and their IDs are read back from the generated keys.
+ */
+@Repository
+@Timed(MetricsConfig.JDBC_REPOSITORY_TIMER)
+@RequiredArgsConstructor
+public class TaskJdbcRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO tasks (employee_id, task_name, description, due_date, status, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Insert tasks as one JDBC batch and assign the generated IDs in insertion order
+     * @param tasks the tasks to insert, created and updated times must be set
+     * @return the number of inserted rows
+     */
+    public int batchInsert(List<TaskEntity> tasks) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        TaskEntity task = tasks.get(i);
+                        ps.setString(1, task.getEmployeeId());
+                        ps.setString(2, task.getTaskName());
+                        ps.setString(3, task.getDescription());
+                        if (task.getDueDate() != null) {
+                            ps.setDate(4, Date.valueOf(task.getDueDate()));
+                        } else {
+                            ps.setNull(4, Types.DATE);
+                        }
+                        ps.setString(5, task.getStatus().name());
+                        ps.setTimestamp(6, Timestamp.from(task.getCreatedAt()));
+                        ps.setTimestamp(7, Timestamp.from(task.getUpdatedAt()));
+                    }
+                    
+                    @Override
+                    public int getBatchSize() {
+                        return tasks.size();
+                    }
+                },
+                keyHolder);
+        
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < tasks.size() && i < keys.size(); i++) {
+            Object id = keys.get(i).values().iterator().next();
+            tasks.get(i).setId(((Number) id).intValue());
+        }
+        return tasks.size();
+    }
+}
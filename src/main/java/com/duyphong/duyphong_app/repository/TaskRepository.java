@@ -7,7 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -15,7 +15,7 @@ import java.util.List;
  * Provides CRUD operations and custom query methods for Task data
  */
 @Repository
-public interface TaskRepository extends JpaRepository<TaskEntity, Integer> {
+public interface TaskRepository extends JpaRepository<TaskEntity, Integer>, TaskRepositoryCustom {
     
     /**
      * Find tasks by employee ID and status
@@ -24,26 +24,15 @@ public interface TaskRepository extends JpaRepository<TaskEntity, Integer> {
      * @return List of tasks matching the criteria
      */
     List<TaskEntity> findByEmployeeIdAndStatus(String employeeId, TaskStatus status);
-
+    
     /**
-     * Find tasks with optional filtering criteria and fetch employee details
-     * Supports filtering by employee_id, status, and due_date
-     * @param employeeId the employee ID (optional)
-     * @param status the task status (optional)
-     * @param dueDate the due date (optional)
-     * @return List of tasks matching the criteria with employee information
+     * Find tasks of several employees by status in a single query
+     * @param employeeIds the employee IDs
+     * @param status the task status
+     * @return List of tasks matching the criteria
      */
-    @Query("SELECT t FROM TaskEntity t " +
-           "LEFT JOIN FETCH t.employee e " +
-           "LEFT JOIN FETCH e.department d " +
-           "WHERE 1 = 1 " +
-           "AND (:employeeId IS NULL OR t.employeeId = :employeeId) " +
-           "AND (:status IS NULL OR t.status = :status) " +
-           "AND (:dueDate IS NULL OR t.dueDate = :dueDate)")
-    List<TaskEntity> findTasksWithFilters(@Param("employeeId") String employeeId,
-                                         @Param("status") TaskStatus status,
-                                         @Param("dueDate") LocalDate dueDate);
-    
+    List<TaskEntity> findByEmployeeIdInAndStatus(Collection<String> employeeIds, TaskStatus status);
+
     /**
      * Count tasks by department ID and status
      * @param departmentId the department ID
@@ -52,4 +41,30 @@ public interface TaskRepository extends JpaRepository<TaskEntity, Integer> {
      */
     @Query("SELECT COUNT(t) FROM TaskEntity t JOIN t.employee e WHERE e.department.id = :departmentId AND t.status = :status")
     Long countTasksByDepartmentIdAndStatus(@Param("departmentId") String departmentId, @Param("status") TaskStatus status);
+    
+    /**
+     * Count tasks grouped by the department of their employee and by status
+     * Used to build the materialized department statistics
+     * @return List of Object arrays containing department ID, task status and task count
+     */
+    @Query("SELECT e.department.id, t.status, COUNT(t) FROM TaskEntity t JOIN t.employee e " +
+           "WHERE e.department IS NOT NULL " +
+           "GROUP BY e.department.id, t.status")
+    List<Object[]> countTasksGroupedByDepartmentIdAndStatus();
+    
+    /**
+     * Count the tasks of an employee grouped by status
+     * @param employeeId the employee ID
+     * @return List of Object arrays containing the task status and the number of tasks with that status
+     */
+    @Query("SELECT t.status, COUNT(t) FROM TaskEntity t WHERE t.employeeId = :employeeId GROUP BY t.status")
+    List<Object[]> countTasksByEmployeeIdGroupedByStatus(@Param("employeeId") String employeeId);
+    
+    /**
+     * Count the tasks of several employees grouped by employee and status in a single query
+     * @param employeeIds the employee IDs
+     * @return List of Object arrays containing the employee ID, task status and task count
+     */
+    @Query("SELECT t.employeeId, t.status, COUNT(t) FROM TaskEntity t WHERE t.employeeId IN :employeeIds GROUP BY t.employeeId, t.status")
+    List<Object[]> countTasksByEmployeeIdsGroupedByStatus(@Param("employeeIds") Collection<String> employeeIds);
 }
@@ -0,0 +1,46 @@
+package com.duyphong.duyphong_app.repository;
+
+import com.duyphong.duyphong_app.dto.projection.TaskRow;
+import com.duyphong.duyphong_app.enumeration.TaskStatus;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Custom query methods for Task data built dynamically from the supplied filters
+ * Only the filters that are not null become predicates, so the database can use the matching index
+ */
+public interface TaskRepositoryCustom {
+
+    /**
+     * Number of rows fetched per round trip when streaming tasks
+     */
+    int STREAM_FETCH_SIZE = 500;
+
+    /**
+     * Find one page of tasks with optional filtering criteria together with employee summaries
+     * Supports filtering by employee_id, status, and due_date
+     * Uses keyset pagination on the task ID, results are ordered by ID ascending
+     * Only the columns needed for the response are selected, no entity is hydrated
+     * @param employeeId the employee ID (optional)
+     * @param status the task status (optional)
+     * @param dueDate the due date (optional)
+     * @param afterId only tasks with an ID greater than this one are returned (optional, null for the first page)
+     * @param limit the maximum number of tasks to return
+     * @return List of task projections matching the criteria with employee information
+     */
+    List<TaskRow> findTasksWithFilters(String employeeId, TaskStatus status, LocalDate dueDate,
+                                      Integer afterId, int limit);
+
+    /**
+     * Stream all tasks matching the optional filtering criteria together with employee summaries
+     * Rows are read through a forward-only cursor in chunks of STREAM_FETCH_SIZE,
+     * the stream must be consumed and closed inside a transaction
+     * @param employeeId the employee ID (optional)
+     * @param status the task status (optional)
+     * @param dueDate the due date (optional)
+     * @return Stream of task projections matching the criteria ordered by ID
+     */
+    Stream<TaskRow> streamTasksWithFilters(String employeeId, TaskStatus status, LocalDate dueDate);
+}
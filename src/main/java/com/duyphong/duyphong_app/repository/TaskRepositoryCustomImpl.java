@@ -0,0 +1,95 @@
+package com.duyphong.duyphong_app.repository;
+
+import com.duyphong.duyphong_app.dto.projection.TaskRow;
+import com.duyphong.duyphong_app.entity.DepartmentEntity;
+import com.duyphong.duyphong_app.entity.EmployeeEntity;
+import com.duyphong.duyphong_app.entity.TaskEntity;
+import com.duyphong.duyphong_app.enumeration.TaskStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Criteria API implementation of TaskRepositoryCustom
+ * Builds the WHERE clause from the supplied filters only, instead of "(:x IS NULL OR col = :x)"
+ * catch-all predicates that prevent the database from choosing an index
+ */
+public class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TaskRow> findTasksWithFilters(String employeeId, TaskStatus status, LocalDate dueDate,
+                                             Integer afterId, int limit) {
+        return createQuery(employeeId, status, dueDate, afterId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Stream<TaskRow> streamTasksWithFilters(String employeeId, TaskStatus status, LocalDate dueDate) {
+        return createQuery(employeeId, status, dueDate, null)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .getResultStream();
+    }
+
+    /**
+     * Build the task projection query with one predicate per supplied filter, ordered by task ID
+     * @param employeeId the employee ID (optional)
+     * @param status the task status (optional)
+     * @param dueDate the due date (optional)
+     * @param afterId the keyset cursor (optional)
+     * @return the typed query
+     */
+    private TypedQuery<TaskRow> createQuery(String employeeId, TaskStatus status, LocalDate dueDate, Integer afterId) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskRow> query = cb.createQuery(TaskRow.class);
+        Root<TaskEntity> task = query.from(TaskEntity.class);
+        Join<TaskEntity, EmployeeEntity> employee = task.join("employee", JoinType.LEFT);
+        Join<EmployeeEntity, DepartmentEntity> department = employee.join("department", JoinType.LEFT);
+        
+        query.select(cb.construct(TaskRow.class,
+                task.get("id"), task.get("taskName"), task.get("description"), task.get("dueDate"),
+                task.get("status"), task.get("createdAt"), task.get("updatedAt"),
+                employee.get("id"), employee.get("username"), employee.get("fullname"),
+                employee.get("email"), employee.get("position"),
+                department.get("id"), department.get("name")));
+        
+        List<Predicate> predicates = new ArrayList<>();
+        if (employeeId != null) {
+            predicates.add(cb.equal(task.get("employeeId"), employeeId));
+        }
+        if (status != null) {
+            predicates.add(cb.equal(task.get("status"), status));
+        }
+        if (dueDate != null) {
+            predicates.add(cb.equal(task.get("dueDate"), dueDate));
+        }
+        if (afterId != null) {
+            predicates.add(cb.greaterThan(task.get("id"), afterId));
+        }
+        
+        query.where(predicates.toArray(new Predicate[0]));
+        if (status != null) {
+            // The same order as by ID alone, as the status is fixed, but one that H2 can read from idx_tasks_status_id
+            // without sorting every task of the status, so a page stops after its limit
+            query.orderBy(cb.asc(task.get("status")), cb.asc(task.get("id")));
+        } else {
+            query.orderBy(cb.asc(task.get("id")));
+        }
+        return entityManager.createQuery(query);
+    }
+}
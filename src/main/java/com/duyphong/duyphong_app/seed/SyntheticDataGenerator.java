@@ -0,0 +1,295 @@
+package com.duyphong.duyphong_app.seed;
+
+import com.duyphong.duyphong_app.enumeration.MealType;
+import com.duyphong.duyphong_app.enumeration.TaskStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+/**
+ * Synthetic data generator for load tests, active with the seed profile
+ * Populates the configured database with N departments, M employees, T tasks and L lunch logs before the
+ * application starts serving. Department sizes, task owners, lunch log authors and restaurants follow Zipf
+ * distributions so a few departments and employees hold most of the data, and every run with the same
+ * random seed produces the same data. Rows are written with JDBC batches, one transaction per batch.
+ * Generated IDs start with "seed-", the generator does nothing if seeded departments already exist.
+ */
+@Component
+@Profile("seed")
+@RequiredArgsConstructor
+@Slf4j
+public class SyntheticDataGenerator implements ApplicationRunner {
+
+    /**
+     * Prefix of all generated department and employee IDs
+     */
+    public static final String ID_PREFIX = "seed-";
+
+    private static final String[] FIRST_NAMES = {
+            "Anh", "Binh", "Chi", "Duc", "Giang", "Hoa", "Hung", "Lan", "Linh", "Minh",
+            "Nam", "Phong", "Quynh", "Son", "Thao", "Trang", "Tuan", "Viet", "Xuan", "Yen"};
+    private static final String[] LAST_NAMES = {
+            "Nguyen", "Tran", "Le", "Pham", "Hoang", "Phan", "Vu", "Dang", "Bui", "Do"};
+    private static final String[] POSITIONS = {
+            "Software Engineer", "Senior Software Engineer", "QA Engineer", "Business Analyst", "Sales Executive",
+            "Marketing Specialist", "Financial Analyst", "HR Specialist", "Support Engineer", "Team Lead", "Manager"};
+    private static final int[] BASE_SALARIES = {
+            25_000_000, 40_000_000, 20_000_000, 22_000_000, 18_000_000,
+            18_000_000, 24_000_000, 17_000_000, 16_000_000, 45_000_000, 60_000_000};
+
+    /**
+     * Share of employees without a salary, exercises the null handling of salary aggregates
+     */
+    private static final double NO_SALARY_RATIO = 0.02;
+
+    private static final int EMPLOYEE_HISTORY_YEARS = 5;
+    private static final int TASK_DUE_DATE_RANGE_DAYS = 180;
+
+    private static final String INSERT_DEPARTMENT_SQL = "INSERT INTO departments (id, name) VALUES (?, ?)";
+    private static final String INSERT_EMPLOYEE_SQL =
+            "INSERT INTO employees (id, username, email, fullname, department, position, salary, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_DEPARTMENT_HISTORY_SQL =
+            "INSERT INTO department_history (employee_id, old_department_id, new_department_id, change_date) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_TASK_SQL =
+            "INSERT INTO tasks (employee_id, task_name, description, due_date, status, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_LUNCH_LOG_SQL =
+            "INSERT INTO lunch_logs (employee_id, lunch_date, meal_type, restaurant, notes) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.seed.departments:100}")
+    private int departments;
+
+    @Value("${app.seed.employees:10000}")
+    private int employees;
+
+    @Value("${app.seed.tasks:100000}")
+    private int tasks;
+
+    @Value("${app.seed.lunch-logs:1000000}")
+    private int lunchLogs;
+
+    @Value("${app.seed.lunch-log-days:730}")
+    private int lunchLogDays;
+
+    @Value("${app.seed.restaurants:50}")
+    private int restaurants;
+
+    @Value("${app.seed.skew:1.1}")
+    private double skew;
+
+    @Value("${app.seed.transfer-ratio:0.1}")
+    private double transferRatio;
+
+    @Value("${app.seed.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.seed.random-seed:42}")
+    private long randomSeed;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        validateSizes();
+        
+        Integer seededDepartments = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM departments WHERE id LIKE ?", Integer.class, ID_PREFIX + "%");
+        if (seededDepartments != null && seededDepartments > 0) {
+            log.info("Found {} seeded departments, skipping synthetic data generation", seededDepartments);
+            return;
+        }
+        
+        log.info("Generating synthetic data: {} departments, {} employees, {} tasks, {} lunch logs (skew {}, seed {})",
+                departments, employees, tasks, lunchLogs, skew, randomSeed);
+        Instant started = Instant.now();
+        Random random = new Random(randomSeed);
+        Instant now = started.truncatedTo(ChronoUnit.SECONDS);
+        
+        String[] departmentIds = generateDepartments();
+        Instant[] hireDates = new Instant[employees];
+        String[] employeeDepartments = generateEmployees(random, now, departmentIds, hireDates);
+        generateDepartmentHistory(random, now, departmentIds, employeeDepartments, hireDates);
+        generateTasks(random, now);
+        generateLunchLogs(random, now);
+        
+        log.info("Synthetic data generated in {} s", Duration.between(started, Instant.now()).toSeconds());
+    }
+
+    private void validateSizes() {
+        if (departments < 1 || employees < 1 || tasks < 0 || lunchLogs < 0 || restaurants < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("Seed sizes must be positive (tasks and lunch logs may be 0)");
+        }
+        long lunchLogCapacity = (long) employees * lunchLogDays * MealType.values().length;
+        if (lunchLogs > lunchLogCapacity) {
+            throw new IllegalArgumentException("Cannot generate " + lunchLogs + " unique lunch logs for " + employees
+                    + " employees over " + lunchLogDays + " days, increase app.seed.employees or app.seed.lunch-log-days");
+        }
+    }
+
+    /**
+     * @return the generated department IDs, largest department first
+     */
+    private String[] generateDepartments() {
+        String[] departmentIds = new String[departments];
+        for (int i = 0; i < departments; i++) {
+            departmentIds[i] = String.format("%sdept-%04d", ID_PREFIX, i + 1);
+        }
+        insert("departments", INSERT_DEPARTMENT_SQL, departments,
+                i -> new Object[]{departmentIds[i], String.format("Seed Department %04d", i + 1)});
+        return departmentIds;
+    }
+
+    /**
+     * Employees are spread over departments with Zipf skew and hired uniformly over the last years
+     * @return the department ID of each employee
+     */
+    private String[] generateEmployees(Random random, Instant now, String[] departmentIds, Instant[] hireDates) {
+        ZipfDistribution departmentDistribution = new ZipfDistribution(departments, skew);
+        String[] employeeDepartments = new String[employees];
+        long historySeconds = Duration.ofDays(365L * EMPLOYEE_HISTORY_YEARS).toSeconds();
+        
+        insert("employees", INSERT_EMPLOYEE_SQL, employees, i -> {
+            int position = random.nextInt(POSITIONS.length);
+            Integer salary = random.nextDouble() < NO_SALARY_RATIO
+                    ? null
+                    : (int) (BASE_SALARIES[position] * (0.8 + 0.4 * random.nextDouble()) / 1000) * 1000;
+            Timestamp hired = Timestamp.from(now.minusSeconds((long) (random.nextDouble() * historySeconds)));
+            
+            employeeDepartments[i] = departmentIds[departmentDistribution.sample(random)];
+            hireDates[i] = hired.toInstant();
+            return new Object[]{employeeId(i), username(i), username(i) + "@example.com",
+                    LAST_NAMES[random.nextInt(LAST_NAMES.length)] + " " + FIRST_NAMES[random.nextInt(FIRST_NAMES.length)],
+                    employeeDepartments[i], POSITIONS[position], salary, hired, hired};
+        });
+        return employeeDepartments;
+    }
+
+    /**
+     * Every employee joins their department when hired, a share of them transferred there from another department
+     */
+    private void generateDepartmentHistory(Random random, Instant now, String[] departmentIds,
+                                           String[] employeeDepartments, Instant[] hireDates) {
+        List<Object[]> changes = new ArrayList<>();
+        for (int i = 0; i < employees; i++) {
+            Timestamp hired = Timestamp.from(hireDates[i]);
+            if (departments > 1 && random.nextDouble() < transferRatio) {
+                String previousDepartment = departmentIds[random.nextInt(departments)];
+                while (previousDepartment.equals(employeeDepartments[i])) {
+                    previousDepartment = departmentIds[random.nextInt(departments)];
+                }
+                long tenureSeconds = Duration.between(hireDates[i], now).toSeconds();
+                Timestamp transferred = Timestamp.from(hireDates[i].plusSeconds((long) (random.nextDouble() * tenureSeconds)));
+                changes.add(new Object[]{employeeId(i), null, previousDepartment, hired});
+                changes.add(new Object[]{employeeId(i), previousDepartment, employeeDepartments[i], transferred});
+            } else {
+                changes.add(new Object[]{employeeId(i), null, employeeDepartments[i], hired});
+            }
+        }
+        insert("department history rows", INSERT_DEPARTMENT_HISTORY_SQL, changes.size(), changes::get);
+    }
+
+    /**
+     * Tasks belong to employees with Zipf skew, tasks due in the past are mostly completed
+     */
+    private void generateTasks(Random random, Instant now) {
+        ZipfDistribution employeeDistribution = new ZipfDistribution(employees, skew);
+        LocalDate today = LocalDate.ofInstant(now, ZoneOffset.UTC);
+        
+        insert("tasks", INSERT_TASK_SQL, tasks, i -> {
+            LocalDate dueDate = today.plusDays(random.nextInt(2 * TASK_DUE_DATE_RANGE_DAYS + 1) - TASK_DUE_DATE_RANGE_DAYS);
+            TaskStatus status = taskStatus(random, dueDate.isBefore(today));
+            Timestamp created = Timestamp.from(now.minus(random.nextInt(365) + 1, ChronoUnit.DAYS));
+            return new Object[]{employeeId(employeeDistribution.sample(random)), "Seed Task " + (i + 1),
+                    "Synthetic task " + (i + 1) + " for load testing", Date.valueOf(dueDate), status.name(), created, created};
+        });
+    }
+
+    private TaskStatus taskStatus(Random random, boolean overdue) {
+        double value = random.nextDouble();
+        if (overdue) {
+            return value < 0.8 ? TaskStatus.COMPLETED : value < 0.9 ? TaskStatus.IN_PROGRESS : TaskStatus.TO_DO;
+        }
+        return value < 0.5 ? TaskStatus.TO_DO : value < 0.8 ? TaskStatus.IN_PROGRESS : TaskStatus.COMPLETED;
+    }
+
+    /**
+     * Lunch logs are written by employees with Zipf skew, each employee logs at most one lunch and one dinner a day
+     * going back from today, so very active employees get long histories and overflow to the next employees
+     */
+    private void generateLunchLogs(Random random, Instant now) {
+        ZipfDistribution employeeDistribution = new ZipfDistribution(employees, skew);
+        ZipfDistribution restaurantDistribution = new ZipfDistribution(restaurants, skew);
+        MealType[] mealTypes = MealType.values();
+        int capacity = lunchLogDays * mealTypes.length;
+        int[] loggedMeals = new int[employees];
+        LocalDate today = LocalDate.ofInstant(now, ZoneOffset.UTC);
+        
+        insert("lunch logs", INSERT_LUNCH_LOG_SQL, lunchLogs, i -> {
+            int employee = employeeDistribution.sample(random);
+            while (loggedMeals[employee] >= capacity) {
+                employee = (employee + 1) % employees;
+            }
+            int meal = loggedMeals[employee]++;
+            return new Object[]{employeeId(employee), Date.valueOf(today.minusDays(meal / mealTypes.length)),
+                    mealTypes[meal % mealTypes.length].name(),
+                    String.format("Restaurant %03d", restaurantDistribution.sample(random) + 1),
+                    random.nextInt(10) == 0 ? "Synthetic lunch log" : null};
+        });
+    }
+
+    /**
+     * Insert generated rows in JDBC batches of batchSize rows, one transaction per batch
+     * @param table the table description used for logging
+     * @param sql the INSERT statement
+     * @param rows the number of rows to insert
+     * @param row generates the parameters of the row at an index, called in index order
+     */
+    private void insert(String table, String sql, int rows, IntFunction<Object[]> row) {
+        Instant started = Instant.now();
+        int progressStep = Math.max(rows / 10, batchSize);
+        int nextProgress = progressStep;
+        
+        for (int from = 0; from < rows; from += batchSize) {
+            int to = Math.min(from + batchSize, rows);
+            List<Object[]> batch = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                batch.add(row.apply(i));
+            }
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, batch));
+            
+            if (to >= nextProgress && to < rows) {
+                log.info("Inserted {}/{} {}", to, rows, table);
+                nextProgress += progressStep;
+            }
+        }
+        log.info("Inserted {} {} in {} ms", rows, table, Duration.between(started, Instant.now()).toMillis());
+    }
+
+    private static String employeeId(int index) {
+        return String.format("%semp-%07d", ID_PREFIX, index + 1);
+    }
+
+    private static String username(int index) {
+        return String.format("seed.user%07d", index + 1);
+    }
+}
@@ -0,0 +1,47 @@
+package com.duyphong.duyphong_app.seed;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Zipf distribution over the ranks 0..n-1, rank k is drawn with a probability proportional to 1 / (k + 1)^exponent
+ * Used to give synthetic data realistic skew: a few large departments, a few very active employees and a long tail
+ */
+public class ZipfDistribution {
+
+    private final double[] cumulativeProbabilities;
+
+    /**
+     * @param n the number of ranks, at least 1
+     * @param exponent the skew, 0 draws uniformly and larger values concentrate on the first ranks
+     */
+    public ZipfDistribution(int n, double exponent) {
+        if (n < 1) {
+            throw new IllegalArgumentException("Zipf distribution needs at least one rank");
+        }
+        if (exponent < 0) {
+            throw new IllegalArgumentException("Zipf exponent cannot be negative");
+        }
+        
+        cumulativeProbabilities = new double[n];
+        double sum = 0;
+        for (int k = 0; k < n; k++) {
+            sum += 1.0 / Math.pow(k + 1, exponent);
+            cumulativeProbabilities[k] = sum;
+        }
+        for (int k = 0; k < n; k++) {
+            cumulativeProbabilities[k] /= sum;
+        }
+    }
+
+    /**
+     * Draw a rank
+     * @param random the random source
+     * @return a rank between 0 and n-1
+     */
+    public int sample(Random random) {
+        int index = Arrays.binarySearch(cumulativeProbabilities, random.nextDouble());
+        int rank = index >= 0 ? index : -index - 1;
+        return Math.min(rank, cumulativeProbabilities.length - 1);
+    }
+}
@@ -1,20 +1,29 @@
 package com.duyphong.duyphong_app.service;
 
+import com.duyphong.duyphong_app.config.CacheConfig;
+import com.duyphong.duyphong_app.config.MetricsConfig;
 import com.duyphong.duyphong_app.dto.response.DepartmentAverageSalaryResponse;
 import com.duyphong.duyphong_app.dto.response.DepartmentResponse;
+import com.duyphong.duyphong_app.dto.response.DepartmentRosterEntryResponse;
 import com.duyphong.duyphong_app.dto.response.DepartmentStatisticsResponse;
 import com.duyphong.duyphong_app.dto.response.EmployeeResponse;
 import com.duyphong.duyphong_app.entity.DepartmentEntity;
-import com.duyphong.duyphong_app.entity.EmployeeEntity;
 import com.duyphong.duyphong_app.enumeration.TaskStatus;
 import com.duyphong.duyphong_app.mapper.DepartmentMapper;
 import com.duyphong.duyphong_app.mapper.EmployeeMapper;
+import com.duyphong.duyphong_app.repository.DepartmentHistoryRepository;
 import com.duyphong.duyphong_app.repository.DepartmentRepository;
 import com.duyphong.duyphong_app.repository.EmployeeRepository;
-import com.duyphong.duyphong_app.repository.TaskRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
@@ -22,7 +31,9 @@ import java.time.temporal.ChronoUnit;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -30,21 +41,36 @@ import java.util.stream.Collectors;
  * Contains business logic for department management
  */
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
 @Slf4j
 @Transactional(readOnly = true)
 public class DepartmentService {
 
+    /**
+     * Default number of department members per roster page
+     */
+    public static final int DEFAULT_ROSTER_PAGE_SIZE = 100;
+
+    /**
+     * Maximum number of department members per roster page
+     */
+    public static final int MAX_ROSTER_PAGE_SIZE = 1000;
+
     private final DepartmentRepository departmentRepository;
+    private final DepartmentHistoryRepository departmentHistoryRepository;
     private final EmployeeRepository employeeRepository;
-    private final TaskRepository taskRepository;
     private final DepartmentMapper departmentMapper;
     private final EmployeeMapper employeeMapper;
+    private final DepartmentStatisticsStore departmentStatisticsStore;
+    private final ReadOnlyFanOut readOnlyFanOut;
 
     /**
      * Get all departments
+     * Cached until a department is created
      * @return List of DepartmentResponse
      */
+    @Cacheable(CacheConfig.DEPARTMENTS_CACHE)
     public List<DepartmentResponse> getAllDepartments() {
         log.info("Retrieving all departments");
         
@@ -61,6 +87,7 @@ public class DepartmentService {
      * @throws IllegalArgumentException if department name already exists
      */
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.DEPARTMENTS_CACHE, allEntries = true)
     public DepartmentResponse createDepartment(String name) {
         log.info("Creating new department with name: {}", name);
         
@@ -81,11 +108,12 @@ public class DepartmentService {
                 .build();
         
         DepartmentEntity savedEntity = departmentRepository.save(departmentEntity);
+        departmentStatisticsStore.departmentCreated(savedEntity.getId(), savedEntity.getName());
         log.info("Successfully created department with ID: {} and name: {}", savedEntity.getId(), savedEntity.getName());
         
         return departmentMapper.toDto(savedEntity);
     }
-    
+
     /**
      * Get department average salaries
      * @return List of DepartmentAverageSalaryResponse containing department names and their average employee salaries
@@ -93,6 +121,19 @@ public class DepartmentService {
     public List<DepartmentAverageSalaryResponse> getDepartmentAverageSalaries() {
         log.info("Retrieving department average salaries");
         
+        // Serve from the materialized statistics once they are built
+        if (departmentStatisticsStore.isReady()) {
+            List<DepartmentStatisticsStore.Snapshot> snapshots = departmentStatisticsStore.findAll();
+            log.info("Found {} departments with materialized salary data", snapshots.size());
+            
+            return snapshots.stream()
+                    .map(snapshot -> DepartmentAverageSalaryResponse.builder()
+                            .departmentName(snapshot.getDepartmentName())
+                            .averageSalary(snapshot.getAverageSalary())
+                            .build())
+                    .collect(Collectors.toList());
+        }
+        
         List<Object[]> results = departmentRepository.findDepartmentAverageSalaries();
         log.info("Found {} departments with salary data", results.size());
         
@@ -103,50 +144,132 @@ public class DepartmentService {
                         .build())
                 .collect(Collectors.toList());
     }
-    
+
     /**
      * Get comprehensive department statistics
+     * Headcount, average salary and task counts come from the materialized statistics when available,
+     * otherwise from one aggregate query for the department, headcount, average salary and task counts per status.
+     * New employees are always queried, so a call runs one or two statements.
+     * The queries are independent and run in parallel, each in its own read-only transaction.
      * @param departmentId the department ID
      * @return DepartmentStatisticsResponse containing all aggregated department information
      * @throws IllegalArgumentException if department does not exist
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public DepartmentStatisticsResponse getDepartmentStatistics(String departmentId) {
         log.info("Retrieving statistics for department: {}", departmentId);
         
-        // Verify department exists
-        DepartmentEntity department = departmentRepository.findById(departmentId)
-                .orElseThrow(() -> new IllegalArgumentException("Department not found with ID: " + departmentId));
-        
-        // Get total number of employees
-        Long totalEmployees = employeeRepository.countByDepartmentId(departmentId);
+        Optional<DepartmentStatisticsStore.Snapshot> snapshot = departmentStatisticsStore.isReady()
+                ? departmentStatisticsStore.find(departmentId)
+                : Optional.empty();
+        if (snapshot.isPresent()) {
+            DepartmentStatisticsStore.Snapshot statistics = snapshot.get();
+            Map<String, Integer> taskCountsByStatus = new HashMap<>();
+            statistics.getTaskCounts().forEach((status, count) -> taskCountsByStatus.put(status.name(), count.intValue()));
+            
+            return buildStatisticsResponse(departmentId, statistics.getDepartmentName(),
+                    statistics.getHeadcount(), statistics.getAverageSalary(), taskCountsByStatus, findNewEmployees(departmentId));
+        }
         
-        // Get average salary
-        Double averageSalary = employeeRepository.getAverageSalaryByDepartmentId(departmentId);
-        if (averageSalary == null) {
-            averageSalary = 0.0;
+        try (ReadOnlyFanOut.Scope scope = readOnlyFanOut.open()) {
+            Supplier<List<Object[]>> statisticsResult = scope.fork(() ->
+                    departmentRepository.findDepartmentStatistics(departmentId));
+            Supplier<List<EmployeeResponse>> newEmployeesResult = scope.fork(() -> findNewEmployees(departmentId));
+            scope.join();
+            
+            // Verify department exists and get headcount and average salary, repeated on every status row
+            List<Object[]> rows = statisticsResult.get();
+            if (rows.isEmpty()) {
+                throw new IllegalArgumentException("Department not found with ID: " + departmentId);
+            }
+            Object[] aggregates = rows.get(0);
+            
+            String departmentName = (String) aggregates[1];
+            long totalEmployees = aggregates[2] != null ? ((Number) aggregates[2]).longValue() : 0L;
+            Double averageSalary = aggregates[3] != null ? ((Number) aggregates[3]).doubleValue() : 0.0;
+            
+            // Get task counts by status, statuses without tasks are reported as 0
+            Map<String, Integer> taskCountsByStatus = new HashMap<>();
+            for (TaskStatus status : TaskStatus.values()) {
+                taskCountsByStatus.put(status.name(), 0);
+            }
+            for (Object[] row : rows) {
+                if (row[4] != null) {
+                    taskCountsByStatus.put(((TaskStatus) row[4]).name(), ((Number) row[5]).intValue());
+                }
+            }
+            
+            return buildStatisticsResponse((String) aggregates[0], departmentName, totalEmployees, averageSalary,
+                    taskCountsByStatus, newEmployeesResult.get());
         }
+    }
+
+    /**
+     * Get one page of the members of a department at a point in time, reconstructed from the department history
+     * Uses keyset pagination on the employee ID. Every page evaluates the history of the employees after the cursor
+     * who ever joined the department, so later pages get cheaper.
+     * @param departmentId the department ID
+     * @param asOf the point in time, the current roster if null
+     * @param afterEmployeeId the ID of the last employee of the previous page (optional, null for the first page)
+     * @param limit the page size, capped at MAX_ROSTER_PAGE_SIZE
+     * @return Slice of the members ordered by employee ID, hasNext tells whether another page exists
+     * @throws IllegalArgumentException if department does not exist
+     */
+    public Slice<DepartmentRosterEntryResponse> getDepartmentRoster(String departmentId, Instant asOf,
+                                                                    String afterEmployeeId, int limit) {
+        Instant pointInTime = asOf != null ? asOf : Instant.now();
+        log.info("Retrieving roster of department: {} as of {}, afterEmployeeId: {}, limit: {}",
+                departmentId, pointInTime, afterEmployeeId, limit);
         
-        // Get task counts by status
-        Map<String, Integer> taskCountsByStatus = new HashMap<>();
-        for (TaskStatus status : TaskStatus.values()) {
-            Long count = taskRepository.countTasksByDepartmentIdAndStatus(departmentId, status);
-            taskCountsByStatus.put(status.name(), count.intValue());
+        if (!departmentRepository.existsById(departmentId)) {
+            throw new IllegalArgumentException("Department not found with ID: " + departmentId);
         }
+        int pageSize = Math.min(Math.max(limit, 1), MAX_ROSTER_PAGE_SIZE);
         
-        // Get new employees (last 30 days)
-        Instant thirtyDaysAgo = Instant.now().minus(30, ChronoUnit.DAYS);
-        List<EmployeeEntity> newEmployeeEntities = employeeRepository
-                .findNewEmployeesByDepartmentIdSince(departmentId, thirtyDaysAgo);
+        // Fetch one extra row to find out whether there is a next page
+        List<DepartmentRosterEntryResponse> members =
+                departmentHistoryRepository.findRosterAsOf(departmentId, pointInTime, afterEmployeeId, pageSize + 1);
+        boolean hasNext = members.size() > pageSize;
+        if (hasNext) {
+            members = members.subList(0, pageSize);
+        }
         
-        List<EmployeeResponse> newEmployees = employeeMapper.toDtoList(newEmployeeEntities);
+        log.info("Found {} members of department {}, more available: {}", members.size(), departmentId, hasNext);
         
+        return new SliceImpl<>(members, PageRequest.ofSize(pageSize), hasNext);
+    }
+
+    /**
+     * Get the employees who joined the department in the last 30 days
+     * @param departmentId the department ID
+     * @return List of EmployeeResponse
+     */
+    private List<EmployeeResponse> findNewEmployees(String departmentId) {
+        Instant thirtyDaysAgo = Instant.now().minus(30, ChronoUnit.DAYS);
+        return employeeMapper.toDtoList(employeeRepository.findNewEmployeesByDepartmentIdSince(departmentId, thirtyDaysAgo));
+    }
+
+    /**
+     * Assemble department statistics
+     * @param departmentId the department ID
+     * @param departmentName the department name
+     * @param totalEmployees the number of employees in the department
+     * @param averageSalary the average salary of the department
+     * @param taskCountsByStatus the number of tasks per status
+     * @param newEmployees the employees who joined in the last 30 days
+     * @return the assembled DepartmentStatisticsResponse
+     */
+    private DepartmentStatisticsResponse buildStatisticsResponse(String departmentId, String departmentName,
+                                                                 long totalEmployees, Double averageSalary,
+                                                                 Map<String, Integer> taskCountsByStatus,
+                                                                 List<EmployeeResponse> newEmployees) {
         log.info("Department {} statistics: {} employees, avg salary: {}, task counts: {}, {} new employees", 
                 departmentId, totalEmployees, averageSalary, taskCountsByStatus, newEmployees.size());
         
         return DepartmentStatisticsResponse.builder()
-                .departmentId(department.getId())
-                .departmentName(department.getName())
-                .totalEmployees(totalEmployees.intValue())
+                .departmentId(departmentId)
+                .departmentName(departmentName)
+                .totalEmployees((int) totalEmployees)
                 .averageSalary(averageSalary)
                 .taskCountsByStatus(taskCountsByStatus)
                 .newEmployees(newEmployees)
@@ -0,0 +1,354 @@
+package com.duyphong.duyphong_app.service;
+
+import com.duyphong.duyphong_app.enumeration.TaskStatus;
+import com.duyphong.duyphong_app.repository.DepartmentRepository;
+import com.duyphong.duyphong_app.repository.TaskRepository;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Materialized per-department statistics (headcount, salary sum/count, task counts per status)
+ * Built from the database when the application is ready and then maintained incrementally
+ * by the write paths, so statistics reads do not re-aggregate the employees and tasks tables.
+ * Changes are applied after the surrounding transaction commits, a rollback leaves the store untouched.
+ * The store only sees the writes of its own instance: with several instances behind a load balancer set
+ * app.department-statistics.enabled=false and statistics are aggregated from the database.
+ * It is rebuilt every app.department-statistics.reconcile-interval to repair drift from out-of-band changes.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DepartmentStatisticsStore {
+
+    private final DepartmentRepository departmentRepository;
+    private final TaskRepository taskRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.department-statistics.enabled:true}")
+    private boolean enabled;
+
+    private final Object writeLock = new Object();
+
+    // Held shared by writers from before their commit until their change is applied, and exclusively by a rebuild
+    // while it starts its snapshot, so every change is either in the snapshot or replayed on it
+    private final ReadWriteLock commitLock = new ReentrantReadWriteLock();
+
+    private volatile Map<String, DepartmentStatistics> statistics = new ConcurrentHashMap<>();
+
+    // Changes applied while a rebuild reads the database, replayed on the rebuilt statistics, guarded by writeLock
+    private List<Consumer<Map<String, DepartmentStatistics>>> rebuildChanges;
+
+    /**
+     * Whether the initial build has completed, reads must fall back to the database until then
+     */
+    @Getter
+    private volatile boolean ready;
+
+    /**
+     * Rebuild all department statistics from the database
+     * Runs at startup, every app.department-statistics.reconcile-interval, and can be called again to resynchronize
+     * after out-of-band data changes. Changes committed while the database is read are replayed on the result.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        if (!enabled) {
+            log.info("Materialized department statistics disabled, statistics are aggregated from the database");
+            return;
+        }
+        log.info("Rebuilding materialized department statistics");
+        
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        // All aggregates are read from the snapshot taken by the first query
+        transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        try {
+            Map<String, DepartmentStatistics> rebuilt = transactionTemplate.execute(status -> {
+                commitLock.writeLock().lock();
+                try {
+                    // Takes the snapshot while no change is being committed
+                    departmentRepository.count();
+                    synchronized (writeLock) {
+                        rebuildChanges = new ArrayList<>();
+                    }
+                } finally {
+                    commitLock.writeLock().unlock();
+                }
+                return load();
+            });
+            
+            int replayed;
+            synchronized (writeLock) {
+                replayed = rebuildChanges.size();
+                rebuildChanges.forEach(change -> change.accept(rebuilt));
+                statistics = rebuilt;
+            }
+            ready = true;
+            log.info("Materialized statistics built for {} departments, {} concurrent changes replayed",
+                    rebuilt.size(), replayed);
+        } finally {
+            synchronized (writeLock) {
+                rebuildChanges = null;
+            }
+        }
+    }
+
+    /**
+     * Rebuild the statistics every app.department-statistics.reconcile-interval once the initial build has completed
+     */
+    @Scheduled(fixedDelayString = "${app.department-statistics.reconcile-interval:PT15M}",
+            initialDelayString = "${app.department-statistics.reconcile-interval:PT15M}")
+    public void reconcile() {
+        if (ready) {
+            rebuild();
+        }
+    }
+
+    private Map<String, DepartmentStatistics> load() {
+        Map<String, DepartmentStatistics> loaded = new ConcurrentHashMap<>();
+        for (Object[] row : departmentRepository.findDepartmentSalaryTotals()) {
+            DepartmentStatistics departmentStatistics = new DepartmentStatistics((String) row[1]);
+            departmentStatistics.headcount = ((Number) row[2]).longValue();
+            departmentStatistics.salarySum = row[3] != null ? ((Number) row[3]).longValue() : 0L;
+            departmentStatistics.salaryCount = ((Number) row[4]).longValue();
+            loaded.put((String) row[0], departmentStatistics);
+        }
+        for (Object[] row : taskRepository.countTasksGroupedByDepartmentIdAndStatus()) {
+            DepartmentStatistics departmentStatistics = loaded.get((String) row[0]);
+            if (departmentStatistics != null) {
+                departmentStatistics.taskCounts.put((TaskStatus) row[1], ((Number) row[2]).longValue());
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Get the current statistics of a department
+     * @param departmentId the department ID
+     * @return Optional containing a consistent snapshot if the department is known, empty otherwise
+     */
+    public Optional<Snapshot> find(String departmentId) {
+        DepartmentStatistics departmentStatistics = statistics.get(departmentId);
+        return departmentStatistics != null
+                ? Optional.of(departmentStatistics.snapshot(departmentId))
+                : Optional.empty();
+    }
+
+    /**
+     * Get the current statistics of all departments ordered by department ID
+     * @return List of snapshots, one per department
+     */
+    public List<Snapshot> findAll() {
+        return statistics.entrySet().stream()
+                .map(entry -> entry.getValue().snapshot(entry.getKey()))
+                .sorted(Comparator.comparing(Snapshot::getDepartmentId))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Register a newly created department with empty statistics
+     * @param departmentId the department ID
+     * @param departmentName the department name
+     */
+    public void departmentCreated(String departmentId, String departmentName) {
+        afterCommit(current -> current.putIfAbsent(departmentId, new DepartmentStatistics(departmentName)));
+    }
+
+    /**
+     * Apply a salary change of an employee to the employee's department
+     * @param departmentId the department ID of the employee, ignored if null
+     * @param oldSalary the salary before the change (nullable)
+     * @param newSalary the salary after the change (nullable)
+     */
+    public void salaryChanged(String departmentId, Integer oldSalary, Integer newSalary) {
+        if (departmentId == null || Objects.equals(oldSalary, newSalary)) {
+            return;
+        }
+        afterCommit(current -> update(current, departmentId, departmentStatistics -> {
+            departmentStatistics.removeSalary(oldSalary);
+            departmentStatistics.addSalary(newSalary);
+        }));
+    }
+
+    /**
+     * Move an employee, their salary and their tasks from one department to another
+     * @param oldDepartmentId the previous department ID (nullable)
+     * @param newDepartmentId the new department ID (nullable)
+     * @param salary the salary of the employee (nullable)
+     * @param taskCounts the number of tasks of the employee per status
+     */
+    public void employeeMoved(String oldDepartmentId, String newDepartmentId, Integer salary,
+                              Map<TaskStatus, Long> taskCounts) {
+        afterCommit(current -> {
+            if (oldDepartmentId != null) {
+                update(current, oldDepartmentId, departmentStatistics -> {
+                    departmentStatistics.headcount--;
+                    departmentStatistics.removeSalary(salary);
+                    taskCounts.forEach((status, count) -> departmentStatistics.addTasks(status, -count));
+                });
+            }
+            if (newDepartmentId != null) {
+                update(current, newDepartmentId, departmentStatistics -> {
+                    departmentStatistics.headcount++;
+                    departmentStatistics.addSalary(salary);
+                    taskCounts.forEach(departmentStatistics::addTasks);
+                });
+            }
+        });
+    }
+
+    /**
+     * Count a newly created task for the department of its employee
+     * @param departmentId the department ID of the task's employee, ignored if null
+     * @param status the status of the new task
+     */
+    public void taskCreated(String departmentId, TaskStatus status) {
+        if (departmentId == null) {
+            return;
+        }
+        afterCommit(current -> update(current, departmentId, departmentStatistics -> departmentStatistics.addTasks(status, 1L)));
+    }
+
+    private void update(Map<String, DepartmentStatistics> current, String departmentId,
+                        Consumer<DepartmentStatistics> change) {
+        DepartmentStatistics departmentStatistics = current.get(departmentId);
+        if (departmentStatistics == null) {
+            // Unknown department (e.g. created outside the application), reads fall back to the database
+            log.debug("No materialized statistics for department {}, skipping incremental update", departmentId);
+            return;
+        }
+        synchronized (departmentStatistics) {
+            change.accept(departmentStatistics);
+        }
+    }
+
+    /**
+     * Apply a change to the statistics once the surrounding transaction has committed
+     * While a rebuild is reading the database the change is also kept, to be replayed on the rebuilt statistics
+     */
+    private void afterCommit(Consumer<Map<String, DepartmentStatistics>> change) {
+        if (!enabled) {
+            return;
+        }
+        Runnable action = () -> {
+            synchronized (writeLock) {
+                change.accept(statistics);
+                if (rebuildChanges != null) {
+                    rebuildChanges.add(change);
+                }
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                private boolean committing;
+                
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    commitLock.readLock().lock();
+                    committing = true;
+                }
+                
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+                
+                @Override
+                public void afterCompletion(int status) {
+                    if (committing) {
+                        commitLock.readLock().unlock();
+                    }
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Mutable statistics of one department, guarded by its own monitor
+     */
+    private static final class DepartmentStatistics {
+        
+        private final String name;
+        private final Map<TaskStatus, Long> taskCounts = new EnumMap<>(TaskStatus.class);
+        private long headcount;
+        private long salarySum;
+        private long salaryCount;
+        
+        private DepartmentStatistics(String name) {
+            this.name = name;
+        }
+        
+        private void addSalary(Integer salary) {
+            if (salary != null) {
+                salarySum += salary;
+                salaryCount++;
+            }
+        }
+        
+        private void removeSalary(Integer salary) {
+            if (salary != null) {
+                salarySum -= salary;
+                salaryCount--;
+            }
+        }
+        
+        private void addTasks(TaskStatus status, Long count) {
+            taskCounts.merge(status, count, Long::sum);
+        }
+        
+        private synchronized Snapshot snapshot(String departmentId) {
+            Map<TaskStatus, Long> counts = new EnumMap<>(TaskStatus.class);
+            for (TaskStatus status : TaskStatus.values()) {
+                counts.put(status, taskCounts.getOrDefault(status, 0L));
+            }
+            return new Snapshot(departmentId, name, headcount, salarySum, salaryCount,
+                    Collections.unmodifiableMap(counts));
+        }
+    }
+
+    /**
+     * Immutable point-in-time view of a department's statistics
+     */
+    @lombok.Value
+    public static class Snapshot {
+        String departmentId;
+        String departmentName;
+        long headcount;
+        long salarySum;
+        long salaryCount;
+        Map<TaskStatus, Long> taskCounts;
+        
+        /**
+         * @return the average salary of employees with a salary, 0.0 if there are none
+         */
+        public double getAverageSalary() {
+            return salaryCount > 0 ? (double) salarySum / salaryCount : 0.0;
+        }
+    }
+}
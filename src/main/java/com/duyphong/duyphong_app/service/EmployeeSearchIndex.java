@@ -0,0 +1,219 @@
+package com.duyphong.duyphong_app.service;
+
+import com.duyphong.duyphong_app.dto.projection.EmployeeSearchRow;
+import com.duyphong.duyphong_app.repository.EmployeeRepository;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * In-process full-text index for type-ahead search over employee names, usernames, emails and positions
+ * Built once from the database when the application is ready into an immutable EmployeeSearchSegment.
+ * Employees changed afterwards are kept in a small overlay that hides their segment entry and is searched
+ * directly, once it exceeds app.employee-search.max-pending employees the segment is rebuilt.
+ * Changes are applied after the surrounding transaction commits, a rollback leaves the index untouched.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EmployeeSearchIndex {
+
+    private final EmployeeRepository employeeRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.employee-search.max-pending:10000}")
+    private int maxPending;
+
+    private final Object writeLock = new Object();
+
+    // Replaced as a whole on every change, so a search always sees a consistent segment and overlay
+    private volatile State state = new State(EmployeeSearchSegment.empty(), new long[0], Map.of());
+
+    // Number of the last change, guarded by writeLock
+    private long changeSequence;
+
+    /**
+     * Whether the initial build has completed, searches find nothing until then
+     */
+    @Getter
+    private volatile boolean ready;
+
+    /**
+     * Rebuild the index from the database
+     * Runs at startup, when the overlay grew too large, and can be called again to resynchronize after
+     * out-of-band data changes. Changes committed while the employees are read are kept in the overlay.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        log.info("Rebuilding employee search index");
+        long started = System.currentTimeMillis();
+        long rebuildSequence;
+        synchronized (writeLock) {
+            rebuildSequence = changeSequence;
+        }
+        
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        EmployeeSearchSegment segment = transactionTemplate.execute(status -> {
+            try (Stream<EmployeeSearchRow> rows = employeeRepository.streamSearchRows()) {
+                return EmployeeSearchSegment.build(rows.iterator());
+            }
+        });
+        
+        synchronized (writeLock) {
+            // Changes after the rebuild started may have been read before they were committed
+            Map<String, Document> overlay = state.overlay.values().stream()
+                    .filter(document -> document.sequence > rebuildSequence)
+                    .collect(Collectors.toMap(document -> document.id, document -> document));
+            long[] hidden = new long[(segment.size() + 63) >>> 6];
+            overlay.keySet().forEach(id -> hide(segment, hidden, id));
+            state = new State(segment, hidden, overlay);
+        }
+        ready = true;
+        log.info("Employee search index built for {} employees with {} terms in {} ms",
+                segment.size(), segment.termCount(), System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Rebuild the index if more employees changed since the last build than app.employee-search.max-pending
+     */
+    @Scheduled(fixedDelayString = "${app.employee-search.compact-interval:PT1M}")
+    public void compact() {
+        int pending = state.overlay.size();
+        if (ready && pending > maxPending) {
+            log.info("{} employees changed since the employee search index was built, rebuilding", pending);
+            rebuild();
+        }
+    }
+
+    /**
+     * Find the employees best matching a type-ahead query
+     * Every query term must be a prefix of a term of the employee, or within one edit of one with fuzzy matching.
+     * Exact term matches rank before prefix matches and prefix matches before fuzzy matches, ties are ordered
+     * by name and ID.
+     * @param query the query text
+     * @param limit the maximum number of employees
+     * @param fuzzy whether query terms of at least EmployeeSearchSegment.FUZZY_MIN_LENGTH characters also match
+     *              terms within one edit (insertion, deletion, substitution or transposition of adjacent characters)
+     * @return the IDs of the best matching employees, best first, empty if the query has no letters or digits
+     */
+    public List<String> search(String query, int limit, boolean fuzzy) {
+        String[] queryTerms = new LinkedHashSet<>(EmployeeSearchSegment.terms(query)).toArray(new String[0]);
+        if (queryTerms.length == 0) {
+            return List.of();
+        }
+        
+        State current = state;
+        List<EmployeeSearchSegment.Hit> hits = current.segment.search(queryTerms, fuzzy, current.hidden, limit);
+        for (Document document : current.overlay.values()) {
+            int score = document.score(queryTerms, fuzzy);
+            if (score > 0) {
+                hits.add(new EmployeeSearchSegment.Hit(score, document.name, document.id));
+            }
+        }
+        return hits.stream()
+                .sorted(EmployeeSearchSegment.Hit.ORDER)
+                .limit(limit)
+                .map(EmployeeSearchSegment.Hit::getId)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Reindex an employee whose name, username, email or position changed
+     * @param employee the searchable columns after the change
+     */
+    public void employeeChanged(EmployeeSearchRow employee) {
+        afterCommit(() -> {
+            synchronized (writeLock) {
+                State current = state;
+                Map<String, Document> overlay = new HashMap<>(current.overlay);
+                overlay.put(employee.getId(), new Document(employee, ++changeSequence));
+                long[] hidden = current.hidden.clone();
+                hide(current.segment, hidden, employee.getId());
+                state = new State(current.segment, hidden, overlay);
+            }
+        });
+    }
+
+    private static void hide(EmployeeSearchSegment segment, long[] hidden, String id) {
+        int number = segment.numberOf(id);
+        if (number >= 0) {
+            hidden[number >>> 6] |= 1L << number;
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Segment, bit set of the employee numbers hidden by the overlay and the overlay of changed employees by ID
+     */
+    private static final class State {
+        
+        private final EmployeeSearchSegment segment;
+        private final long[] hidden;
+        private final Map<String, Document> overlay;
+        
+        private State(EmployeeSearchSegment segment, long[] hidden, Map<String, Document> overlay) {
+            this.segment = segment;
+            this.hidden = hidden;
+            this.overlay = overlay;
+        }
+    }
+
+    /**
+     * Terms of an employee changed since the segment was built, matched without a term dictionary
+     */
+    private static final class Document {
+        
+        private final String id;
+        private final String name;
+        private final String[] terms;
+        private final long sequence;
+        
+        private Document(EmployeeSearchRow employee, long sequence) {
+            this.id = employee.getId();
+            this.name = EmployeeSearchSegment.normalize(employee.getFullname());
+            this.terms = EmployeeSearchSegment.documentTerms(employee);
+            this.sequence = sequence;
+        }
+        
+        private int score(String[] queryTerms, boolean fuzzy) {
+            int score = 0;
+            for (String queryTerm : queryTerms) {
+                int termScore = EmployeeSearchSegment.score(queryTerm, terms, fuzzy);
+                if (termScore == 0) {
+                    return 0;
+                }
+                score += termScore;
+            }
+            return score;
+        }
+    }
+}
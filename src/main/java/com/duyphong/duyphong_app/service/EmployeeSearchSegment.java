@@ -0,0 +1,553 @@
+package com.duyphong.duyphong_app.service;
+
+import com.duyphong.duyphong_app.dto.projection.EmployeeSearchRow;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable in-memory term index over the names, usernames, emails and positions of a fixed set of employees
+ * Text is lowercased, stripped of diacritics (so "Nguyễn" matches "nguyen") and split into terms at every character
+ * that is not a letter or digit. Employees are numbered by name and ID. The sorted term dictionary maps every term to
+ * the ascending numbers of the employees that contain it, and every employee number maps back to its terms.
+ * Prefixes are found by binary search in the dictionary, terms within one edit by walking the dictionary like a trie.
+ */
+public final class EmployeeSearchSegment {
+
+    /**
+     * Shortest query term that also matches terms within one edit
+     */
+    public static final int FUZZY_MIN_LENGTH = 5;
+
+    // Score of one query term per match kind, the score of an employee is the sum over all query terms
+    static final int EXACT_SCORE = 3;
+    static final int PREFIX_SCORE = 2;
+    static final int FUZZY_SCORE = 1;
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private static final EmployeeSearchSegment EMPTY = build(Collections.emptyIterator());
+
+    // Employee ID and normalized name per employee number
+    private final String[] ids;
+    private final String[] names;
+    // Employee numbers ordered by ID
+    private final int[] idOrder;
+
+    private final String[] terms;
+    // Employee numbers of term i are postings[postingStarts[i]] until postings[postingStarts[i + 1]], the postings
+    // of consecutive terms are adjacent, so the employees of a prefix are one range as well
+    private final int[] postingStarts;
+    private final int[] postings;
+    // Term indexes of employee number n are documentTerms[documentStarts[n]] until documentTerms[documentStarts[n + 1]]
+    private final int[] documentStarts;
+    private final int[] documentTerms;
+
+    private EmployeeSearchSegment(String[] ids, String[] names, int[] idOrder, String[] terms,
+                                  int[] postingStarts, int[] postings, int[] documentStarts, int[] documentTerms) {
+        this.ids = ids;
+        this.names = names;
+        this.idOrder = idOrder;
+        this.terms = terms;
+        this.postingStarts = postingStarts;
+        this.postings = postings;
+        this.documentStarts = documentStarts;
+        this.documentTerms = documentTerms;
+    }
+
+    /**
+     * @return a segment without employees
+     */
+    public static EmployeeSearchSegment empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Build a segment from the searchable columns of employees
+     * @param rows the employees, each ID at most once
+     * @return the segment
+     */
+    public static EmployeeSearchSegment build(Iterator<EmployeeSearchRow> rows) {
+        List<String> rowIds = new ArrayList<>();
+        List<String> rowNames = new ArrayList<>();
+        List<int[]> rowTerms = new ArrayList<>();
+        Map<String, Integer> termIds = new HashMap<>();
+        List<String> termList = new ArrayList<>();
+        // Names repeat a lot, keep one copy of each
+        Map<String, String> canonicalNames = new HashMap<>();
+        
+        while (rows.hasNext()) {
+            EmployeeSearchRow row = rows.next();
+            rowIds.add(row.getId());
+            rowNames.add(canonicalNames.computeIfAbsent(normalize(row.getFullname()), name -> name));
+            String[] rowTermTexts = documentTerms(row);
+            int[] rowTermIds = new int[rowTermTexts.length];
+            for (int i = 0; i < rowTermTexts.length; i++) {
+                rowTermIds[i] = termIds.computeIfAbsent(rowTermTexts[i], term -> {
+                    termList.add(term);
+                    return termList.size() - 1;
+                });
+            }
+            rowTerms.add(rowTermIds);
+        }
+        
+        // Number employees by name and ID, the order of equally scored search results
+        int size = rowIds.size();
+        Integer[] rowsByName = sequence(size);
+        Arrays.sort(rowsByName, Comparator.comparing((Integer row) -> rowNames.get(row)).thenComparing(rowIds::get));
+        String[] ids = new String[size];
+        String[] names = new String[size];
+        for (int number = 0; number < size; number++) {
+            ids[number] = rowIds.get(rowsByName[number]);
+            names[number] = rowNames.get(rowsByName[number]);
+        }
+        Integer[] numbersById = sequence(size);
+        Arrays.sort(numbersById, Comparator.comparing((Integer number) -> ids[number]));
+        
+        Integer[] termOrder = sequence(termList.size());
+        Arrays.sort(termOrder, Comparator.comparing(termList::get));
+        String[] terms = new String[termOrder.length];
+        int[] termIndexes = new int[termOrder.length];
+        for (int i = 0; i < termOrder.length; i++) {
+            terms[i] = termList.get(termOrder[i]);
+            termIndexes[termOrder[i]] = i;
+        }
+        
+        int[] postingStarts = new int[terms.length + 1];
+        int[] documentStarts = new int[size + 1];
+        for (int number = 0; number < size; number++) {
+            int[] rowTermIds = rowTerms.get(rowsByName[number]);
+            for (int termId : rowTermIds) {
+                postingStarts[termIndexes[termId] + 1]++;
+            }
+            documentStarts[number + 1] = documentStarts[number] + rowTermIds.length;
+        }
+        for (int i = 0; i < terms.length; i++) {
+            postingStarts[i + 1] += postingStarts[i];
+        }
+        int[] postings = new int[postingStarts[terms.length]];
+        int[] documentTerms = new int[documentStarts[size]];
+        int[] next = Arrays.copyOf(postingStarts, terms.length);
+        // Employee numbers are added in ascending order, so every posting list is sorted
+        for (int number = 0; number < size; number++) {
+            int position = documentStarts[number];
+            for (int termId : rowTerms.get(rowsByName[number])) {
+                int termIndex = termIndexes[termId];
+                postings[next[termIndex]++] = number;
+                documentTerms[position++] = termIndex;
+            }
+        }
+        
+        return new EmployeeSearchSegment(ids, names, toIntArray(numbersById), terms, postingStarts, postings,
+                documentStarts, documentTerms);
+    }
+
+    /**
+     * @return the number of employees
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * @return the number of distinct terms
+     */
+    public int termCount() {
+        return terms.length;
+    }
+
+    /**
+     * Find the number of an employee
+     * @param id the employee ID
+     * @return the employee number, -1 if the employee is not in this segment
+     */
+    public int numberOf(String id) {
+        int low = 0;
+        int high = idOrder.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int comparison = ids[idOrder[middle]].compareTo(id);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return idOrder[middle];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Find the best matching employees
+     * An employee matches when every query term is a prefix of one of its terms or, with fuzzy matching and at least
+     * FUZZY_MIN_LENGTH characters, within one edit of one. Only the employees of the query term with the fewest
+     * postings are visited, the other query terms are checked against the terms of each visited employee.
+     * @param queryTerms the distinct query terms, see terms(String)
+     * @param fuzzy whether query terms also match terms within one edit
+     * @param hidden bit set of employee numbers to skip, e.g. employees changed since the segment was built
+     * @param limit the maximum number of hits
+     * @return up to limit hits ordered by score, then name and ID
+     */
+    public List<Hit> search(String[] queryTerms, boolean fuzzy, long[] hidden, int limit) {
+        TermMatch[] matches = new TermMatch[queryTerms.length];
+        TermMatch rarest = null;
+        // Highest score any employee can reach, once that many hits have it the scan stops
+        int maxScore = 0;
+        for (int q = 0; q < queryTerms.length; q++) {
+            matches[q] = match(queryTerms[q], fuzzy);
+            if (matches[q].postingCount == 0) {
+                return new ArrayList<>();
+            }
+            maxScore += matches[q].exact ? EXACT_SCORE : matches[q].to > matches[q].from ? PREFIX_SCORE : FUZZY_SCORE;
+            if (rarest == null || matches[q].postingCount < rarest.postingCount) {
+                rarest = matches[q];
+            }
+        }
+        
+        // A bit set puts the employees of several terms in ascending order without duplicates
+        long[] candidates = new long[(ids.length + 63) >>> 6];
+        addPostings(candidates, rarest.from, rarest.to);
+        for (int termIndex : rarest.fuzzyTerms) {
+            addPostings(candidates, termIndex, termIndex + 1);
+        }
+        
+        // Employee numbers are visited in ascending order, so the first hits of a score are the first by name and ID
+        int[][] hitsByScore = new int[maxScore + 1][limit];
+        int[] hitCounts = new int[maxScore + 1];
+        scan:
+        for (int w = 0; w < candidates.length; w++) {
+            long bits = candidates[w] & ~(w < hidden.length ? hidden[w] : 0L);
+            while (bits != 0) {
+                int number = (w << 6) | Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                int score = score(number, matches);
+                if (score > 0 && hitCounts[score] < limit) {
+                    hitsByScore[score][hitCounts[score]++] = number;
+                    if (score == maxScore && hitCounts[score] == limit) {
+                        break scan;
+                    }
+                }
+            }
+        }
+        
+        List<Hit> hits = new ArrayList<>(limit);
+        for (int score = maxScore; score > 0 && hits.size() < limit; score--) {
+            for (int i = 0; i < hitCounts[score] && hits.size() < limit; i++) {
+                int number = hitsByScore[score][i];
+                hits.add(new Hit(score, names[number], ids[number]));
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Split text into normalized terms
+     * @param text the text (nullable)
+     * @return the lowercase terms without diacritics in order of appearance, empty if the text is null or has none
+     */
+    public static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        
+        String normalized = normalize(text);
+        int start = -1;
+        for (int i = 0; i < normalized.length(); i++) {
+            if (Character.isLetterOrDigit(normalized.charAt(i))) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                terms.add(normalized.substring(start, i));
+                start = -1;
+            }
+        }
+        if (start >= 0) {
+            terms.add(normalized.substring(start));
+        }
+        return terms;
+    }
+
+    /**
+     * Lowercase text and strip its diacritics
+     * @param text the text (nullable)
+     * @return the normalized text, empty if the text is null
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) >= 128) {
+                // Decompose accented letters and drop the accents, đ has no decomposition
+                String stripped = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+                return stripped.replace('đ', 'd').replace('Đ', 'D').toLowerCase(Locale.ROOT);
+            }
+        }
+        return text.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @return the distinct terms of all searchable columns of an employee
+     */
+    static String[] documentTerms(EmployeeSearchRow row) {
+        Set<String> documentTerms = new LinkedHashSet<>(terms(row.getFullname()));
+        documentTerms.addAll(terms(row.getUsername()));
+        documentTerms.addAll(terms(row.getEmail()));
+        documentTerms.addAll(terms(row.getPosition()));
+        return documentTerms.toArray(new String[0]);
+    }
+
+    /**
+     * Score one query term against the terms of an employee that is not in a segment, the same way as search()
+     * @return the score of the best match, 0 if no term matches
+     */
+    static int score(String queryTerm, String[] documentTerms, boolean fuzzy) {
+        int best = 0;
+        for (String term : documentTerms) {
+            if (term.equals(queryTerm)) {
+                return EXACT_SCORE;
+            }
+            if (term.startsWith(queryTerm)) {
+                best = PREFIX_SCORE;
+            } else if (best == 0 && fuzzy && queryTerm.length() >= FUZZY_MIN_LENGTH && withinOneEdit(term, queryTerm)) {
+                best = FUZZY_SCORE;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Find the dictionary terms a query term matches
+     */
+    private TermMatch match(String queryTerm, boolean fuzzy) {
+        int from = lowerBound(queryTerm);
+        int low = from;
+        int high = terms.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (terms[middle].startsWith(queryTerm)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        boolean exact = from < low && terms[from].length() == queryTerm.length();
+        
+        List<Integer> fuzzyTerms = new ArrayList<>();
+        if (fuzzy && queryTerm.length() >= FUZZY_MIN_LENGTH) {
+            int[] row = new int[queryTerm.length() + 1];
+            for (int i = 0; i < row.length; i++) {
+                row[i] = i;
+            }
+            addFuzzyTerms(queryTerm, fuzzyTerms, 0, terms.length, 0, null, row, (char) 0);
+        }
+        
+        int[] fuzzyTermIndexes = fuzzyTerms.stream().mapToInt(Integer::intValue).toArray();
+        long postingCount = postingStarts[low] - postingStarts[from];
+        for (int termIndex : fuzzyTermIndexes) {
+            postingCount += postingStarts[termIndex + 1] - postingStarts[termIndex];
+        }
+        return new TermMatch(from, low, exact, fuzzyTermIndexes, postingCount);
+    }
+
+    /**
+     * Add the terms within one edit of the query term that are not prefix matches already, in ascending order
+     * The sorted dictionary is walked like a trie: the terms sharing a prefix form a range, split by their next
+     * character with binary searches. Each prefix carries the edit distance row of the query term against it,
+     * ranges whose row has no entry within one edit are skipped, so only prefixes close to the query are visited.
+     * @param from the first term of the range sharing the prefix of the given length
+     * @param to the end of the range, exclusive
+     * @param depth the length of the prefix
+     * @param previousRow the distance row of the prefix without its last character (null for the empty prefix)
+     * @param row the distance row of the prefix: row[i] is the distance to the first i characters of the query term
+     * @param last the last character of the prefix
+     */
+    private void addFuzzyTerms(String queryTerm, List<Integer> fuzzyTerms, int from, int to, int depth,
+                               int[] previousRow, int[] row, char last) {
+        int length = queryTerm.length();
+        if (from < to && terms[from].length() == depth) {
+            // The prefix itself is a term, it sorts first in its range
+            if (row[length] <= 1 && !terms[from].startsWith(queryTerm)) {
+                fuzzyTerms.add(from);
+            }
+            from++;
+        }
+        
+        int start = from;
+        while (start < to) {
+            char next = terms[start].charAt(depth);
+            int end = endOfRange(start, to, depth, next);
+            int[] nextRow = new int[length + 1];
+            nextRow[0] = depth + 1;
+            int best = nextRow[0];
+            for (int i = 1; i <= length; i++) {
+                char expected = queryTerm.charAt(i - 1);
+                int distance = Math.min(Math.min(row[i] + 1, nextRow[i - 1] + 1), row[i - 1] + (expected == next ? 0 : 1));
+                if (previousRow != null && i > 1 && expected == last && queryTerm.charAt(i - 2) == next) {
+                    // Transposition of the last two characters
+                    distance = Math.min(distance, previousRow[i - 2] + 1);
+                }
+                nextRow[i] = distance;
+                best = Math.min(best, distance);
+            }
+            if (best <= 1) {
+                addFuzzyTerms(queryTerm, fuzzyTerms, start, end, depth + 1, row, nextRow, next);
+            }
+            start = end;
+        }
+    }
+
+    /**
+     * @return the end of the range starting at from whose terms have the given character at the given position,
+     * all terms from from until to share their first position characters and are longer
+     */
+    private int endOfRange(int from, int to, int position, char character) {
+        int low = from + 1;
+        int high = to;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (terms[middle].charAt(position) <= character) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Score an employee against all query terms using its terms
+     * @return the sum of the best match of every query term, 0 if a query term matches none of its terms
+     */
+    private int score(int number, TermMatch[] matches) {
+        int score = 0;
+        for (TermMatch match : matches) {
+            int best = 0;
+            for (int i = documentStarts[number]; i < documentStarts[number + 1] && best < EXACT_SCORE; i++) {
+                int termIndex = documentTerms[i];
+                if (termIndex >= match.from && termIndex < match.to) {
+                    best = match.exact && termIndex == match.from ? EXACT_SCORE : PREFIX_SCORE;
+                } else if (best == 0 && Arrays.binarySearch(match.fuzzyTerms, termIndex) >= 0) {
+                    best = FUZZY_SCORE;
+                }
+            }
+            if (best == 0) {
+                return 0;
+            }
+            score += best;
+        }
+        return score;
+    }
+
+    /**
+     * Add the employees of the terms from until to, one contiguous range of postings
+     */
+    private void addPostings(long[] bits, int from, int to) {
+        for (int i = postingStarts[from]; i < postingStarts[to]; i++) {
+            bits[postings[i] >>> 6] |= 1L << postings[i];
+        }
+    }
+
+    /**
+     * @return the index of the first term not less than the key
+     */
+    private int lowerBound(String key) {
+        int index = Arrays.binarySearch(terms, key);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    /**
+     * Whether two strings are equal or differ by one insertion, deletion, substitution or adjacent transposition
+     */
+    static boolean withinOneEdit(String left, String right) {
+        int leftLength = left.length();
+        int rightLength = right.length();
+        if (Math.abs(leftLength - rightLength) > 1) {
+            return false;
+        }
+        
+        int start = 0;
+        while (start < leftLength && start < rightLength && left.charAt(start) == right.charAt(start)) {
+            start++;
+        }
+        int leftEnd = leftLength;
+        int rightEnd = rightLength;
+        while (leftEnd > start && rightEnd > start && left.charAt(leftEnd - 1) == right.charAt(rightEnd - 1)) {
+            leftEnd--;
+            rightEnd--;
+        }
+        
+        int leftRemaining = leftEnd - start;
+        int rightRemaining = rightEnd - start;
+        if (leftRemaining <= 1 && rightRemaining <= 1) {
+            return true;
+        }
+        return leftRemaining == 2 && rightRemaining == 2
+                && left.charAt(start) == right.charAt(start + 1) && left.charAt(start + 1) == right.charAt(start);
+    }
+
+    private static Integer[] sequence(int size) {
+        Integer[] sequence = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            sequence[i] = i;
+        }
+        return sequence;
+    }
+
+    private static int[] toIntArray(Integer[] values) {
+        int[] array = new int[values.length];
+        for (int i = 0; i < values.length; i++) {
+            array[i] = values[i];
+        }
+        return array;
+    }
+
+    /**
+     * Dictionary terms matched by one query term: the prefix range from until to, whose first term is the query term
+     * itself if exact, and the ascending indexes of the terms within one edit
+     */
+    @AllArgsConstructor
+    private static final class TermMatch {
+        private final int from;
+        private final int to;
+        private final boolean exact;
+        private final int[] fuzzyTerms;
+        private final long postingCount;
+    }
+
+    /**
+     * A matching employee with its score
+     */
+    @Getter @AllArgsConstructor(access = AccessLevel.PACKAGE)
+    public static final class Hit {
+        
+        /**
+         * Best first: higher score, then name and ID
+         */
+        public static final Comparator<Hit> ORDER = Comparator.comparingInt(Hit::getScore).reversed()
+                .thenComparing(Hit::getName)
+                .thenComparing(Hit::getId);
+        
+        private final int score;
+        private final String name;
+        private final String id;
+    }
+}
@@ -1,7 +1,17 @@
 package com.duyphong.duyphong_app.service;
 
+import com.duyphong.duyphong_app.config.CacheConfig;
+import com.duyphong.duyphong_app.config.MetricsConfig;
+import com.duyphong.duyphong_app.dto.projection.EmployeeDepartmentRow;
+import com.duyphong.duyphong_app.dto.projection.EmployeeSearchRow;
+import com.duyphong.duyphong_app.dto.request.BulkUpdateEmployeeDepartmentRequest;
+import com.duyphong.duyphong_app.dto.request.EmployeeFilter;
 import com.duyphong.duyphong_app.dto.request.UpdateEmployeeDepartmentRequest;
 import com.duyphong.duyphong_app.dto.request.UpdateEmployeeRequest;
+import com.duyphong.duyphong_app.dto.response.BulkUpdateEmployeeDepartmentResponse;
+import com.duyphong.duyphong_app.dto.response.DepartmentHistoryResponse;
+import com.duyphong.duyphong_app.dto.response.EmployeeBatchResponse;
+import com.duyphong.duyphong_app.dto.response.EmployeeDetailBatchResponse;
 import com.duyphong.duyphong_app.dto.response.EmployeeDetailResponse;
 import com.duyphong.duyphong_app.dto.response.EmployeeResponse;
 import com.duyphong.duyphong_app.dto.response.UpdateEmployeeDepartmentResponse;
@@ -9,19 +19,55 @@ import com.duyphong.duyphong_app.entity.DepartmentEntity;
 import com.duyphong.duyphong_app.entity.DepartmentHistoryEntity;
 import com.duyphong.duyphong_app.entity.EmployeeEntity;
 import com.duyphong.duyphong_app.entity.TaskEntity;
+import com.duyphong.duyphong_app.enumeration.DepartmentTransferStatus;
+import com.duyphong.duyphong_app.enumeration.EmployeeSortField;
 import com.duyphong.duyphong_app.enumeration.TaskStatus;
+import com.duyphong.duyphong_app.exception.EmployeeVersionMismatchException;
 import com.duyphong.duyphong_app.mapper.EmployeeMapper;
 import com.duyphong.duyphong_app.repository.DepartmentHistoryRepository;
 import com.duyphong.duyphong_app.repository.DepartmentRepository;
+import com.duyphong.duyphong_app.repository.DepartmentTransferJdbcRepository;
 import com.duyphong.duyphong_app.repository.EmployeeRepository;
 import com.duyphong.duyphong_app.repository.TaskRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManagerFactory;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -29,22 +75,67 @@ import java.util.stream.Collectors;
  * Contains business logic for employee management
  */
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
 @Slf4j
 @Transactional(readOnly = true)
 public class EmployeeService {
 
+    /**
+     * Default number of employees per page
+     */
+    public static final int DEFAULT_PAGE_SIZE = 100;
+
+    /**
+     * Maximum number of employees per page
+     */
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    /**
+     * Default number of employees returned by a text search
+     */
+    public static final int DEFAULT_TEXT_SEARCH_LIMIT = 10;
+
+    /**
+     * Maximum number of employees returned by a text search
+     */
+    public static final int MAX_TEXT_SEARCH_LIMIT = 50;
+
+    /**
+     * Number of employees moved per transaction by bulk department transfers
+     */
+    public static final int TRANSFER_CHUNK_SIZE = 1000;
+
+    /**
+     * Number of attempts of an employee update without If-Match that conflicts with concurrent updates of the employee
+     */
+    public static final int MAX_UPDATE_ATTEMPTS = 5;
+
+    /**
+     * Upper bound of the random pause before the first retry of a conflicting update, doubled for every further retry
+     */
+    private static final long UPDATE_RETRY_BACKOFF_MILLIS = 5;
+
     private final EmployeeRepository employeeRepository;
     private final TaskRepository taskRepository;
     private final DepartmentRepository departmentRepository;
     private final DepartmentHistoryRepository departmentHistoryRepository;
+    private final DepartmentTransferJdbcRepository departmentTransferJdbcRepository;
     private final EmployeeMapper employeeMapper;
+    private final DepartmentStatisticsStore departmentStatisticsStore;
+    private final ReadOnlyFanOut readOnlyFanOut;
+    private final EmployeeSearchIndex employeeSearchIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheManager cacheManager;
+    private final EntityManagerFactory entityManagerFactory;
 
     /**
      * Find employee by ID and return as DTO
+     * Found employees are cached until they are updated
      * @param id the employee ID
      * @return Optional containing EmployeeResponse if found, empty otherwise
      */
+    @Cacheable(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#id", unless = "#result == null")
     public Optional<EmployeeResponse> findEmployeeById(String id) {
         log.info("Finding employee with ID: {}", id);
         
@@ -60,82 +151,316 @@ public class EmployeeService {
         }
     }
 
+    /**
+     * Get one page of employees with optional filtering, sorted by name, salary or creation time
+     * Uses keyset pagination on the sort column and the employee ID so every page costs the same regardless of its position
+     * @param filter the employee filters
+     * @param sort the column to sort by
+     * @param direction the sort direction
+     * @param after the cursor of the previous page, see cursorOf (optional, null for the first page)
+     * @param limit the page size, capped at MAX_PAGE_SIZE
+     * @return Slice of employees matching the filters in sort order, hasNext tells whether another page exists
+     * @throws IllegalArgumentException if the salary range or the cursor is invalid
+     */
+    public Slice<EmployeeResponse> searchEmployees(EmployeeFilter filter, EmployeeSortField sort, Sort.Direction direction,
+                                                   String after, int limit) {
+        log.info("Searching employees - departmentId: {}, position: {}, minSalary: {}, maxSalary: {}, sort: {} {}, after: {}, limit: {}",
+                filter.getDepartmentId(), filter.getPosition(), filter.getMinSalary(), filter.getMaxSalary(),
+                sort, direction, after, limit);
+        
+        if (filter.getMinSalary() != null && filter.getMaxSalary() != null && filter.getMinSalary() > filter.getMaxSalary()) {
+            throw new IllegalArgumentException("min_salary must not be greater than max_salary");
+        }
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        
+        Object afterValue = null;
+        String afterId = null;
+        if (after != null) {
+            String[] parts = after.split("\\.", -1);
+            if (parts.length != 4 || !parts[0].equals(sort.name()) || !parts[1].equals(direction.name())) {
+                throw new IllegalArgumentException("Invalid cursor for sort " + sort + " " + direction);
+            }
+            try {
+                afterValue = parts[2].isEmpty() ? null : parseSortValue(sort, decodeCursorPart(parts[2]));
+                afterId = decodeCursorPart(parts[3]);
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid cursor for sort " + sort + " " + direction);
+            }
+        }
+        
+        // Fetch one extra row to find out whether there is a next page
+        List<EmployeeResponse> employees = employeeRepository.findEmployees(filter, sort, direction, afterValue, afterId, pageSize + 1);
+        boolean hasNext = employees.size() > pageSize;
+        if (hasNext) {
+            employees = employees.subList(0, pageSize);
+        }
+        
+        log.info("Found {} employees, more available: {}", employees.size(), hasNext);
+        
+        return new SliceImpl<>(employees, PageRequest.ofSize(pageSize), hasNext);
+    }
+
+    /**
+     * Type-ahead search of employees by name, username, email and position
+     * Matching runs on the in-process search index, only the best matching employees are read from the database
+     * @param query the query text
+     * @param limit the maximum number of employees, capped at MAX_TEXT_SEARCH_LIMIT
+     * @param fuzzy whether query terms also match terms within one edit
+     * @return Optional containing the best matching employees, best first, empty while the search index is being built
+     */
+    public Optional<List<EmployeeResponse>> searchEmployeesByText(String query, int limit, boolean fuzzy) {
+        log.info("Searching employees by text - query: {}, limit: {}, fuzzy: {}", query, limit, fuzzy);
+        
+        if (!employeeSearchIndex.isReady()) {
+            log.warn("Employee search index is not built yet");
+            return Optional.empty();
+        }
+        
+        List<String> ids = employeeSearchIndex.search(query, Math.min(Math.max(limit, 1), MAX_TEXT_SEARCH_LIMIT), fuzzy);
+        List<EmployeeResponse> employees = employeeRepository.findEmployeeResponsesByIds(ids);
+        
+        log.info("Found {} employees matching the text", employees.size());
+        return Optional.of(employees);
+    }
+
+    /**
+     * Build the keyset cursor continuing after an employee
+     * The cursor holds the sort, the direction, the sort column value and the ID, each value Base64 URL encoded
+     * @param employee the last employee of a page
+     * @param sort the column the page is sorted by
+     * @param direction the sort direction
+     * @return the cursor to pass as after for the next page
+     */
+    public String cursorOf(EmployeeResponse employee, EmployeeSortField sort, Sort.Direction direction) {
+        Object value = switch (sort) {
+            case NAME -> employee.getFullname();
+            case SALARY -> employee.getSalary();
+            case CREATED_AT -> employee.getCreatedAt();
+        };
+        return sort.name() + "." + direction.name() + "."
+                + (value != null ? encodeCursorPart(value.toString()) : "") + "." + encodeCursorPart(employee.getId());
+    }
+
+    private static Object parseSortValue(EmployeeSortField sort, String value) {
+        return switch (sort) {
+            case NAME -> value;
+            case SALARY -> Integer.valueOf(value);
+            case CREATED_AT -> Instant.parse(value);
+        };
+    }
+
+    private static String encodeCursorPart(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodeCursorPart(String value) {
+        return new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Find employees by IDs in a single query
+     * @param ids the employee IDs, duplicates are resolved once
+     * @return EmployeeBatchResponse with the employees in request order and the IDs that were not found
+     */
+    public EmployeeBatchResponse findEmployeesByIds(List<String> ids) {
+        Set<String> uniqueIds = new LinkedHashSet<>(ids);
+        log.info("Finding {} employees by ID", uniqueIds.size());
+        
+        Map<String, EmployeeEntity> employeesById = employeeRepository.findAllByIdWithDepartment(uniqueIds).stream()
+                .collect(Collectors.toMap(EmployeeEntity::getId, Function.identity()));
+        
+        List<EmployeeResponse> employees = new ArrayList<>();
+        List<String> missingIds = new ArrayList<>();
+        for (String id : uniqueIds) {
+            EmployeeEntity employee = employeesById.get(id);
+            if (employee != null) {
+                employees.add(employeeMapper.toDto(employee));
+            } else {
+                missingIds.add(id);
+            }
+        }
+        log.info("Found {} employees, {} not found", employees.size(), missingIds.size());
+        
+        return EmployeeBatchResponse.builder()
+                .employees(employees)
+                .missingIds(missingIds)
+                .build();
+    }
+
     /**
      * Find employee detail by ID including department and ongoing tasks
+     * The employee and the ongoing tasks are queried in parallel, each in its own read-only transaction
      * @param id the employee ID
      * @return Optional containing EmployeeDetailResponse if found, empty otherwise
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Optional<EmployeeDetailResponse> findEmployeeDetailById(String id) {
         log.info("Finding employee detail with ID: {}", id);
         
-        Optional<EmployeeEntity> employeeEntityOpt = employeeRepository.findByIdWithDepartment(id);
+        Optional<EmployeeEntity> employeeEntityOpt;
+        List<EmployeeDetailResponse.TaskInfo> taskInfoList;
+        try (ReadOnlyFanOut.Scope scope = readOnlyFanOut.open()) {
+            Supplier<Optional<EmployeeEntity>> employeeResult = scope.fork(() -> employeeRepository.findByIdWithDepartment(id));
+            
+            // Get ongoing tasks (IN_PROGRESS status) and build task info list
+            Supplier<List<EmployeeDetailResponse.TaskInfo>> ongoingTasksResult = scope.fork(() ->
+                    taskRepository.findByEmployeeIdAndStatus(id, TaskStatus.IN_PROGRESS).stream()
+                            .map(this::toTaskInfo)
+                            .collect(Collectors.toList()));
+            scope.join();
+            
+            employeeEntityOpt = employeeResult.get();
+            taskInfoList = ongoingTasksResult.get();
+        }
         
         if (employeeEntityOpt.isPresent()) {
-            EmployeeEntity employee = employeeEntityOpt.get();
             log.info("Employee found with ID: {}", id);
+            log.debug("Found {} ongoing tasks for employee: {}", taskInfoList.size(), id);
             
-            // Get ongoing tasks (IN_PROGRESS status)
-            List<TaskEntity> ongoingTasks = taskRepository.findByEmployeeIdAndStatus(id, TaskStatus.IN_PROGRESS);
-            log.debug("Found {} ongoing tasks for employee: {}", ongoingTasks.size(), id);
+            return Optional.of(toDetailResponse(employeeEntityOpt.get(), taskInfoList));
+        } else {
+            log.warn("Employee not found with ID: {}", id);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Find employee details by IDs including departments and ongoing tasks
+     * One query for the employees with their departments and one for the ongoing tasks of all employees,
+     * run in parallel, the tasks are grouped by employee in memory
+     * @param ids the employee IDs, duplicates are resolved once
+     * @return EmployeeDetailBatchResponse with the employees in request order and the IDs that were not found
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public EmployeeDetailBatchResponse findEmployeeDetailsByIds(List<String> ids) {
+        Set<String> uniqueIds = new LinkedHashSet<>(ids);
+        log.info("Finding {} employee details by ID", uniqueIds.size());
+        
+        Map<String, EmployeeEntity> employeesById;
+        Map<String, List<EmployeeDetailResponse.TaskInfo>> ongoingTasksByEmployeeId;
+        try (ReadOnlyFanOut.Scope scope = readOnlyFanOut.open()) {
+            Supplier<Map<String, EmployeeEntity>> employeesResult = scope.fork(() ->
+                    employeeRepository.findAllByIdWithDepartment(uniqueIds).stream()
+                            .collect(Collectors.toMap(EmployeeEntity::getId, Function.identity())));
+            Supplier<Map<String, List<EmployeeDetailResponse.TaskInfo>>> ongoingTasksResult = scope.fork(() ->
+                    taskRepository.findByEmployeeIdInAndStatus(uniqueIds, TaskStatus.IN_PROGRESS).stream()
+                            .collect(Collectors.groupingBy(TaskEntity::getEmployeeId,
+                                    Collectors.mapping(this::toTaskInfo, Collectors.toList()))));
+            scope.join();
             
-            // Build department info
-            EmployeeDetailResponse.DepartmentInfo departmentInfo = null;
-            if (employee.getDepartment() != null) {
-                departmentInfo = EmployeeDetailResponse.DepartmentInfo.builder()
-                        .id(employee.getDepartment().getId())
-                        .name(employee.getDepartment().getName())
-                        .build();
+            employeesById = employeesResult.get();
+            ongoingTasksByEmployeeId = ongoingTasksResult.get();
+        }
+        
+        List<EmployeeDetailResponse> employees = new ArrayList<>();
+        List<String> missingIds = new ArrayList<>();
+        for (String id : uniqueIds) {
+            EmployeeEntity employee = employeesById.get(id);
+            if (employee != null) {
+                employees.add(toDetailResponse(employee, ongoingTasksByEmployeeId.getOrDefault(id, List.of())));
+            } else {
+                missingIds.add(id);
             }
-            
-            // Build task info list
-            List<EmployeeDetailResponse.TaskInfo> taskInfoList = ongoingTasks.stream()
-                    .map(task -> EmployeeDetailResponse.TaskInfo.builder()
-                            .id(task.getId())
-                            .taskName(task.getTaskName())
-                            .description(task.getDescription())
-                            .dueDate(task.getDueDate())
-                            .status(task.getStatus().name())
-                            .build())
-                    .collect(Collectors.toList());
-            
-            // Build employee detail DTO
-            EmployeeDetailResponse employeeDetailResponse = EmployeeDetailResponse.builder()
-                    .id(employee.getId())
-                    .fullname(employee.getFullname())
-                    .email(employee.getEmail())
-                    .position(employee.getPosition())
-                    .salary(employee.getSalary())
-                    .department(departmentInfo)
-                    .ongoingTasks(taskInfoList)
+        }
+        log.info("Found {} employee details, {} not found", employees.size(), missingIds.size());
+        
+        return EmployeeDetailBatchResponse.builder()
+                .employees(employees)
+                .missingIds(missingIds)
+                .build();
+    }
+
+    private EmployeeDetailResponse.TaskInfo toTaskInfo(TaskEntity task) {
+        return EmployeeDetailResponse.TaskInfo.builder()
+                .id(task.getId())
+                .taskName(task.getTaskName())
+                .description(task.getDescription())
+                .dueDate(task.getDueDate())
+                .status(task.getStatus().name())
+                .build();
+    }
+
+    private EmployeeDetailResponse toDetailResponse(EmployeeEntity employee, List<EmployeeDetailResponse.TaskInfo> ongoingTasks) {
+        // Build department info
+        EmployeeDetailResponse.DepartmentInfo departmentInfo = null;
+        if (employee.getDepartment() != null) {
+            departmentInfo = EmployeeDetailResponse.DepartmentInfo.builder()
+                    .id(employee.getDepartment().getId())
+                    .name(employee.getDepartment().getName())
                     .build();
-            
-            return Optional.of(employeeDetailResponse);
-        } else {
-            log.warn("Employee not found with ID: {}", id);
+        }
+        
+        return EmployeeDetailResponse.builder()
+                .id(employee.getId())
+                .fullname(employee.getFullname())
+                .email(employee.getEmail())
+                .position(employee.getPosition())
+                .salary(employee.getSalary())
+                .department(departmentInfo)
+                .ongoingTasks(ongoingTasks)
+                .build();
+    }
+
+    /**
+     * Get the department changes of an employee
+     * @param employeeId the employee ID
+     * @return Optional containing the changes newest first if the employee exists, empty otherwise
+     */
+    public Optional<List<DepartmentHistoryResponse>> findDepartmentHistory(String employeeId) {
+        log.info("Finding department history for employee ID: {}", employeeId);
+        
+        List<DepartmentHistoryResponse> history = departmentHistoryRepository.findHistoryByEmployeeId(employeeId);
+        // History rows reference their employee, only an empty history needs an existence check
+        if (history.isEmpty() && !employeeRepository.existsById(employeeId)) {
+            log.warn("Employee not found with ID: {}", employeeId);
             return Optional.empty();
         }
+        
+        log.info("Found {} department changes for employee ID: {}", history.size(), employeeId);
+        return Optional.of(history);
     }
 
     /**
      * Update employee information (fullname, position, salary)
      * Only updates fields that are not null in the updateRequest
+     * The update is checked against the employee version. With an expected version the update is only applied
+     * to that version. Without one the request only sets absolute field values, so an update that conflicts with
+     * a concurrent update is rolled back and applied again to the new version, up to MAX_UPDATE_ATTEMPTS times.
      * @param id the employee ID
      * @param updateRequest the request containing updated information
+     * @param expectedVersion the version the client read, from If-Match (nullable)
      * @return Optional containing updated EmployeeResponse if successful, empty if employee not found
+     * @throws EmployeeVersionMismatchException if the employee is no longer at the expected version
+     * @throws OptimisticLockingFailureException if every attempt conflicted with a concurrent update
      */
-    @Transactional
-    public Optional<EmployeeResponse> updateEmployee(String id, UpdateEmployeeRequest updateRequest) {
-        log.info("Updating employee with ID: {}", id);
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#id")
+    public Optional<EmployeeResponse> updateEmployee(String id, UpdateEmployeeRequest updateRequest, Long expectedVersion) {
+        log.info("Updating employee with ID: {}, expected version: {}", id, expectedVersion);
         
+        return retryOnConflict(id, expectedVersion, () -> updateEmployeeOnce(id, updateRequest, expectedVersion));
+    }
+
+    /**
+     * Run one attempt of an employee update in the current transaction
+     * @param id the employee ID
+     * @param updateRequest the request containing updated information
+     * @param expectedVersion the version the client read (nullable)
+     * @return Optional containing updated EmployeeResponse if successful, empty if employee not found
+     */
+    private Optional<EmployeeResponse> updateEmployeeOnce(String id, UpdateEmployeeRequest updateRequest, Long expectedVersion) {
         Optional<EmployeeEntity> employeeEntityOpt = employeeRepository.findById(id);
         
         if (employeeEntityOpt.isPresent()) {
             EmployeeEntity employeeEntity = employeeEntityOpt.get();
+            checkVersion(employeeEntity, expectedVersion);
             
             // Log current values
             log.debug("Current employee data - Name: {}, Position: {}, Salary: {}", 
                      employeeEntity.getFullname(), employeeEntity.getPosition(), employeeEntity.getSalary());
             
+            Integer oldSalary = employeeEntity.getSalary();
+            
             // Update only non-null fields
             if (updateRequest.getFullname() != null) {
                 employeeEntity.setFullname(updateRequest.getFullname());
@@ -147,15 +472,23 @@ public class EmployeeService {
                 employeeEntity.setSalary(updateRequest.getSalary());
             }
             
-            // Save the updated entity
-            EmployeeEntity savedEntity = employeeRepository.save(employeeEntity);
+            // The entity is managed, flushing writes the changed columns only (dynamic update), so a version conflict
+            // surfaces here and the response has the new version
+            employeeRepository.flush();
+            departmentStatisticsStore.salaryChanged(
+                    employeeEntity.getDepartment() != null ? employeeEntity.getDepartment().getId() : null,
+                    oldSalary, employeeEntity.getSalary());
+            if (updateRequest.getFullname() != null || updateRequest.getPosition() != null) {
+                employeeSearchIndex.employeeChanged(new EmployeeSearchRow(employeeEntity.getId(), employeeEntity.getUsername(),
+                        employeeEntity.getEmail(), employeeEntity.getFullname(), employeeEntity.getPosition()));
+            }
             
             // Log updated values
             log.info("Employee updated successfully - ID: {}, Name: {}, Position: {}, Salary: {}", 
-                    savedEntity.getId(), savedEntity.getFullname(), savedEntity.getPosition(), savedEntity.getSalary());
+                    employeeEntity.getId(), employeeEntity.getFullname(), employeeEntity.getPosition(), employeeEntity.getSalary());
             
             // Convert to DTO and return
-            EmployeeResponse employeeResponse = employeeMapper.toDto(savedEntity);
+            EmployeeResponse employeeResponse = employeeMapper.toDto(employeeEntity);
             return Optional.of(employeeResponse);
         } else {
             log.warn("Employee not found with ID: {}", id);
@@ -166,15 +499,34 @@ public class EmployeeService {
     /**
      * Update employee's department and create history record
      * This operation is transactional - either both operations succeed or both fail
+     * Versions are checked and conflicts retried like in updateEmployee, a retry reads the current department again
      * @param employeeId the employee ID
      * @param request the request containing new department ID
+     * @param expectedVersion the version the client read, from If-Match (nullable)
      * @return Optional containing UpdateEmployeeDepartmentResponse if successful, empty if employee or department not found
      * @throws IllegalArgumentException if the new department is the same as current department
+     * @throws EmployeeVersionMismatchException if the employee is no longer at the expected version
+     * @throws OptimisticLockingFailureException if every attempt conflicted with a concurrent update
      */
-    @Transactional
-    public Optional<UpdateEmployeeDepartmentResponse> updateEmployeeDepartment(String employeeId, UpdateEmployeeDepartmentRequest request) {
-        log.info("Updating department for employee ID: {} to department ID: {}", employeeId, request.getNewDepartmentId());
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#employeeId")
+    public Optional<UpdateEmployeeDepartmentResponse> updateEmployeeDepartment(String employeeId, UpdateEmployeeDepartmentRequest request,
+                                                                               Long expectedVersion) {
+        log.info("Updating department for employee ID: {} to department ID: {}, expected version: {}",
+                employeeId, request.getNewDepartmentId(), expectedVersion);
         
+        return retryOnConflict(employeeId, expectedVersion, () -> updateEmployeeDepartmentOnce(employeeId, request, expectedVersion));
+    }
+
+    /**
+     * Run one attempt of a department update in the current transaction
+     * @param employeeId the employee ID
+     * @param request the request containing new department ID
+     * @param expectedVersion the version the client read (nullable)
+     * @return Optional containing UpdateEmployeeDepartmentResponse if successful, empty if employee or department not found
+     */
+    private Optional<UpdateEmployeeDepartmentResponse> updateEmployeeDepartmentOnce(String employeeId, UpdateEmployeeDepartmentRequest request,
+                                                                                    Long expectedVersion) {
         // Find employee with current department
         Optional<EmployeeEntity> employeeEntityOpt = employeeRepository.findByIdWithDepartment(employeeId);
         if (employeeEntityOpt.isEmpty()) {
@@ -183,6 +535,7 @@ public class EmployeeService {
         }
         
         EmployeeEntity employee = employeeEntityOpt.get();
+        checkVersion(employee, expectedVersion);
         
         // Find the new department
         Optional<DepartmentEntity> newDepartmentOpt = departmentRepository.findById(request.getNewDepartmentId());
@@ -214,7 +567,15 @@ public class EmployeeService {
         
         // Update employee's department
         employee.setDepartment(newDepartment);
-        EmployeeEntity savedEmployee = employeeRepository.save(employee);
+        employeeRepository.flush();
+        
+        // Move the employee's salary and tasks in the materialized department statistics
+        Map<TaskStatus, Long> taskCounts = new EnumMap<>(TaskStatus.class);
+        for (Object[] row : taskRepository.countTasksByEmployeeIdGroupedByStatus(employeeId)) {
+            taskCounts.put((TaskStatus) row[0], ((Number) row[1]).longValue());
+        }
+        departmentStatisticsStore.employeeMoved(oldDepartment != null ? oldDepartment.getId() : null,
+                newDepartment.getId(), employee.getSalary(), taskCounts);
         log.info("Updated employee {} department from {} to {}", 
                 employeeId, 
                 oldDepartment != null ? oldDepartment.getId() : "null", 
@@ -222,11 +583,12 @@ public class EmployeeService {
         
         // Create response
         UpdateEmployeeDepartmentResponse response = UpdateEmployeeDepartmentResponse.builder()
-                .employeeId(savedEmployee.getId())
-                .employeeFullname(savedEmployee.getFullname())
-                .employeeEmail(savedEmployee.getEmail())
-                .employeePosition(savedEmployee.getPosition())
-                .employeeSalary(savedEmployee.getSalary())
+                .employeeId(employee.getId())
+                .employeeFullname(employee.getFullname())
+                .employeeEmail(employee.getEmail())
+                .employeePosition(employee.getPosition())
+                .employeeSalary(employee.getSalary())
+                .employeeVersion(employee.getVersion())
                 .oldDepartmentId(oldDepartment != null ? oldDepartment.getId() : null)
                 .oldDepartmentName(oldDepartment != null ? oldDepartment.getName() : null)
                 .newDepartmentId(newDepartment.getId())
@@ -238,4 +600,217 @@ public class EmployeeService {
         return Optional.of(response);
     }
 
+    /**
+     * Run an employee update in its own transaction, retrying it when it conflicts with a concurrent update
+     * Only updates without an expected version are retried, with one the conflict means the client's version is stale.
+     * Retries wait a random pause that doubles with every attempt, so writers of the same employee do not collide again.
+     * @param employeeId the employee ID
+     * @param expectedVersion the version the client read (nullable)
+     * @param update one attempt of the update
+     * @return the result of the first attempt that committed
+     */
+    private <T> T retryOnConflict(String employeeId, Long expectedVersion, Supplier<T> update) {
+        try {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    return transactionTemplate.execute(status -> update.get());
+                } catch (OptimisticLockingFailureException e) {
+                    if (expectedVersion != null) {
+                        throw new EmployeeVersionMismatchException(employeeId);
+                    }
+                    if (attempt == MAX_UPDATE_ATTEMPTS) {
+                        throw e;
+                    }
+                    log.warn("Update of employee {} conflicted with a concurrent update, retrying (attempt {})", employeeId, attempt);
+                    try {
+                        Thread.sleep(ThreadLocalRandom.current().nextLong(UPDATE_RETRY_BACKOFF_MILLIS << attempt));
+                    } catch (InterruptedException interrupted) {
+                        Thread.currentThread().interrupt();
+                        throw e;
+                    }
+                }
+            }
+        } catch (EmployeeVersionMismatchException e) {
+            // A read racing an update can put the previous version back into the employee cache, evict it so the
+            // client's next read returns the current ETag instead of failing again. evictIfPresent evicts right away,
+            // a plain evict would wait for a commit that does not come once this exception is thrown.
+            Cache employeeCache = cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE);
+            if (employeeCache != null) {
+                employeeCache.evictIfPresent(employeeId);
+            }
+            throw e;
+        }
+    }
+
+    private static void checkVersion(EmployeeEntity employee, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(employee.getVersion())) {
+            log.warn("Employee {} is at version {}, expected version {}", employee.getId(), employee.getVersion(), expectedVersion);
+            throw new EmployeeVersionMismatchException(employee.getId());
+        }
+    }
+
+    /**
+     * Move many employees to new departments at once and create their history records
+     * All target departments are checked with one query. Employees are then moved in transactions of
+     * TRANSFER_CHUNK_SIZE: their rows are locked and read with one query, the history rows are written with
+     * JDBC batch inserts and the employees updated with one UPDATE per target department.
+     * A chunk that fails is rolled back and its employees reported as FAILED, the other chunks are kept. When a
+     * transaction cannot be started or completed, the remaining chunks are reported as FAILED as well and the
+     * results of the committed chunks are still returned.
+     * @param request the transfers, each employee at most once
+     * @return the response with one result per transfer in request order
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkUpdateEmployeeDepartmentResponse updateEmployeeDepartments(BulkUpdateEmployeeDepartmentRequest request) {
+        List<BulkUpdateEmployeeDepartmentRequest.Transfer> transfers = request.getTransfers();
+        log.info("Starting bulk department transfer of {} employees", transfers.size());
+        
+        Set<String> existingDepartmentIds = new HashSet<>(departmentRepository.findExistingIds(transfers.stream()
+                .map(BulkUpdateEmployeeDepartmentRequest.Transfer::getNewDepartmentId)
+                .collect(Collectors.toSet())));
+        
+        // Reject what can be decided without the employees, the rest is moved chunk by chunk
+        List<BulkUpdateEmployeeDepartmentResponse.Result> results = new ArrayList<>(transfers.size());
+        List<Integer> pending = new ArrayList<>(transfers.size());
+        Set<String> seenEmployeeIds = new HashSet<>();
+        for (BulkUpdateEmployeeDepartmentRequest.Transfer transfer : transfers) {
+            if (!seenEmployeeIds.add(transfer.getEmployeeId())) {
+                results.add(transferResult(transfer, null, DepartmentTransferStatus.DUPLICATE_EMPLOYEE,
+                        "Employee is listed more than once"));
+            } else if (!existingDepartmentIds.contains(transfer.getNewDepartmentId())) {
+                results.add(transferResult(transfer, null, DepartmentTransferStatus.DEPARTMENT_NOT_FOUND,
+                        "Department not found with ID: " + transfer.getNewDepartmentId()));
+            } else {
+                results.add(null);
+                pending.add(results.size() - 1);
+            }
+        }
+        
+        for (int from = 0; from < pending.size(); from += TRANSFER_CHUNK_SIZE) {
+            List<Integer> chunk = pending.subList(from, Math.min(from + TRANSFER_CHUNK_SIZE, pending.size()));
+            Map<Integer, BulkUpdateEmployeeDepartmentResponse.Result> chunkResults;
+            boolean remainingFailed = false;
+            try {
+                chunkResults = transactionTemplate.execute(status -> moveEmployees(transfers, chunk));
+            } catch (DataAccessException | TransactionException e) {
+                // A transaction that cannot be started or completed fails the remaining chunks too, they are not tried
+                remainingFailed = e instanceof TransactionException;
+                List<Integer> failed = remainingFailed ? pending.subList(from, pending.size()) : chunk;
+                log.error("Bulk department transfer of {} employees failed", failed.size(), e);
+                chunkResults = new HashMap<>();
+                for (Integer index : failed) {
+                    chunkResults.put(index, transferResult(transfers.get(index), null, DepartmentTransferStatus.FAILED,
+                            "Transfer failed: " + e.getMostSpecificCause().getMessage()));
+                }
+            }
+            chunkResults.forEach(results::set);
+            if (remainingFailed) {
+                break;
+            }
+        }
+        
+        int moved = (int) results.stream().filter(result -> result.getStatus() == DepartmentTransferStatus.MOVED).count();
+        int rejected = results.size() - moved;
+        log.info("Bulk department transfer finished: {} moved, {} rejected", moved, rejected);
+        
+        return BulkUpdateEmployeeDepartmentResponse.builder()
+                .totalMoved(moved)
+                .totalRejected(rejected)
+                .results(results)
+                .message("Moved " + moved + " employees" + (rejected > 0 ? ", rejected " + rejected + " transfers" : ""))
+                .build();
+    }
+
+    /**
+     * Move one chunk of employees in the current transaction
+     * The moved employees are evicted from the employee cache and, once committed, from the second-level cache,
+     * since the JDBC updates bypass Hibernate
+     * @param transfers all requested transfers
+     * @param chunk the indexes of the transfers to run, their departments exist and their employees are distinct
+     * @return the result of every transfer of the chunk by index
+     */
+    private Map<Integer, BulkUpdateEmployeeDepartmentResponse.Result> moveEmployees(
+            List<BulkUpdateEmployeeDepartmentRequest.Transfer> transfers, List<Integer> chunk) {
+        Map<String, EmployeeDepartmentRow> employeesById = departmentTransferJdbcRepository.lockEmployees(chunk.stream()
+                        .map(index -> transfers.get(index).getEmployeeId())
+                        .collect(Collectors.toList())).stream()
+                .collect(Collectors.toMap(EmployeeDepartmentRow::getId, Function.identity()));
+        
+        Instant changeDate = Instant.now();
+        Map<Integer, BulkUpdateEmployeeDepartmentResponse.Result> results = new HashMap<>();
+        List<DepartmentHistoryEntity> history = new ArrayList<>();
+        Map<String, List<String>> employeeIdsByDepartment = new LinkedHashMap<>();
+        for (Integer index : chunk) {
+            BulkUpdateEmployeeDepartmentRequest.Transfer transfer = transfers.get(index);
+            EmployeeDepartmentRow employee = employeesById.get(transfer.getEmployeeId());
+            if (employee == null) {
+                results.put(index, transferResult(transfer, null, DepartmentTransferStatus.EMPLOYEE_NOT_FOUND,
+                        "Employee not found with ID: " + transfer.getEmployeeId()));
+            } else if (transfer.getNewDepartmentId().equals(employee.getDepartmentId())) {
+                results.put(index, transferResult(transfer, employee.getDepartmentId(), DepartmentTransferStatus.ALREADY_IN_DEPARTMENT,
+                        "Employee is already in the specified department"));
+            } else {
+                history.add(DepartmentHistoryEntity.builder()
+                        .employeeId(employee.getId())
+                        .oldDepartmentId(employee.getDepartmentId())
+                        .newDepartmentId(transfer.getNewDepartmentId())
+                        .changeDate(changeDate)
+                        .build());
+                employeeIdsByDepartment.computeIfAbsent(transfer.getNewDepartmentId(), departmentId -> new ArrayList<>())
+                        .add(employee.getId());
+                BulkUpdateEmployeeDepartmentResponse.Result result = transferResult(transfer, employee.getDepartmentId(),
+                        DepartmentTransferStatus.MOVED, "Employee department updated successfully");
+                result.setChangeDate(changeDate);
+                results.put(index, result);
+            }
+        }
+        if (history.isEmpty()) {
+            return results;
+        }
+        
+        departmentTransferJdbcRepository.batchInsertHistory(history);
+        employeeIdsByDepartment.forEach((departmentId, employeeIds) ->
+                departmentTransferJdbcRepository.moveEmployees(departmentId, employeeIds, changeDate));
+        
+        // Move the employees' salaries and tasks in the materialized department statistics
+        List<String> movedIds = history.stream().map(DepartmentHistoryEntity::getEmployeeId).collect(Collectors.toList());
+        Map<String, Map<TaskStatus, Long>> taskCountsByEmployeeId = new HashMap<>();
+        for (Object[] row : taskRepository.countTasksByEmployeeIdsGroupedByStatus(movedIds)) {
+            taskCountsByEmployeeId.computeIfAbsent((String) row[0], employeeId -> new EnumMap<>(TaskStatus.class))
+                    .put((TaskStatus) row[1], ((Number) row[2]).longValue());
+        }
+        for (DepartmentHistoryEntity change : history) {
+            departmentStatisticsStore.employeeMoved(change.getOldDepartmentId(), change.getNewDepartmentId(),
+                    employeesById.get(change.getEmployeeId()).getSalary(),
+                    taskCountsByEmployeeId.getOrDefault(change.getEmployeeId(), Map.of()));
+        }
+        
+        // The employee cache is transaction-aware and evicts after commit, the second-level cache is evicted explicitly
+        Cache employeeCache = cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE);
+        if (employeeCache != null) {
+            movedIds.forEach(employeeCache::evict);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                movedIds.forEach(id -> entityManagerFactory.getCache().evict(EmployeeEntity.class, id));
+            }
+        });
+        
+        log.info("Moved {} employees to {} departments", movedIds.size(), employeeIdsByDepartment.size());
+        return results;
+    }
+
+    private static BulkUpdateEmployeeDepartmentResponse.Result transferResult(BulkUpdateEmployeeDepartmentRequest.Transfer transfer,
+                                                                              String oldDepartmentId,
+                                                                              DepartmentTransferStatus status, String message) {
+        return BulkUpdateEmployeeDepartmentResponse.Result.builder()
+                .employeeId(transfer.getEmployeeId())
+                .oldDepartmentId(oldDepartmentId)
+                .newDepartmentId(transfer.getNewDepartmentId())
+                .status(status)
+                .message(message)
+                .build();
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,123 @@
+package com.duyphong.duyphong_app.service;
+
+import com.duyphong.duyphong_app.config.MetricsConfig;
+import com.duyphong.duyphong_app.entity.IdempotencyKeyEntity;
+import com.duyphong.duyphong_app.exception.IdempotencyKeyConflictException;
+import com.duyphong.duyphong_app.exception.IdempotencyKeyMismatchException;
+import com.duyphong.duyphong_app.repository.IdempotencyKeyRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Service layer for idempotent requests
+ * Stores the response of a request sent with an Idempotency-Key in the transaction that produced it,
+ * so a retry with the same key and request returns the stored response instead of repeating the write
+ */
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class IdempotencyService {
+
+    /**
+     * Request header carrying the client-chosen idempotency key
+     */
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.idempotency.retention:PT24H}")
+    private Duration retention;
+
+    /**
+     * Get the stored response of a previous request with the same idempotency key
+     * @param idempotencyKey the idempotency key
+     * @param operation the name of the operation, keys are not shared between operations
+     * @param request the request body
+     * @param responseType the response class
+     * @return Optional containing the stored response if the key was used before, empty otherwise
+     * @throws IdempotencyKeyMismatchException if the key was used for a different operation or request
+     */
+    public <T> Optional<T> findResponse(String idempotencyKey, String operation, Object request, Class<T> responseType) {
+        Optional<IdempotencyKeyEntity> stored = idempotencyKeyRepository.findById(idempotencyKey);
+        if (stored.isEmpty()) {
+            return Optional.empty();
+        }
+        if (!stored.get().getRequestHash().equals(hash(operation, request))) {
+            throw new IdempotencyKeyMismatchException(idempotencyKey);
+        }
+        
+        log.info("Replaying stored response for idempotency key {}", idempotencyKey);
+        try {
+            return Optional.of(objectMapper.readValue(stored.get().getResponseBody(), responseType));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Store the response of a request in the current transaction
+     * @param idempotencyKey the idempotency key
+     * @param operation the name of the operation
+     * @param request the request body
+     * @param response the response to replay for retries
+     * @throws IdempotencyKeyConflictException if the key was stored concurrently, the transaction must roll back
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void saveResponse(String idempotencyKey, String operation, Object request, Object response) {
+        try {
+            idempotencyKeyRepository.insert(idempotencyKey, hash(operation, request),
+                    objectMapper.writeValueAsString(response), Instant.now());
+        } catch (DataIntegrityViolationException e) {
+            throw new IdempotencyKeyConflictException(idempotencyKey, e);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Delete idempotency keys older than the retention period
+     */
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval:PT1H}")
+    @Transactional
+    public void purgeExpiredKeys() {
+        int deleted = idempotencyKeyRepository.deleteByCreatedAtBefore(Instant.now().minus(retention));
+        if (deleted > 0) {
+            log.info("Purged {} expired idempotency keys", deleted);
+        }
+    }
+
+    private String hash(String operation, Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(operation.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
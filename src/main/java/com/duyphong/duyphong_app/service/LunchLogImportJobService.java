@@ -0,0 +1,343 @@
+package com.duyphong.duyphong_app.service;
+
+import com.duyphong.duyphong_app.config.MetricsConfig;
+import com.duyphong.duyphong_app.dto.response.LunchLogImportJobResponse;
+import com.duyphong.duyphong_app.dto.response.LunchLogImportResponse;
+import com.duyphong.duyphong_app.entity.LunchLogImportJobEntity;
+import com.duyphong.duyphong_app.enumeration.ImportFormat;
+import com.duyphong.duyphong_app.enumeration.ImportJobStatus;
+import com.duyphong.duyphong_app.repository.LunchLogImportJobRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Service layer for asynchronous Lunch Log import jobs
+ * Uploads are spooled to disk and imported on a bounded executor, progress is committed with every chunk
+ * so jobs can be polled while running and resumed after the last committed chunk when the application restarts.
+ */
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class LunchLogImportJobService {
+
+    private static final TypeReference<List<LunchLogImportResponse.RowError>> ROW_ERRORS_TYPE = new TypeReference<>() { };
+    private static final int MAX_FAILURE_REASON_LENGTH = 1000;
+
+    private final LunchLogImportJobRepository lunchLogImportJobRepository;
+    private final LunchLogService lunchLogService;
+    private final ObjectMapper objectMapper;
+    private final TaskExecutor lunchLogImportExecutor;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.lunch-log-import.spool-dir:${app.data-dir:${user.home}/.duyphong-app}/lunch-log-imports}")
+    private String spoolDir;
+
+    /**
+     * Spool an upload to disk and queue it as an import job
+     * @param inputStream the upload, one lunch log per line (NDJSON) or per record after a header line (CSV)
+     * @param format the input format
+     * @return the queued job
+     * @throws IOException if the upload cannot be spooled
+     * @throws TaskRejectedException if the import queue is full
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public LunchLogImportJobResponse submitImport(InputStream inputStream, ImportFormat format) throws IOException {
+        String jobId = UUID.randomUUID().toString();
+        Path directory = Paths.get(spoolDir);
+        Files.createDirectories(directory);
+        Path file = directory.resolve(jobId + "." + format.name().toLowerCase());
+        
+        long lines = spool(inputStream, file);
+        long estimatedRows = format == ImportFormat.CSV ? Math.max(0, lines - 1) : lines;
+        log.info("Spooled {} lunch log import {} with about {} rows to {}", format, jobId, estimatedRows, file);
+        
+        LunchLogImportJobEntity job = lunchLogImportJobRepository.save(LunchLogImportJobEntity.builder()
+                .id(jobId)
+                .format(format)
+                .status(ImportJobStatus.QUEUED)
+                .filePath(file.toString())
+                .estimatedRows(estimatedRows)
+                .build());
+        
+        try {
+            lunchLogImportExecutor.execute(() -> runJob(jobId));
+        } catch (TaskRejectedException e) {
+            log.warn("Import queue is full, rejecting lunch log import {}", jobId);
+            String runId = UUID.randomUUID().toString();
+            if (claim(jobId, runId) != null && finishJob(jobId, runId, ImportJobStatus.FAILED, null, "Import queue is full")) {
+                deleteSpoolFile(file);
+            }
+            throw e;
+        }
+        
+        return toResponse(job);
+    }
+
+    /**
+     * Get an import job by ID
+     * @param jobId the job ID
+     * @return Optional containing the job if found, empty otherwise
+     */
+    public Optional<LunchLogImportJobResponse> findJob(String jobId) {
+        return lunchLogImportJobRepository.findById(jobId).map(this::toResponse);
+    }
+
+    /**
+     * Queue the jobs that were queued or running when the application stopped
+     * Running jobs are put back into the queue first, which revokes their runs, and continue after their last committed chunk
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void resumeUnfinishedJobs() {
+        Integer requeued = transactionTemplate.execute(status -> lunchLogImportJobRepository.requeueRunning(Instant.now()));
+        if (requeued != null && requeued > 0) {
+            log.info("Requeued {} lunch log imports that were running when the application stopped", requeued);
+        }
+        
+        List<LunchLogImportJobEntity> jobs = lunchLogImportJobRepository.findByStatusOrderByCreatedAtAsc(ImportJobStatus.QUEUED);
+        for (LunchLogImportJobEntity job : jobs) {
+            log.info("Resuming lunch log import {} after row {}", job.getId(), job.getRowsProcessed());
+            try {
+                lunchLogImportExecutor.execute(() -> runJob(job.getId()));
+            } catch (TaskRejectedException e) {
+                // Stays queued and is picked up again at the next startup
+                log.warn("Import queue is full, lunch log import {} not resumed", job.getId());
+            }
+        }
+    }
+
+    /**
+     * Run or resume an import job on the calling thread
+     * Every update of the run carries its token, once the job was requeued the run stops and rolls back its current chunk
+     * @param jobId the job ID
+     */
+    private void runJob(String jobId) {
+        // The job can be queued twice, e.g. by its submission and by the resume at startup, only one run may claim it
+        String runId = UUID.randomUUID().toString();
+        LunchLogImportJobEntity job = claim(jobId, runId);
+        if (job == null) {
+            log.info("Lunch log import {} is not queued, skipping", jobId);
+            return;
+        }
+        
+        LunchLogImportResponse resumeFrom = LunchLogImportResponse.builder()
+                .totalRows(job.getRowsProcessed())
+                .totalImported(job.getRowsImported())
+                .totalSkipped(job.getRowsSkipped())
+                .totalFailed(job.getRowsFailed())
+                .errors(readErrors(job.getErrors()))
+                .errorsTruncated(job.isErrorsTruncated())
+                .build();
+        
+        Path file = Paths.get(job.getFilePath());
+        boolean finished;
+        try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(file))) {
+            LunchLogImportResponse result = lunchLogService.importLunchLogs(inputStream, job.getFormat(), resumeFrom,
+                    progress -> {
+                        if (!updateProgress(jobId, runId, progress)) {
+                            throw new RunRevokedException(jobId);
+                        }
+                    });
+            finished = finishJob(jobId, runId, ImportJobStatus.COMPLETED, result, null);
+            if (finished) {
+                log.info("Lunch log import {} completed: {}", jobId, result.getMessage());
+            }
+        } catch (RunRevokedException e) {
+            log.info("Run of lunch log import {} was revoked, stopping", jobId);
+            return;
+        } catch (NoSuchFileException e) {
+            log.error("Spooled upload of lunch log import {} no longer exists", jobId);
+            finished = finishJob(jobId, runId, ImportJobStatus.FAILED, null, "Spooled upload no longer exists");
+        } catch (Exception e) {
+            log.error("Lunch log import {} failed", jobId, e);
+            finished = finishJob(jobId, runId, ImportJobStatus.FAILED, null, e.getMessage());
+        }
+        // A run that was revoked in the meantime leaves the upload to the run that took over
+        if (finished) {
+            deleteSpoolFile(file);
+        }
+    }
+
+    /**
+     * Claim a queued job for a run
+     * @param jobId the job ID
+     * @param runId the token of the run
+     * @return the claimed job, null if the job is not queued
+     */
+    private LunchLogImportJobEntity claim(String jobId, String runId) {
+        return transactionTemplate.execute(status -> lunchLogImportJobRepository.claim(jobId, runId, Instant.now()) == 1
+                ? lunchLogImportJobRepository.findById(jobId).orElse(null)
+                : null);
+    }
+
+    /**
+     * Record the progress of a run in the current transaction
+     * @param jobId the job ID
+     * @param runId the token of the run
+     * @param progress the progress
+     * @return true if recorded, false if the job no longer belongs to the run
+     */
+    private boolean updateProgress(String jobId, String runId, LunchLogImportResponse progress) {
+        return lunchLogImportJobRepository.updateProgress(jobId, runId, progress.getTotalRows(),
+                progress.getTotalImported(), progress.getTotalSkipped(), progress.getTotalFailed(),
+                writeErrors(progress.getErrors()), progress.isErrorsTruncated(), Instant.now()) == 1;
+    }
+
+    /**
+     * Mark a job as finished
+     * @param jobId the job ID
+     * @param runId the token of the run
+     * @param status the final status
+     * @param result the final import result, null to keep the last committed progress
+     * @param failureReason the reason the job failed (nullable)
+     * @return true if finished, false if the job no longer belongs to the run
+     */
+    private boolean finishJob(String jobId, String runId, ImportJobStatus status, LunchLogImportResponse result,
+                              String failureReason) {
+        String reason = failureReason != null && failureReason.length() > MAX_FAILURE_REASON_LENGTH
+                ? failureReason.substring(0, MAX_FAILURE_REASON_LENGTH)
+                : failureReason;
+        Boolean finished = transactionTemplate.execute(transaction ->
+                (result == null || updateProgress(jobId, runId, result))
+                        && lunchLogImportJobRepository.finish(jobId, runId, status, reason, Instant.now()) == 1);
+        if (!Boolean.TRUE.equals(finished)) {
+            log.info("Run of lunch log import {} was revoked, not marking it {}", jobId, status);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Copy an upload to a file
+     * @param inputStream the upload
+     * @param file the target file
+     * @return the number of lines, counting a last line without line break
+     * @throws IOException if the upload cannot be read or the file cannot be written
+     */
+    private long spool(InputStream inputStream, Path file) throws IOException {
+        long lines = 0;
+        byte last = '\n';
+        byte[] buffer = new byte[64 * 1024];
+        try (OutputStream outputStream = Files.newOutputStream(file)) {
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, read);
+                for (int i = 0; i < read; i++) {
+                    if (buffer[i] == '\n') {
+                        lines++;
+                    }
+                }
+                last = buffer[read - 1];
+            }
+        }
+        return last == '\n' ? lines : lines + 1;
+    }
+
+    private void deleteSpoolFile(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete spooled upload {}", file, e);
+        }
+    }
+
+    private List<LunchLogImportResponse.RowError> readErrors(String errors) {
+        if (errors == null || errors.isEmpty()) {
+            return Collections.emptyList();
+        }
+        try {
+            return objectMapper.readValue(errors, ROW_ERRORS_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String writeErrors(List<LunchLogImportResponse.RowError> errors) {
+        try {
+            return objectMapper.writeValueAsString(errors != null ? errors : Collections.emptyList());
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Convert a job to its response, deriving throughput and remaining time from the current run
+     * @param job the import job
+     * @return the job response
+     */
+    private LunchLogImportJobResponse toResponse(LunchLogImportJobEntity job) {
+        Double rowsPerSecond = null;
+        Long estimatedSecondsRemaining = null;
+        if (job.getStartedAt() != null) {
+            Instant end = job.getFinishedAt() != null ? job.getFinishedAt() : Instant.now();
+            double seconds = Duration.between(job.getStartedAt(), end).toMillis() / 1000.0;
+            if (seconds > 0) {
+                rowsPerSecond = (job.getRowsProcessed() - job.getResumedFromRow()) / seconds;
+            }
+            if (job.getStatus() == ImportJobStatus.RUNNING && rowsPerSecond != null && rowsPerSecond > 0) {
+                long remainingRows = Math.max(0, job.getEstimatedRows() - job.getRowsProcessed());
+                estimatedSecondsRemaining = (long) Math.ceil(remainingRows / rowsPerSecond);
+            }
+        }
+        
+        return LunchLogImportJobResponse.builder()
+                .jobId(job.getId())
+                .status(job.getStatus())
+                .format(job.getFormat())
+                .estimatedRows(job.getEstimatedRows())
+                .rowsProcessed(job.getRowsProcessed())
+                .rowsImported(job.getRowsImported())
+                .rowsSkipped(job.getRowsSkipped())
+                .rowsFailed(job.getRowsFailed())
+                .rowsPerSecond(rowsPerSecond)
+                .estimatedSecondsRemaining(estimatedSecondsRemaining)
+                .errors(readErrors(job.getErrors()))
+                .errorsTruncated(job.isErrorsTruncated())
+                .failureReason(job.getFailureReason())
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
+    }
+
+    /**
+     * Thrown inside a chunk transaction when the job was requeued and claimed by another run
+     */
+    private static class RunRevokedException extends IllegalStateException {
+        
+        RunRevokedException(String jobId) {
+            super("Lunch log import " + jobId + " was claimed by another run");
+        }
+    }
+}
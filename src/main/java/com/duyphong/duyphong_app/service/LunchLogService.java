@@ -1,61 +1,602 @@
 package com.duyphong.duyphong_app.service;
 
+import com.duyphong.duyphong_app.config.MetricsConfig;
 import com.duyphong.duyphong_app.dto.request.BulkCreateLunchLogRequest;
 import com.duyphong.duyphong_app.dto.request.CreateLunchLogRequest;
+import com.duyphong.duyphong_app.dto.request.LunchLogFilter;
 import com.duyphong.duyphong_app.dto.response.BulkCreateLunchLogResponse;
+import com.duyphong.duyphong_app.dto.response.LunchLogImportResponse;
 import com.duyphong.duyphong_app.dto.response.LunchLogResponse;
+import com.duyphong.duyphong_app.dto.response.LunchLogSummaryResponse;
 import com.duyphong.duyphong_app.entity.LunchLogEntity;
+import com.duyphong.duyphong_app.enumeration.ImportFormat;
+import com.duyphong.duyphong_app.enumeration.LunchLogGrouping;
 import com.duyphong.duyphong_app.enumeration.MealType;
+import com.duyphong.duyphong_app.exception.IdempotencyKeyConflictException;
+import com.duyphong.duyphong_app.exception.IdempotencyKeyMismatchException;
 import com.duyphong.duyphong_app.mapper.LunchLogMapper;
+import com.duyphong.duyphong_app.repository.EmployeeRepository;
+import com.duyphong.duyphong_app.repository.LunchLogJdbcRepository;
 import com.duyphong.duyphong_app.repository.LunchLogRepository;
+import com.fasterxml.jackson.core.JacksonException;
+import com.fasterxml.jackson.core.exc.StreamReadException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 /**
  * Service layer for Lunch Log operations
  * Contains business logic for lunch log management
  */
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
 @Slf4j
 @Transactional(readOnly = true)
 public class LunchLogService {
 
+    /**
+     * Number of input rows committed per transaction by streaming imports
+     */
+    public static final int IMPORT_CHUNK_SIZE = 1000;
+
+    /**
+     * Maximum number of row errors listed in an import response, further errors are only counted
+     */
+    public static final int MAX_REPORTED_ERRORS = 100;
+
+    /**
+     * Default number of lunch logs per page
+     */
+    public static final int DEFAULT_PAGE_SIZE = 100;
+
+    /**
+     * Maximum number of lunch logs per page
+     */
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    /**
+     * Default number of groups returned by a summary
+     */
+    public static final int DEFAULT_SUMMARY_LIMIT = 1000;
+
+    /**
+     * Maximum number of groups returned by a summary
+     */
+    public static final int MAX_SUMMARY_LIMIT = 10000;
+
+    /**
+     * Number of attempts of a write transaction that conflicts with a concurrent insert of the same lunch log
+     */
+    private static final int MAX_INSERT_ATTEMPTS = 3;
+
+    /**
+     * Operation name under which idempotency keys of bulk creations are stored
+     */
+    private static final String BULK_CREATE_OPERATION = "lunch-logs/bulk";
+
+    private static final CsvMapper CSV_MAPPER = CsvMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
     private final LunchLogRepository lunchLogRepository;
+    private final LunchLogJdbcRepository lunchLogJdbcRepository;
+    private final EmployeeRepository employeeRepository;
     private final LunchLogMapper lunchLogMapper;
-
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final IdempotencyService idempotencyService;
 
     /**
      * Create multiple lunch logs at once (bulk operation)
+     * Rows are written with JDBC batch inserts instead of one INSERT per entity. Lunch logs that already exist
+     * for the same employee, date and meal type are skipped instead of failing the batch.
+     * With an idempotency key the response is stored in the transaction of the created rows, and a retry
+     * with the same key and request returns the stored response without inserting anything.
+     * A transaction that conflicts with a concurrent request is rolled back and retried.
      * @param request the bulk lunch log creation request
+     * @param idempotencyKey the client-chosen idempotency key (nullable)
      * @return the bulk creation response with all created lunch logs
+     * @throws IdempotencyKeyMismatchException if the key was already used with a different request
      */
-    @Transactional
-    public BulkCreateLunchLogResponse createBulkLunchLogs(BulkCreateLunchLogRequest request) {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkCreateLunchLogResponse createBulkLunchLogs(BulkCreateLunchLogRequest request, String idempotencyKey) {
         log.info("Starting bulk creation of {} lunch logs", request.getLunchLogs().size());
         
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> createBulkLunchLogsOnce(request, idempotencyKey));
+            } catch (DuplicateKeyException | IdempotencyKeyConflictException e) {
+                if (attempt == MAX_INSERT_ATTEMPTS) {
+                    throw e;
+                }
+                log.warn("Bulk lunch log creation conflicted with a concurrent request, retrying (attempt {})", attempt);
+            }
+        }
+    }
+
+    /**
+     * Run one attempt of a bulk creation in the current transaction
+     * @param request the bulk lunch log creation request
+     * @param idempotencyKey the client-chosen idempotency key (nullable)
+     * @return the bulk creation response, the stored one if the key was used before
+     */
+    private BulkCreateLunchLogResponse createBulkLunchLogsOnce(BulkCreateLunchLogRequest request, String idempotencyKey) {
+        if (idempotencyKey != null) {
+            Optional<BulkCreateLunchLogResponse> previousResponse = idempotencyService.findResponse(
+                    idempotencyKey, BULK_CREATE_OPERATION, request, BulkCreateLunchLogResponse.class);
+            if (previousResponse.isPresent()) {
+                return previousResponse.get();
+            }
+        }
+        
         // Convert requests to entities
         List<LunchLogEntity> lunchLogEntities = lunchLogMapper.toEntityList(request.getLunchLogs());
         
-        // Save all entities at once
-        List<LunchLogEntity> savedLunchLogs = lunchLogRepository.saveAll(lunchLogEntities);
+        // Insert the new entities in JDBC batches, generated IDs are set on the entities
+        List<LunchLogEntity> createdEntities = insertNewLunchLogs(lunchLogEntities);
+        int created = createdEntities.size();
+        int skipped = lunchLogEntities.size() - created;
         
-        log.info("Successfully created {} lunch logs", savedLunchLogs.size());
+        log.info("Successfully created {} lunch logs, skipped {} duplicates", created, skipped);
         
         // Convert saved entities back to response DTOs
-        List<LunchLogResponse> lunchLogResponses = lunchLogMapper.toResponseList(savedLunchLogs);
+        List<LunchLogResponse> lunchLogResponses = lunchLogMapper.toResponseList(createdEntities);
         
         // Build and return bulk response
-        return BulkCreateLunchLogResponse.builder()
-                .totalCreated(savedLunchLogs.size())
+        BulkCreateLunchLogResponse response = BulkCreateLunchLogResponse.builder()
+                .totalCreated(created)
+                .totalSkipped(skipped)
                 .lunchLogs(lunchLogResponses)
-                .message("Successfully created " + savedLunchLogs.size() + " lunch log entries")
+                .message("Successfully created " + created + " lunch log entries"
+                        + (skipped > 0 ? ", skipped " + skipped + " duplicates" : ""))
+                .build();
+        
+        if (idempotencyKey != null) {
+            idempotencyService.saveResponse(idempotencyKey, BULK_CREATE_OPERATION, request, response);
+        }
+        return response;
+    }
+
+    /**
+     * Insert the lunch logs that do not exist yet, in the current transaction
+     * Duplicates of the same employee, date and meal type within the list or in the database are skipped.
+     * A duplicate committed concurrently between the lookup and the insert still fails the insert,
+     * callers retry their transaction on DuplicateKeyException.
+     * @param lunchLogs the lunch logs to insert
+     * @return the inserted lunch logs in input order, with their generated IDs
+     */
+    private List<LunchLogEntity> insertNewLunchLogs(List<LunchLogEntity> lunchLogs) {
+        List<LunchLogEntity> newLunchLogs = withoutDuplicates(lunchLogs);
+        lunchLogJdbcRepository.batchInsert(newLunchLogs);
+        return newLunchLogs;
+    }
+
+    /**
+     * Remove the lunch logs that are duplicated within the list or already stored
+     * Stored keys are loaded with one query over the employees and date range of the list
+     * @param lunchLogs the lunch logs to check
+     * @return the lunch logs to insert, in input order
+     */
+    private List<LunchLogEntity> withoutDuplicates(List<LunchLogEntity> lunchLogs) {
+        if (lunchLogs.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        Set<String> employeeIds = lunchLogs.stream()
+                .map(LunchLogEntity::getEmployeeId)
+                .collect(Collectors.toSet());
+        LocalDate fromDate = lunchLogs.stream().map(LunchLogEntity::getLunchDate).min(Comparator.naturalOrder()).get();
+        LocalDate toDate = lunchLogs.stream().map(LunchLogEntity::getLunchDate).max(Comparator.naturalOrder()).get();
+        
+        Set<List<Object>> keys = new HashSet<>();
+        for (Object[] row : lunchLogRepository.findKeysByEmployeeIdsAndDateRange(employeeIds, fromDate, toDate)) {
+            keys.add(List.of(row[0], row[1], row[2]));
+        }
+        
+        List<LunchLogEntity> newLunchLogs = new ArrayList<>(lunchLogs.size());
+        for (LunchLogEntity lunchLog : lunchLogs) {
+            if (keys.add(List.of(lunchLog.getEmployeeId(), lunchLog.getLunchDate(), lunchLog.getMealType()))) {
+                newLunchLogs.add(lunchLog);
+            }
+        }
+        return newLunchLogs;
+    }
+
+    /**
+     * Get one page of lunch logs with optional filtering
+     * Uses keyset pagination on the lunch log ID so every page costs the same regardless of its position
+     * @param filter the lunch log filters
+     * @param afterId the ID of the last lunch log of the previous page (optional, null for the first page)
+     * @param limit the page size, capped at MAX_PAGE_SIZE
+     * @return Slice of lunch logs matching the filters ordered by ID, hasNext tells whether another page exists
+     * @throws IllegalArgumentException if the date range is invalid
+     */
+    public Slice<LunchLogResponse> getLunchLogs(LunchLogFilter filter, Integer afterId, int limit) {
+        log.info("Retrieving lunch logs - employeeId: {}, departmentId: {}, mealType: {}, restaurant: {}, from: {}, to: {}, afterId: {}, limit: {}",
+                filter.getEmployeeId(), filter.getDepartmentId(), filter.getMealType(), filter.getRestaurant(),
+                filter.getFromDate(), filter.getToDate(), afterId, limit);
+        
+        validateDateRange(filter);
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        
+        // Fetch one extra row to find out whether there is a next page
+        List<LunchLogResponse> lunchLogs = lunchLogRepository.findLunchLogs(filter, afterId, pageSize + 1);
+        boolean hasNext = lunchLogs.size() > pageSize;
+        if (hasNext) {
+            lunchLogs = lunchLogs.subList(0, pageSize);
+        }
+        
+        log.info("Found {} lunch logs, more available: {}", lunchLogs.size(), hasNext);
+        
+        return new SliceImpl<>(lunchLogs, PageRequest.ofSize(pageSize), hasNext);
+    }
+
+    /**
+     * Count lunch logs per combination of the requested dimensions
+     * Counting is done with a GROUP BY query, no lunch log is loaded
+     * @param groupings the dimensions to group by, in order
+     * @param filter the lunch log filters
+     * @param limit the maximum number of groups, capped at MAX_SUMMARY_LIMIT
+     * @return the summary with one group per combination, ordered by the grouped values
+     * @throws IllegalArgumentException if no grouping is given or the date range is invalid
+     */
+    public LunchLogSummaryResponse getLunchLogSummary(List<LunchLogGrouping> groupings, LunchLogFilter filter, int limit) {
+        log.info("Summarizing lunch logs by {} - employeeId: {}, departmentId: {}, mealType: {}, restaurant: {}, from: {}, to: {}",
+                groupings, filter.getEmployeeId(), filter.getDepartmentId(), filter.getMealType(),
+                filter.getRestaurant(), filter.getFromDate(), filter.getToDate());
+        
+        if (groupings == null || groupings.isEmpty()) {
+            throw new IllegalArgumentException("At least one grouping must be provided");
+        }
+        validateDateRange(filter);
+        List<LunchLogGrouping> distinctGroupings = groupings.stream().distinct().collect(Collectors.toList());
+        int maxGroups = Math.min(Math.max(limit, 1), MAX_SUMMARY_LIMIT);
+        
+        // Fetch one extra group to find out whether the summary is truncated
+        List<Object[]> rows = lunchLogRepository.countLunchLogsGroupedBy(distinctGroupings, filter, maxGroups + 1);
+        boolean truncated = rows.size() > maxGroups;
+        if (truncated) {
+            rows = rows.subList(0, maxGroups);
+        }
+        
+        List<LunchLogSummaryResponse.Group> groups = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            LunchLogSummaryResponse.Group group = new LunchLogSummaryResponse.Group();
+            int column = 0;
+            for (LunchLogGrouping grouping : distinctGroupings) {
+                switch (grouping) {
+                    case EMPLOYEE -> group.setEmployeeId((String) row[column++]);
+                    case DAY -> group.setLunchDate((LocalDate) row[column++]);
+                    case MEAL_TYPE -> group.setMealType((MealType) row[column++]);
+                    case RESTAURANT -> group.setRestaurant((String) row[column++]);
+                    case DEPARTMENT -> {
+                        group.setDepartmentId((String) row[column++]);
+                        group.setDepartmentName((String) row[column++]);
+                    }
+                }
+            }
+            group.setCount(((Number) row[column]).longValue());
+            groups.add(group);
+        }
+        
+        log.info("Found {} lunch log groups, truncated: {}", groups.size(), truncated);
+        
+        return LunchLogSummaryResponse.builder()
+                .groupBy(distinctGroupings)
+                .fromDate(filter.getFromDate())
+                .toDate(filter.getToDate())
+                .groups(groups)
+                .truncated(truncated)
                 .build();
     }
 
+    /**
+     * Validate the lunch date range of a filter
+     * @param filter the lunch log filters
+     * @throws IllegalArgumentException if the start of the range is after its end
+     */
+    private void validateDateRange(LunchLogFilter filter) {
+        if (filter.getFromDate() != null && filter.getToDate() != null
+                && filter.getFromDate().isAfter(filter.getToDate())) {
+            throw new IllegalArgumentException("From date must not be after to date");
+        }
+    }
+
+    /**
+     * Import lunch logs from a newline-delimited JSON or CSV stream
+     * Rows are parsed and validated one at a time and committed in one transaction per IMPORT_CHUNK_SIZE
+     * input rows, so memory use does not depend on the size of the input. Invalid rows are skipped and reported,
+     * malformed input stops the import after the rows read so far have been committed.
+     * @param inputStream the input, one lunch log per line (NDJSON) or per record after a header line (CSV)
+     * @param format the input format
+     * @return the import response with row counts and the first MAX_REPORTED_ERRORS row errors
+     * @throws IOException if the input stream cannot be read
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public LunchLogImportResponse importLunchLogs(InputStream inputStream, ImportFormat format) throws IOException {
+        return importLunchLogs(inputStream, format, null, progress -> { });
+    }
+
+    /**
+     * Import lunch logs from a newline-delimited JSON or CSV stream, resuming after a previous checkpoint
+     * The checkpoint callback runs inside the transaction of every chunk with the progress including that chunk,
+     * so progress stored by the callback is committed atomically with the chunk's rows.
+     * @param inputStream the input, read from its beginning
+     * @param format the input format
+     * @param resumeFrom the last checkpoint, its rows are skipped and its counts and errors carried over (nullable)
+     * @param checkpoint callback invoked inside each chunk transaction with the progress so far
+     * @return the import response with row counts and the first MAX_REPORTED_ERRORS row errors
+     * @throws IOException if the input stream cannot be read
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public LunchLogImportResponse importLunchLogs(InputStream inputStream, ImportFormat format,
+                                                  LunchLogImportResponse resumeFrom,
+                                                  Consumer<LunchLogImportResponse> checkpoint) throws IOException {
+        ImportResult result = resumeFrom != null ? ImportResult.from(resumeFrom) : new ImportResult();
+        long skipRows = result.totalRows;
+        log.info("Starting streaming import of {} lunch logs after row {}", format, skipRows);
+        
+        List<PendingRow> chunk = new ArrayList<>(IMPORT_CHUNK_SIZE);
+        long row = 0;
+        long savedThroughRow = skipRows;
+        
+        try (MappingIterator<CreateLunchLogRequest> rows = readerFor(format).readValues(inputStream)) {
+            while (true) {
+                try {
+                    if (!rows.hasNextValue()) {
+                        break;
+                    }
+                } catch (JacksonException e) {
+                    result.totalRows = ++row;
+                    result.reject(row, "Malformed input, import stopped: " + e.getOriginalMessage());
+                    break;
+                }
+                
+                row++;
+                CreateLunchLogRequest request = null;
+                String error = null;
+                try {
+                    request = rows.nextValue();
+                } catch (JsonMappingException e) {
+                    error = describe(e);
+                } catch (StreamReadException e) {
+                    result.totalRows = row;
+                    result.reject(row, "Malformed input, import stopped: " + e.getOriginalMessage());
+                    break;
+                }
+                if (row <= skipRows) {
+                    // Already processed before the checkpoint
+                    continue;
+                }
+                
+                result.totalRows = row;
+                if (error == null) {
+                    error = validate(request);
+                }
+                if (error == null) {
+                    chunk.add(new PendingRow(row, lunchLogMapper.toEntity(request)));
+                } else {
+                    result.reject(row, error);
+                }
+                
+                if (row % IMPORT_CHUNK_SIZE == 0) {
+                    result = saveChunk(chunk, result, checkpoint);
+                    savedThroughRow = row;
+                    chunk.clear();
+                }
+            }
+        }
+        if (result.totalRows > savedThroughRow) {
+            result = saveChunk(chunk, result, checkpoint);
+        }
+        
+        log.info("Lunch log import finished: {} rows, {} imported, {} skipped, {} failed",
+                result.totalRows, result.totalImported, result.totalSkipped, result.totalFailed);
+        
+        return result.toResponse();
+    }
+
+    /**
+     * Get a reader of lunch log rows for the given input format
+     * @param format the input format
+     * @return the object reader
+     */
+    private ObjectReader readerFor(ImportFormat format) {
+        if (format == ImportFormat.CSV) {
+            return CSV_MAPPER.readerFor(CreateLunchLogRequest.class)
+                    .with(CsvSchema.emptySchema().withHeader());
+        }
+        return objectMapper.readerFor(CreateLunchLogRequest.class);
+    }
+
+    /**
+     * Validate one bound input row
+     * @param request the bound row (nullable)
+     * @return the validation errors joined into one message, null if the row is valid
+     */
+    private String validate(CreateLunchLogRequest request) {
+        if (request == null) {
+            return "Row is empty";
+        }
+        Set<ConstraintViolation<CreateLunchLogRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    /**
+     * Save one chunk of validated rows and the checkpoint in their own transaction
+     * Rows of unknown employees are rejected and duplicate lunch logs skipped. A chunk that conflicts with
+     * a concurrent insert is retried, if the chunk cannot be saved all of its rows are rejected
+     * @param chunk the validated rows, may be empty if every row of the chunk was rejected
+     * @param result the import result before the chunk
+     * @param checkpoint callback invoked inside the transaction with the progress including the chunk
+     * @return the import result after the chunk
+     */
+    private ImportResult saveChunk(List<PendingRow> chunk, ImportResult result,
+                                   Consumer<LunchLogImportResponse> checkpoint) {
+        for (int attempt = 1; ; attempt++) {
+            ImportResult saved = result.copy();
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    if (!chunk.isEmpty()) {
+                        Set<String> existingIds = new HashSet<>(employeeRepository.findExistingIds(chunk.stream()
+                                .map(pendingRow -> pendingRow.getLunchLog().getEmployeeId())
+                                .collect(Collectors.toSet())));
+                        
+                        List<LunchLogEntity> lunchLogs = new ArrayList<>(chunk.size());
+                        for (PendingRow pendingRow : chunk) {
+                            if (existingIds.contains(pendingRow.getLunchLog().getEmployeeId())) {
+                                lunchLogs.add(pendingRow.getLunchLog());
+                            } else {
+                                saved.reject(pendingRow.getRow(), "Employee not found with ID: " + pendingRow.getLunchLog().getEmployeeId());
+                            }
+                        }
+                        int imported = insertNewLunchLogs(lunchLogs).size();
+                        saved.totalImported += imported;
+                        saved.totalSkipped += lunchLogs.size() - imported;
+                    }
+                    checkpoint.accept(saved.toResponse());
+                });
+                return saved;
+            } catch (DuplicateKeyException e) {
+                if (attempt < MAX_INSERT_ATTEMPTS) {
+                    log.warn("Lunch log chunk ending at row {} conflicted with a concurrent insert, retrying (attempt {})",
+                            result.totalRows, attempt);
+                    continue;
+                }
+                return rejectChunk(chunk, result, e);
+            } catch (DataAccessException e) {
+                return rejectChunk(chunk, result, e);
+            }
+        }
+    }
+
+    /**
+     * Reject every row of a chunk that could not be saved
+     * @param chunk the validated rows of the chunk
+     * @param result the import result before the chunk
+     * @param e the reason the chunk could not be saved
+     * @return the import result after the chunk
+     */
+    private ImportResult rejectChunk(List<PendingRow> chunk, ImportResult result, DataAccessException e) {
+        log.error("Failed to save lunch log chunk ending at row {}", result.totalRows, e);
+        for (PendingRow pendingRow : chunk) {
+            result.reject(pendingRow.getRow(), "Row could not be saved: " + e.getMostSpecificCause().getMessage());
+        }
+        return result;
+    }
+
+    /**
+     * Describe a row that could not be bound to a CreateLunchLogRequest
+     * @param e the binding exception
+     * @return the error message, prefixed with the offending field if known
+     */
+    private String describe(JsonMappingException e) {
+        String field = e.getPath().stream()
+                .map(JsonMappingException.Reference::getFieldName)
+                .filter(Objects::nonNull)
+                .collect(Collectors.joining("."));
+        return field.isEmpty() ? e.getOriginalMessage() : field + ": " + e.getOriginalMessage();
+    }
+
+    /**
+     * A validated input row waiting for its chunk to be saved
+     */
+    @Value
+    private static class PendingRow {
+        long row;
+        LunchLogEntity lunchLog;
+    }
+
+    /**
+     * Running counts of an import, only the first MAX_REPORTED_ERRORS errors are kept
+     */
+    private static final class ImportResult {
+        
+        private final List<LunchLogImportResponse.RowError> errors = new ArrayList<>();
+        private long totalRows;
+        private long totalImported;
+        private long totalSkipped;
+        private long totalFailed;
+        private boolean errorsTruncated;
+        
+        private static ImportResult from(LunchLogImportResponse progress) {
+            ImportResult result = new ImportResult();
+            result.totalRows = progress.getTotalRows();
+            result.totalImported = progress.getTotalImported();
+            result.totalSkipped = progress.getTotalSkipped();
+            result.totalFailed = progress.getTotalFailed();
+            result.errorsTruncated = progress.isErrorsTruncated();
+            if (progress.getErrors() != null) {
+                result.errors.addAll(progress.getErrors());
+            }
+            return result;
+        }
+        
+        private ImportResult copy() {
+            return from(toResponse());
+        }
+        
+        private void reject(long row, String message) {
+            totalFailed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new LunchLogImportResponse.RowError(row, message));
+            } else {
+                errorsTruncated = true;
+            }
+        }
+        
+        private LunchLogImportResponse toResponse() {
+            return LunchLogImportResponse.builder()
+                    .totalRows(totalRows)
+                    .totalImported(totalImported)
+                    .totalSkipped(totalSkipped)
+                    .totalFailed(totalFailed)
+                    .errors(new ArrayList<>(errors))
+                    .errorsTruncated(errorsTruncated)
+                    .message("Imported " + totalImported + " of " + totalRows + " lunch log rows")
+                    .build();
+        }
+    }
 }
\ No newline at end of file
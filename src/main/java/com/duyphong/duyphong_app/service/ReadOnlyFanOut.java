@@ -0,0 +1,142 @@
+package com.duyphong.duyphong_app.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs independent read-only queries of one service call in parallel
+ * Each forked query runs on the bounded fan-out executor in its own read-only transaction, so on its own connection.
+ * The caller should not hold a transaction itself (Propagation.NOT_SUPPORTED), otherwise it keeps a connection
+ * idle while waiting. Usage:
+ * <pre>
+ * try (ReadOnlyFanOut.Scope scope = readOnlyFanOut.open()) {
+ *     Supplier&lt;A&gt; a = scope.fork(() -&gt; ...);
+ *     Supplier&lt;B&gt; b = scope.fork(() -&gt; ...);
+ *     scope.join();
+ *     return merge(a.get(), b.get());
+ * }
+ * </pre>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReadOnlyFanOut {
+
+    private final PlatformTransactionManager transactionManager;
+    private final TaskExecutor readOnlyFanOutExecutor;
+
+    @Value("${app.fan-out.timeout:PT5S}")
+    private Duration timeout;
+
+    /**
+     * Open a scope to fork queries in
+     * @return the scope, closing it cancels the queries that have not started yet
+     */
+    public Scope open() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        // Applied as the query timeout of the statements, so a running query also stops at the deadline
+        transactionTemplate.setTimeout((int) Math.max(1, timeout.toSeconds()));
+        return new Scope(transactionTemplate, System.nanoTime() + timeout.toNanos());
+    }
+
+    /**
+     * Forked queries of one service call, joined together
+     * The first failure or the deadline cancels the queries that have not started yet.
+     */
+    public class Scope implements AutoCloseable {
+        
+        private final TransactionTemplate transactionTemplate;
+        private final long deadline;
+        private final List<CompletableFuture<?>> subtasks = new ArrayList<>();
+        private final CompletableFuture<Void> firstFailure = new CompletableFuture<>();
+        
+        private Scope(TransactionTemplate transactionTemplate, long deadline) {
+            this.transactionTemplate = transactionTemplate;
+            this.deadline = deadline;
+        }
+        
+        /**
+         * Start a query on the fan-out executor
+         * @param query the query, runs in a read-only transaction and must map entities before returning
+         * @return the result, available after join()
+         * @throws org.springframework.core.task.TaskRejectedException if the fan-out executor queue is full
+         */
+        public <T> Supplier<T> fork(Supplier<T> query) {
+            CompletableFuture<T> subtask = new CompletableFuture<>();
+            subtask.whenComplete((result, ex) -> {
+                if (ex != null) {
+                    firstFailure.completeExceptionally(ex);
+                }
+            });
+            subtasks.add(subtask);
+            
+            readOnlyFanOutExecutor.execute(() -> {
+                if (subtask.isDone()) {
+                    return;
+                }
+                try {
+                    subtask.complete(transactionTemplate.execute(status -> query.get()));
+                } catch (Throwable ex) {
+                    subtask.completeExceptionally(ex);
+                }
+            });
+            return subtask::join;
+        }
+        
+        /**
+         * Wait until all forked queries succeeded, one failed or the deadline passed
+         * @throws RuntimeException the exception of the first failed query
+         * @throws QueryTimeoutException if the queries did not finish before app.fan-out.timeout
+         */
+        public void join() {
+            CompletableFuture<Void> all = CompletableFuture.allOf(subtasks.toArray(CompletableFuture[]::new));
+            try {
+                CompletableFuture.anyOf(all, firstFailure).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (ExecutionException ex) {
+                cancel();
+                Throwable cause = ex.getCause();
+                if (cause instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                if (cause instanceof Error error) {
+                    throw error;
+                }
+                throw new IllegalStateException(cause);
+            } catch (TimeoutException ex) {
+                cancel();
+                log.warn("Forked queries did not finish within {}", timeout);
+                throw new QueryTimeoutException("Queries did not finish within " + timeout);
+            } catch (InterruptedException ex) {
+                cancel();
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for forked queries", ex);
+            }
+        }
+        
+        @Override
+        public void close() {
+            cancel();
+        }
+        
+        private void cancel() {
+            // Running queries are not interrupted, which could break their connection, the query timeout stops them
+            subtasks.forEach(subtask -> subtask.cancel(false));
+        }
+    }
+}
@@ -1,46 +1,84 @@
 package com.duyphong.duyphong_app.service;
 
+import com.duyphong.duyphong_app.config.MetricsConfig;
+import com.duyphong.duyphong_app.dto.projection.TaskRow;
 import com.duyphong.duyphong_app.dto.request.CreateTaskRequest;
+import com.duyphong.duyphong_app.dto.response.TaskListResponse;
 import com.duyphong.duyphong_app.dto.response.TaskResponse;
+import com.duyphong.duyphong_app.entity.EmployeeEntity;
 import com.duyphong.duyphong_app.entity.TaskEntity;
 import com.duyphong.duyphong_app.enumeration.TaskStatus;
 import com.duyphong.duyphong_app.mapper.TaskMapper;
+import com.duyphong.duyphong_app.repository.EmployeeRepository;
 import com.duyphong.duyphong_app.repository.TaskRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * Service layer for Task operations
  * Contains business logic for task management
  */
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
 @Slf4j
 @Transactional(readOnly = true)
 public class TaskService {
 
+    /**
+     * Default number of tasks per page
+     */
+    public static final int DEFAULT_PAGE_SIZE = 100;
+
+    /**
+     * Maximum number of tasks per page
+     */
+    public static final int MAX_PAGE_SIZE = 1000;
+
     private final TaskRepository taskRepository;
+    private final EmployeeRepository employeeRepository;
     private final TaskMapper taskMapper;
+    private final DepartmentStatisticsStore departmentStatisticsStore;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskWriteBehindBuffer taskWriteBehindBuffer;
 
     /**
      * Create a new task
+     * With write-behind enabled the task is queued and inserted in a JDBC batch with other queued tasks,
+     * this method returns once that batch has committed. Otherwise the task is inserted in its own transaction.
      * @param request the task creation request
      * @return the created task as response DTO
+     * @throws org.springframework.core.task.TaskRejectedException if the write-behind queue is full
      */
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public TaskResponse createTask(CreateTaskRequest request) {
         log.info("Creating new task: {} for employee: {}", request.getTaskName(), request.getEmployeeId());
         
         // Convert request to entity
         TaskEntity taskEntity = taskMapper.toEntity(request);
         
-        // Save the entity
-        TaskEntity savedTask = taskRepository.save(taskEntity);
+        // Save the entity, no transaction is held while waiting for a write-behind flush
+        TaskEntity savedTask = taskWriteBehindBuffer.isEnabled()
+                ? taskWriteBehindBuffer.write(taskEntity)
+                : transactionTemplate.execute(status -> saveTask(taskEntity));
         
         log.info("Task created successfully with ID: {}", savedTask.getId());
         
@@ -49,28 +87,120 @@ public class TaskService {
     }
 
     /**
-     * Get tasks with optional filtering by employee_id, status, and due_date
+     * Insert a task and count it for the department of its employee
+     * The employee is loaded with their department and set on the task, so the response carries its summary.
+     * A department move of the employee that commits concurrently may count the task in the old department,
+     * the periodic reconcile of the statistics repairs this
+     * @param taskEntity the task to insert
+     * @return the saved task
+     */
+    private TaskEntity saveTask(TaskEntity taskEntity) {
+        EmployeeEntity employee = employeeRepository.findByIdWithDepartment(taskEntity.getEmployeeId()).orElse(null);
+        taskEntity.setEmployee(employee);
+        TaskEntity savedTask = taskRepository.save(taskEntity);
+        departmentStatisticsStore.taskCreated(
+                employee != null && employee.getDepartment() != null ? employee.getDepartment().getId() : null,
+                savedTask.getStatus());
+        return savedTask;
+    }
+
+    /**
+     * Get one page of tasks with optional filtering by employee_id, status, and due_date
+     * Uses keyset pagination on the task ID so every page costs the same regardless of its position
      * @param employeeId the employee ID to filter by (optional)
      * @param status the task status to filter by (optional)
      * @param dueDate the due date to filter by (optional)
-     * @return List of tasks matching the criteria
+     * @param afterId the ID of the last task of the previous page (optional, null for the first page)
+     * @param limit the page size, capped at MAX_PAGE_SIZE
+     * @param referenceEmployees whether tasks only carry their employee ID and each employee summary is sent once
+     * in employees, otherwise every task carries its employee summary and employees is null
+     * @return the tasks matching the criteria ordered by ID, the next cursor is set when another page exists
      * @throws IllegalArgumentException if all filter parameters are null
      */
-    public List<TaskResponse> getTasksWithFilters(String employeeId, TaskStatus status, LocalDate dueDate) {
-        log.info("Retrieving tasks with filters - employeeId: {}, status: {}, dueDate: {}", 
+    public TaskListResponse getTasksWithFilters(String employeeId, TaskStatus status, LocalDate dueDate,
+                                                Integer afterId, int limit, boolean referenceEmployees) {
+        log.info("Retrieving tasks with filters - employeeId: {}, status: {}, dueDate: {}, afterId: {}, limit: {}", 
+                 employeeId, status, dueDate, afterId, limit);
+        
+        validateFilters(employeeId, status, dueDate);
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        
+        // Fetch one extra row to find out whether there is a next page
+        List<TaskRow> tasks = taskRepository.findTasksWithFilters(employeeId, status, dueDate, afterId, pageSize + 1);
+        boolean hasNext = tasks.size() > pageSize;
+        if (hasNext) {
+            tasks = tasks.subList(0, pageSize);
+        }
+        
+        log.info("Found {} tasks matching the criteria, more available: {}", tasks.size(), hasNext);
+        
+        TaskListResponse response = referenceEmployees
+                ? taskMapper.toListResponse(tasks)
+                : TaskListResponse.builder().tasks(taskMapper.toResponseList(tasks)).build();
+        if (hasNext) {
+            response.setNextCursor(tasks.get(tasks.size() - 1).getId());
+        }
+        return response;
+    }
+
+    /**
+     * Stream all tasks with optional filtering by employee_id, status, and due_date as NDJSON
+     * Task projections are read through a forward-only cursor and written one JSON object per line,
+     * no entity is tracked and employee summaries are only shared within one fetch,
+     * so memory stays flat regardless of result size
+     * @param employeeId the employee ID to filter by (optional)
+     * @param status the task status to filter by (optional)
+     * @param dueDate the due date to filter by (optional)
+     * @param outputStream the stream the NDJSON lines are written to
+     * @return the number of tasks written
+     * @throws IllegalArgumentException if all filter parameters are null
+     * @throws IOException if writing to the output stream fails
+     */
+    public long streamTasksWithFilters(String employeeId, TaskStatus status, LocalDate dueDate,
+                                       OutputStream outputStream) throws IOException {
+        log.info("Streaming tasks with filters - employeeId: {}, status: {}, dueDate: {}", 
                  employeeId, status, dueDate);
         
-        // Validation: At least one filter parameter must be provided
+        validateFilters(employeeId, status, dueDate);
+        
+        long count = 0;
+        Map<String, TaskResponse.EmployeeInfo> employeeCache = new HashMap<>();
+        try (Stream<TaskRow> tasks = taskRepository.streamTasksWithFilters(employeeId, status, dueDate);
+             SequenceWriter writer = objectMapper.writer()
+                     .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                     .withRootValueSeparator("\n")
+                     .writeValues(outputStream)) {
+            Iterator<TaskRow> iterator = tasks.iterator();
+            while (iterator.hasNext()) {
+                writer.write(taskMapper.toResponse(iterator.next(), employeeCache));
+                if (++count % TaskRepository.STREAM_FETCH_SIZE == 0) {
+                    writer.flush();
+                    employeeCache.clear();
+                }
+            }
+            // Terminate the last line as well, an empty result stays an empty body
+            if (count > 0) {
+                writer.flush();
+                outputStream.write('\n');
+            }
+        }
+        
+        log.info("Streamed {} tasks matching the criteria", count);
+        return count;
+    }
+
+    /**
+     * Validation: At least one filter parameter must be provided
+     * @param employeeId the employee ID filter
+     * @param status the task status filter
+     * @param dueDate the due date filter
+     * @throws IllegalArgumentException if all filter parameters are null
+     */
+    private void validateFilters(String employeeId, TaskStatus status, LocalDate dueDate) {
         if (employeeId == null && status == null && dueDate == null) {
             log.warn("No filter parameters provided - this could return too many results");
             throw new IllegalArgumentException("At least one filter parameter (employee_id, status, or due_date) must be provided");
         }
-        
-        List<TaskEntity> tasks = taskRepository.findTasksWithFilters(employeeId, status, dueDate);
-        
-        log.info("Found {} tasks matching the criteria", tasks.size());
-        
-        return taskMapper.toResponseList(tasks);
     }
 
 }
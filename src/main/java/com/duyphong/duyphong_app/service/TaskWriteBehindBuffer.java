@@ -0,0 +1,312 @@
+package com.duyphong.duyphong_app.service;
+
+import com.duyphong.duyphong_app.entity.EmployeeEntity;
+import com.duyphong.duyphong_app.entity.TaskEntity;
+import com.duyphong.duyphong_app.repository.EmployeeRepository;
+import com.duyphong.duyphong_app.repository.TaskJdbcRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * Write-behind buffer for task creation, enabled with app.task-write-behind.enabled
+ * Created tasks are queued and a single flusher thread inserts everything queued so far as one JDBC batch
+ * in one transaction, so a burst of creations costs a few batched INSERTs and commits instead of one each.
+ * A creation is only acknowledged once the batch holding it has committed, nothing acknowledged can be lost.
+ * Creations are rejected when app.task-write-behind.queue-capacity tasks are already waiting, when they are still
+ * queued after app.task-write-behind.ack-timeout, or when the flusher thread has died. A creation whose task has
+ * already been taken into a batch waits for that batch instead, so it never answers without knowing the outcome.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TaskWriteBehindBuffer {
+
+    /**
+     * Gauge of the number of queued tasks
+     */
+    public static final String QUEUE_SIZE_METRIC = "app.task.write-behind.queue.size";
+
+    /**
+     * Timer of every batch flush, from the first INSERT to the commit
+     */
+    public static final String FLUSH_TIMER = "app.task.write-behind.flush";
+
+    /**
+     * Timer from queueing a task to its acknowledgement
+     */
+    public static final String ACK_TIMER = "app.task.write-behind.ack";
+
+    /**
+     * Distribution of the number of tasks per flushed batch
+     */
+    public static final String BATCH_SIZE_METRIC = "app.task.write-behind.batch.size";
+
+    /**
+     * Counter of tasks rejected because the queue was full or the buffer was stopping
+     */
+    public static final String REJECTED_METRIC = "app.task.write-behind.rejected";
+
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(100);
+    private static final Duration STOP_TIMEOUT = Duration.ofSeconds(30);
+
+    private final TaskJdbcRepository taskJdbcRepository;
+    private final EmployeeRepository employeeRepository;
+    private final DepartmentStatisticsStore departmentStatisticsStore;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Whether task creations go through the buffer
+     */
+    @Getter
+    @Value("${app.task-write-behind.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.task-write-behind.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${app.task-write-behind.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.task-write-behind.ack-timeout:PT10S}")
+    private Duration ackTimeout;
+
+    private BlockingQueue<PendingTask> queue;
+    private TransactionTemplate transactionTemplate;
+    private Thread flusher;
+    private Timer flushTimer;
+    private Timer ackTimer;
+    private DistributionSummary batchSizes;
+    private Counter rejected;
+
+    private volatile boolean running;
+
+    /**
+     * Start the flusher thread if the buffer is enabled
+     * Runs before the web server starts accepting requests
+     */
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        if (queueCapacity < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("Task write-behind queue capacity and batch size must be at least 1");
+        }
+        
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        Gauge.builder(QUEUE_SIZE_METRIC, queue, BlockingQueue::size)
+                .description("Tasks waiting to be flushed")
+                .register(meterRegistry);
+        flushTimer = Timer.builder(FLUSH_TIMER).description("Task batch flushes").register(meterRegistry);
+        ackTimer = Timer.builder(ACK_TIMER).description("Time from queueing a task to its commit").register(meterRegistry);
+        batchSizes = DistributionSummary.builder(BATCH_SIZE_METRIC).description("Tasks per flushed batch").register(meterRegistry);
+        rejected = Counter.builder(REJECTED_METRIC).description("Task creations rejected by a full queue").register(meterRegistry);
+        
+        running = true;
+        flusher = new Thread(this::flushLoop, "task-write-behind");
+        flusher.setUncaughtExceptionHandler((thread, e) -> {
+            // Nothing would take tasks from the queue any more, so stop accepting them and reject the waiting ones
+            running = false;
+            int rejectedTasks = rejectQueued(new TaskRejectedException("Task write-behind flusher stopped", e));
+            log.error("Task write-behind flusher died, {} queued tasks rejected", rejectedTasks, e);
+        });
+        flusher.start();
+        log.info("Task write-behind enabled with queue capacity {} and batch size {}", queueCapacity, batchSize);
+    }
+
+    /**
+     * Stop accepting tasks, flush everything queued and stop the flusher thread
+     * Runs after the web server has stopped, so no request is left waiting for an acknowledgement
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (flusher == null) {
+            return;
+        }
+        running = false;
+        flusher.join(STOP_TIMEOUT.toMillis());
+        
+        // Tasks queued after the flusher exited, or left behind by a flusher that did not finish in time
+        int rejectedTasks = rejectQueued(new TaskRejectedException("Task write-behind buffer stopped before the task was written"));
+        log.info("Task write-behind stopped, {} queued tasks rejected", rejectedTasks);
+    }
+
+    /**
+     * Queue a task and wait until the batch holding it has committed
+     * @param task the task to insert, its ID and timestamps are set once it is written
+     * @return the written task
+     * @throws TaskRejectedException if the queue is full, the buffer is stopping or the task was still queued after
+     * the acknowledgement timeout
+     * @throws org.springframework.dao.DataAccessException if the task could not be inserted
+     */
+    public TaskEntity write(TaskEntity task) {
+        PendingTask pending = new PendingTask(task, System.nanoTime());
+        if (!running || !queue.offer(pending)) {
+            rejected.increment();
+            throw new TaskRejectedException("Task write-behind queue is full");
+        }
+        
+        try {
+            try {
+                return pending.result.get(ackTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // Removing the task from the queue and the flusher draining it exclude each other: a task still
+                // queued is never written, one already taken into a batch is answered with the batch outcome
+                if (queue.remove(pending)) {
+                    rejected.increment();
+                    throw new TaskRejectedException("Task was not written within " + ackTimeout);
+                }
+                return pending.result.get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new TaskRejectedException("Task write-behind flusher failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            boolean dequeued = queue.remove(pending);
+            throw new TaskRejectedException("Interrupted while waiting for the task to be written"
+                    + (dequeued ? "" : ", it may still be written"));
+        } finally {
+            ackTimer.record(System.nanoTime() - pending.queuedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Take everything queued, up to the batch size, and flush it until the buffer is stopped and the queue is empty
+     */
+    private void flushLoop() {
+        List<PendingTask> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingTask first = queue.poll(POLL_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException | Error e) {
+                log.error("Unexpected error flushing {} queued tasks", batch.size(), e);
+                batch.forEach(pending -> pending.result.completeExceptionally(e));
+                if (e instanceof Error) {
+                    // Ends the flusher thread, its uncaught exception handler rejects the queued tasks
+                    throw e;
+                }
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Insert a batch in one transaction and acknowledge its tasks after the commit
+     * If the batch violates a constraint, every task is inserted again in its own transaction, so one invalid task
+     * (e.g. of a non-existent employee) only fails its own creation. Any other failure, e.g. a lost connection,
+     * fails the whole batch rather than retrying it task by task against a database that is not there.
+     */
+    private void flush(List<PendingTask> batch) {
+        List<TaskEntity> tasks = batch.stream().map(pending -> pending.task).collect(Collectors.toList());
+        long started = System.nanoTime();
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(tasks));
+            batch.forEach(pending -> pending.result.complete(pending.task));
+        } catch (RuntimeException e) {
+            if (batch.size() == 1 || !(e instanceof DataIntegrityViolationException)) {
+                batch.forEach(pending -> pending.result.completeExceptionally(e));
+            } else {
+                log.warn("Flushing {} queued tasks failed, inserting them one by one: {}", batch.size(), e.getMessage());
+                for (PendingTask pending : batch) {
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> insert(List.of(pending.task)));
+                        pending.result.complete(pending.task);
+                    } catch (RuntimeException taskException) {
+                        pending.result.completeExceptionally(taskException);
+                    }
+                }
+            }
+        } finally {
+            flushTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            batchSizes.record(batch.size());
+        }
+    }
+
+    /**
+     * Reject every queued task
+     * @return the number of rejected tasks
+     */
+    private int rejectQueued(TaskRejectedException e) {
+        List<PendingTask> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        remaining.forEach(pending -> pending.result.completeExceptionally(e));
+        return remaining.size();
+    }
+
+    private void insert(List<TaskEntity> tasks) {
+        Instant now = Instant.now();
+        tasks.forEach(task -> {
+            task.setCreatedAt(now);
+            task.setUpdatedAt(now);
+        });
+        // The employees are set on the tasks, so the acknowledged responses carry their summaries
+        Map<String, EmployeeEntity> employees = new HashMap<>();
+        employeeRepository.findAllByIdWithDepartment(tasks.stream().map(TaskEntity::getEmployeeId).collect(Collectors.toSet()))
+                .forEach(employee -> employees.put(employee.getId(), employee));
+        tasks.forEach(task -> task.setEmployee(employees.get(task.getEmployeeId())));
+        taskJdbcRepository.batchInsert(tasks);
+        tasks.forEach(task -> departmentStatisticsStore.taskCreated(
+                task.getEmployee() != null && task.getEmployee().getDepartment() != null
+                        ? task.getEmployee().getDepartment().getId()
+                        : null,
+                task.getStatus()));
+    }
+
+    /**
+     * A queued task and the future completed when it has been written
+     */
+    private static final class PendingTask {
+        
+        private final TaskEntity task;
+        private final long queuedAt;
+        private final CompletableFuture<TaskEntity> result = new CompletableFuture<>();
+        
+        private PendingTask(TaskEntity task, long queuedAt) {
+            this.task = task;
+            this.queuedAt = queuedAt;
+        }
+    }
+}
@@ -1,31 +1,23 @@
 package com.duyphong.duyphong_app.validation;
 
+import com.duyphong.duyphong_app.enumeration.EnumCodec;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
 
-import java.util.Arrays;
-import java.util.Set;
-import java.util.stream.Collectors;
-
 /**
  * Validator for enum values with case-insensitive matching
  * Works with both String and Enum types
  */
 public class ValidEnumValidator implements ConstraintValidator<ValidEnum, Object> {
 
-    private Class<? extends Enum<?>> enumClass;
+    private EnumCodec<?> codec;
     private boolean ignoreCase;
-    private Set<String> validValues;
 
     @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
     public void initialize(ValidEnum constraintAnnotation) {
-        this.enumClass = constraintAnnotation.enumClass();
+        this.codec = EnumCodec.of((Class) constraintAnnotation.enumClass());
         this.ignoreCase = constraintAnnotation.ignoreCase();
-        
-        // Get all enum constants as strings
-        this.validValues = Arrays.stream(enumClass.getEnumConstants())
-                .map(Enum::name)
-                .collect(Collectors.toSet());
     }
 
     @Override
@@ -33,7 +25,11 @@ public class ValidEnumValidator implements ConstraintValidator<ValidEnum, Object
         if (value == null) {
             return true; // Let @NotNull handle null validation
         }
-
+        
+        if (codec.getEnumClass().isInstance(value)) {
+            return true;
+        }
+        
         String stringValue;
         if (value instanceof Enum<?>) {
             stringValue = ((Enum<?>) value).name();
@@ -42,24 +38,17 @@ public class ValidEnumValidator implements ConstraintValidator<ValidEnum, Object
         } else {
             return false; // Invalid type
         }
-
-        boolean isValid;
-        if (ignoreCase) {
-            isValid = validValues.stream()
-                    .anyMatch(validValue -> validValue.equalsIgnoreCase(stringValue));
-        } else {
-            isValid = validValues.contains(stringValue);
-        }
-
+        
+        boolean isValid = ignoreCase ? codec.parse(stringValue) != null : codec.parseExact(stringValue) != null;
+        
         if (!isValid) {
             // Customize error message to include valid values
             context.disableDefaultConstraintViolation();
-            String validValuesString = String.join(", ", validValues);
-            String message = String.format("Invalid value '%s'. Must be one of: [%s]", stringValue, validValuesString);
+            String message = String.format("Invalid value '%s'. Must be one of: [%s]", stringValue, codec.getAllowedValues());
             context.buildConstraintViolationWithTemplate(message)
                     .addConstraintViolation();
         }
-
+        
         return isValid;
     }
-}
\ No newline at end of file
+}
@@ -27,26 +27,26 @@ INSERT INTO departments VALUES
 
 -- Insert employees (sample data - first 20 employees)
 INSERT INTO employees VALUES 
-('emp-001','j.doe','john.doe@example.com','Nguyen Duy Phong','dept-005','Software Developer',26000000,'2023-01-15 09:00:00','2025-09-16 15:17:38'),
-('emp-002','a.smith','jane.smith@example.com','Jane Smith','dept-002','Marketing Specialist',65000,'2023-02-20 10:30:00','2023-02-20 10:30:00'),
-('emp-003','m.garcia','mike.garcia@example.com','Mike Garcia','dept-005','Software Engineer',95000,'2023-03-10 11:45:00','2023-03-10 11:45:00'),
-('emp-004','e.jones','emily.jones@example.com','Emily Jones','dept-004','Financial Analyst',70000,'2023-04-05 14:00:00','2023-04-05 14:00:00'),
-('emp-005','b.williams','bryan.williams@example.com','Bryan Williams','dept-003','HR Generalist',60000,'2023-05-01 09:30:00','2023-05-01 09:30:00'),
-('emp-006','s.brown','sara.brown@example.com','Sara Brown','dept-005','Data Scientist',110000,'2023-05-15 13:00:00','2023-05-15 13:00:00'),
-('emp-007','j.miller','jack.miller@example.com','Jack Miller','dept-006','Research Scientist',120000,'2023-06-25 15:00:00','2023-06-25 15:00:00'),
-('emp-008','l.wilson','linda.wilson@example.com','Linda Wilson','dept-007','Customer Support Agent',55000,'2023-07-01 08:45:00','2023-07-01 08:45:00'),
-('emp-009','c.moore','chris.moore@example.com','Chris Moore','dept-008','Network Administrator',85000,'2023-07-10 10:15:00','2023-07-10 10:15:00'),
-('emp-010','n.taylor','nancy.taylor@example.com','Nancy Taylor','dept-009','Legal Counsel',130000,'2023-08-01 11:00:00','2023-08-01 11:00:00'),
-('emp-011','d.anderson','david.anderson@example.com','David Anderson','dept-010','Product Manager',105000,'2023-08-20 14:30:00','2023-08-20 14:30:00'),
-('emp-012','p.thomas','patricia.thomas@example.com','Patricia Thomas','dept-011','Operations Manager',90000,'2023-09-01 09:00:00','2023-09-01 09:00:00'),
-('emp-013','r.jackson','robert.jackson@example.com','Robert Jackson','dept-012','PR Coordinator',68000,'2023-09-15 10:45:00','2023-09-15 10:45:00'),
-('emp-014','m.white','mary.white@example.com','Mary White','dept-013','Logistics Coordinator',58000,'2023-10-01 11:30:00','2023-10-01 11:30:00'),
-('emp-015','j.harris','james.harris@example.com','James Harris','dept-014','QA Engineer',75000,'2023-10-10 15:00:00','2023-10-10 15:00:00'),
-('emp-016','a.clark','anna.clark@example.com','Anna Clark','dept-015','Training Specialist',62000,'2023-10-25 09:00:00','2023-10-25 09:00:00'),
-('emp-017','l.lewis','lisa.lewis@example.com','Lisa Lewis','dept-016','Strategic Planner',115000,'2023-11-01 10:00:00','2023-11-01 10:00:00'),
-('emp-018','p.walker','paul.walker@example.com','Paul Walker','dept-017','Business Development Manager',100000,'2023-11-15 13:00:00','2023-11-15 13:00:00'),
-('emp-019','e.hall','elizabeth.hall@example.com','Elizabeth Hall','dept-018','UX/UI Designer',88000,'2023-12-01 14:30:00','2023-12-01 14:30:00'),
-('emp-020','j.allen','joseph.allen@example.com','Joseph Allen','dept-019','Data Analyst',72000,'2023-12-10 16:00:00','2023-12-10 16:00:00');
+('emp-001','j.doe','john.doe@example.com','Nguyen Duy Phong','dept-005','Software Developer',26000000,'2023-01-15 09:00:00','2025-09-16 15:17:38',0),
+('emp-002','a.smith','jane.smith@example.com','Jane Smith','dept-002','Marketing Specialist',65000,'2023-02-20 10:30:00','2023-02-20 10:30:00',0),
+('emp-003','m.garcia','mike.garcia@example.com','Mike Garcia','dept-005','Software Engineer',95000,'2023-03-10 11:45:00','2023-03-10 11:45:00',0),
+('emp-004','e.jones','emily.jones@example.com','Emily Jones','dept-004','Financial Analyst',70000,'2023-04-05 14:00:00','2023-04-05 14:00:00',0),
+('emp-005','b.williams','bryan.williams@example.com','Bryan Williams','dept-003','HR Generalist',60000,'2023-05-01 09:30:00','2023-05-01 09:30:00',0),
+('emp-006','s.brown','sara.brown@example.com','Sara Brown','dept-005','Data Scientist',110000,'2023-05-15 13:00:00','2023-05-15 13:00:00',0),
+('emp-007','j.miller','jack.miller@example.com','Jack Miller','dept-006','Research Scientist',120000,'2023-06-25 15:00:00','2023-06-25 15:00:00',0),
+('emp-008','l.wilson','linda.wilson@example.com','Linda Wilson','dept-007','Customer Support Agent',55000,'2023-07-01 08:45:00','2023-07-01 08:45:00',0),
+('emp-009','c.moore','chris.moore@example.com','Chris Moore','dept-008','Network Administrator',85000,'2023-07-10 10:15:00','2023-07-10 10:15:00',0),
+('emp-010','n.taylor','nancy.taylor@example.com','Nancy Taylor','dept-009','Legal Counsel',130000,'2023-08-01 11:00:00','2023-08-01 11:00:00',0),
+('emp-011','d.anderson','david.anderson@example.com','David Anderson','dept-010','Product Manager',105000,'2023-08-20 14:30:00','2023-08-20 14:30:00',0),
+('emp-012','p.thomas','patricia.thomas@example.com','Patricia Thomas','dept-011','Operations Manager',90000,'2023-09-01 09:00:00','2023-09-01 09:00:00',0),
+('emp-013','r.jackson','robert.jackson@example.com','Robert Jackson','dept-012','PR Coordinator',68000,'2023-09-15 10:45:00','2023-09-15 10:45:00',0),
+('emp-014','m.white','mary.white@example.com','Mary White','dept-013','Logistics Coordinator',58000,'2023-10-01 11:30:00','2023-10-01 11:30:00',0),
+('emp-015','j.harris','james.harris@example.com','James Harris','dept-014','QA Engineer',75000,'2023-10-10 15:00:00','2023-10-10 15:00:00',0),
+('emp-016','a.clark','anna.clark@example.com','Anna Clark','dept-015','Training Specialist',62000,'2023-10-25 09:00:00','2023-10-25 09:00:00',0),
+('emp-017','l.lewis','lisa.lewis@example.com','Lisa Lewis','dept-016','Strategic Planner',115000,'2023-11-01 10:00:00','2023-11-01 10:00:00',0),
+('emp-018','p.walker','paul.walker@example.com','Paul Walker','dept-017','Business Development Manager',100000,'2023-11-15 13:00:00','2023-11-15 13:00:00',0),
+('emp-019','e.hall','elizabeth.hall@example.com','Elizabeth Hall','dept-018','UX/UI Designer',88000,'2023-12-01 14:30:00','2023-12-01 14:30:00',0),
+('emp-020','j.allen','joseph.allen@example.com','Joseph Allen','dept-019','Data Analyst',72000,'2023-12-10 16:00:00','2023-12-10 16:00:00',0);
 
 -- Insert department history (sample data - first 20 records)
 INSERT INTO department_history VALUES 
@@ -97,23 +97,28 @@ INSERT INTO tasks VALUES
 
 -- Insert lunch logs (sample data - first 20 records)
 INSERT INTO lunch_logs VALUES 
-(1,'emp-001','2023-01-16','Lunch','The Burger Joint','Team lunch with sales department.'),
-(2,'emp-002','2023-02-21','Lunch','Pasta Paradise','Lunch with new marketing hires.'),
-(3,'emp-003','2023-03-11','Lunch','Taco Fiesta','Lunch with the dev team.'),
-(4,'emp-004','2023-04-06','Lunch','Healthy Bowl','Grabbed a quick salad.'),
-(5,'emp-005','2023-05-02','Lunch','BBQ Pit','Celebratory lunch for new project start.'),
-(6,'emp-006','2023-05-16','Lunch','Sushi Express','Quick sushi lunch.'),
-(7,'emp-007','2023-06-26','Lunch','Pizza Palace','Lunch with the research team.'),
-(8,'emp-008','2023-07-02','Lunch','Subway','Grab and go lunch.'),
-(9,'emp-009','2023-07-11','Lunch','Noodle House','Lunch with IT team.'),
-(10,'emp-010','2023-08-02','Lunch','Steakhouse','Lunch with legal team.'),
-(11,'emp-011','2023-08-21','Lunch','Coffee Shop','Quick sandwich lunch.'),
-(12,'emp-012','2023-09-02','Lunch','Deli','Lunch at the office.'),
-(13,'emp-013','2023-09-16','Lunch','Chinese Buffet','Lunch with PR team.'),
-(14,'emp-014','2023-10-02','Lunch','Mexican Grill','Lunch with logistics team.'),
-(15,'emp-015','2023-10-11','Lunch','Sushi Bar','Lunch with QA team.'),
-(16,'emp-016','2023-10-26','Lunch','Indian Cuisine','Lunch with training team.'),
-(17,'emp-017','2023-11-02','Lunch','Thai Restaurant','Lunch with strategy team.'),
-(18,'emp-018','2023-11-16','Lunch','Italian Cafe','Lunch with new business development team.'),
-(19,'emp-019','2023-12-02','Lunch','Sandwich Shop','Grabbed a quick sandwich.'),
-(20,'emp-020','2023-12-11','Lunch','Korean BBQ','Lunch with data analytics team.');
\ No newline at end of file
+(1,'emp-001','2023-01-16','LUNCH','The Burger Joint','Team lunch with sales department.'),
+(2,'emp-002','2023-02-21','LUNCH','Pasta Paradise','Lunch with new marketing hires.'),
+(3,'emp-003','2023-03-11','LUNCH','Taco Fiesta','Lunch with the dev team.'),
+(4,'emp-004','2023-04-06','LUNCH','Healthy Bowl','Grabbed a quick salad.'),
+(5,'emp-005','2023-05-02','LUNCH','BBQ Pit','Celebratory lunch for new project start.'),
+(6,'emp-006','2023-05-16','LUNCH','Sushi Express','Quick sushi lunch.'),
+(7,'emp-007','2023-06-26','LUNCH','Pizza Palace','Lunch with the research team.'),
+(8,'emp-008','2023-07-02','LUNCH','Subway','Grab and go lunch.'),
+(9,'emp-009','2023-07-11','LUNCH','Noodle House','Lunch with IT team.'),
+(10,'emp-010','2023-08-02','LUNCH','Steakhouse','Lunch with legal team.'),
+(11,'emp-011','2023-08-21','LUNCH','Coffee Shop','Quick sandwich lunch.'),
+(12,'emp-012','2023-09-02','LUNCH','Deli','Lunch at the office.'),
+(13,'emp-013','2023-09-16','LUNCH','Chinese Buffet','Lunch with PR team.'),
+(14,'emp-014','2023-10-02','LUNCH','Mexican Grill','Lunch with logistics team.'),
+(15,'emp-015','2023-10-11','LUNCH','Sushi Bar','Lunch with QA team.'),
+(16,'emp-016','2023-10-26','LUNCH','Indian Cuisine','Lunch with training team.'),
+(17,'emp-017','2023-11-02','LUNCH','Thai Restaurant','Lunch with strategy team.'),
+(18,'emp-018','2023-11-16','LUNCH','Italian Cafe','Lunch with new business development team.'),
+(19,'emp-019','2023-12-02','LUNCH','Sandwich Shop','Grabbed a quick sandwich.'),
+(20,'emp-020','2023-12-11','LUNCH','Korean BBQ','Lunch with data analytics team.');
+
+-- Continue identity columns after the explicit sample IDs
+ALTER TABLE department_history ALTER COLUMN id RESTART WITH 22;
+ALTER TABLE tasks ALTER COLUMN id RESTART WITH 21;
+ALTER TABLE lunch_logs ALTER COLUMN id RESTART WITH 21;
@@ -18,9 +18,19 @@ CREATE TABLE IF NOT EXISTS employees (
     salary INT,
     created_at TIMESTAMP NOT NULL,
     updated_at TIMESTAMP NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
     CONSTRAINT fk_employee_department FOREIGN KEY (department) REFERENCES departments(id)
 );
 
+-- Indexes for employee search, one per sort column (fullname, salary, created_at) with and without a department filter
+-- The ID is the keyset tie breaker, with it every page is read in index order and stops after the page size
+CREATE INDEX IF NOT EXISTS idx_employees_department_fullname ON employees (department, fullname, id);
+CREATE INDEX IF NOT EXISTS idx_employees_department_salary ON employees (department, salary, id);
+CREATE INDEX IF NOT EXISTS idx_employees_department_created_at ON employees (department, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_employees_fullname ON employees (fullname, id);
+CREATE INDEX IF NOT EXISTS idx_employees_salary ON employees (salary, id);
+CREATE INDEX IF NOT EXISTS idx_employees_created_at ON employees (created_at, id);
+
 -- Table structure for table `employee_department`
 CREATE TABLE IF NOT EXISTS employee_department (
     employee_id VARCHAR(255) NOT NULL,
@@ -41,6 +51,11 @@ CREATE TABLE IF NOT EXISTS department_history (
     CONSTRAINT fk_dept_hist_old_dept FOREIGN KEY (old_department_id) REFERENCES departments(id)
 );
 
+-- Indexes for department history: an employee's changes in date order, and everyone who ever joined a department
+-- by employee, which together let a department's roster at a past instant be rebuilt from the history alone
+CREATE INDEX IF NOT EXISTS idx_department_history_employee_change_date ON department_history (employee_id, change_date);
+CREATE INDEX IF NOT EXISTS idx_department_history_new_department_employee ON department_history (new_department_id, employee_id, change_date);
+
 -- Table structure for table `tasks`
 CREATE TABLE IF NOT EXISTS tasks (
     id INT NOT NULL AUTO_INCREMENT PRIMARY KEY,
@@ -54,6 +69,13 @@ CREATE TABLE IF NOT EXISTS tasks (
     CONSTRAINT fk_tasks_employee FOREIGN KEY (employee_id) REFERENCES employees(id) ON DELETE CASCADE
 );
 
+-- Indexes for task filtering (employee_id, status and due_date in any combination)
+CREATE INDEX IF NOT EXISTS idx_tasks_employee_status ON tasks (employee_id, status);
+CREATE INDEX IF NOT EXISTS idx_tasks_status_due_date ON tasks (status, due_date);
+-- Keyset pages of one status (status = ? AND id > ? ORDER BY id) are read in index order and stop after the page size
+CREATE INDEX IF NOT EXISTS idx_tasks_status_id ON tasks (status, id);
+CREATE INDEX IF NOT EXISTS idx_tasks_due_date ON tasks (due_date);
+
 -- Table structure for table `lunch_logs`
 CREATE TABLE IF NOT EXISTS lunch_logs (
     id INT NOT NULL AUTO_INCREMENT PRIMARY KEY,
@@ -63,4 +85,43 @@ CREATE TABLE IF NOT EXISTS lunch_logs (
     restaurant VARCHAR(255),
     notes TEXT,
     CONSTRAINT fk_lunch_employee FOREIGN KEY (employee_id) REFERENCES employees(id) ON DELETE CASCADE
-);
\ No newline at end of file
+);
+
+-- Indexes for lunch log queries and summaries by date range and by employee
+-- One lunch log per employee, date and meal type
+CREATE INDEX IF NOT EXISTS idx_lunch_logs_date_employee ON lunch_logs (lunch_date, employee_id);
+CREATE UNIQUE INDEX IF NOT EXISTS uk_lunch_logs_employee_date_meal ON lunch_logs (employee_id, lunch_date, meal_type);
+
+-- Table structure for table `lunch_log_import_jobs`
+CREATE TABLE IF NOT EXISTS lunch_log_import_jobs (
+    id VARCHAR(255) NOT NULL PRIMARY KEY,
+    format VARCHAR(20) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    run_id VARCHAR(36),
+    file_path VARCHAR(1024) NOT NULL,
+    estimated_rows BIGINT NOT NULL,
+    rows_processed BIGINT NOT NULL,
+    rows_imported BIGINT NOT NULL,
+    rows_skipped BIGINT NOT NULL DEFAULT 0,
+    rows_failed BIGINT NOT NULL,
+    errors TEXT,
+    errors_truncated BOOLEAN NOT NULL,
+    resumed_from_row BIGINT NOT NULL,
+    failure_reason VARCHAR(1000),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    started_at TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    finished_at TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_lunch_log_import_jobs_status ON lunch_log_import_jobs (status);
+
+-- Table structure for table `idempotency_keys`
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    idempotency_key VARCHAR(255) NOT NULL PRIMARY KEY,
+    request_hash VARCHAR(64) NOT NULL,
+    response_body TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_created_at ON idempotency_keys (created_at);
\ No newline at end of file
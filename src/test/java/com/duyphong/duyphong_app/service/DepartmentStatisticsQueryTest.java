@@ -0,0 +1,123 @@
+package com.duyphong.duyphong_app.service;
+
+import com.duyphong.duyphong_app.dto.response.DepartmentStatisticsResponse;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+/**
+ * Statement count of DepartmentService.getDepartmentStatistics against the dev H2 database
+ * The test department is inserted with JDBC after startup, so the materialized statistics do not know it
+ * and its statistics are aggregated from the database.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.jpa.show-sql=false", "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"})
+@ActiveProfiles("dev")
+class DepartmentStatisticsQueryTest {
+
+    private static final String DEPARTMENT_ID = "dept-statistics-test";
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        Timestamp now = Timestamp.from(Instant.now());
+        Timestamp longAgo = Timestamp.from(Instant.now().minus(400, ChronoUnit.DAYS));
+        jdbcTemplate.update("INSERT INTO departments (id, name) VALUES (?, ?)", DEPARTMENT_ID, "Statistics Test");
+        insertEmployee("emp-statistics-1", 1000, longAgo);
+        insertEmployee("emp-statistics-2", 3000, now);
+        insertEmployee("emp-statistics-3", null, now);
+        insertTask("emp-statistics-1", "TO_DO");
+        insertTask("emp-statistics-1", "TO_DO");
+        insertTask("emp-statistics-2", "COMPLETED");
+        
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM tasks WHERE employee_id LIKE 'emp-statistics-%'");
+        jdbcTemplate.update("DELETE FROM employees WHERE department = ?", DEPARTMENT_ID);
+        jdbcTemplate.update("DELETE FROM departments WHERE id = ?", DEPARTMENT_ID);
+    }
+
+    @Test
+    void aggregatesStatisticsInTwoStatements() {
+        DepartmentStatisticsResponse response = departmentService.getDepartmentStatistics(DEPARTMENT_ID);
+        
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(response.getDepartmentName()).isEqualTo("Statistics Test");
+        assertThat(response.getTotalEmployees()).isEqualTo(3);
+        assertThat(response.getAverageSalary()).isEqualTo(2000.0);
+        assertThat(response.getTaskCountsByStatus())
+                .containsEntry("TO_DO", 2)
+                .containsEntry("COMPLETED", 1)
+                .containsEntry("IN_PROGRESS", 0);
+        assertThat(response.getNewEmployees())
+                .extracting("id")
+                .containsExactlyInAnyOrder("emp-statistics-2", "emp-statistics-3");
+        assertThat(response.getNewEmployees())
+                .allSatisfy(employee -> assertThat(employee.getDepartment()).isEqualTo("Statistics Test"));
+    }
+
+    @Test
+    void aggregatesDepartmentWithoutEmployeesInTwoStatements() {
+        jdbcTemplate.update("INSERT INTO departments (id, name) VALUES (?, ?)", DEPARTMENT_ID + "-empty", "Empty");
+        try {
+            statistics.clear();
+            DepartmentStatisticsResponse response = departmentService.getDepartmentStatistics(DEPARTMENT_ID + "-empty");
+            
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+            assertThat(response.getTotalEmployees()).isZero();
+            assertThat(response.getTaskCountsByStatus())
+                    .containsOnly(entry("TO_DO", 0), entry("IN_PROGRESS", 0), entry("COMPLETED", 0));
+            assertThat(response.getNewEmployees()).isEmpty();
+        } finally {
+            jdbcTemplate.update("DELETE FROM departments WHERE id = ?", DEPARTMENT_ID + "-empty");
+        }
+    }
+
+    @Test
+    void materializedStatisticsOnlyQueryNewEmployees() {
+        DepartmentStatisticsResponse response = departmentService.getDepartmentStatistics("dept-005");
+        
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(response.getDepartmentName()).isEqualTo("Engineering");
+    }
+
+    private void insertEmployee(String id, Integer salary, Timestamp createdAt) {
+        jdbcTemplate.update("INSERT INTO employees (id, username, email, fullname, department, position, salary, " +
+                "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                id, id, id + "@example.com", "Employee " + id, DEPARTMENT_ID, "Tester", salary, createdAt, createdAt);
+    }
+
+    private void insertTask(String employeeId, String status) {
+        jdbcTemplate.update("INSERT INTO tasks (employee_id, task_name, description, due_date, status) VALUES (?, ?, ?, ?, ?)",
+                employeeId, "Statistics task", "Counted by the statistics test", null, status);
+    }
+}
@@ -0,0 +1,287 @@
+package com.duyphong.duyphong_app.service;
+
+import com.duyphong.duyphong_app.dto.projection.EmployeeSearchRow;
+import com.duyphong.duyphong_app.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Search results of EmployeeSearchIndex compared with a brute-force scan over all employees
+ * The scan normalizes and splits every column on its own and scores every query term against every term with a
+ * full edit distance table, so it shares nothing with the term dictionary and its trie walk. Employees are random
+ * Vietnamese names with diacritics, queries are terms of the data cut to prefixes or with one character inserted,
+ * deleted, replaced or swapped with its neighbour.
+ */
+class EmployeeSearchIndexTest {
+
+    private static final String[] FAMILY_NAMES = {"Nguyễn", "Trần", "Lê", "Phạm", "Hoàng", "Huỳnh", "Phan", "Vũ",
+            "Võ", "Đặng", "Bùi", "Đỗ", "Hồ", "Ngô", "Dương", "Lý"};
+    private static final String[] MIDDLE_NAMES = {"Văn", "Thị", "Hữu", "Đức", "Minh", "Ngọc", "Quang", "Thanh"};
+    private static final String[] GIVEN_NAMES = {"An", "Bình", "Cường", "Dũng", "Giang", "Hạnh", "Hương", "Khánh",
+            "Linh", "Long", "Mai", "Nam", "Phong", "Phương", "Quân", "Thảo", "Trang", "Tuấn", "Việt", "Xuân"};
+    private static final String[] POSITIONS = {"Software Engineer", "Senior Software Engineer", "Product Manager",
+            "QA Engineer", "Data Analyst", "DevOps Engineer", "Technical Lead", "Business Analyst"};
+    private static final String ALPHABET = "abcdefghijklmnopqrstuvwxyz0123456789";
+    private static final int EMPLOYEES = 500;
+    private static final int QUERIES = 200;
+
+    private final Random random = new Random(42);
+    private final EmployeeRepository employeeRepository = mock(EmployeeRepository.class);
+    private final EmployeeSearchIndex index =
+            new EmployeeSearchIndex(employeeRepository, mock(PlatformTransactionManager.class));
+
+    // The employees as they are in the database
+    private final Map<String, EmployeeSearchRow> employees = new LinkedHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < EMPLOYEES; i++) {
+            EmployeeSearchRow employee = randomEmployee(String.format("emp-%05d", i + 1));
+            employees.put(employee.getId(), employee);
+        }
+        when(employeeRepository.streamSearchRows()).thenAnswer(invocation -> new ArrayList<>(employees.values()).stream());
+        index.rebuild();
+    }
+
+    @Test
+    void matchesBruteForceScan() {
+        assertMatchesBruteForce();
+    }
+
+    @Test
+    void matchesAccentedQueriesWithoutAccents() {
+        assertThat(search("Nguyễn", 1000, false)).isEqualTo(search("nguyen", 1000, false)).isNotEmpty();
+        assertThat(search("đặng", 1000, false)).isEqualTo(search("DANG", 1000, false)).isNotEmpty();
+        assertMatchesBruteForce("Nguyễn", "đặng", "Đặng Thị", "hương", "huong", "cuờng", "Tuấn Việt");
+    }
+
+    @Test
+    void matchesTranspositionsOnlyWhenFuzzy() {
+        EmployeeSearchRow employee = employees.get("emp-00001");
+        String term = bruteForceTerms(employee).stream().filter(t -> t.length() >= EmployeeSearchSegment.FUZZY_MIN_LENGTH)
+                .findFirst().orElseThrow();
+        String transposed = term.substring(0, 1) + term.charAt(2) + term.charAt(1) + term.substring(3);
+        
+        assertThat(search(transposed, 1000, true)).contains(employee.getId());
+        assertMatchesBruteForce(transposed);
+    }
+
+    @Test
+    void overlayHidesChangedEmployeesAndRebuildUnhidesThem() {
+        // Changed after the build: hidden in the segment and found in the overlay with their new terms
+        List<String> ids = new ArrayList<>(employees.keySet());
+        for (int i = 0; i < 60; i++) {
+            change(ids.get(random.nextInt(ids.size())));
+        }
+        assertMatchesBruteForce();
+        
+        // The rebuild reads all changes, the new segment has nothing hidden and the overlay is empty
+        index.rebuild();
+        assertMatchesBruteForce();
+        
+        // Changed again after the rebuild, some back to terms they had before
+        EmployeeSearchRow original = employees.get(ids.get(0));
+        change(ids.get(0));
+        change(ids.get(1));
+        assertMatchesBruteForce();
+        employees.put(original.getId(), original);
+        index.employeeChanged(original);
+        assertMatchesBruteForce(bruteForceTerms(original).toArray(new String[0]));
+    }
+
+    @Test
+    void rebuildKeepsChangesCommittedWhileReading() {
+        String id = "emp-00007";
+        EmployeeSearchRow stale = employees.get(id);
+        EmployeeSearchRow changed = new EmployeeSearchRow(id, "zephyr", "zephyr@example.com", "Zephyr Quasar", "Pilot");
+        when(employeeRepository.streamSearchRows()).thenAnswer(invocation -> {
+            // Committed after the rebuild started, while the old row is being read
+            List<EmployeeSearchRow> rows = new ArrayList<>(employees.values());
+            employees.put(id, changed);
+            index.employeeChanged(changed);
+            return rows.stream();
+        });
+        
+        index.rebuild();
+        
+        assertThat(search("zephyr", 10, false)).containsExactly(id);
+        assertThat(search(bruteForceTerms(stale).get(0), 1000, false)).doesNotContain(id);
+        assertMatchesBruteForce("zephyr", "quasar", "pilot");
+    }
+
+    private void assertMatchesBruteForce(String... extraQueries) {
+        List<String> queries = new ArrayList<>(List.of(extraQueries));
+        List<String> allTerms = employees.values().stream()
+                .flatMap(employee -> bruteForceTerms(employee).stream())
+                .distinct()
+                .sorted()
+                .collect(Collectors.toList());
+        for (int i = 0; i < QUERIES; i++) {
+            String query = mutate(allTerms.get(random.nextInt(allTerms.size())));
+            if (random.nextInt(4) == 0) {
+                query += " " + mutate(allTerms.get(random.nextInt(allTerms.size())));
+            }
+            queries.add(query);
+        }
+        
+        for (String query : queries) {
+            for (boolean fuzzy : new boolean[]{false, true}) {
+                List<String> expected = bruteForceSearch(query, fuzzy);
+                for (int limit : new int[]{1, 10, EMPLOYEES}) {
+                    assertThat(search(query, limit, fuzzy))
+                            .as("query '%s', fuzzy %s, limit %d", query, fuzzy, limit)
+                            .isEqualTo(expected.subList(0, Math.min(limit, expected.size())));
+                }
+            }
+        }
+    }
+
+    private List<String> search(String query, int limit, boolean fuzzy) {
+        return index.search(query, limit, fuzzy);
+    }
+
+    /**
+     * @return the IDs of all matching employees, best first
+     */
+    private List<String> bruteForceSearch(String query, boolean fuzzy) {
+        Set<String> queryTerms = new LinkedHashSet<>(bruteForceSplit(query));
+        if (queryTerms.isEmpty()) {
+            return List.of();
+        }
+        
+        List<EmployeeSearchSegment.Hit> hits = new ArrayList<>();
+        for (EmployeeSearchRow employee : employees.values()) {
+            List<String> terms = bruteForceTerms(employee);
+            int score = 0;
+            for (String queryTerm : queryTerms) {
+                int best = 0;
+                for (String term : terms) {
+                    if (term.equals(queryTerm)) {
+                        best = Math.max(best, EmployeeSearchSegment.EXACT_SCORE);
+                    } else if (term.startsWith(queryTerm)) {
+                        best = Math.max(best, EmployeeSearchSegment.PREFIX_SCORE);
+                    } else if (fuzzy && queryTerm.length() >= EmployeeSearchSegment.FUZZY_MIN_LENGTH
+                            && Math.abs(term.length() - queryTerm.length()) <= 1 && editDistance(term, queryTerm) <= 1) {
+                        best = Math.max(best, EmployeeSearchSegment.FUZZY_SCORE);
+                    }
+                }
+                if (best == 0) {
+                    score = 0;
+                    break;
+                }
+                score += best;
+            }
+            if (score > 0) {
+                hits.add(new EmployeeSearchSegment.Hit(score, bruteForceNormalize(employee.getFullname()), employee.getId()));
+            }
+        }
+        return hits.stream()
+                .sorted(Comparator.comparingInt(EmployeeSearchSegment.Hit::getScore).reversed()
+                        .thenComparing(EmployeeSearchSegment.Hit::getName)
+                        .thenComparing(EmployeeSearchSegment.Hit::getId))
+                .map(EmployeeSearchSegment.Hit::getId)
+                .collect(Collectors.toList());
+    }
+
+    private static List<String> bruteForceTerms(EmployeeSearchRow employee) {
+        List<String> terms = new ArrayList<>();
+        for (String column : new String[]{employee.getFullname(), employee.getUsername(), employee.getEmail(),
+                employee.getPosition()}) {
+            terms.addAll(bruteForceSplit(column));
+        }
+        return terms;
+    }
+
+    private static List<String> bruteForceSplit(String text) {
+        List<String> terms = new ArrayList<>();
+        for (String term : bruteForceNormalize(text).split("[^\\p{L}\\p{N}]+")) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    private static String bruteForceNormalize(String text) {
+        String decomposed = Normalizer.normalize(text == null ? "" : text, Normalizer.Form.NFD);
+        return decomposed.replaceAll("\\p{M}", "").replace('đ', 'd').replace('Đ', 'D').toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Edit distance counting insertions, deletions, substitutions and transpositions of adjacent characters
+     */
+    private static int editDistance(String left, String right) {
+        int[][] distance = new int[left.length() + 1][right.length() + 1];
+        for (int i = 0; i <= left.length(); i++) {
+            for (int j = 0; j <= right.length(); j++) {
+                if (i == 0 || j == 0) {
+                    distance[i][j] = i + j;
+                    continue;
+                }
+                int cost = left.charAt(i - 1) == right.charAt(j - 1) ? 0 : 1;
+                distance[i][j] = Math.min(Math.min(distance[i - 1][j] + 1, distance[i][j - 1] + 1),
+                        distance[i - 1][j - 1] + cost);
+                if (i > 1 && j > 1 && left.charAt(i - 1) == right.charAt(j - 2) && left.charAt(i - 2) == right.charAt(j - 1)) {
+                    distance[i][j] = Math.min(distance[i][j], distance[i - 2][j - 2] + 1);
+                }
+            }
+        }
+        return distance[left.length()][right.length()];
+    }
+
+    /**
+     * Cut a term to a prefix, or insert, delete, replace or transpose one character
+     */
+    private String mutate(String term) {
+        int position = random.nextInt(term.length());
+        char character = ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+        switch (random.nextInt(6)) {
+            case 0:
+                return term.substring(0, position + 1);
+            case 1:
+                return term.substring(0, position) + character + term.substring(position);
+            case 2:
+                return term.length() > 1 ? term.substring(0, position) + term.substring(position + 1) : term;
+            case 3:
+                return term.substring(0, position) + character + term.substring(position + 1);
+            case 4:
+                return position + 1 < term.length()
+                        ? term.substring(0, position) + term.charAt(position + 1) + term.charAt(position) + term.substring(position + 2)
+                        : term;
+            default:
+                return term;
+        }
+    }
+
+    private void change(String id) {
+        EmployeeSearchRow employee = randomEmployee(id);
+        employees.put(id, employee);
+        index.employeeChanged(employee);
+    }
+
+    private EmployeeSearchRow randomEmployee(String id) {
+        String family = FAMILY_NAMES[random.nextInt(FAMILY_NAMES.length)];
+        String middle = MIDDLE_NAMES[random.nextInt(MIDDLE_NAMES.length)];
+        String given = GIVEN_NAMES[random.nextInt(GIVEN_NAMES.length)];
+        String username = bruteForceNormalize(given + "." + family) + random.nextInt(100);
+        return new EmployeeSearchRow(id, username, username + "@company.vn", family + " " + middle + " " + given,
+                POSITIONS[random.nextInt(POSITIONS.length)]);
+    }
+}
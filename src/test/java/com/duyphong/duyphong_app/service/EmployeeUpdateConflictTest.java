@@ -0,0 +1,225 @@
+package com.duyphong.duyphong_app.service;
+
+import com.duyphong.duyphong_app.config.CacheConfig;
+import com.duyphong.duyphong_app.dto.request.UpdateEmployeeRequest;
+import com.duyphong.duyphong_app.entity.EmployeeEntity;
+import com.duyphong.duyphong_app.repository.EmployeeRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockingDetails;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * ETag and If-Match handling of employee updates against the dev H2 database
+ * Conflicts are injected by incrementing the employee version with JDBC right after an update attempt has read the
+ * employee, so the attempt's versioned UPDATE matches no row, exactly as if a concurrent update had committed.
+ * The spied repository needs a context of its own, which gets its own in-memory database to load the dev data into.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:employee-update-test;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "spring.jpa.show-sql=false", "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"})
+@AutoConfigureMockMvc
+@ActiveProfiles("dev")
+class EmployeeUpdateConflictTest {
+
+    private static final String DEPARTMENT_ID = "dept-update-test";
+    private static final String EMPLOYEE_ID = "emp-update-test";
+    private static final String EMPLOYEE_URL = "/api/employees/" + EMPLOYEE_ID;
+    private static final int UPDATES_PER_WRITER = 20;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoSpyBean
+    private EmployeeRepository employeeRepository;
+
+    // Update attempts so far, and the number of them still to be failed with an injected conflict
+    private final AtomicInteger updateAttempts = new AtomicInteger();
+    private final AtomicInteger conflictsToInject = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO departments (id, name) VALUES (?, ?)", DEPARTMENT_ID, "Update Test");
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.update("INSERT INTO employees (id, username, email, fullname, department, position, salary, " +
+                "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                EMPLOYEE_ID, EMPLOYEE_ID, EMPLOYEE_ID + "@example.com", "Update Test", DEPARTMENT_ID, "Tester", 1000, now, now);
+        
+        // Reads of the employee run in read-only transactions, update attempts in read-write ones. The repository is
+        // a proxy, so the spy's default answer calls the repository rather than invocation.callRealMethod()
+        Answer<?> repositoryCall = mockingDetails(employeeRepository).getMockCreationSettings().getDefaultAnswer();
+        doAnswer(invocation -> {
+            Object employee = repositoryCall.answer(invocation);
+            if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                updateAttempts.incrementAndGet();
+                if (conflictsToInject.getAndUpdate(conflicts -> Math.max(conflicts - 1, 0)) > 0) {
+                    jdbcTemplate.update("UPDATE employees SET version = version + 1 WHERE id = ?", EMPLOYEE_ID);
+                }
+            }
+            return employee;
+        }).when(employeeRepository).findById(eq(EMPLOYEE_ID));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM employees WHERE id = ?", EMPLOYEE_ID);
+        jdbcTemplate.update("DELETE FROM departments WHERE id = ?", DEPARTMENT_ID);
+        // The next test inserts the employee again at version 0, drop what the caches still hold of this one
+        cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE).evict(EMPLOYEE_ID);
+        entityManagerFactory.getCache().evict(EmployeeEntity.class, EMPLOYEE_ID);
+    }
+
+    @Test
+    void updateWithCurrentETagSucceedsAndStaleETagIsRejected() throws Exception {
+        String eTag = getETag();
+        
+        String newETag = update(eTag, UpdateEmployeeRequest.builder().position("Senior Tester").build(), 200)
+                .getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(newETag).isEqualTo("\"1\"");
+        
+        update(eTag, UpdateEmployeeRequest.builder().position("Lead Tester").build(), 412);
+        assertThat(getETag()).isEqualTo(newETag);
+        assertThat(jdbcTemplate.queryForObject("SELECT position FROM employees WHERE id = ?", String.class, EMPLOYEE_ID))
+                .isEqualTo("Senior Tester");
+    }
+
+    @Test
+    void conflictWithIfMatchIsNotRetried() throws Exception {
+        String eTag = getETag();
+        conflictsToInject.set(1);
+        
+        update(eTag, UpdateEmployeeRequest.builder().salary(2000).build(), 412);
+        
+        assertThat(updateAttempts).hasValue(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT salary FROM employees WHERE id = ?", Integer.class, EMPLOYEE_ID))
+                .isEqualTo(1000);
+    }
+
+    @Test
+    void conflictWithoutIfMatchIsRetried() throws Exception {
+        conflictsToInject.set(2);
+        
+        String eTag = update(null, UpdateEmployeeRequest.builder().salary(2000).build(), 200)
+                .getResponse().getHeader(HttpHeaders.ETAG);
+        
+        // Two attempts lost against the injected updates and were rolled back with them, the third one committed
+        assertThat(updateAttempts).hasValue(3);
+        assertThat(eTag).isEqualTo("\"1\"");
+        assertThat(jdbcTemplate.queryForObject("SELECT salary FROM employees WHERE id = ?", Integer.class, EMPLOYEE_ID))
+                .isEqualTo(2000);
+    }
+
+    @Test
+    void conflictOnEveryAttemptIsReported() throws Exception {
+        conflictsToInject.set(Integer.MAX_VALUE);
+        
+        update(null, UpdateEmployeeRequest.builder().salary(2000).build(), 409);
+        
+        assertThat(updateAttempts).hasValue(EmployeeService.MAX_UPDATE_ATTEMPTS);
+        assertThat(jdbcTemplate.queryForObject("SELECT salary FROM employees WHERE id = ?", Integer.class, EMPLOYEE_ID))
+                .isEqualTo(1000);
+    }
+
+    @Test
+    void concurrentWritersLoseNoUpdate() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService writers = Executors.newFixedThreadPool(2);
+        try {
+            // One writer changes the name, the other the salary, each waiting for its previous update
+            List<Future<?>> results = new ArrayList<>();
+            results.add(writers.submit(() -> {
+                start.await();
+                for (int i = 1; i <= UPDATES_PER_WRITER; i++) {
+                    update(null, UpdateEmployeeRequest.builder().fullname("Writer " + i).build(), 200);
+                }
+                return null;
+            }));
+            results.add(writers.submit(() -> {
+                start.await();
+                for (int i = 1; i <= UPDATES_PER_WRITER; i++) {
+                    update(null, UpdateEmployeeRequest.builder().salary(1000 + i).build(), 200);
+                }
+                return null;
+            }));
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            writers.shutdownNow();
+        }
+        
+        // Every update committed exactly one version and the last value of each writer is kept
+        assertThat(getETag()).isEqualTo("\"" + 2 * UPDATES_PER_WRITER + "\"");
+        assertThat(jdbcTemplate.queryForMap("SELECT fullname, salary FROM employees WHERE id = ?", EMPLOYEE_ID))
+                .containsEntry("FULLNAME", "Writer " + UPDATES_PER_WRITER)
+                .containsEntry("SALARY", 1000 + UPDATES_PER_WRITER);
+    }
+
+    private String getETag() throws Exception {
+        return mockMvc.perform(get(EMPLOYEE_URL))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private MvcResult update(String ifMatch, UpdateEmployeeRequest request, int expectedStatus) throws Exception {
+        HttpHeaders headers = new HttpHeaders();
+        if (ifMatch != null) {
+            headers.setIfMatch(ifMatch);
+        }
+        return mockMvc.perform(put(EMPLOYEE_URL)
+                        .headers(headers)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().is(expectedStatus))
+                .andReturn();
+    }
+}
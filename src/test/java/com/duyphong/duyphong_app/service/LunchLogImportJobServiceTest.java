@@ -0,0 +1,124 @@
+package com.duyphong.duyphong_app.service;
+
+import com.duyphong.duyphong_app.entity.LunchLogImportJobEntity;
+import com.duyphong.duyphong_app.enumeration.ImportFormat;
+import com.duyphong.duyphong_app.enumeration.ImportJobStatus;
+import com.duyphong.duyphong_app.repository.LunchLogImportJobRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Runs of one lunch log import job against the dev H2 database
+ * A job queued twice and a job requeued while it runs must both import every row exactly once.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.jpa.show-sql=false", "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"})
+@ActiveProfiles("dev")
+class LunchLogImportJobServiceTest {
+
+    // Ten employees of the dev data, one lunch per employee and day before any date of the dev data
+    private static final int EMPLOYEES = 10;
+    private static final int DAYS = 2_000;
+    private static final int ROWS = EMPLOYEES * DAYS;
+    private static final LocalDate FIRST_DAY = LocalDate.of(1980, 1, 1);
+    private static final Duration TIMEOUT = Duration.ofMinutes(2);
+
+    @Autowired
+    private LunchLogImportJobService lunchLogImportJobService;
+
+    @Autowired
+    private LunchLogImportJobRepository lunchLogImportJobRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @TempDir
+    private Path spoolDir;
+
+    private String jobId;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        jobId = UUID.randomUUID().toString();
+        Path file = spoolDir.resolve(jobId + ".ndjson");
+        try (Writer writer = Files.newBufferedWriter(file)) {
+            for (int day = 0; day < DAYS; day++) {
+                for (int employee = 1; employee <= EMPLOYEES; employee++) {
+                    writer.write(String.format("{\"employeeId\":\"emp-%03d\",\"lunchDate\":\"%s\",\"mealType\":\"LUNCH\"}%n",
+                            employee, FIRST_DAY.plusDays(day)));
+                }
+            }
+        }
+        
+        lunchLogImportJobRepository.save(LunchLogImportJobEntity.builder()
+                .id(jobId)
+                .format(ImportFormat.NDJSON)
+                .status(ImportJobStatus.QUEUED)
+                .filePath(file.toString())
+                .estimatedRows(ROWS)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM lunch_logs WHERE lunch_date < ?", FIRST_DAY.plusDays(DAYS));
+        jdbcTemplate.update("DELETE FROM lunch_log_import_jobs WHERE id = ?", jobId);
+    }
+
+    @Test
+    void jobQueuedTwiceIsImportedOnce() {
+        // Both runs are picked up by the two import threads, only one of them may claim the job
+        lunchLogImportJobService.resumeUnfinishedJobs();
+        lunchLogImportJobService.resumeUnfinishedJobs();
+        
+        assertImportedOnce();
+    }
+
+    @Test
+    void jobRequeuedWhileRunningIsImportedOnce() {
+        lunchLogImportJobService.resumeUnfinishedJobs();
+        await().atMost(TIMEOUT).pollInterval(Duration.ofMillis(10)).until(() -> {
+            LunchLogImportJobEntity job = lunchLogImportJobRepository.findById(jobId).orElseThrow();
+            return job.getStatus() == ImportJobStatus.RUNNING && job.getRowsProcessed() > 0;
+        });
+        
+        // As at a startup racing a submission: the running job is requeued and resumed by a second run
+        lunchLogImportJobService.resumeUnfinishedJobs();
+        
+        assertImportedOnce();
+        assertThat(lunchLogImportJobRepository.findById(jobId).orElseThrow().getResumedFromRow()).isPositive();
+    }
+
+    private void assertImportedOnce() {
+        await().atMost(TIMEOUT).until(() -> lunchLogImportJobRepository.findById(jobId).orElseThrow().getStatus(),
+                status -> status != ImportJobStatus.QUEUED && status != ImportJobStatus.RUNNING);
+        
+        LunchLogImportJobEntity job = lunchLogImportJobRepository.findById(jobId).orElseThrow();
+        assertThat(job.getStatus()).isEqualTo(ImportJobStatus.COMPLETED);
+        assertThat(job.getRowsProcessed()).isEqualTo(ROWS);
+        assertThat(job.getRowsImported()).isEqualTo(ROWS);
+        assertThat(job.getRowsSkipped()).isZero();
+        assertThat(job.getRowsFailed()).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM lunch_logs WHERE lunch_date < ?",
+                Long.class, FIRST_DAY.plusDays(DAYS))).isEqualTo(ROWS);
+        assertThat(Files.exists(Path.of(job.getFilePath()))).isFalse();
+    }
+}
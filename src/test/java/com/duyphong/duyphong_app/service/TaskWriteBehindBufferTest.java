@@ -0,0 +1,226 @@
+package com.duyphong.duyphong_app.service;
+
+import com.duyphong.duyphong_app.entity.TaskEntity;
+import com.duyphong.duyphong_app.enumeration.TaskStatus;
+import com.duyphong.duyphong_app.repository.EmployeeRepository;
+import com.duyphong.duyphong_app.repository.TaskJdbcRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionSystemException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Queueing, flushing and acknowledgement of TaskWriteBehindBuffer against mocked repositories and transactions
+ * The first batch can be held inside its INSERT, so the queue fills up behind it and the next batch holds every
+ * task queued meanwhile.
+ */
+class TaskWriteBehindBufferTest {
+
+    private static final String INVALID_EMPLOYEE_ID = "emp-missing";
+    private static final long WAIT_SECONDS = 5;
+
+    private final TaskJdbcRepository taskJdbcRepository = mock(TaskJdbcRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TaskWriteBehindBuffer buffer = new TaskWriteBehindBuffer(taskJdbcRepository,
+            mock(EmployeeRepository.class), mock(DepartmentStatisticsStore.class), transactionManager, meterRegistry);
+    private final ExecutorService writers = Executors.newCachedThreadPool();
+
+    // Held by the first batch inside its INSERT until released
+    private final CountDownLatch firstBatchEntered = new CountDownLatch(1);
+    private final CountDownLatch firstBatchReleased = new CountDownLatch(1);
+
+    // Every batch passed to the INSERT, in order
+    private final List<List<String>> insertedBatches = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        firstBatchReleased.countDown();
+        buffer.stop();
+        writers.shutdownNow();
+    }
+
+    @Test
+    void rejectsCreationsWhenQueueIsFull() throws Exception {
+        start(1, 1, Duration.ofSeconds(WAIT_SECONDS));
+        CompletableFuture<TaskEntity> first = writeAsync("emp-001");
+        assertThat(firstBatchEntered.await(WAIT_SECONDS, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<TaskEntity> second = writeAsync("emp-002");
+        awaitQueued(1);
+        
+        assertThatThrownBy(() -> buffer.write(task("emp-003")))
+                .isInstanceOf(TaskRejectedException.class)
+                .hasMessageContaining("queue is full");
+        assertThat(meterRegistry.get(TaskWriteBehindBuffer.REJECTED_METRIC).counter().count()).isEqualTo(1);
+        
+        firstBatchReleased.countDown();
+        assertThat(first.get(WAIT_SECONDS, TimeUnit.SECONDS).getEmployeeId()).isEqualTo("emp-001");
+        assertThat(second.get(WAIT_SECONDS, TimeUnit.SECONDS).getEmployeeId()).isEqualTo("emp-002");
+        assertThat(insertedBatches).containsExactly(List.of("emp-001"), List.of("emp-002"));
+    }
+
+    @Test
+    void acknowledgesCreationOnlyAfterCommit() throws Exception {
+        start(10, 10, Duration.ofSeconds(WAIT_SECONDS));
+        CountDownLatch commitEntered = new CountDownLatch(1);
+        CountDownLatch commitReleased = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            commitEntered.countDown();
+            commitReleased.await();
+            return null;
+        }).when(transactionManager).commit(any());
+        firstBatchReleased.countDown();
+        
+        CompletableFuture<TaskEntity> creation = writeAsync("emp-001");
+        assertThat(commitEntered.await(WAIT_SECONDS, TimeUnit.SECONDS)).isTrue();
+        assertThat(insertedBatches).containsExactly(List.of("emp-001"));
+        assertThat(creation).isNotDone();
+        
+        commitReleased.countDown();
+        assertThat(creation.get(WAIT_SECONDS, TimeUnit.SECONDS).getCreatedAt()).isNotNull();
+        InOrder order = inOrder(taskJdbcRepository, transactionManager);
+        order.verify(taskJdbcRepository).batchInsert(anyList());
+        order.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void failsCreationWhenCommitFails() {
+        start(10, 10, Duration.ofSeconds(WAIT_SECONDS));
+        firstBatchReleased.countDown();
+        doAnswer(invocation -> {
+            throw new TransactionSystemException("Commit failed");
+        }).when(transactionManager).commit(any());
+        
+        assertThatThrownBy(() -> buffer.write(task("emp-001"))).isInstanceOf(TransactionSystemException.class);
+    }
+
+    @Test
+    void constraintViolationFailsOnlyItsOwnTask() throws Exception {
+        start(10, 10, Duration.ofSeconds(WAIT_SECONDS));
+        CompletableFuture<TaskEntity> first = writeAsync("emp-001");
+        assertThat(firstBatchEntered.await(WAIT_SECONDS, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<TaskEntity> valid = writeAsync("emp-002");
+        awaitQueued(1);
+        CompletableFuture<TaskEntity> invalid = writeAsync(INVALID_EMPLOYEE_ID);
+        awaitQueued(2);
+        CompletableFuture<TaskEntity> otherValid = writeAsync("emp-003");
+        awaitQueued(3);
+        
+        firstBatchReleased.countDown();
+        assertThat(first.get(WAIT_SECONDS, TimeUnit.SECONDS).getEmployeeId()).isEqualTo("emp-001");
+        assertThat(valid.get(WAIT_SECONDS, TimeUnit.SECONDS).getEmployeeId()).isEqualTo("emp-002");
+        assertThat(otherValid.get(WAIT_SECONDS, TimeUnit.SECONDS).getEmployeeId()).isEqualTo("emp-003");
+        assertThatThrownBy(() -> invalid.get(WAIT_SECONDS, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(DataIntegrityViolationException.class);
+        
+        // The batch of three is rolled back and inserted again task by task
+        assertThat(insertedBatches).containsExactly(List.of("emp-001"),
+                List.of("emp-002", INVALID_EMPLOYEE_ID, "emp-003"),
+                List.of("emp-002"), List.of(INVALID_EMPLOYEE_ID), List.of("emp-003"));
+        verify(transactionManager, times(2)).rollback(any());
+    }
+
+    @Test
+    void rejectsCreationStillQueuedAfterAckTimeout() throws Exception {
+        start(10, 1, Duration.ofMillis(200));
+        CompletableFuture<TaskEntity> first = writeAsync("emp-001");
+        assertThat(firstBatchEntered.await(WAIT_SECONDS, TimeUnit.SECONDS)).isTrue();
+        
+        assertThatThrownBy(() -> buffer.write(task("emp-002")))
+                .isInstanceOf(TaskRejectedException.class)
+                .hasMessageContaining("not written");
+        awaitQueued(0);
+        
+        firstBatchReleased.countDown();
+        assertThat(first.get(WAIT_SECONDS, TimeUnit.SECONDS).getEmployeeId()).isEqualTo("emp-001");
+        assertThat(insertedBatches).containsExactly(List.of("emp-001"));
+    }
+
+    @Test
+    void waitsForBatchOutcomeAfterAckTimeout() throws Exception {
+        start(10, 1, Duration.ofMillis(200));
+        CompletableFuture<TaskEntity> creation = writeAsync("emp-001");
+        assertThat(firstBatchEntered.await(WAIT_SECONDS, TimeUnit.SECONDS)).isTrue();
+        
+        // The batch holding the task is written for longer than the acknowledgement timeout
+        Thread.sleep(600);
+        assertThat(creation).isNotDone();
+        
+        firstBatchReleased.countDown();
+        assertThat(creation.get(WAIT_SECONDS, TimeUnit.SECONDS).getEmployeeId()).isEqualTo("emp-001");
+        verify(transactionManager).commit(any());
+        verify(transactionManager, never()).rollback(any());
+        assertThat(meterRegistry.get(TaskWriteBehindBuffer.REJECTED_METRIC).counter().count()).isZero();
+    }
+
+    private void start(int queueCapacity, int batchSize, Duration ackTimeout) {
+        ReflectionTestUtils.setField(buffer, "enabled", true);
+        ReflectionTestUtils.setField(buffer, "queueCapacity", queueCapacity);
+        ReflectionTestUtils.setField(buffer, "batchSize", batchSize);
+        ReflectionTestUtils.setField(buffer, "ackTimeout", ackTimeout);
+        
+        // Batches holding a task of the invalid employee violate the foreign key, the first batch waits to be released
+        when(taskJdbcRepository.batchInsert(anyList())).thenAnswer(invocation -> {
+            List<TaskEntity> tasks = invocation.getArgument(0);
+            List<String> employeeIds = tasks.stream().map(TaskEntity::getEmployeeId).toList();
+            synchronized (insertedBatches) {
+                insertedBatches.add(employeeIds);
+            }
+            if (firstBatchEntered.getCount() > 0) {
+                firstBatchEntered.countDown();
+                firstBatchReleased.await();
+            }
+            if (employeeIds.contains(INVALID_EMPLOYEE_ID)) {
+                throw new DataIntegrityViolationException("Referential integrity constraint violation");
+            }
+            return tasks.size();
+        });
+        buffer.start();
+    }
+
+    private CompletableFuture<TaskEntity> writeAsync(String employeeId) {
+        return CompletableFuture.supplyAsync(() -> buffer.write(task(employeeId)), writers);
+    }
+
+    private void awaitQueued(int tasks) {
+        await().atMost(Duration.ofSeconds(WAIT_SECONDS))
+                .until(() -> meterRegistry.get(TaskWriteBehindBuffer.QUEUE_SIZE_METRIC).gauge().value() == tasks);
+    }
+
+    private static TaskEntity task(String employeeId) {
+        return TaskEntity.builder()
+                .employeeId(employeeId)
+                .taskName("Task of " + employeeId)
+                .status(TaskStatus.TO_DO)
+                .build();
+    }
+}